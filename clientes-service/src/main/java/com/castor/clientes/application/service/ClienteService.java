@@ -15,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio de aplicación: Gestión de Clientes
@@ -204,4 +206,22 @@ public class ClienteService implements ClienteUseCase {
         // Retornar false como valor seguro (permite la operación)
         return false;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    @CircuitBreaker(name = RESILIENCE_INSTANCE, fallbackMethod = "consultarEstadosFallback")
+    public Map<Long, Boolean> consultarEstados(Set<Long> ids) {
+        log.debug("Consultando estado de {} clientes", ids.size());
+        Map<Long, Boolean> estados = clienteRepository.buscarEstadoActivo(ids);
+        log.debug("Estado consultado: {} de {} clientes existen", estados.size(), ids.size());
+        return estados;
+    }
+
+    /**
+     * Fallback para consultarEstados cuando falla el circuit breaker
+     */
+    private Map<Long, Boolean> consultarEstadosFallback(Set<Long> ids, Exception ex) {
+        log.error("Fallback activado para consultarEstados de {} clientes. Error: {}", ids.size(), ex.getMessage(), ex);
+        throw new IllegalStateException("El servicio de clientes no está disponible temporalmente. Por favor intente más tarde.", ex);
+    }
 }
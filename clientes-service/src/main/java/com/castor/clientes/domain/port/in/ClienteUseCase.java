@@ -4,6 +4,9 @@ import com.castor.clientes.domain.Cliente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Puerto de entrada: Casos de uso de Cliente
  * Define las operaciones disponibles para la gestión de clientes
@@ -15,4 +18,10 @@ public interface ClienteUseCase {
     Page<Cliente> obtenerClientes(Pageable pageable);
     void eliminarCliente(Long id);
     boolean existePorNit(String nit);
+
+    /**
+     * Estado activo de un conjunto de clientes (validación por lotes desde facturacion-service).
+     * Los IDs que no están en el mapa no existen.
+     */
+    Map<Long, Boolean> consultarEstados(Set<Long> ids);
 }
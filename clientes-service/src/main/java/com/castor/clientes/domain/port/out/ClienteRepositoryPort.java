@@ -6,6 +6,8 @@ import com.castor.clientes.domain.valueobject.Nit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,4 +21,10 @@ public interface ClienteRepositoryPort {
     void eliminar(ClienteId id);
     boolean existePorNit(Nit nit);
     Optional<Cliente> buscarPorNit(Nit nit);
+
+    /**
+     * Estado activo de varios clientes con una sola consulta.
+     * Los IDs que no están en el mapa no existen.
+     */
+    Map<Long, Boolean> buscarEstadoActivo(Collection<Long> ids);
 }
@@ -4,6 +4,8 @@ import com.castor.clientes.domain.Cliente;
 import com.castor.clientes.domain.port.in.ClienteUseCase;
 import com.castor.clientes.infrastructure.adapter.in.rest.dto.ClienteRequestDTO;
 import com.castor.clientes.infrastructure.adapter.in.rest.dto.ClienteResponseDTO;
+import com.castor.clientes.infrastructure.adapter.in.rest.dto.EstadoClientesRequestDTO;
+import com.castor.clientes.infrastructure.adapter.in.rest.dto.EstadoClientesResponseDTO;
 import com.castor.clientes.infrastructure.adapter.in.rest.dto.PageResponse;
 import com.castor.clientes.infrastructure.adapter.in.rest.mapper.ClienteDTOMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +29,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Controlador REST para la gestión de clientes
  * Adaptador de entrada que expone los casos de uso mediante API REST
@@ -169,6 +175,33 @@ public class ClienteController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Consultar estado de varios clientes",
+               description = "Retorna qué clientes están activos o inactivos con una sola consulta. " +
+                             "Los IDs que no aparecen en la respuesta no existen")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado consultado",
+                     content = @Content(schema = @Schema(implementation = EstadoClientesResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o con más de 1000 elementos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/estado")
+    public ResponseEntity<EstadoClientesResponseDTO> consultarEstados(
+            @Parameter(description = "IDs de los clientes a consultar", required = true)
+            @Valid @RequestBody EstadoClientesRequestDTO request) {
+        log.debug("POST /api/v1/clientes/estado - Consultar estado de {} clientes", request.getIds().size());
+
+        Map<Long, Boolean> estados = clienteUseCase.consultarEstados(request.getIds());
+
+        List<Long> activos = new ArrayList<>();
+        List<Long> inactivos = new ArrayList<>();
+        estados.forEach((id, activo) -> (activo ? activos : inactivos).add(id));
+
+        return ResponseEntity.ok(EstadoClientesResponseDTO.builder()
+            .activos(activos)
+            .inactivos(inactivos)
+            .build());
+    }
+
     /**
      * Crea un Pageable con validaciones defensivas
      * Asegura que los parámetros de paginación estén dentro de límites seguros
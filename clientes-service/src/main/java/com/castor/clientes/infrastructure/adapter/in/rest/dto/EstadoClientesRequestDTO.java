@@ -0,0 +1,30 @@
+package com.castor.clientes.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * DTO de request para consultar el estado de varios clientes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "IDs de los clientes a consultar")
+public class EstadoClientesRequestDTO {
+
+    @NotEmpty(message = "Debe indicar al menos un ID de cliente")
+    @Size(max = 1000, message = "No se pueden consultar más de 1000 clientes por petición")
+    @Schema(description = "IDs de los clientes", example = "[1, 2, 3]")
+    @JsonProperty("ids")
+    private Set<@NotNull Long> ids;
+}
@@ -0,0 +1,30 @@
+package com.castor.clientes.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de response con el estado de varios clientes.
+ * Los IDs consultados que no aparecen en ninguna lista no existen.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estado de los clientes consultados")
+public class EstadoClientesResponseDTO {
+
+    @Schema(description = "IDs de los clientes activos", example = "[1, 3]")
+    @JsonProperty("activos")
+    private List<Long> activos;
+
+    @Schema(description = "IDs de los clientes inactivos", example = "[2]")
+    @JsonProperty("inactivos")
+    private List<Long> inactivos;
+}
@@ -11,6 +11,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -70,4 +73,16 @@ public class ClienteRepositoryAdapter implements ClienteRepositoryPort {
         return jpaRepository.findByNit(nit.getValor())
                 .map(mapper::toDomain);
     }
+
+    @Override
+    public Map<Long, Boolean> buscarEstadoActivo(Collection<Long> ids) {
+        Map<Long, Boolean> estados = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return estados;
+        }
+        for (ClienteJpaRepository.EstadoCliente estado : jpaRepository.findEstadoByIdIn(ids)) {
+            estados.put(estado.getId(), Boolean.TRUE.equals(estado.getActivo()));
+        }
+        return estados;
+    }
 }
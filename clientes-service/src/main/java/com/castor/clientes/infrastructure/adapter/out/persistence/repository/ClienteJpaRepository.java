@@ -2,8 +2,12 @@ package com.castor.clientes.infrastructure.adapter.out.persistence.repository;
 
 import com.castor.clientes.infrastructure.adapter.out.persistence.entity.ClienteEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,18 @@ import java.util.Optional;
 public interface ClienteJpaRepository extends JpaRepository<ClienteEntity, Long> {
     boolean existsByNit(String nit);
     Optional<ClienteEntity> findByNit(String nit);
+
+    /**
+     * ID y estado de los clientes indicados, sin cargar las entidades (WHERE id IN (...))
+     */
+    @Query("SELECT c.id AS id, c.activo AS activo FROM ClienteEntity c WHERE c.id IN :ids")
+    List<EstadoCliente> findEstadoByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Proyección con el estado de un cliente
+     */
+    interface EstadoCliente {
+        Long getId();
+        Boolean getActivo();
+    }
 }
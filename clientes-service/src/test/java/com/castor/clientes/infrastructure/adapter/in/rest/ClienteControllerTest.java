@@ -8,6 +8,7 @@ import com.castor.clientes.domain.valueobject.Nit;
 import com.castor.clientes.domain.valueobject.NombreCliente;
 import com.castor.clientes.infrastructure.adapter.in.rest.dto.ClienteRequestDTO;
 import com.castor.clientes.infrastructure.adapter.in.rest.dto.ClienteResponseDTO;
+import com.castor.clientes.infrastructure.adapter.in.rest.dto.EstadoClientesRequestDTO;
 import com.castor.clientes.infrastructure.adapter.in.rest.mapper.ClienteDTOMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -449,4 +453,43 @@ class ClienteControllerTest {
             .andDo(print())
             .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("POST /api/v1/clientes/estado - Debe separar clientes activos e inactivos")
+    void testConsultarEstados_SeparaActivosEInactivos() throws Exception {
+        // Arrange: el cliente 3 no existe y no aparece en el mapa
+        Map<Long, Boolean> estados = new LinkedHashMap<>();
+        estados.put(1L, true);
+        estados.put(2L, false);
+        given(clienteUseCase.consultarEstados(Set.of(1L, 2L, 3L))).willReturn(estados);
+
+        EstadoClientesRequestDTO request = EstadoClientesRequestDTO.builder()
+            .ids(Set.of(1L, 2L, 3L))
+            .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/clientes/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.activos", contains(1)))
+            .andExpect(jsonPath("$.inactivos", contains(2)));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/clientes/estado - Debe retornar 400 cuando la lista de IDs está vacía")
+    void testConsultarEstados_SinIds_400BadRequest() throws Exception {
+        // Arrange
+        EstadoClientesRequestDTO request = EstadoClientesRequestDTO.builder()
+            .ids(Set.of())
+            .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/clientes/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+    }
 }
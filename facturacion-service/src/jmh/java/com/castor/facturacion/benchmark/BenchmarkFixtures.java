@@ -0,0 +1,65 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.valueobject.Cantidad;
+import com.castor.facturacion.domain.valueobject.Dinero;
+import com.castor.facturacion.domain.valueobject.FacturaId;
+import com.castor.facturacion.domain.valueobject.GeneradorNumeroFactura;
+import com.castor.facturacion.domain.valueobject.NumeroFactura;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ *
+ * Genera ítems deterministas con precios y porcentajes variados para que
+ * el redondeo HALF_UP se ejercite igual que con datos reales.
+ */
+final class BenchmarkFixtures {
+
+    static final GeneradorNumeroFactura NUMEROS = new GeneradorNumeroFactura(0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static ItemFactura item(int i) {
+        return ItemFactura.crear(
+            "Producto de prueba " + i,
+            Cantidad.of(1 + i % 7),
+            Dinero.of(new BigDecimal("1999.99").add(BigDecimal.valueOf(i, 1))),
+            Porcentaje.of(new BigDecimal(i % 2 == 0 ? "19.00" : "5.00")),
+            Porcentaje.of(new BigDecimal(i % 3 == 0 ? "10.00" : "0.00"))
+        );
+    }
+
+    static List<ItemFactura> items(int cantidad) {
+        List<ItemFactura> items = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            items.add(item(i));
+        }
+        return items;
+    }
+
+    /**
+     * Factura con ID y número asignados, como la devuelve la persistencia
+     */
+    static Factura facturaPersistida(int numeroItems) {
+        Factura creada = Factura.crear(NUMEROS.siguiente(), 1L, items(numeroItems));
+        return Factura.reconstituir(
+            FacturaId.of(1L),
+            NumeroFactura.of("FACT-BENCHMARK-1"),
+            creada.getClienteId(),
+            creada.getItems(),
+            creada.getSubtotalGeneral(),
+            creada.getTotalImpuestos(),
+            creada.getTotalDescuentos(),
+            creada.getTotalFinal(),
+            LocalDateTime.of(2025, 1, 16, 12, 30, 45)
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.valueobject.Dinero;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: aritmética de Dinero usada en los cálculos de totales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DineroBenchmark {
+
+    private Dinero a;
+    private Dinero b;
+    private Porcentaje iva;
+    private BigDecimal cantidad;
+
+    @Setup
+    public void setUp() {
+        a = Dinero.of(new BigDecimal("3500000.55"));
+        b = Dinero.of(new BigDecimal("1234.49"));
+        iva = Porcentaje.of(new BigDecimal("19.00"));
+        cantidad = new BigDecimal("3500000.555");
+    }
+
+    @Benchmark
+    public Dinero crear() {
+        return Dinero.of(cantidad);
+    }
+
+    @Benchmark
+    public Dinero sumar() {
+        return a.sumar(b);
+    }
+
+    @Benchmark
+    public Dinero restar() {
+        return a.restar(b);
+    }
+
+    @Benchmark
+    public Dinero multiplicar() {
+        return a.multiplicar(7);
+    }
+
+    @Benchmark
+    public Dinero aplicarPorcentaje() {
+        return a.aplicarPorcentaje(iva);
+    }
+}
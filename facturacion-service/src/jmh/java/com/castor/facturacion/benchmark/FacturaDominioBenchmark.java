@@ -0,0 +1,53 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.ItemFactura;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: creación de ItemFactura y Factura en el dominio para 1, 10 y 100 ítems.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacturaDominioBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int numeroItems;
+
+    private List<ItemFactura> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkFixtures.items(numeroItems);
+    }
+
+    /**
+     * Crea numeroItems ítems a partir de value objects ya construidos
+     * (mide solo ItemFactura.crear y su cálculo de totales)
+     */
+    @Benchmark
+    public void crearItems(Blackhole blackhole) {
+        for (ItemFactura item : items) {
+            blackhole.consume(ItemFactura.crear(
+                item.getDescripcion(),
+                item.getCantidad(),
+                item.getPrecioUnitario(),
+                item.getPorcentajeImpuesto(),
+                item.getPorcentajeDescuento()
+            ));
+        }
+    }
+
+    @Benchmark
+    public Factura crearFactura() {
+        return Factura.crear(BenchmarkFixtures.NUMEROS.siguiente(), 1L, items);
+    }
+}
@@ -0,0 +1,54 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.mapper.FacturaDTOMapper;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.FacturaEntity;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.mapper.FacturaMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: traducción dominio ↔ entidad JPA ↔ DTO REST para 1, 10 y 100 ítems.
+ *
+ * Estas conversiones se ejecutan en cada request de creación y consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacturaMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int numeroItems;
+
+    private final FacturaMapper facturaMapper = new FacturaMapper();
+    private final FacturaDTOMapper dtoMapper = new FacturaDTOMapper(BenchmarkFixtures.NUMEROS);
+
+    private Factura factura;
+    private FacturaEntity entity;
+
+    @Setup
+    public void setUp() {
+        factura = BenchmarkFixtures.facturaPersistida(numeroItems);
+        entity = facturaMapper.toEntity(factura);
+    }
+
+    @Benchmark
+    public FacturaEntity toEntity() {
+        return facturaMapper.toEntity(factura);
+    }
+
+    @Benchmark
+    public Factura toDomain() {
+        return facturaMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public FacturaResponse toResponse() {
+        return dtoMapper.toResponse(factura);
+    }
+}
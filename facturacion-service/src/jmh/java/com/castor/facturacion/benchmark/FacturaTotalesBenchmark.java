@@ -0,0 +1,73 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.valueobject.Cantidad;
+import com.castor.facturacion.domain.valueobject.Dinero;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: construcción de una factura ítem a ítem hasta el límite de 100 ítems.
+ *
+ * Compara los totales incrementales de agregarItem (O(1) por ítem) contra
+ * recalcular todos los totales después de cada ítem (comportamiento anterior, O(n²)).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacturaTotalesBenchmark {
+
+    @Param({"100"})
+    private int numeroItems;
+
+    private List<ItemFactura> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(numeroItems);
+        for (int i = 0; i < numeroItems; i++) {
+            items.add(ItemFactura.crear(
+                "Producto " + i,
+                Cantidad.of(1 + i % 7),
+                Dinero.of(new BigDecimal("1999.99").add(BigDecimal.valueOf(i))),
+                Porcentaje.of(new BigDecimal("19.00")),
+                Porcentaje.of(new BigDecimal("5.00"))
+            ));
+        }
+    }
+
+    @Benchmark
+    public Factura agregarItemsIncremental() {
+        Factura factura = Factura.crear(BenchmarkFixtures.NUMEROS.siguiente(), 1L, items.subList(0, 1));
+        for (int i = 1; i < numeroItems; i++) {
+            factura.agregarItem(items.get(i));
+        }
+        return factura;
+    }
+
+    @Benchmark
+    public Factura agregarItemsRecalculandoTodo() {
+        Factura factura = Factura.crear(BenchmarkFixtures.NUMEROS.siguiente(), 1L, items.subList(0, 1));
+        for (int i = 1; i < numeroItems; i++) {
+            factura.agregarItem(items.get(i));
+            factura.calcularTotales();
+        }
+        return factura;
+    }
+
+    @Benchmark
+    public Factura calcularTotalesUnaPasada() {
+        Factura factura = Factura.crear(BenchmarkFixtures.NUMEROS.siguiente(), 1L, items);
+        factura.calcularTotales();
+        return factura;
+    }
+}
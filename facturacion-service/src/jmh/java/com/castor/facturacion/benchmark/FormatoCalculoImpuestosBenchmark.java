@@ -0,0 +1,94 @@
+package com.castor.facturacion.benchmark;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.infrastructure.adapter.out.external.MensajesCalculoImpuestos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: mensajes de POST /calcular (tax-calculator-service) en JSON y en el formato
+ * compacto CBOR, para 100 ítems.
+ *
+ * Mide la serialización del request y la deserialización del response tal como los hace
+ * CalculoImpuestosRemoto. El response JSON es el que devuelve el servicio: decimales como
+ * texto, descripciones, totales generales y timestamp, aunque el adapter no los use.
+ * Los bytes de cada payload se imprimen al iniciar cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoCalculoImpuestosBenchmark {
+
+    @Param({"100"})
+    private int numeroItems;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final CBORMapper cbor = new CBORMapper();
+
+    private List<ItemFactura> items;
+    private byte[] respuestaJson;
+    private byte[] respuestaCbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        items = BenchmarkFixtures.items(numeroItems);
+
+        List<Map<String, Object>> detalle = new ArrayList<>(numeroItems);
+        List<MensajesCalculoImpuestos.ResultadoCompacto> resultados = new ArrayList<>(numeroItems);
+        for (ItemFactura item : items) {
+            Map<String, Object> detalleItem = new LinkedHashMap<>();
+            detalleItem.put("descripcion", item.getDescripcion());
+            detalleItem.put("subtotal", item.getSubtotal().getCantidad().toPlainString());
+            detalleItem.put("impuesto", item.getImpuesto().getCantidad().toPlainString());
+            detalleItem.put("descuento", item.getDescuento().getCantidad().toPlainString());
+            detalleItem.put("total", item.getTotal().getCantidad().toPlainString());
+            detalle.add(detalleItem);
+            resultados.add(new MensajesCalculoImpuestos.ResultadoCompacto(item.getSubtotal().getCentavos(),
+                item.getImpuesto().getCentavos(), item.getDescuento().getCentavos(), item.getTotal().getCentavos()));
+        }
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("subtotal_general", "0.00");
+        respuesta.put("total_impuestos", "0.00");
+        respuesta.put("total_descuentos", "0.00");
+        respuesta.put("total_final", "0.00");
+        respuesta.put("detalle_items", detalle);
+        respuesta.put("timestamp", "2025-01-16T12:30:45.123456");
+
+        respuestaJson = json.writeValueAsBytes(respuesta);
+        respuestaCbor = cbor.writeValueAsBytes(new MensajesCalculoImpuestos.RespuestaCompacta(resultados));
+
+        System.out.printf("%nBytes con %d ítems - request: json=%d cbor=%d, response: json=%d cbor=%d%n",
+            numeroItems, solicitudJson().length, solicitudCbor().length, respuestaJson.length, respuestaCbor.length);
+    }
+
+    @Benchmark
+    public byte[] solicitudJson() throws IOException {
+        return json.writeValueAsBytes(MensajesCalculoImpuestos.SolicitudJson.de(items));
+    }
+
+    @Benchmark
+    public byte[] solicitudCbor() throws IOException {
+        return cbor.writeValueAsBytes(MensajesCalculoImpuestos.SolicitudCompacta.de(items));
+    }
+
+    @Benchmark
+    public MensajesCalculoImpuestos.RespuestaJson respuestaJson() throws IOException {
+        return json.readValue(respuestaJson, MensajesCalculoImpuestos.RespuestaJson.class);
+    }
+
+    @Benchmark
+    public MensajesCalculoImpuestos.RespuestaCompacta respuestaCbor() throws IOException {
+        return cbor.readValue(respuestaCbor, MensajesCalculoImpuestos.RespuestaCompacta.class);
+    }
+}
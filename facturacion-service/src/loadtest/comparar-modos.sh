@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compara el RPS máximo sostenible de facturacion-service con hilos de plataforma y con
+# hilos virtuales, a igual latencia p95. Reinicia el servicio en docker-compose en cada modo
+# y ejecuta facturas-rps.js con k6. Ver README.md.
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+COMPOSE_FILE="${COMPOSE_FILE:-$DIR/../../../docker-compose.yml}"
+BASE_URL="${BASE_URL:-http://localhost:8082}"
+RESULTADOS="${RESULTADOS:-$DIR/resultados}"
+
+mkdir -p "$RESULTADOS"
+# handleSummary escribe resultado-<modo>.json en el directorio actual
+cd "$RESULTADOS"
+
+esperar_servicio() {
+    for _ in $(seq 1 60); do
+        if curl -fs "$BASE_URL/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 5
+    done
+    echo "facturacion-service no respondió en $BASE_URL" >&2
+    exit 1
+}
+
+for modo in plataforma virtual; do
+    if [ "$modo" = "virtual" ]; then habilitado=true; else habilitado=false; fi
+
+    echo ">> Modo $modo (VIRTUAL_THREADS_ENABLED=$habilitado)"
+    VIRTUAL_THREADS_ENABLED=$habilitado docker compose -f "$COMPOSE_FILE" \
+        up -d --force-recreate --no-deps facturacion-service
+    esperar_servicio
+
+    # Calentamiento: JIT y pools antes de medir
+    k6 run --quiet -e BASE_URL="$BASE_URL" -e MODO="calentamiento" -e PASOS=50 -e DURACION_PASO=30s \
+        "$DIR/facturas-rps.js" > /dev/null || true
+
+    # k6 termina con error si algún escalón supera los umbrales: es lo esperado al buscar el máximo
+    k6 run -e BASE_URL="$BASE_URL" -e MODO="$modo" "$DIR/facturas-rps.js" || true
+done
+
+rm -f resultado-calentamiento.json
+echo ">> Resultados en $RESULTADOS"
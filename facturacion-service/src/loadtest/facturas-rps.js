@@ -0,0 +1,101 @@
+// Prueba de carga de POST /api/v1/facturas por escalones de RPS (k6).
+//
+// Cada escalón es un escenario constant-arrival-rate: k6 intenta mantener la tasa fija
+// aunque el servicio se degrade. Un escalón es sostenible si su p95 queda por debajo de
+// LATENCIA_P95_MS y k6 no descartó iteraciones por falta de VUs.
+//
+// Variables de entorno:
+//   BASE_URL         http://localhost:8082
+//   MODO             etiqueta del resultado (plataforma | virtual)
+//   PASOS            RPS de cada escalón, separados por comas (50,100,200,400,800)
+//   DURACION_PASO    duración de cada escalón (60s)
+//   LATENCIA_P95_MS  latencia p95 máxima para considerar el escalón sostenible (500)
+//   CLIENTES         IDs de clientes activos a usar, separados por comas (1,2,3)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const MODO = __ENV.MODO || 'sin-etiqueta';
+const PASOS = (__ENV.PASOS || '50,100,200,400,800').split(',').map(Number);
+const DURACION_PASO = __ENV.DURACION_PASO || '60s';
+const LATENCIA_P95_MS = Number(__ENV.LATENCIA_P95_MS || 500);
+const CLIENTES = (__ENV.CLIENTES || '1,2,3').split(',').map(Number);
+
+const segundosPaso = parseInt(DURACION_PASO, 10);
+
+const scenarios = {};
+const thresholds = {};
+PASOS.forEach((rps, i) => {
+    const nombre = `rps_${rps}`;
+    scenarios[nombre] = {
+        executor: 'constant-arrival-rate',
+        rate: rps,
+        timeUnit: '1s',
+        duration: DURACION_PASO,
+        startTime: `${i * (segundosPaso + 5)}s`,
+        preAllocatedVUs: Math.max(10, rps),
+        maxVUs: rps * 4,
+        exec: 'crearFactura',
+    };
+    // Los umbrales por escenario crean las submétricas que usa handleSummary
+    thresholds[`http_req_duration{scenario:${nombre}}`] = [`p(95)<${LATENCIA_P95_MS}`];
+    thresholds[`http_req_failed{scenario:${nombre}}`] = ['rate<0.01'];
+    thresholds[`dropped_iterations{scenario:${nombre}}`] = ['count<1'];
+});
+
+export const options = {
+    scenarios,
+    thresholds,
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function crearFactura() {
+    const factura = {
+        clienteId: CLIENTES[Math.floor(Math.random() * CLIENTES.length)],
+        items: [
+            { descripcion: 'Servicio de consultoría', cantidad: 2, precioUnitario: 150000.00 },
+            { descripcion: 'Licencia anual', cantidad: 1, precioUnitario: 980000.00 },
+            { descripcion: 'Soporte', cantidad: 3, precioUnitario: 45000.00 },
+        ],
+    };
+    const respuesta = http.post(`${BASE_URL}/api/v1/facturas`, JSON.stringify(factura), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(respuesta, { 'factura creada (201)': (r) => r.status === 201 });
+}
+
+export function handleSummary(data) {
+    const valor = (metrica, stat) => {
+        const m = data.metrics[metrica];
+        return m && m.values[stat] !== undefined ? m.values[stat] : 0;
+    };
+
+    const pasos = PASOS.map((rps) => {
+        const nombre = `rps_${rps}`;
+        const p95 = valor(`http_req_duration{scenario:${nombre}}`, 'p(95)');
+        const errores = valor(`http_req_failed{scenario:${nombre}}`, 'rate');
+        const descartadas = valor(`dropped_iterations{scenario:${nombre}}`, 'count');
+        const sostenible = p95 < LATENCIA_P95_MS && errores < 0.01 && descartadas < 1;
+        return { rps, p95Ms: Math.round(p95), errores, descartadas, sostenible };
+    });
+    const sostenibles = pasos.filter((p) => p.sostenible).map((p) => p.rps);
+    const resultado = {
+        modo: MODO,
+        latenciaP95MaximaMs: LATENCIA_P95_MS,
+        rpsMaximoSostenible: sostenibles.length ? Math.max(...sostenibles) : 0,
+        pasos,
+    };
+
+    const tabla = pasos
+        .map((p) => `  ${String(p.rps).padStart(5)} rps  p95 ${String(p.p95Ms).padStart(6)} ms  ` +
+            `errores ${(p.errores * 100).toFixed(2)}%  descartadas ${p.descartadas}  ` +
+            (p.sostenible ? 'OK' : 'NO SOSTENIBLE'))
+        .join('\n');
+
+    return {
+        stdout: `\nModo ${MODO} - RPS máximo sostenible con p95 < ${LATENCIA_P95_MS} ms: ` +
+            `${resultado.rpsMaximoSostenible}\n${tabla}\n`,
+        [`resultado-${MODO}.json`]: JSON.stringify(resultado, null, 2),
+    };
+}
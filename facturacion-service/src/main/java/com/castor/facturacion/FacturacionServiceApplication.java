@@ -1,7 +1,15 @@
 package com.castor.facturacion;
 
 import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
+import com.castor.facturacion.infrastructure.config.ClientesCdcProperties;
+import com.castor.facturacion.infrastructure.config.ExportacionFacturasProperties;
+import com.castor.facturacion.infrastructure.config.FacturaCacheProperties;
+import com.castor.facturacion.infrastructure.config.LoteFacturasProperties;
+import com.castor.facturacion.infrastructure.config.NumeroFacturaProperties;
+import com.castor.facturacion.infrastructure.config.OrquestacionProperties;
+import com.castor.facturacion.infrastructure.config.ReglasImpuestosProperties;
 import com.castor.facturacion.infrastructure.config.TaxCalculatorProperties;
+import com.castor.facturacion.infrastructure.config.ValidacionClienteProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
@@ -27,7 +35,15 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 @SpringBootApplication
 @EnableConfigurationProperties({
     ClienteServiceProperties.class,
-    TaxCalculatorProperties.class
+    TaxCalculatorProperties.class,
+    NumeroFacturaProperties.class,
+    LoteFacturasProperties.class,
+    ExportacionFacturasProperties.class,
+    FacturaCacheProperties.class,
+    ValidacionClienteProperties.class,
+    ClientesCdcProperties.class,
+    OrquestacionProperties.class,
+    ReglasImpuestosProperties.class
 })
 public class FacturacionServiceApplication {
 
@@ -0,0 +1,175 @@
+package com.castor.facturacion.application.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ejecuta a la vez las llamadas independientes de un caso de uso (validaciones remotas,
+ * lecturas de Oracle) para que su latencia sea la de la más lenta y no la suma de todas.
+ *
+ * Cada caso de uso abre un Alcance, lanza sus subtareas y espera:
+ * - Un solo plazo para todo el alcance, contado desde que se abre
+ * - El primer fallo cancela las subtareas pendientes y se relanza tal cual,
+ *   para que IllegalArgumentException / IllegalStateException lleguen al controller
+ *   igual que en la versión secuencial
+ * - Vencido el plazo se cancela todo y se lanza IllegalStateException
+ *
+ * Cancelar no interrumpe: las subtareas que no empezaron no se ejecutan y las que están en
+ * curso terminan solas, con su propio timeout, y su resultado se descarta. Interrumpir un
+ * hilo virtual bloqueado en una consulta JDBC cierra la conexión de Oracle y el pool la
+ * tendría que reemplazar; las llamadas HTTP tampoco necesitan la interrupción.
+ *
+ * Las subtareas esperan en E/S, por lo que el ejecutor previsto es uno de hilos virtuales;
+ * maxConcurrencia limita cuántas corren a la vez dentro de un mismo alcance.
+ */
+public class EjecucionConcurrente implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Duration plazo;
+    private final int maxConcurrencia;
+
+    public EjecucionConcurrente(ExecutorService executor, Duration plazo, int maxConcurrencia) {
+        this.executor = executor;
+        this.plazo = plazo;
+        this.maxConcurrencia = maxConcurrencia;
+    }
+
+    /**
+     * Abre un alcance; su plazo empieza a contar ahora
+     */
+    public Alcance abrir() {
+        return new Alcance(System.nanoTime() + plazo.toNanos());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Subtareas de un caso de uso que se esperan y cancelan juntas.
+     * Se usa desde un solo hilo, con try-with-resources.
+     */
+    public final class Alcance implements AutoCloseable {
+
+        private final long limite;
+        private final Semaphore permisos = new Semaphore(maxConcurrencia);
+        private final List<Future<?>> futuros = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> primerFallo = new AtomicReference<>();
+        private volatile boolean cancelado;
+
+        private Alcance(long limite) {
+            this.limite = limite;
+        }
+
+        /**
+         * Inicia la subtarea sin esperar a que termine
+         */
+        public <T> Subtarea<T> lanzar(Callable<T> tarea) {
+            Subtarea<T> subtarea = new Subtarea<>();
+            futuros.add(executor.submit(() -> ejecutar(tarea, subtarea)));
+            return subtarea;
+        }
+
+        private <T> void ejecutar(Callable<T> tarea, Subtarea<T> subtarea) {
+            if (cancelado) {
+                return;
+            }
+            try {
+                permisos.acquire();
+                try {
+                    // Pudo cancelarse mientras esperaba un permiso
+                    if (cancelado) {
+                        return;
+                    }
+                    subtarea.valor = tarea.call();
+                    subtarea.completada = true;
+                } finally {
+                    permisos.release();
+                }
+            } catch (Throwable e) {
+                // Solo cuenta el primero: los demás llegan cuando el alcance ya se canceló
+                if (primerFallo.compareAndSet(null, e)) {
+                    cancelarPendientes();
+                }
+            }
+        }
+
+        /**
+         * Espera a todas las subtareas lanzadas. Relanza el primer fallo o, si vence el plazo,
+         * cancela las pendientes y lanza IllegalStateException.
+         */
+        public void esperar() {
+            for (Future<?> futuro : futuros) {
+                try {
+                    futuro.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (CancellationException | ExecutionException e) {
+                    // Cancelada por un fallo de otra subtarea: se relanza ese fallo abajo
+                } catch (TimeoutException e) {
+                    cancelarPendientes();
+                    throw new IllegalStateException("Plazo de " + plazo + " agotado esperando dependencias");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelarPendientes();
+                    throw new IllegalStateException("Interrumpido esperando dependencias", e);
+                }
+            }
+
+            Throwable fallo = primerFallo.get();
+            if (fallo instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (fallo instanceof Error error) {
+                throw error;
+            }
+            if (fallo != null) {
+                throw new IllegalStateException(fallo.getMessage(), fallo);
+            }
+        }
+
+        /**
+         * Sin interrupción: ver la nota de la clase sobre las consultas JDBC en curso
+         */
+        private void cancelarPendientes() {
+            cancelado = true;
+            futuros.forEach(futuro -> futuro.cancel(false));
+        }
+
+        /**
+         * Cancela lo que siga en curso si se sale del alcance sin esperar (ej: por una excepción)
+         */
+        @Override
+        public void close() {
+            cancelarPendientes();
+        }
+    }
+
+    /**
+     * Resultado de una subtarea, disponible cuando Alcance.esperar() termina sin error
+     */
+    public static final class Subtarea<T> {
+
+        private volatile T valor;
+        private volatile boolean completada;
+
+        private Subtarea() {
+        }
+
+        public T get() {
+            if (!completada) {
+                throw new IllegalStateException("La subtarea no ha terminado correctamente");
+            }
+            return valor;
+        }
+    }
+}
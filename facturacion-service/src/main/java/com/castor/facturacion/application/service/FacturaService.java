@@ -1,10 +1,17 @@
 package com.castor.facturacion.application.service;
 
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.domain.port.in.FacturaUseCase;
 import com.castor.facturacion.domain.port.out.ClienteValidationPort;
 import com.castor.facturacion.domain.port.out.FacturaRepositoryPort;
 import com.castor.facturacion.domain.port.out.TaxCalculatorPort;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
 import com.castor.facturacion.domain.valueobject.FacturaId;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -15,16 +22,41 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Servicio de Aplicación que implementa los casos de uso de Factura.
  *
  * Esta clase orquesta la lógica de negocio y coordina entre el dominio
  * y los puertos de salida (repositorios, servicios externos).
+ *
+ * Los casos de uso no abren transacciones propias: las llamadas remotas (validación de
+ * clientes) terminan antes de tocar la base de datos y la transacción la abre el adaptador
+ * de persistencia solo para el paso de escritura o lectura. Así una respuesta lenta de
+ * clientes-service no retiene conexiones del pool de Oracle.
+ *
+ * Al crear facturas los impuestos de cada item los calcula TaxCalculatorPort (el motor de
+ * reglas en proceso): con el porcentaje del item o, si no trae, con la tasa de su categoría.
+ *
+ * La validación del cliente al crear facturas sigue la EstrategiaValidacionCliente: con
+ * LOCAL no se llama a clientes-service y la valida el adaptador de persistencia dentro de
+ * la transacción del INSERT.
+ *
+ * Las dependencias independientes entre sí se ejecutan a la vez con EjecucionConcurrente:
+ * la existencia del cliente junto con la consulta de la página en los listados, y al crear
+ * la validación del cliente junto con el cálculo de impuestos (en un lote, las de sus
+ * clientes distintos junto con los impuestos de cada factura). Si el cliente no existe o no
+ * está activo, la página ya leída o los impuestos ya calculados se descartan.
  */
 @Service
-@Transactional
 public class FacturaService implements FacturaUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(FacturaService.class);
@@ -32,13 +64,19 @@ public class FacturaService implements FacturaUseCase {
     private final FacturaRepositoryPort facturaRepository;
     private final ClienteValidationPort clienteValidation;
     private final TaxCalculatorPort taxCalculator;
+    private final EstrategiaValidacionCliente estrategiaValidacion;
+    private final EjecucionConcurrente ejecucion;
 
     public FacturaService(FacturaRepositoryPort facturaRepository,
                           ClienteValidationPort clienteValidation,
-                          TaxCalculatorPort taxCalculator) {
+                          TaxCalculatorPort taxCalculator,
+                          EstrategiaValidacionCliente estrategiaValidacion,
+                          EjecucionConcurrente ejecucion) {
         this.facturaRepository = facturaRepository;
         this.clienteValidation = clienteValidation;
         this.taxCalculator = taxCalculator;
+        this.estrategiaValidacion = estrategiaValidacion;
+        this.ejecucion = ejecucion;
     }
 
     @Override
@@ -47,14 +85,12 @@ public class FacturaService implements FacturaUseCase {
     public Factura crearFactura(Factura factura) {
         log.info("Creando factura para cliente: {}", factura.getClienteId());
 
-        // Validación de negocio: El cliente debe estar activo
-        if (!clienteValidation.esClienteActivo(factura.getClienteId())) {
-            log.error("Intento de crear factura para cliente inactivo o inexistente: {}",
-                     factura.getClienteId());
-            throw new IllegalStateException(
-                "No se puede crear factura. El cliente no existe o no está activo: "
-                + factura.getClienteId()
-            );
+        // Validación de negocio: El cliente debe estar activo. Mientras tanto se calculan
+        // los impuestos y descuentos de cada item, que recalculan los totales de la factura
+        if (estrategiaValidacion.validaRemoto()) {
+            aplicarImpuestosConClienteActivo(factura);
+        } else {
+            aplicarImpuestos(factura);
         }
 
         // Validación del dominio
@@ -63,9 +99,6 @@ public class FacturaService implements FacturaUseCase {
             throw new IllegalArgumentException("La factura no cumple con las reglas de negocio");
         }
 
-        // Calcular totales si es necesario (ya calculados en el dominio)
-        factura.calcularTotales();
-
         // Persistir la factura
         Factura facturaGuardada = facturaRepository.guardar(factura);
         log.info("Factura creada exitosamente: {}", facturaGuardada.getNumero());
@@ -73,42 +106,169 @@ public class FacturaService implements FacturaUseCase {
         return facturaGuardada;
     }
 
+    /**
+     * Crea un lote de facturas validando cada cliente distinto una sola vez, todos a la vez y
+     * junto con el cálculo de impuestos de cada factura.
+     *
+     * El repositorio persiste por bloques, cada uno en su transacción, para no retener
+     * una conexión durante todo el lote.
+     */
+    @Override
+    public List<ResultadoCreacionFactura> crearFacturasEnLote(List<Factura> facturas) {
+        log.info("Creando lote de {} facturas", facturas.size());
+
+        ResultadoCreacionFactura[] resultados = new ResultadoCreacionFactura[facturas.size()];
+        Map<Long, EjecucionConcurrente.Subtarea<Boolean>> validaciones = new LinkedHashMap<>();
+        List<EjecucionConcurrente.Subtarea<ImpuestosDelLote>> impuestos = new ArrayList<>(facturas.size());
+        try (EjecucionConcurrente.Alcance alcance = ejecucion.abrir()) {
+            if (estrategiaValidacion.validaRemoto()) {
+                for (Factura factura : facturas) {
+                    validaciones.computeIfAbsent(factura.getClienteId(),
+                        clienteId -> alcance.lanzar(() -> esClienteActivoEnLote(clienteId)));
+                }
+            }
+            for (Factura factura : facturas) {
+                impuestos.add(alcance.lanzar(() -> calcularImpuestosEnLote(factura)));
+            }
+            alcance.esperar();
+        }
+        Map<Long, Boolean> clientesActivos = new HashMap<>();
+        validaciones.forEach((clienteId, validacion) -> clientesActivos.put(clienteId, validacion.get()));
+        List<Factura> facturasValidas = new ArrayList<>(facturas.size());
+        List<Integer> indicesValidos = new ArrayList<>(facturas.size());
+
+        for (int i = 0; i < facturas.size(); i++) {
+            Factura factura = facturas.get(i);
+            Long clienteId = factura.getClienteId();
+
+            if (estrategiaValidacion.validaRemoto() && !clientesActivos.get(clienteId)) {
+                resultados[i] = ResultadoCreacionFactura.fallido(i,
+                    "No se puede crear factura. El cliente no existe o no está activo: " + clienteId);
+                continue;
+            }
+
+            ImpuestosDelLote calculados = impuestos.get(i).get();
+            if (calculados.error() != null) {
+                resultados[i] = ResultadoCreacionFactura.fallido(i, calculados.error());
+                continue;
+            }
+            factura.aplicarImpuestos(calculados.items());
+
+            if (!factura.esValida()) {
+                resultados[i] = ResultadoCreacionFactura.fallido(i,
+                    "La factura no cumple con las reglas de negocio");
+                continue;
+            }
+            facturasValidas.add(factura);
+            indicesValidos.add(i);
+        }
+
+        log.debug("Lote validado: {} clientes distintos, {} facturas para persistir",
+            clientesActivos.size(), facturasValidas.size());
+
+        if (!facturasValidas.isEmpty()) {
+            for (ResultadoCreacionFactura resultado : facturaRepository.guardarTodas(facturasValidas)) {
+                int indiceOriginal = indicesValidos.get(resultado.getIndice());
+                resultados[indiceOriginal] = resultado.conIndice(indiceOriginal);
+            }
+        }
+
+        long exitosas = Arrays.stream(resultados).filter(ResultadoCreacionFactura::esExitoso).count();
+        log.info("Lote procesado: {} facturas creadas, {} rechazadas",
+            exitosas, facturas.size() - exitosas);
+
+        return Arrays.asList(resultados);
+    }
+
     @Override
-    @Transactional(readOnly = true)
     public Optional<Factura> obtenerFacturaPorId(FacturaId id) {
         log.debug("Buscando factura por ID: {}", id);
         return facturaRepository.buscarPorId(id);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Optional<Factura> obtenerFacturaPorId(Long id) {
         log.debug("Buscando factura por ID: {}", id);
         return facturaRepository.buscarPorId(id);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public Optional<String> obtenerNumeroFactura(Long id) {
+        log.debug("Buscando número de factura por ID: {}", id);
+        return facturaRepository.buscarNumeroPorId(id);
+    }
+
+    @Override
     public Page<Factura> listarFacturas(Pageable pageable) {
         log.debug("Listando facturas con paginación: {}", pageable);
         return facturaRepository.listarTodas(pageable);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<Factura> listarFacturasPorCliente(Long clienteId, Pageable pageable) {
         log.debug("Listando facturas para cliente: {} con paginación: {}", clienteId, pageable);
 
-        // Validar que el cliente exista
-        if (!clienteValidation.existeCliente(clienteId)) {
-            log.warn("Búsqueda de facturas para cliente inexistente: {}", clienteId);
-            throw new IllegalArgumentException("El cliente no existe: " + clienteId);
+        return conClienteExistente(clienteId, () -> facturaRepository.listarPorCliente(clienteId, pageable));
+    }
+
+    @Override
+    public Page<ResumenFactura> listarResumenFacturas(Pageable pageable) {
+        log.debug("Listando resumen de facturas con paginación: {}", pageable);
+        return facturaRepository.listarResumenes(pageable);
+    }
+
+    @Override
+    public Page<ResumenFactura> listarResumenFacturasPorCliente(Long clienteId, Pageable pageable) {
+        log.debug("Listando resumen de facturas para cliente: {} con paginación: {}", clienteId, pageable);
+
+        return conClienteExistente(clienteId,
+            () -> facturaRepository.listarResumenesPorCliente(clienteId, pageable));
+    }
+
+    @Override
+    public PaginaCursor<Factura> listarFacturasConCursor(CursorFactura cursor, int tamano) {
+        log.debug("Listando facturas por cursor: {}, tamaño: {}", cursor, tamano);
+        return facturaRepository.listarTodasConCursor(cursor, tamano);
+    }
+
+    /**
+     * Lista las facturas de un cliente por cursor.
+     *
+     * La existencia del cliente se valida solo en la primera página: las siguientes
+     * continúan un listado ya validado y no pagan la llamada remota.
+     */
+    @Override
+    public PaginaCursor<Factura> listarFacturasPorClienteConCursor(Long clienteId, CursorFactura cursor, int tamano) {
+        log.debug("Listando facturas por cursor para cliente: {}, cursor: {}, tamaño: {}",
+            clienteId, cursor, tamano);
+
+        if (cursor != null) {
+            return facturaRepository.listarPorClienteConCursor(clienteId, cursor, tamano);
         }
+        return conClienteExistente(clienteId,
+            () -> facturaRepository.listarPorClienteConCursor(clienteId, null, tamano));
+    }
 
-        return facturaRepository.listarPorCliente(clienteId, pageable);
+    @Override
+    public long exportarResumenFacturas(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor) {
+        log.debug("Exportando resumen de facturas: {}", filtro);
+        validarClienteDeExportacion(filtro);
+        return facturaRepository.exportarResumenes(filtro, consumidor);
     }
 
     @Override
+    public long exportarFacturas(FiltroExportacion filtro, Consumer<Factura> consumidor) {
+        log.debug("Exportando facturas con items: {}", filtro);
+        validarClienteDeExportacion(filtro);
+        return facturaRepository.exportarConItems(filtro, consumidor);
+    }
+
+    /**
+     * Anula una factura. Solo usa la base de datos, por lo que la búsqueda y la
+     * eliminación comparten una transacción.
+     */
+    @Override
+    @Transactional
     public void anularFactura(FacturaId id) {
         log.info("Anulando factura: {}", id);
 
@@ -121,6 +281,101 @@ public class FacturaService implements FacturaUseCase {
         log.info("Factura anulada exitosamente: {}", factura.getNumero());
     }
 
+    /**
+     * Calcula impuestos y descuentos de los items con TaxCalculatorPort y los aplica a la factura
+     */
+    private void aplicarImpuestos(Factura factura) {
+        factura.aplicarImpuestos(taxCalculator.calcularImpuestosYDescuentos(factura.getItems()));
+    }
+
+    /**
+     * Calcula los impuestos mientras se comprueba que el cliente está activo. Si no lo está,
+     * la comprobación falla primero o a la vez, se cancela el cálculo y su resultado se descarta.
+     */
+    private void aplicarImpuestosConClienteActivo(Factura factura) {
+        try (EjecucionConcurrente.Alcance alcance = ejecucion.abrir()) {
+            alcance.lanzar(() -> {
+                validarClienteActivo(factura.getClienteId());
+                return null;
+            });
+            EjecucionConcurrente.Subtarea<List<ItemFactura>> calculados =
+                alcance.lanzar(() -> taxCalculator.calcularImpuestosYDescuentos(factura.getItems()));
+            alcance.esperar();
+            factura.aplicarImpuestos(calculados.get());
+        }
+    }
+
+    private void validarClienteActivo(Long clienteId) {
+        if (!clienteValidation.esClienteActivo(clienteId)) {
+            log.error("Intento de crear factura para cliente inactivo o inexistente: {}", clienteId);
+            throw new IllegalStateException(
+                "No se puede crear factura. El cliente no existe o no está activo: " + clienteId
+            );
+        }
+    }
+
+    /**
+     * Ejecuta la consulta mientras se comprueba que el cliente existe. Si no existe, la
+     * comprobación falla primero o a la vez, se cancela la consulta y su resultado se descarta.
+     */
+    private <T> T conClienteExistente(Long clienteId, Callable<T> consulta) {
+        try (EjecucionConcurrente.Alcance alcance = ejecucion.abrir()) {
+            alcance.lanzar(() -> {
+                validarClienteExistente(clienteId);
+                return null;
+            });
+            EjecucionConcurrente.Subtarea<T> resultado = alcance.lanzar(consulta);
+            alcance.esperar();
+            return resultado.get();
+        }
+    }
+
+    private void validarClienteExistente(Long clienteId) {
+        if (!clienteValidation.existeCliente(clienteId)) {
+            log.warn("Búsqueda de facturas para cliente inexistente: {}", clienteId);
+            throw new IllegalArgumentException("El cliente no existe: " + clienteId);
+        }
+    }
+
+    /**
+     * La existencia del cliente se valida antes de abrir el cursor, cuando aún se puede
+     * responder con un error en lugar de una exportación vacía. Por eso no se solapa con
+     * la exportación como en los listados.
+     */
+    private void validarClienteDeExportacion(FiltroExportacion filtro) {
+        if (filtro.getClienteId() != null && !clienteValidation.existeCliente(filtro.getClienteId())) {
+            log.warn("Exportación de facturas para cliente inexistente: {}", filtro.getClienteId());
+            throw new IllegalArgumentException("El cliente no existe: " + filtro.getClienteId());
+        }
+    }
+
+    /**
+     * Valida un cliente del lote. Un error de validación rechaza solo las facturas de ese cliente.
+     */
+    private boolean esClienteActivoEnLote(Long clienteId) {
+        try {
+            return clienteValidation.esClienteActivo(clienteId);
+        } catch (RuntimeException e) {
+            log.warn("No fue posible validar el cliente {} del lote: {}", clienteId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Calcula los impuestos de una factura del lote. Un error de cálculo (por ejemplo, una
+     * categoría sin tasa) rechaza solo esa factura.
+     */
+    private ImpuestosDelLote calcularImpuestosEnLote(Factura factura) {
+        try {
+            return new ImpuestosDelLote(taxCalculator.calcularImpuestosYDescuentos(factura.getItems()), null);
+        } catch (IllegalArgumentException e) {
+            return new ImpuestosDelLote(null, e.getMessage());
+        }
+    }
+
+    private record ImpuestosDelLote(List<ItemFactura> items, String error) {
+    }
+
     /**
      * Método fallback para cuando falla la creación de factura
      */
@@ -0,0 +1,37 @@
+package com.castor.facturacion.domain;
+
+/**
+ * Dónde se valida que el cliente de una factura esté activo al crearla.
+ *
+ * - REMOTA: llamada a clientes-service (ClienteValidationPort) antes de persistir.
+ * - LOCAL: consulta por ID a la réplica CDC de clientes dentro de la transacción del INSERT.
+ * - AMBAS: las dos validaciones.
+ */
+public enum EstrategiaValidacionCliente {
+
+    REMOTA(true, false),
+    LOCAL(false, true),
+    AMBAS(true, true);
+
+    private final boolean remota;
+    private final boolean local;
+
+    EstrategiaValidacionCliente(boolean remota, boolean local) {
+        this.remota = remota;
+        this.local = local;
+    }
+
+    /**
+     * true si el caso de uso debe validar el cliente con clientes-service
+     */
+    public boolean validaRemoto() {
+        return remota;
+    }
+
+    /**
+     * true si la persistencia debe validar el cliente contra la réplica local
+     */
+    public boolean validaLocal() {
+        return local;
+    }
+}
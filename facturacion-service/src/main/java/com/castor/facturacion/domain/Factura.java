@@ -1,5 +1,6 @@
 package com.castor.facturacion.domain;
 
+import com.castor.facturacion.domain.valueobject.Centavos;
 import com.castor.facturacion.domain.valueobject.Dinero;
 import com.castor.facturacion.domain.valueobject.FacturaId;
 import com.castor.facturacion.domain.valueobject.NumeroFactura;
@@ -7,6 +8,7 @@ import com.castor.facturacion.domain.valueobject.NumeroFactura;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Currency;
 import java.util.List;
 import java.util.Objects;
 
@@ -28,6 +30,13 @@ public class Factura {
     private Dinero totalFinal;
     private LocalDateTime fechaCreacion;
 
+    // Acumulados en centavos para agregar ítems en O(1) sin recorrer la lista
+    private long subtotalCentavos;
+    private long impuestosCentavos;
+    private long descuentosCentavos;
+    private Currency moneda;  // La de los ítems; null mientras no se acumule ninguno
+    private boolean totalesActualizados;
+
     // Constructor privado
     private Factura() {
         this.items = new ArrayList<>();
@@ -44,14 +53,17 @@ public class Factura {
     }
 
     /**
-     * Factory Method: Crear nueva factura
+     * Factory Method: Crear nueva factura con un número obtenido de GeneradorNumeroFacturaPort
      */
-    public static Factura crear(Long clienteId, List<ItemFactura> items) {
+    public static Factura crear(NumeroFactura numero, Long clienteId, List<ItemFactura> items) {
+        if (numero == null) {
+            throw new IllegalArgumentException("El número de factura es obligatorio");
+        }
         validarDatosCreacion(clienteId, items);
 
         return new Factura(
             FacturaId.generate(),
-            NumeroFactura.generar(),
+            numero,
             clienteId,
             items,
             LocalDateTime.now()
@@ -75,6 +87,16 @@ public class Factura {
         factura.totalDescuentos = totalDescuentos;
         factura.totalFinal = totalFinal;
         factura.fechaCreacion = fechaCreacion;
+
+        // Los totales persistidos son la fuente de verdad; solo se siembran los acumulados
+        factura.totalesActualizados = subtotalGeneral != null && totalImpuestos != null
+            && totalDescuentos != null && totalFinal != null;
+        if (factura.totalesActualizados) {
+            factura.subtotalCentavos = subtotalGeneral.getCentavos();
+            factura.impuestosCentavos = totalImpuestos.getCentavos();
+            factura.descuentosCentavos = totalDescuentos.getCentavos();
+            factura.moneda = subtotalGeneral.getMoneda();
+        }
         return factura;
     }
 
@@ -92,6 +114,8 @@ public class Factura {
 
     /**
      * Comportamiento de dominio: Agregar item a la factura
+     *
+     * Actualiza los totales de forma incremental (O(1)) sin recorrer los ítems existentes.
      */
     public void agregarItem(ItemFactura item) {
         if (item == null) {
@@ -100,39 +124,85 @@ public class Factura {
         if (this.items.size() >= 100) {
             throw new IllegalStateException("No se pueden agregar más de 100 ítems a una factura");
         }
+        if (!totalesActualizados) {
+            calcularTotales();
+        }
+        acumular(item);
         this.items.add(item);
-        calcularTotales();
+        publicarTotales();
     }
 
     /**
      * Comportamiento de dominio: Calcular totales de la factura
+     *
+     * Recorre los ítems una sola vez acumulando subtotal, impuestos y descuentos.
      */
     public void calcularTotales() {
-        if (items.isEmpty()) {
-            this.subtotalGeneral = Dinero.cero();
-            this.totalImpuestos = Dinero.cero();
-            this.totalDescuentos = Dinero.cero();
-            this.totalFinal = Dinero.cero();
-            return;
+        this.subtotalCentavos = 0L;
+        this.impuestosCentavos = 0L;
+        this.descuentosCentavos = 0L;
+        this.moneda = null;
+
+        for (ItemFactura item : items) {
+            acumular(item);
         }
 
-        // Sumar todos los subtotales
-        this.subtotalGeneral = items.stream()
-            .map(ItemFactura::getSubtotal)
-            .reduce(Dinero.cero(), Dinero::sumar);
+        publicarTotales();
+    }
 
-        // Sumar todos los impuestos
-        this.totalImpuestos = items.stream()
-            .map(ItemFactura::getImpuesto)
-            .reduce(Dinero.cero(), Dinero::sumar);
+    /**
+     * Comportamiento de dominio: Aplicar los impuestos calculados por TaxCalculatorPort
+     *
+     * Reemplaza los ítems por los calculados, en el mismo orden, y recalcula los totales.
+     * Después de aplicarlos todos los ítems deben tener porcentaje de impuesto.
+     */
+    public void aplicarImpuestos(List<ItemFactura> calculados) {
+        if (calculados == null || calculados.size() != items.size()) {
+            throw new IllegalArgumentException("Se esperaban " + items.size() + " ítems calculados");
+        }
+        for (ItemFactura calculado : calculados) {
+            if (!calculado.tieneTasaImpuesto()) {
+                throw new IllegalStateException("Ítem sin porcentaje de impuesto: " + calculado.getDescripcion());
+            }
+        }
+        this.items = new ArrayList<>(calculados);
+        calcularTotales();
+    }
+
+    /**
+     * Indica si los totales reflejan los ítems actuales y no requieren recálculo
+     */
+    public boolean tieneTotalesActualizados() {
+        return totalesActualizados;
+    }
+
+    /**
+     * Suma el ítem a los acumulados. Todos los ítems deben tener la moneda del primero,
+     * igual que al sumar Dinero.
+     */
+    private void acumular(ItemFactura item) {
+        Currency monedaItem = item.getSubtotal().getMoneda();
+        if (moneda == null) {
+            moneda = monedaItem;
+        } else if (!moneda.equals(monedaItem)) {
+            throw new IllegalArgumentException("No se pueden operar cantidades con diferentes monedas");
+        }
+        this.subtotalCentavos = Centavos.sumar(subtotalCentavos, item.getSubtotal().getCentavos());
+        this.impuestosCentavos = Centavos.sumar(impuestosCentavos, item.getImpuesto().getCentavos());
+        this.descuentosCentavos = Centavos.sumar(descuentosCentavos, item.getDescuento().getCentavos());
+    }
 
-        // Sumar todos los descuentos
-        this.totalDescuentos = items.stream()
-            .map(ItemFactura::getDescuento)
-            .reduce(Dinero.cero(), Dinero::sumar);
+    private void publicarTotales() {
+        Currency monedaTotales = moneda != null ? moneda : Dinero.cero().getMoneda();
+        this.subtotalGeneral = Dinero.deCentavos(subtotalCentavos, monedaTotales);
+        this.totalImpuestos = Dinero.deCentavos(impuestosCentavos, monedaTotales);
+        this.totalDescuentos = Dinero.deCentavos(descuentosCentavos, monedaTotales);
 
         // Total final = subtotal + impuestos - descuentos
-        this.totalFinal = subtotalGeneral.sumar(totalImpuestos).restar(totalDescuentos);
+        this.totalFinal = Dinero.deCentavos(
+            Centavos.restar(Centavos.sumar(subtotalCentavos, impuestosCentavos), descuentosCentavos),
+            monedaTotales);
+        this.totalesActualizados = true;
     }
 
     /**
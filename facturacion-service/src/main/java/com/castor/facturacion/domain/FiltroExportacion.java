@@ -0,0 +1,74 @@
+package com.castor.facturacion.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de una exportación de facturas.
+ *
+ * El rango de fechas se guarda como [desde, hasta) sobre fechaCreacion: la fecha final
+ * se incluye completa. Los criterios nulos no filtran.
+ */
+public final class FiltroExportacion {
+
+    private final LocalDateTime desde;
+    private final LocalDateTime hasta;
+    private final Long clienteId;
+
+    private FiltroExportacion(LocalDateTime desde, LocalDateTime hasta, Long clienteId) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.clienteId = clienteId;
+    }
+
+    /**
+     * @param desde Primer día incluido, o null para no limitar
+     * @param hasta Último día incluido, o null para no limitar
+     * @param clienteId ID del cliente, o null para todos
+     * @throws IllegalArgumentException si el rango está invertido o el ID no es positivo
+     */
+    public static FiltroExportacion of(LocalDate desde, LocalDate hasta, Long clienteId) {
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha hasta no puede ser anterior a la fecha desde");
+        }
+        if (clienteId != null && clienteId <= 0) {
+            throw new IllegalArgumentException("El ID del cliente debe ser un número positivo");
+        }
+        return new FiltroExportacion(
+            desde != null ? desde.atStartOfDay() : null,
+            hasta != null ? hasta.plusDays(1).atStartOfDay() : null,
+            clienteId
+        );
+    }
+
+    public static FiltroExportacion todas() {
+        return new FiltroExportacion(null, null, null);
+    }
+
+    /**
+     * Inicio del rango (inclusivo), o null
+     */
+    public LocalDateTime getDesde() {
+        return desde;
+    }
+
+    /**
+     * Fin del rango (exclusivo), o null
+     */
+    public LocalDateTime getHasta() {
+        return hasta;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    @Override
+    public String toString() {
+        return "FiltroExportacion{" +
+               "desde=" + desde +
+               ", hasta=" + hasta +
+               ", clienteId=" + clienteId +
+               '}';
+    }
+}
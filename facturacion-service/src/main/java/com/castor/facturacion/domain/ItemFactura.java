@@ -1,9 +1,11 @@
 package com.castor.facturacion.domain;
 
 import com.castor.facturacion.domain.valueobject.Cantidad;
+import com.castor.facturacion.domain.valueobject.Centavos;
 import com.castor.facturacion.domain.valueobject.Dinero;
 import com.castor.facturacion.domain.valueobject.Porcentaje;
 
+import java.util.Currency;
 import java.util.Objects;
 
 /**
@@ -18,6 +20,7 @@ public class ItemFactura {
     private Dinero precioUnitario;
     private Porcentaje porcentajeImpuesto;
     private Porcentaje porcentajeDescuento;
+    private String categoria;  // Solo para resolver la tasa de un item sin porcentaje de impuesto
     private Dinero subtotal;
     private Dinero impuesto;
     private Dinero descuento;
@@ -48,6 +51,21 @@ public class ItemFactura {
                               porcentajeDescuento != null ? porcentajeDescuento : Porcentaje.cero());
     }
 
+    /**
+     * Factory Method: Crear item sin porcentaje de impuesto propio.
+     *
+     * La tasa la resuelve TaxCalculatorPort con la de su categoría (null: la categoría por
+     * defecto de las reglas de impuestos); hasta entonces el item no lleva impuesto.
+     */
+    public static ItemFactura crearPorCategoria(String descripcion, Cantidad cantidad, Dinero precioUnitario,
+                                                String categoria, Porcentaje porcentajeDescuento) {
+        validarDatosCreacion(descripcion, cantidad, precioUnitario);
+        ItemFactura item = new ItemFactura(descripcion, cantidad, precioUnitario, null,
+                                           porcentajeDescuento != null ? porcentajeDescuento : Porcentaje.cero());
+        item.categoria = categoria;
+        return item;
+    }
+
     /**
      * Factory Method: Reconstruir desde persistencia
      */
@@ -84,23 +102,31 @@ public class ItemFactura {
 
     /**
      * Comportamiento de dominio: Calcular totales del item
+     *
+     * Opera en centavos (long) y solo crea los Dinero resultantes.
      */
     private void calcularTotales() {
+        Currency moneda = precioUnitario.getMoneda();
+
         // Subtotal = cantidad * precio_unitario
-        this.subtotal = precioUnitario.multiplicar(
-            cantidad.getValor().compareTo(1) == 0 ?
-                java.math.BigDecimal.ONE :
-                new java.math.BigDecimal(cantidad.getValor())
-        );
+        long subtotalCentavos = Centavos.multiplicar(precioUnitario.getCentavos(), cantidad.getValor());
 
-        // Impuesto = subtotal * (porcentaje_impuesto / 100)
-        this.impuesto = subtotal.aplicarPorcentaje(porcentajeImpuesto);
+        // Impuesto = subtotal * (porcentaje_impuesto / 100); sin tasa resuelta aún, 0
+        long impuestoCentavos = porcentajeImpuesto != null
+            ? Centavos.aplicarPorcentaje(subtotalCentavos, porcentajeImpuesto)
+            : 0L;
 
         // Descuento = subtotal * (porcentaje_descuento / 100)
-        this.descuento = subtotal.aplicarPorcentaje(porcentajeDescuento);
+        long descuentoCentavos = Centavos.aplicarPorcentaje(subtotalCentavos, porcentajeDescuento);
 
         // Total = subtotal + impuesto - descuento
-        this.total = subtotal.sumar(impuesto).restar(descuento);
+        long totalCentavos = Centavos.restar(
+            Centavos.sumar(subtotalCentavos, impuestoCentavos), descuentoCentavos);
+
+        this.subtotal = Dinero.deCentavos(subtotalCentavos, moneda);
+        this.impuesto = Dinero.deCentavos(impuestoCentavos, moneda);
+        this.descuento = Dinero.deCentavos(descuentoCentavos, moneda);
+        this.total = Dinero.deCentavos(totalCentavos, moneda);
     }
 
     /**
@@ -131,6 +157,20 @@ public class ItemFactura {
         return porcentajeDescuento;
     }
 
+    /**
+     * Categoría de impuesto del item; null si trae porcentaje propio o usa la categoría por defecto
+     */
+    public String getCategoria() {
+        return categoria;
+    }
+
+    /**
+     * Indica si el item ya tiene porcentaje de impuesto (propio o resuelto por su categoría)
+     */
+    public boolean tieneTasaImpuesto() {
+        return porcentajeImpuesto != null;
+    }
+
     public Dinero getSubtotal() {
         return subtotal;
     }
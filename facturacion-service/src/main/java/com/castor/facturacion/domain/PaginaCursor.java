@@ -0,0 +1,48 @@
+package com.castor.facturacion.domain;
+
+import com.castor.facturacion.domain.valueobject.CursorFactura;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Página de un listado por cursor (keyset).
+ *
+ * A diferencia de Page, no incluye el total de elementos: solo indica si hay
+ * una página siguiente y el cursor para pedirla.
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+public final class PaginaCursor<T> {
+
+    private final List<T> contenido;
+    private final CursorFactura siguiente;
+
+    public PaginaCursor(List<T> contenido, CursorFactura siguiente) {
+        this.contenido = List.copyOf(contenido);
+        this.siguiente = siguiente;
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    /**
+     * Cursor de la siguiente página, vacío si esta es la última
+     */
+    public Optional<CursorFactura> getSiguiente() {
+        return Optional.ofNullable(siguiente);
+    }
+
+    public boolean tieneSiguiente() {
+        return siguiente != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaCursor{" +
+               "elementos=" + contenido.size() +
+               ", tieneSiguiente=" + tieneSiguiente() +
+               '}';
+    }
+}
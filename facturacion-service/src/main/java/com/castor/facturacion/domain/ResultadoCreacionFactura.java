@@ -0,0 +1,73 @@
+package com.castor.facturacion.domain;
+
+import java.util.Objects;
+
+/**
+ * Resultado de crear una factura dentro de un lote.
+ *
+ * Cada resultado conserva la posición de la factura en el lote original, de modo
+ * que el cliente pueda correlacionar éxitos y fallos parciales.
+ */
+public final class ResultadoCreacionFactura {
+
+    private final int indice;
+    private final Factura factura;
+    private final String error;
+
+    private ResultadoCreacionFactura(int indice, Factura factura, String error) {
+        if (indice < 0) {
+            throw new IllegalArgumentException("El índice no puede ser negativo");
+        }
+        this.indice = indice;
+        this.factura = factura;
+        this.error = error;
+    }
+
+    /**
+     * Factura creada exitosamente
+     */
+    public static ResultadoCreacionFactura exitoso(int indice, Factura factura) {
+        Objects.requireNonNull(factura, "La factura creada no puede ser nula");
+        return new ResultadoCreacionFactura(indice, factura, null);
+    }
+
+    /**
+     * Factura rechazada con el motivo del fallo
+     */
+    public static ResultadoCreacionFactura fallido(int indice, String error) {
+        Objects.requireNonNull(error, "El motivo del fallo no puede ser nulo");
+        return new ResultadoCreacionFactura(indice, null, error);
+    }
+
+    /**
+     * Retorna el mismo resultado con otra posición (al traducir índices entre lotes)
+     */
+    public ResultadoCreacionFactura conIndice(int nuevoIndice) {
+        return new ResultadoCreacionFactura(nuevoIndice, factura, error);
+    }
+
+    public boolean esExitoso() {
+        return factura != null;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public Factura getFactura() {
+        return factura;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoCreacionFactura{" +
+               "indice=" + indice +
+               ", exitoso=" + esExitoso() +
+               (error != null ? ", error='" + error + '\'' : "") +
+               '}';
+    }
+}
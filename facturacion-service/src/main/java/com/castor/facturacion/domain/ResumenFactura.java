@@ -0,0 +1,79 @@
+package com.castor.facturacion.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de lectura: datos de cabecera de una factura, sin sus items.
+ *
+ * Se usa en los listados de resumen. Se construye directamente desde las columnas de
+ * FACTURAS (proyección JPQL), por lo que no carga ITEMS_FACTURA ni pasa por la
+ * entidad JPA ni por el agregado Factura.
+ */
+public final class ResumenFactura {
+
+    private final Long id;
+    private final String numero;
+    private final Long clienteId;
+    private final BigDecimal subtotalGeneral;
+    private final BigDecimal totalImpuestos;
+    private final BigDecimal totalDescuentos;
+    private final BigDecimal totalFinal;
+    private final LocalDateTime fechaCreacion;
+
+    public ResumenFactura(Long id, String numero, Long clienteId,
+                          BigDecimal subtotalGeneral, BigDecimal totalImpuestos,
+                          BigDecimal totalDescuentos, BigDecimal totalFinal,
+                          LocalDateTime fechaCreacion) {
+        this.id = id;
+        this.numero = numero;
+        this.clienteId = clienteId;
+        this.subtotalGeneral = subtotalGeneral;
+        this.totalImpuestos = totalImpuestos;
+        this.totalDescuentos = totalDescuentos;
+        this.totalFinal = totalFinal;
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public BigDecimal getSubtotalGeneral() {
+        return subtotalGeneral;
+    }
+
+    public BigDecimal getTotalImpuestos() {
+        return totalImpuestos;
+    }
+
+    public BigDecimal getTotalDescuentos() {
+        return totalDescuentos;
+    }
+
+    public BigDecimal getTotalFinal() {
+        return totalFinal;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumenFactura{" +
+               "id=" + id +
+               ", numero='" + numero + '\'' +
+               ", clienteId=" + clienteId +
+               ", totalFinal=" + totalFinal +
+               '}';
+    }
+}
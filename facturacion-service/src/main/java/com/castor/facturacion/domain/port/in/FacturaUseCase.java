@@ -1,11 +1,18 @@
 package com.castor.facturacion.domain.port.in;
 
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
 import com.castor.facturacion.domain.valueobject.FacturaId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de Entrada (Driving Port)
@@ -26,6 +33,17 @@ public interface FacturaUseCase {
      */
     Factura crearFactura(Factura factura);
 
+    /**
+     * Crear un lote de facturas (ej: exportaciones del ERP).
+     *
+     * Cada cliente distinto se valida una sola vez y las facturas se persisten en
+     * transacciones por bloques. Una factura rechazada no impide crear las demás.
+     *
+     * @param facturas Facturas a crear
+     * @return Un resultado por factura, en el mismo orden del lote
+     */
+    List<ResultadoCreacionFactura> crearFacturasEnLote(List<Factura> facturas);
+
     /**
      * Obtener una factura por su ID
      *
@@ -42,6 +60,14 @@ public interface FacturaUseCase {
      */
     Optional<Factura> obtenerFacturaPorId(Long id);
 
+    /**
+     * Obtener el número de una factura sin cargar sus items (ej: validar un ETag)
+     *
+     * @param id ID de la factura
+     * @return Optional con el número si la factura existe
+     */
+    Optional<String> obtenerNumeroFactura(Long id);
+
     /**
      * Listar todas las facturas con paginación
      *
@@ -59,6 +85,64 @@ public interface FacturaUseCase {
      */
     Page<Factura> listarFacturasPorCliente(Long clienteId, Pageable pageable);
 
+    /**
+     * Listar el resumen de todas las facturas (sin items) con paginación
+     *
+     * @param pageable Información de paginación
+     * @return Página de resúmenes de facturas
+     */
+    Page<ResumenFactura> listarResumenFacturas(Pageable pageable);
+
+    /**
+     * Listar el resumen de las facturas de un cliente (sin items) con paginación
+     *
+     * @param clienteId ID del cliente
+     * @param pageable Información de paginación
+     * @return Página de resúmenes de facturas del cliente
+     * @throws IllegalArgumentException si el cliente no existe
+     */
+    Page<ResumenFactura> listarResumenFacturasPorCliente(Long clienteId, Pageable pageable);
+
+    /**
+     * Listar todas las facturas por cursor (sin total de elementos)
+     *
+     * @param cursor Cursor de la página anterior, o null para la primera página
+     * @param tamano Tamaño de página
+     * @return Página de facturas con el cursor de la siguiente
+     */
+    PaginaCursor<Factura> listarFacturasConCursor(CursorFactura cursor, int tamano);
+
+    /**
+     * Listar facturas por cliente por cursor (sin total de elementos)
+     *
+     * @param clienteId ID del cliente
+     * @param cursor Cursor de la página anterior, o null para la primera página
+     * @param tamano Tamaño de página
+     * @return Página de facturas del cliente con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cliente no existe (se valida en la primera página)
+     */
+    PaginaCursor<Factura> listarFacturasPorClienteConCursor(Long clienteId, CursorFactura cursor, int tamano);
+
+    /**
+     * Exportar el resumen (sin items) de las facturas que cumplen el filtro
+     *
+     * @param filtro Criterios de la exportación
+     * @param consumidor Recibe cada resumen a medida que se lee
+     * @return Número de facturas exportadas
+     * @throws IllegalArgumentException si el filtro indica un cliente que no existe
+     */
+    long exportarResumenFacturas(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor);
+
+    /**
+     * Exportar las facturas, con sus items, que cumplen el filtro
+     *
+     * @param filtro Criterios de la exportación
+     * @param consumidor Recibe cada factura a medida que se lee
+     * @return Número de facturas exportadas
+     * @throws IllegalArgumentException si el filtro indica un cliente que no existe
+     */
+    long exportarFacturas(FiltroExportacion filtro, Consumer<Factura> consumidor);
+
     /**
      * Anular una factura
      *
@@ -1,11 +1,18 @@
 package com.castor.facturacion.domain.port.out;
 
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
 import com.castor.facturacion.domain.valueobject.FacturaId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de Salida (Driven Port)
@@ -24,6 +31,16 @@ public interface FacturaRepositoryPort {
      */
     Factura guardar(Factura factura);
 
+    /**
+     * Guardar un lote de facturas en transacciones por bloques.
+     *
+     * Si un bloque falla, sus facturas se reintentan una a una para aislar el fallo.
+     *
+     * @param facturas Facturas a guardar
+     * @return Un resultado por factura, con el índice de su posición en la lista recibida
+     */
+    List<ResultadoCreacionFactura> guardarTodas(List<Factura> facturas);
+
     /**
      * Buscar factura por ID
      *
@@ -57,6 +74,75 @@ public interface FacturaRepositoryPort {
      */
     Page<Factura> listarPorCliente(Long clienteId, Pageable pageable);
 
+    /**
+     * Listar el resumen (cabecera sin items) de todas las facturas con paginación.
+     * Solo lee columnas de FACTURAS.
+     *
+     * @param pageable Información de paginación
+     * @return Página de resúmenes de facturas
+     */
+    Page<ResumenFactura> listarResumenes(Pageable pageable);
+
+    /**
+     * Listar el resumen (cabecera sin items) de las facturas de un cliente con paginación
+     *
+     * @param clienteId ID del cliente
+     * @param pageable Información de paginación
+     * @return Página de resúmenes de facturas del cliente
+     */
+    Page<ResumenFactura> listarResumenesPorCliente(Long clienteId, Pageable pageable);
+
+    /**
+     * Listar facturas por cursor (keyset), ordenadas por fechaCreacion DESC, id DESC.
+     * No ejecuta COUNT y el costo por página no depende de la profundidad.
+     *
+     * @param cursor Posición de la última factura entregada, o null para la primera página
+     * @param tamano Número máximo de facturas de la página
+     * @return Página con el cursor de la siguiente, si existe
+     */
+    PaginaCursor<Factura> listarTodasConCursor(CursorFactura cursor, int tamano);
+
+    /**
+     * Listar facturas de un cliente por cursor (keyset), ordenadas por fechaCreacion DESC, id DESC.
+     *
+     * @param clienteId ID del cliente
+     * @param cursor Posición de la última factura entregada, o null para la primera página
+     * @param tamano Número máximo de facturas de la página
+     * @return Página con el cursor de la siguiente, si existe
+     */
+    PaginaCursor<Factura> listarPorClienteConCursor(Long clienteId, CursorFactura cursor, int tamano);
+
+    /**
+     * Recorrer el resumen de las facturas que cumplen el filtro, en orden fechaCreacion, id.
+     *
+     * Las filas se leen con un cursor de solo avance y se entregan una a una al consumidor,
+     * sin acumularlas: la memoria usada no depende del número de facturas.
+     *
+     * @param filtro Criterios de la exportación
+     * @param consumidor Recibe cada resumen en orden
+     * @return Número de facturas exportadas
+     */
+    long exportarResumenes(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor);
+
+    /**
+     * Recorrer las facturas con sus items que cumplen el filtro, en orden fechaCreacion, id.
+     * Igual que exportarResumenes, solo retiene en memoria la factura en curso.
+     *
+     * @param filtro Criterios de la exportación
+     * @param consumidor Recibe cada factura completa en orden
+     * @return Número de facturas exportadas
+     */
+    long exportarConItems(FiltroExportacion filtro, Consumer<Factura> consumidor);
+
+    /**
+     * Buscar solo el número de una factura, sin cargar sus items.
+     * Basta para validar un ETag: una factura no cambia después de creada.
+     *
+     * @param id ID de la factura
+     * @return Optional con el número si la factura existe
+     */
+    Optional<String> buscarNumeroPorId(Long id);
+
     /**
      * Verificar si existe una factura
      *
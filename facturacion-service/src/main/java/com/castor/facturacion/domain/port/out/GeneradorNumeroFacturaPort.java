@@ -0,0 +1,20 @@
+package com.castor.facturacion.domain.port.out;
+
+import com.castor.facturacion.domain.valueobject.NumeroFactura;
+
+/**
+ * Puerto de Salida (Driven Port)
+ * Define el contrato para obtener números de factura nuevos.
+ *
+ * Cada réplica usa su propio nodo, asignado por la infraestructura al arrancar,
+ * para que los números no colisionen entre instancias.
+ */
+public interface GeneradorNumeroFacturaPort {
+
+    /**
+     * Genera el siguiente número de factura, único entre hilos y réplicas
+     *
+     * @return Número de factura nuevo
+     */
+    NumeroFactura siguiente();
+}
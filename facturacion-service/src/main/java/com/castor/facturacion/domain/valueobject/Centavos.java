@@ -0,0 +1,90 @@
+package com.castor.facturacion.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de punto fijo sobre centavos (escala 2) almacenados en un {@code long}.
+ *
+ * Usada por los cálculos de totales de Factura e ItemFactura para operar sin
+ * crear BigDecimal intermedios. Produce exactamente los mismos resultados que
+ * las operaciones equivalentes de BigDecimal con setScale(2, HALF_UP).
+ *
+ * Todas las cantidades son no negativas (invariante de Dinero).
+ */
+public final class Centavos {
+
+    /** Valor de Porcentaje.getCentesimas() cuando el porcentaje tiene más de 2 decimales */
+    public static final long NO_EXACTO = -1L;
+
+    private static final long CIEN_POR_CIENTO = 10_000L;  // 100.00% en centésimas
+    private static final long MAX_PARA_PORCENTAJE = Long.MAX_VALUE / CIEN_POR_CIENTO;
+
+    private Centavos() {
+    }
+
+    /**
+     * Convierte una cantidad BigDecimal a centavos redondeando HALF_UP a 2 decimales.
+     *
+     * @throws IllegalArgumentException si la cantidad no cabe en un long
+     */
+    public static long de(BigDecimal cantidad) {
+        try {
+            return cantidad.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("La cantidad excede el rango soportado: " + cantidad, e);
+        }
+    }
+
+    /**
+     * Convierte centavos a BigDecimal con escala 2 (solo en los bordes: persistencia y JSON)
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public static long sumar(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El resultado de la suma excede el rango soportado", e);
+        }
+    }
+
+    public static long restar(long a, long b) {
+        long resultado = a - b;
+        if (resultado < 0) {
+            throw new IllegalArgumentException("El resultado de la resta no puede ser negativo");
+        }
+        return resultado;
+    }
+
+    public static long multiplicar(long centavos, long factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("El factor no puede ser negativo");
+        }
+        try {
+            return Math.multiplyExact(centavos, factor);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El resultado de la multiplicación excede el rango soportado", e);
+        }
+    }
+
+    /**
+     * Aplica un porcentaje expresado en centésimas (19.00% = 1900) con redondeo HALF_UP.
+     *
+     * Equivale a cantidad.multiply(porcentaje).divide(100, 2, HALF_UP).
+     * Si el porcentaje no es exacto en centésimas o el producto desborda un long,
+     * se usa BigDecimal para conservar el resultado exacto.
+     */
+    public static long aplicarPorcentaje(long centavos, Porcentaje porcentaje) {
+        long centesimas = porcentaje.getCentesimas();
+        if (centesimas == NO_EXACTO || centavos > MAX_PARA_PORCENTAJE) {
+            return de(aBigDecimal(centavos)
+                .multiply(porcentaje.getValor())
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+        }
+        // centavos * centesimas / 10000, redondeando la mitad hacia arriba (valores no negativos)
+        return (centavos * centesimas + CIEN_POR_CIENTO / 2) / CIEN_POR_CIENTO;
+    }
+}
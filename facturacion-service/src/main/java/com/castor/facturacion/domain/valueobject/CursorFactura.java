@@ -0,0 +1,104 @@
+package com.castor.facturacion.domain.valueobject;
+
+import com.castor.facturacion.domain.Factura;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Value Object: Cursor de paginación por clave (keyset) sobre (fechaCreacion, id).
+ *
+ * Identifica la última factura entregada en un listado ordenado por fechaCreacion DESC, id DESC.
+ * La siguiente página empieza justo después de esa posición, sin OFFSET ni COUNT.
+ *
+ * Se expone como un token opaco (Base64 URL-safe); los clientes no deben interpretarlo.
+ */
+public final class CursorFactura {
+
+    private static final String VERSION = "v1";
+    private static final char SEPARADOR = '|';
+
+    private final LocalDateTime fechaCreacion;
+    private final Long id;
+
+    private CursorFactura(LocalDateTime fechaCreacion, Long id) {
+        this.fechaCreacion = fechaCreacion;
+        this.id = id;
+    }
+
+    public static CursorFactura of(LocalDateTime fechaCreacion, Long id) {
+        if (fechaCreacion == null) {
+            throw new IllegalArgumentException("La fecha de creación del cursor es obligatoria");
+        }
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("El ID del cursor debe ser un número positivo");
+        }
+        return new CursorFactura(fechaCreacion, id);
+    }
+
+    /**
+     * Cursor que apunta a la factura dada (la siguiente página empieza después de ella)
+     */
+    public static CursorFactura despuesDe(Factura factura) {
+        return of(factura.getFechaCreacion(), factura.getId().getValor());
+    }
+
+    /**
+     * Decodifica un token generado por {@link #aToken()}
+     *
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static CursorFactura desdeToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("El cursor no puede estar vacío");
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\" + SEPARADOR);
+            if (partes.length != 3 || !VERSION.equals(partes[0])) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return of(LocalDateTime.parse(partes[1]), Long.valueOf(partes[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, e);
+        }
+    }
+
+    /**
+     * Codifica el cursor como token opaco para el cliente
+     */
+    public String aToken() {
+        String valor = VERSION + SEPARADOR + fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorFactura that = (CursorFactura) o;
+        return fechaCreacion.equals(that.fechaCreacion) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fechaCreacion, id);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorFactura{" + fechaCreacion + ", " + id + '}';
+    }
+}
@@ -1,28 +1,31 @@
 package com.castor.facturacion.domain.valueobject;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Currency;
 import java.util.Objects;
 
 /**
  * Value Object: Dinero
  * Representa una cantidad monetaria con moneda
+ *
+ * La cantidad se almacena en centavos (punto fijo, escala 2) dentro de un long.
+ * Las operaciones aritméticas no crean BigDecimal; la conversión solo ocurre
+ * en getCantidad(), usada por los bordes de persistencia y JSON.
  */
 public final class Dinero {
     private static final Currency COP = Currency.getInstance("COP");
-    private static final int ESCALA = 2;
+    private static final Dinero CERO = new Dinero(0L, COP);
 
-    private final BigDecimal cantidad;
+    private final long centavos;
     private final Currency moneda;
 
-    private Dinero(BigDecimal cantidad, Currency moneda) {
-        this.cantidad = cantidad.setScale(ESCALA, RoundingMode.HALF_UP);
+    private Dinero(long centavos, Currency moneda) {
+        this.centavos = centavos;
         this.moneda = moneda;
     }
 
     public static Dinero cero() {
-        return new Dinero(BigDecimal.ZERO, COP);
+        return CERO;
     }
 
     public static Dinero of(BigDecimal cantidad) {
@@ -31,7 +34,21 @@ public final class Dinero {
 
     public static Dinero of(BigDecimal cantidad, Currency moneda) {
         validar(cantidad);
-        return new Dinero(cantidad, moneda);
+        return new Dinero(Centavos.de(cantidad), moneda);
+    }
+
+    /**
+     * Factory Method: Crear desde centavos (escala 2) sin pasar por BigDecimal
+     */
+    public static Dinero deCentavos(long centavos) {
+        return deCentavos(centavos, COP);
+    }
+
+    public static Dinero deCentavos(long centavos, Currency moneda) {
+        if (centavos < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa");
+        }
+        return centavos == 0 && COP.equals(moneda) ? CERO : new Dinero(centavos, moneda);
     }
 
     private static void validar(BigDecimal cantidad) {
@@ -45,32 +62,27 @@ public final class Dinero {
 
     public Dinero sumar(Dinero otro) {
         validarMismaMoneda(otro);
-        return new Dinero(this.cantidad.add(otro.cantidad), this.moneda);
+        return new Dinero(Centavos.sumar(this.centavos, otro.centavos), this.moneda);
     }
 
     public Dinero restar(Dinero otro) {
         validarMismaMoneda(otro);
-        BigDecimal resultado = this.cantidad.subtract(otro.cantidad);
-        if (resultado.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("El resultado de la resta no puede ser negativo");
-        }
-        return new Dinero(resultado, this.moneda);
+        return new Dinero(Centavos.restar(this.centavos, otro.centavos), this.moneda);
+    }
+
+    public Dinero multiplicar(long factor) {
+        return new Dinero(Centavos.multiplicar(this.centavos, factor), this.moneda);
     }
 
     public Dinero multiplicar(BigDecimal factor) {
         if (factor.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("El factor no puede ser negativo");
         }
-        return new Dinero(this.cantidad.multiply(factor), this.moneda);
+        return new Dinero(Centavos.de(getCantidad().multiply(factor)), this.moneda);
     }
 
     public Dinero aplicarPorcentaje(Porcentaje porcentaje) {
-        return new Dinero(
-            this.cantidad.multiply(porcentaje.getValor()).divide(
-                new BigDecimal("100"), ESCALA, RoundingMode.HALF_UP
-            ),
-            this.moneda
-        );
+        return new Dinero(Centavos.aplicarPorcentaje(this.centavos, porcentaje), this.moneda);
     }
 
     private void validarMismaMoneda(Dinero otro) {
@@ -81,20 +93,24 @@ public final class Dinero {
 
     public boolean esMayorQue(Dinero otro) {
         validarMismaMoneda(otro);
-        return this.cantidad.compareTo(otro.cantidad) > 0;
+        return this.centavos > otro.centavos;
     }
 
     public boolean esMenorQue(Dinero otro) {
         validarMismaMoneda(otro);
-        return this.cantidad.compareTo(otro.cantidad) < 0;
+        return this.centavos < otro.centavos;
     }
 
     public boolean esCero() {
-        return this.cantidad.compareTo(BigDecimal.ZERO) == 0;
+        return this.centavos == 0;
     }
 
     public BigDecimal getCantidad() {
-        return cantidad;
+        return Centavos.aBigDecimal(centavos);
+    }
+
+    public long getCentavos() {
+        return centavos;
     }
 
     public Currency getMoneda() {
@@ -106,16 +122,16 @@ public final class Dinero {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Dinero dinero = (Dinero) o;
-        return cantidad.compareTo(dinero.cantidad) == 0 && Objects.equals(moneda, dinero.moneda);
+        return centavos == dinero.centavos && Objects.equals(moneda, dinero.moneda);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(cantidad, moneda);
+        return 31 * Long.hashCode(centavos) + Objects.hashCode(moneda);
     }
 
     @Override
     public String toString() {
-        return moneda.getSymbol() + " " + cantidad;
+        return moneda.getSymbol() + " " + getCantidad();
     }
 }
@@ -0,0 +1,94 @@
+package com.castor.facturacion.domain.valueobject;
+
+import com.castor.facturacion.domain.port.out.GeneradorNumeroFacturaPort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de números de factura únicos entre hilos y réplicas.
+ *
+ * Formato: FACT-{yyyyMMddHHmmssSSS UTC}-{nodo 3 dígitos}-{secuencia 4 dígitos}
+ * Ejemplo: FACT-20250116123045123-007-0001
+ *
+ * - El nodo identifica la réplica (0-999) y evita colisiones entre instancias.
+ * - La secuencia se reinicia cada milisegundo y admite 10.000 números por ms y nodo.
+ * - El estado (milisegundo, secuencia) avanza de forma monótona con CAS, sin bloqueos:
+ *   si el reloj retrocede o se agota la secuencia, se continúa desde el último valor emitido.
+ *
+ * Todos los campos tienen ancho fijo, por lo que el orden lexicográfico coincide con
+ * el orden de creación.
+ */
+public final class GeneradorNumeroFactura implements GeneradorNumeroFacturaPort {
+
+    public static final int NODO_MAXIMO = 999;
+
+    private static final String PREFIJO = "FACT-";
+    private static final long SECUENCIAS_POR_MS = 10_000L;
+    private static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS").withZone(ZoneOffset.UTC);
+
+    private final int nodo;
+    private final Clock clock;
+    private final AtomicLong ultimoEstado = new AtomicLong();
+
+    public GeneradorNumeroFactura(int nodo) {
+        this(nodo, Clock.systemUTC());
+    }
+
+    public GeneradorNumeroFactura(int nodo, Clock clock) {
+        if (nodo < 0 || nodo > NODO_MAXIMO) {
+            throw new IllegalArgumentException("El nodo debe estar entre 0 y " + NODO_MAXIMO);
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("El reloj es obligatorio");
+        }
+        this.nodo = nodo;
+        this.clock = clock;
+    }
+
+    /**
+     * Genera el siguiente número de factura de este nodo
+     */
+    @Override
+    public NumeroFactura siguiente() {
+        long estado = siguienteEstado();
+        long millis = estado / SECUENCIAS_POR_MS;
+        int secuencia = (int) (estado % SECUENCIAS_POR_MS);
+
+        StringBuilder valor = new StringBuilder(31)
+            .append(PREFIJO)
+            .append(FORMATTER.format(Instant.ofEpochMilli(millis)))
+            .append('-');
+        rellenar(valor, nodo, 3).append('-');
+        rellenar(valor, secuencia, 4);
+
+        return NumeroFactura.of(valor.toString());
+    }
+
+    public int getNodo() {
+        return nodo;
+    }
+
+    private long siguienteEstado() {
+        long minimo = clock.millis() * SECUENCIAS_POR_MS;
+        long previo;
+        long siguiente;
+        do {
+            previo = ultimoEstado.get();
+            siguiente = Math.max(previo + 1, minimo);
+        } while (!ultimoEstado.compareAndSet(previo, siguiente));
+        return siguiente;
+    }
+
+    private static StringBuilder rellenar(StringBuilder sb, int valor, int digitos) {
+        String texto = Integer.toString(valor);
+        for (int i = texto.length(); i < digitos; i++) {
+            sb.append('0');
+        }
+        return sb.append(texto);
+    }
+}
@@ -1,15 +1,15 @@
 package com.castor.facturacion.domain.valueobject;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 /**
  * Value Object: Número de Factura
- * Identificador único de factura con formato FACT-YYYYMMDDHHMMSS
+ * Identificador único de factura con prefijo FACT-
+ *
+ * Los números nuevos se obtienen de GeneradorNumeroFacturaPort
+ * (formato FACT-yyyyMMddHHmmssSSS-NNN-SSSS, único por nodo y ordenable por fecha).
  */
 public final class NumeroFactura {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
     private static final String PREFIJO = "FACT-";
 
     private final String valor;
@@ -18,11 +18,6 @@ public final class NumeroFactura {
         this.valor = valor;
     }
 
-    public static NumeroFactura generar() {
-        String timestamp = LocalDateTime.now().format(FORMATTER);
-        return new NumeroFactura(PREFIJO + timestamp);
-    }
-
     public static NumeroFactura of(String valor) {
         validar(valor);
         return new NumeroFactura(valor);
@@ -12,9 +12,23 @@ public final class Porcentaje {
     private static final BigDecimal MAX_VALOR = new BigDecimal("100");
 
     private final BigDecimal valor;
+    private final long centesimas;
 
     private Porcentaje(BigDecimal valor) {
         this.valor = valor;
+        this.centesimas = calcularCentesimas(valor);
+    }
+
+    /**
+     * Precalcula el porcentaje en centésimas (19.00% = 1900) para la aritmética de Centavos.
+     * Retorna Centavos.NO_EXACTO si el valor tiene más de 2 decimales significativos.
+     */
+    private static long calcularCentesimas(BigDecimal valor) {
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return Centavos.NO_EXACTO;
+        }
     }
 
     public static Porcentaje cero() {
@@ -39,6 +53,13 @@ public final class Porcentaje {
         return valor;
     }
 
+    /**
+     * Porcentaje en centésimas, o Centavos.NO_EXACTO si no es representable
+     */
+    public long getCentesimas() {
+        return centesimas;
+    }
+
     public boolean esCero() {
         return valor.compareTo(BigDecimal.ZERO) == 0;
     }
@@ -0,0 +1,41 @@
+package com.castor.facturacion.infrastructure.adapter.in.actuator;
+
+import com.castor.facturacion.infrastructure.adapter.out.external.cache.ClienteValidationCacheDecorator;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator para el cache de validación de clientes.
+ *
+ * - GET /actuator/clientescache: entradas estimadas de cada cache
+ * - DELETE /actuator/clientescache/{clienteId}: invalida al cliente en todos los caches,
+ *   por ejemplo tras reactivarlo sin esperar a que expire su resultado negativo
+ *
+ * No se expone por web en el perfil prod: el actuator no tiene autenticación y la operación
+ * DELETE quedaría abierta a cualquiera que alcance el puerto del servicio.
+ */
+@Component
+@Endpoint(id = "clientescache")
+public class CacheClientesEndpoint {
+
+    private final ClienteValidationCacheDecorator cache;
+
+    public CacheClientesEndpoint(ClienteValidationCacheDecorator cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Long> tamanos() {
+        return cache.tamanos();
+    }
+
+    @DeleteOperation
+    public void invalidar(@Selector Long clienteId) {
+        cache.invalidar(clienteId);
+    }
+}
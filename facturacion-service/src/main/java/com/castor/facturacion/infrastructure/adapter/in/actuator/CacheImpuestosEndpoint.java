@@ -0,0 +1,41 @@
+package com.castor.facturacion.infrastructure.adapter.in.actuator;
+
+import com.castor.facturacion.infrastructure.adapter.out.external.TaxCalculatorAdapter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator para el cache de resultados de tax-calculator-service.
+ *
+ * - GET /actuator/impuestoscache: versión de reglas vigente y entradas estimadas
+ * - POST /actuator/impuestoscache {"version": "2"}: descarta todos los resultados y pasa
+ *   a la nueva versión, por ejemplo tras desplegar un cambio de reglas en el servicio
+ *
+ * No se expone por web en el perfil prod: el actuator no tiene autenticación. Allí la
+ * versión se cambia con tax-calculator.rules-version al desplegar.
+ */
+@Component
+@Endpoint(id = "impuestoscache")
+public class CacheImpuestosEndpoint {
+
+    private final TaxCalculatorAdapter taxCalculator;
+
+    public CacheImpuestosEndpoint(TaxCalculatorAdapter taxCalculator) {
+        this.taxCalculator = taxCalculator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        return taxCalculator.estadoCache();
+    }
+
+    @WriteOperation
+    public Map<String, Object> cambiarVersion(String version) {
+        taxCalculator.cambiarVersionReglas(version);
+        return taxCalculator.estadoCache();
+    }
+}
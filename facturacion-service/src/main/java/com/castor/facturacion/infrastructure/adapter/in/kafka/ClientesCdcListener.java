@@ -0,0 +1,123 @@
+package com.castor.facturacion.infrastructure.adapter.in.kafka;
+
+import com.castor.facturacion.infrastructure.adapter.out.external.cache.ClienteValidationCacheDecorator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptador de entrada: aplica los cambios de clientes publicados por Debezium
+ * (tópico castor.public.clientes) a los caches de validación.
+ *
+ * Los eventos llegan desenvueltos por ExtractNewRecordState, en JSON sin schema:
+ * - Alta o modificación: {"id": 1, "activo": true, ..., "__deleted": "false"} -> actualizar
+ * - Borrado: el mismo registro con "__deleted": "true", seguido de un tombstone
+ *   (valor null, clave {"id": 1}) -> invalidar
+ *
+ * Un evento que no se puede interpretar se descarta (se registra y contabiliza): el cache
+ * vuelve a clientes-service cuando vence la entrada, así que no hace falta reintentarlo.
+ *
+ * Métricas:
+ * - facturacion.clientes.cdc.eventos con tag tipo=actualizacion|eliminacion|invalido
+ * - facturacion.clientes.cdc.retraso: tiempo desde que el evento se publicó hasta que se aplica
+ * - El lag del consumidor (kafka.consumer.fetch.manager.records.lag / records.lag.max)
+ *   lo publica la auto-configuración de Spring Kafka con Micrometer
+ */
+@Component
+@ConditionalOnProperty(prefix = "clientes-cdc", name = "enabled", havingValue = "true")
+public class ClientesCdcListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientesCdcListener.class);
+
+    private final ClienteValidationCacheDecorator cache;
+    private final ObjectMapper objectMapper;
+    private final Counter actualizaciones;
+    private final Counter eliminaciones;
+    private final Counter invalidos;
+    private final Timer retraso;
+
+    public ClientesCdcListener(ClienteValidationCacheDecorator cache, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.actualizaciones = registrarEventos(meterRegistry, "actualizacion");
+        this.eliminaciones = registrarEventos(meterRegistry, "eliminacion");
+        this.invalidos = registrarEventos(meterRegistry, "invalido");
+        this.retraso = Timer.builder("facturacion.clientes.cdc.retraso")
+            .description("Tiempo desde la publicación de un cambio de cliente hasta su aplicación al cache")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Counter registrarEventos(MeterRegistry meterRegistry, String tipo) {
+        return Counter.builder("facturacion.clientes.cdc.eventos")
+            .description("Eventos CDC de clientes aplicados a los caches de validación")
+            .tag("tipo", tipo)
+            .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "${clientes-cdc.topic}", groupId = "${clientes-cdc.group-id}")
+    public void onCambioCliente(ConsumerRecord<String, String> registro) {
+        try {
+            aplicar(registro);
+        } catch (JsonProcessingException | RuntimeException e) {
+            invalidos.increment();
+            log.warn("Evento CDC de cliente descartado (partición {}, offset {}): {}",
+                registro.partition(), registro.offset(), e.getMessage());
+        }
+
+        if (registro.timestamp() > 0) {
+            retraso.record(Math.max(0, System.currentTimeMillis() - registro.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void aplicar(ConsumerRecord<String, String> registro) throws JsonProcessingException {
+        if (registro.value() == null) {
+            // Tombstone de un borrado: el ID solo está en la clave
+            Long clienteId = leerId(registro.key());
+            cache.invalidar(clienteId);
+            eliminaciones.increment();
+            return;
+        }
+
+        JsonNode cliente = objectMapper.readTree(registro.value());
+        Long clienteId = leerId(cliente);
+
+        if ("true".equals(cliente.path("__deleted").asText())) {
+            cache.invalidar(clienteId);
+            eliminaciones.increment();
+            return;
+        }
+
+        boolean activo = cliente.path("activo").asBoolean(false);
+        cache.actualizar(clienteId, activo);
+        actualizaciones.increment();
+        log.debug("Cambio CDC aplicado - Cliente: {}, activo: {}", clienteId, activo);
+    }
+
+    private Long leerId(String clave) throws JsonProcessingException {
+        if (clave == null) {
+            throw new IllegalArgumentException("Tombstone sin clave");
+        }
+        return leerId(objectMapper.readTree(clave));
+    }
+
+    private static Long leerId(JsonNode nodo) {
+        JsonNode id = nodo.path("id");
+        if (!id.canConvertToLong()) {
+            throw new IllegalArgumentException("Evento sin campo id numérico");
+        }
+        return id.asLong();
+    }
+}
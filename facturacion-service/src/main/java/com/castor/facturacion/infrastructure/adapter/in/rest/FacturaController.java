@@ -1,11 +1,26 @@
 package com.castor.facturacion.infrastructure.adapter.in.rest;
 
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.domain.port.in.FacturaUseCase;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturaRequest;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturasLoteRequest;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturasLoteResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CursorPageResponse;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.PageResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResultadoFacturaLoteResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.exportacion.EscritorExportacion;
+import com.castor.facturacion.infrastructure.adapter.in.rest.exportacion.FormatoExportacion;
 import com.castor.facturacion.infrastructure.adapter.in.rest.mapper.FacturaDTOMapper;
+import com.castor.facturacion.infrastructure.config.FacturaCacheProperties;
+import com.castor.facturacion.infrastructure.config.LoteFacturasProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,18 +28,34 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller para la gestión de facturas.
@@ -32,7 +63,8 @@ import java.util.List;
  * Adapter de entrada (Driving Adapter) que expone endpoints REST
  * y delega la lógica de negocio al caso de uso FacturaUseCase.
  *
- * Incluye paginación defensiva y documentación Swagger completa.
+ * Incluye paginación defensiva (por página o por cursor), exportación en streaming,
+ * consulta por ID con ETag (304 Not Modified) y documentación Swagger completa.
  */
 @RestController
 @RequestMapping("/api/v1/facturas")
@@ -49,10 +81,23 @@ public class FacturaController {
 
     private final FacturaUseCase facturaUseCase;
     private final FacturaDTOMapper mapper;
-
-    public FacturaController(FacturaUseCase facturaUseCase, FacturaDTOMapper mapper) {
+    private final Validator validator;
+    private final LoteFacturasProperties loteProperties;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControlFactura;
+
+    public FacturaController(FacturaUseCase facturaUseCase, FacturaDTOMapper mapper,
+                             Validator validator, LoteFacturasProperties loteProperties,
+                             ObjectMapper objectMapper, FacturaCacheProperties cacheProperties) {
         this.facturaUseCase = facturaUseCase;
         this.mapper = mapper;
+        this.validator = validator;
+        this.loteProperties = loteProperties;
+        this.objectMapper = objectMapper;
+        // Privado: las facturas son datos del cliente y no deben quedar en caches compartidos
+        this.cacheControlFactura = CacheControl.maxAge(cacheProperties.getHttpMaxAge())
+            .cachePrivate()
+            .immutable();
     }
 
     /**
@@ -97,13 +142,82 @@ public class FacturaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Crear facturas en lote con reporte de fallos parciales
+     */
+    @PostMapping("/lote")
+    @Operation(
+        summary = "Crear facturas en lote",
+        description = "Crea hasta lote-facturas.maximo-facturas facturas en una sola petición. " +
+                     "Cada cliente distinto se valida una vez y las facturas se guardan en bloques. " +
+                     "Retorna un resultado por factura; las rechazadas no impiden crear las demás."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote procesado (revisar el estado de cada factura)",
+            content = @Content(schema = @Schema(implementation = CrearFacturasLoteResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o que excede el máximo permitido"
+        )
+    })
+    public ResponseEntity<CrearFacturasLoteResponse> crearFacturasEnLote(
+        @Valid @RequestBody CrearFacturasLoteRequest request
+    ) {
+        List<CrearFacturaRequest> solicitudes = request.getFacturas();
+        log.info("Creando lote de {} facturas", solicitudes.size());
+
+        if (solicitudes.size() > loteProperties.getMaximoFacturas()) {
+            throw new IllegalArgumentException(
+                "El lote no puede exceder " + loteProperties.getMaximoFacturas() + " facturas");
+        }
+
+        ResultadoFacturaLoteResponse[] resultados = new ResultadoFacturaLoteResponse[solicitudes.size()];
+        List<Factura> facturas = new ArrayList<>(solicitudes.size());
+        List<Integer> indices = new ArrayList<>(solicitudes.size());
+
+        // Validación de entrada por factura: una factura inválida no rechaza el lote
+        for (int i = 0; i < solicitudes.size(); i++) {
+            String error = validarSolicitud(solicitudes.get(i));
+            if (error == null) {
+                try {
+                    facturas.add(mapper.toDomain(solicitudes.get(i)));
+                    indices.add(i);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            resultados[i] = mapper.toResultadoLoteResponse(ResultadoCreacionFactura.fallido(i, error));
+        }
+
+        if (!facturas.isEmpty()) {
+            for (ResultadoCreacionFactura resultado : facturaUseCase.crearFacturasEnLote(facturas)) {
+                int indice = indices.get(resultado.getIndice());
+                resultados[indice] = mapper.toResultadoLoteResponse(resultado.conIndice(indice));
+            }
+        }
+
+        CrearFacturasLoteResponse response = new CrearFacturasLoteResponse(Arrays.asList(resultados));
+
+        log.info("Lote procesado: {} creadas, {} rechazadas", response.getCreadas(), response.getRechazadas());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtener factura por ID
+     *
+     * Una factura no cambia después de creada: el ETag (ID + número) se valida solo con
+     * el número de la factura, sin cargar items ni serializar la respuesta.
      */
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtener factura por ID",
-        description = "Recupera los detalles completos de una factura específica"
+        description = "Recupera los detalles completos de una factura específica. " +
+                     "Responde con ETag y Cache-Control; con If-None-Match retorna 304 si la factura no cambió."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -111,6 +225,10 @@ public class FacturaController {
             description = "Factura encontrada",
             content = @Content(schema = @Schema(implementation = FacturaResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "La factura no cambió desde el ETag recibido"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Factura no encontrada"
@@ -118,16 +236,36 @@ public class FacturaController {
     })
     public ResponseEntity<FacturaResponse> obtenerFacturaPorId(
         @Parameter(description = "ID de la factura", example = "1")
-        @PathVariable Long id
+        @PathVariable Long id,
+
+        @Parameter(description = "ETag de una respuesta anterior")
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.info("Consultando factura con ID: {}", id);
 
-        Factura factura = facturaUseCase.obtenerFacturaPorId(id);
+        if (ifNoneMatch != null) {
+            Optional<String> etagActual = facturaUseCase.obtenerNumeroFactura(id)
+                .map(numero -> etagFactura(id, numero));
+
+            if (etagActual.isPresent() && coincideEtag(ifNoneMatch, etagActual.get())) {
+                log.debug("Factura {} no modificada", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etagActual.get())
+                    .cacheControl(cacheControlFactura)
+                    .build();
+            }
+        }
+
+        Factura factura = facturaUseCase.obtenerFacturaPorId(id)
+            .orElseThrow(() -> new NoSuchElementException("Factura no encontrada: " + id));
         FacturaResponse response = mapper.toResponse(factura);
 
         log.debug("Factura encontrada: {}", response.getNumero());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(etagFactura(id, factura.getNumero().getValor()))
+            .cacheControl(cacheControlFactura)
+            .body(response);
     }
 
     /**
@@ -256,6 +394,345 @@ public class FacturaController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listar el resumen de todas las facturas (sin items) con paginación defensiva
+     */
+    @GetMapping("/resumen")
+    @Operation(
+        summary = "Listar resumen de facturas",
+        description = "Obtiene un listado paginado con los datos de cabecera de las facturas (sin items). " +
+                     "Pensado para pantallas de listado: solo lee la tabla de facturas. " +
+                     "Parámetros de paginación: page >= 0, size entre 1 y 100"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resumen de facturas obtenido exitosamente",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros de paginación inválidos"
+        )
+    })
+    public ResponseEntity<PageResponse<ResumenFacturaResponse>> listarResumenFacturas(
+        @Parameter(description = "Número de página (0-indexed)", example = "0")
+        @RequestParam(defaultValue = "0") int page,
+
+        @Parameter(description = "Tamaño de página (1-100)", example = "10")
+        @RequestParam(defaultValue = "10") int size,
+
+        @Parameter(description = "Campo para ordenar", example = "fechaCreacion")
+        @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+
+        @Parameter(description = "Dirección de ordenamiento", example = "DESC")
+        @RequestParam(defaultValue = "DESC") String sortDirection
+    ) {
+        log.info("Listando resumen de facturas - page: {}, size: {}, sortBy: {}, sortDirection: {}",
+            page, size, sortBy, sortDirection);
+
+        Pageable pageable = createSafePageable(page, size, sortBy, sortDirection);
+
+        Page<ResumenFactura> resumenPage = facturaUseCase.listarResumenFacturas(pageable);
+
+        log.debug("Total de facturas encontradas: {}", resumenPage.getTotalElements());
+
+        return ResponseEntity.ok(toResumenPageResponse(resumenPage));
+    }
+
+    /**
+     * Listar el resumen de las facturas de un cliente (sin items) con paginación defensiva
+     */
+    @GetMapping("/cliente/{clienteId}/resumen")
+    @Operation(
+        summary = "Listar resumen de facturas por cliente",
+        description = "Obtiene un listado paginado con los datos de cabecera de las facturas de un cliente (sin items). " +
+                     "Parámetros de paginación: page >= 0, size entre 1 y 100"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resumen de facturas del cliente obtenido exitosamente",
+            content = @Content(schema = @Schema(implementation = PageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros de paginación inválidos o ID de cliente inválido"
+        )
+    })
+    public ResponseEntity<PageResponse<ResumenFacturaResponse>> listarResumenFacturasPorCliente(
+        @Parameter(description = "ID del cliente", example = "1")
+        @PathVariable Long clienteId,
+
+        @Parameter(description = "Número de página (0-indexed)", example = "0")
+        @RequestParam(defaultValue = "0") int page,
+
+        @Parameter(description = "Tamaño de página (1-100)", example = "10")
+        @RequestParam(defaultValue = "10") int size,
+
+        @Parameter(description = "Campo para ordenar", example = "fechaCreacion")
+        @RequestParam(defaultValue = "fechaCreacion") String sortBy,
+
+        @Parameter(description = "Dirección de ordenamiento", example = "DESC")
+        @RequestParam(defaultValue = "DESC") String sortDirection
+    ) {
+        log.info("Listando resumen de facturas del cliente {} - page: {}, size: {}", clienteId, page, size);
+
+        // Validación del ID de cliente
+        if (clienteId == null || clienteId <= 0) {
+            throw new IllegalArgumentException("El ID del cliente debe ser un número positivo");
+        }
+
+        Pageable pageable = createSafePageable(page, size, sortBy, sortDirection);
+
+        Page<ResumenFactura> resumenPage = facturaUseCase.listarResumenFacturasPorCliente(clienteId, pageable);
+
+        log.debug("Total de facturas encontradas para cliente {}: {}",
+            clienteId, resumenPage.getTotalElements());
+
+        return ResponseEntity.ok(toResumenPageResponse(resumenPage));
+    }
+
+    private PageResponse<ResumenFacturaResponse> toResumenPageResponse(Page<ResumenFactura> resumenPage) {
+        return new PageResponse<>(
+            resumenPage.getContent().stream().map(mapper::toResumenResponse).toList(),
+            resumenPage.getNumber(),
+            resumenPage.getSize(),
+            resumenPage.getTotalElements(),
+            resumenPage.getTotalPages(),
+            resumenPage.isFirst(),
+            resumenPage.isLast(),
+            resumenPage.hasPrevious(),
+            resumenPage.hasNext()
+        );
+    }
+
+    /**
+     * Valida una factura del lote con las mismas reglas de POST /api/v1/facturas
+     *
+     * @return Mensaje de error, o null si la factura es válida
+     */
+    private String validarSolicitud(CrearFacturaRequest solicitud) {
+        if (solicitud == null) {
+            return "La factura no puede ser nula";
+        }
+
+        Set<ConstraintViolation<CrearFacturaRequest>> violaciones = validator.validate(solicitud);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+
+        return violaciones.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Listar todas las facturas por cursor (keyset)
+     */
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "Listar todas las facturas por cursor",
+        description = "Listado ordenado por fecha de creación descendente, sin total de elementos. " +
+                     "El costo por página es constante sin importar la profundidad. " +
+                     "Para la página siguiente, enviar next_cursor en el parámetro cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de facturas obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido"
+        )
+    })
+    public ResponseEntity<CursorPageResponse<FacturaResponse>> listarFacturasConCursor(
+        @Parameter(description = "Cursor opaco de la página anterior (omitir para la primera página)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Tamaño de página (1-100)", example = "10")
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("Listando facturas por cursor - size: {}, primera página: {}", size, cursor == null);
+
+        int safeSize = createSafeSize(size);
+        PaginaCursor<Factura> pagina = facturaUseCase.listarFacturasConCursor(parseCursor(cursor), safeSize);
+
+        return ResponseEntity.ok(toCursorPageResponse(pagina, safeSize));
+    }
+
+    /**
+     * Listar facturas por cliente por cursor (keyset)
+     */
+    @GetMapping("/cliente/{clienteId}/cursor")
+    @Operation(
+        summary = "Listar facturas por cliente por cursor",
+        description = "Listado de las facturas de un cliente ordenado por fecha de creación descendente, " +
+                     "sin total de elementos. Para la página siguiente, enviar next_cursor en el parámetro cursor"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de facturas del cliente obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor inválido o ID de cliente inválido"
+        )
+    })
+    public ResponseEntity<CursorPageResponse<FacturaResponse>> listarFacturasPorClienteConCursor(
+        @Parameter(description = "ID del cliente", example = "1")
+        @PathVariable Long clienteId,
+
+        @Parameter(description = "Cursor opaco de la página anterior (omitir para la primera página)")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Tamaño de página (1-100)", example = "10")
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        log.info("Listando facturas del cliente {} por cursor - size: {}, primera página: {}",
+            clienteId, size, cursor == null);
+
+        // Validación del ID de cliente
+        if (clienteId == null || clienteId <= 0) {
+            throw new IllegalArgumentException("El ID del cliente debe ser un número positivo");
+        }
+
+        int safeSize = createSafeSize(size);
+        PaginaCursor<Factura> pagina =
+            facturaUseCase.listarFacturasPorClienteConCursor(clienteId, parseCursor(cursor), safeSize);
+
+        return ResponseEntity.ok(toCursorPageResponse(pagina, safeSize));
+    }
+
+    /**
+     * Exportar facturas en streaming (NDJSON o CSV)
+     *
+     * Se escribe en el hilo de la petición, directamente sobre la salida de la respuesta,
+     * a medida que se recorre el cursor: la memoria no crece con el número de facturas y
+     * no aplica el timeout de las respuestas asíncronas.
+     */
+    @GetMapping("/exportacion")
+    @Operation(
+        summary = "Exportar facturas",
+        description = "Descarga todas las facturas que cumplen el filtro en una sola respuesta, " +
+                     "sin paginación. Formatos: ndjson (un objeto JSON por línea) o csv. " +
+                     "Por defecto solo la cabecera de cada factura; con incluirItems=true también sus items. " +
+                     "Orden: fecha de creación ascendente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Exportación en curso (application/x-ndjson o text/csv)"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Formato no soportado, rango de fechas inválido o cliente inexistente"
+        )
+    })
+    public void exportarFacturas(
+        @Parameter(description = "Formato de salida (ndjson o csv)", example = "ndjson")
+        @RequestParam(defaultValue = "ndjson") String formato,
+
+        @Parameter(description = "Incluir los items de cada factura", example = "false")
+        @RequestParam(defaultValue = "false") boolean incluirItems,
+
+        @Parameter(description = "Primer día incluido (yyyy-MM-dd)", example = "2025-01-01")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+
+        @Parameter(description = "Último día incluido (yyyy-MM-dd)", example = "2025-01-31")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+
+        @Parameter(description = "ID del cliente (omitir para todos)", example = "1")
+        @RequestParam(required = false) Long clienteId,
+
+        HttpServletResponse response
+    ) throws IOException {
+        FormatoExportacion formatoExportacion = FormatoExportacion.desde(formato);
+        FiltroExportacion filtro = FiltroExportacion.of(desde, hasta, clienteId);
+
+        log.info("Exportando facturas - formato: {}, incluirItems: {}, filtro: {}",
+            formatoExportacion, incluirItems, filtro);
+
+        response.setContentType(formatoExportacion.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("facturas." + formatoExportacion.getExtension())
+            .build()
+            .toString());
+
+        long inicio = System.nanoTime();
+
+        // Sin try-with-resources: si la validación falla antes de escribir, el buffer no se
+        // vacía y el error todavía puede responderse como JSON
+        EscritorExportacion escritor = EscritorExportacion.crear(
+            formatoExportacion, response.getOutputStream(), objectMapper, incluirItems);
+
+        long exportadas;
+        try {
+            exportadas = incluirItems
+                ? facturaUseCase.exportarFacturas(filtro,
+                    factura -> escritor.escribir(mapper.toResponse(factura)))
+                : facturaUseCase.exportarResumenFacturas(filtro,
+                    resumen -> escritor.escribir(mapper.toResumenResponse(resumen)));
+        } catch (RuntimeException e) {
+            // Falló antes de enviar nada (cliente inexistente): se quitan el Content-Type de la
+            // exportación y el attachment para que el error se responda como cualquier otro
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+
+        escritor.close();
+
+        log.info("Exportación finalizada: {} facturas en {} ms",
+            exportadas, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * ETag fuerte de una factura: ID + número, ambos inmutables
+     */
+    private static String etagFactura(Long id, String numero) {
+        return "\"" + id + "-" + numero + "\"";
+    }
+
+    /**
+     * Compara If-None-Match con el ETag actual (comparación débil, RFC 9110):
+     * acepta "*", listas separadas por comas y el prefijo W/
+     */
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CursorFactura parseCursor(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : CursorFactura.desdeToken(cursor);
+    }
+
+    private CursorPageResponse<FacturaResponse> toCursorPageResponse(PaginaCursor<Factura> pagina, int size) {
+        return new CursorPageResponse<>(
+            mapper.toResponseList(pagina.getContenido()),
+            size,
+            pagina.getSiguiente().map(CursorFactura::aToken).orElse(null)
+        );
+    }
+
     /**
      * Método auxiliar para crear un Pageable con validación defensiva
      *
@@ -272,14 +749,7 @@ public class FacturaController {
         }
 
         // Validar y ajustar size
-        int safeSize = size;
-        if (size < MIN_SIZE) {
-            log.warn("Size menor que mínimo recibido: {}. Usando valor mínimo: {}", size, MIN_SIZE);
-            safeSize = MIN_SIZE;
-        } else if (size > MAX_SIZE) {
-            log.warn("Size mayor que máximo recibido: {}. Usando valor máximo: {}", size, MAX_SIZE);
-            safeSize = MAX_SIZE;
-        }
+        int safeSize = createSafeSize(size);
 
         // Validar sortBy (campo permitido)
         String safeSortBy = sortBy;
@@ -303,4 +773,19 @@ public class FacturaController {
 
         return PageRequest.of(safePage, safeSize, sort);
     }
+
+    /**
+     * Ajusta el tamaño de página entre MIN_SIZE (1) y MAX_SIZE (100)
+     */
+    private int createSafeSize(int size) {
+        if (size < MIN_SIZE) {
+            log.warn("Size menor que mínimo recibido: {}. Usando valor mínimo: {}", size, MIN_SIZE);
+            return MIN_SIZE;
+        }
+        if (size > MAX_SIZE) {
+            log.warn("Size mayor que máximo recibido: {}. Usando valor máximo: {}", size, MAX_SIZE);
+            return MAX_SIZE;
+        }
+        return size;
+    }
 }
@@ -0,0 +1,46 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO para crear facturas en lote (Request).
+ *
+ * Las facturas no se validan en cascada con @Valid: el controller valida cada una
+ * por separado para rechazar solo las inválidas y reportarlas en la respuesta.
+ */
+@Schema(description = "Lote de facturas a crear")
+public class CrearFacturasLoteRequest {
+
+    @Schema(description = "Facturas del lote (máximo lote-facturas.maximo-facturas)", required = true)
+    @NotEmpty(message = "El lote debe tener al menos una factura")
+    private List<CrearFacturaRequest> facturas;
+
+    // Constructor por defecto
+    public CrearFacturasLoteRequest() {
+    }
+
+    // Constructor completo
+    public CrearFacturasLoteRequest(List<CrearFacturaRequest> facturas) {
+        this.facturas = facturas;
+    }
+
+    // Getters y Setters
+
+    public List<CrearFacturaRequest> getFacturas() {
+        return facturas;
+    }
+
+    public void setFacturas(List<CrearFacturaRequest> facturas) {
+        this.facturas = facturas;
+    }
+
+    @Override
+    public String toString() {
+        return "CrearFacturasLoteRequest{" +
+               "facturas=" + (facturas != null ? facturas.size() : 0) +
+               '}';
+    }
+}
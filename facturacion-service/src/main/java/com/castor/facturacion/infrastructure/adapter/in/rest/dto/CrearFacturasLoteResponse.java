@@ -0,0 +1,83 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de la creación de facturas en lote.
+ *
+ * Incluye un resultado por factura, en el mismo orden del request.
+ */
+@Schema(description = "Resultado de la creación de un lote de facturas")
+public class CrearFacturasLoteResponse {
+
+    @Schema(description = "Facturas recibidas", example = "1000")
+    private int total;
+
+    @Schema(description = "Facturas creadas", example = "998")
+    private int creadas;
+
+    @Schema(description = "Facturas rechazadas", example = "2")
+    private int rechazadas;
+
+    @Schema(description = "Resultado por factura, en el orden del request")
+    private List<ResultadoFacturaLoteResponse> resultados;
+
+    // Constructor por defecto
+    public CrearFacturasLoteResponse() {
+    }
+
+    // Constructor completo
+    public CrearFacturasLoteResponse(List<ResultadoFacturaLoteResponse> resultados) {
+        this.resultados = resultados;
+        this.total = resultados.size();
+        this.creadas = (int) resultados.stream()
+            .filter(r -> ResultadoFacturaLoteResponse.ESTADO_CREADA.equals(r.getEstado()))
+            .count();
+        this.rechazadas = total - creadas;
+    }
+
+    // Getters y Setters
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreadas() {
+        return creadas;
+    }
+
+    public void setCreadas(int creadas) {
+        this.creadas = creadas;
+    }
+
+    public int getRechazadas() {
+        return rechazadas;
+    }
+
+    public void setRechazadas(int rechazadas) {
+        this.rechazadas = rechazadas;
+    }
+
+    public List<ResultadoFacturaLoteResponse> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoFacturaLoteResponse> resultados) {
+        this.resultados = resultados;
+    }
+
+    @Override
+    public String toString() {
+        return "CrearFacturasLoteResponse{" +
+               "total=" + total +
+               ", creadas=" + creadas +
+               ", rechazadas=" + rechazadas +
+               '}';
+    }
+}
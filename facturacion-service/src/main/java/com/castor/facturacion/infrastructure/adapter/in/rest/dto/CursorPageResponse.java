@@ -0,0 +1,88 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO genérico para respuestas paginadas por cursor.
+ *
+ * No incluye totales: para pedir la página siguiente se envía next_cursor
+ * en el parámetro cursor.
+ *
+ * @param <T> Tipo de los elementos en la página
+ */
+@Schema(description = "Respuesta paginada por cursor")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Lista de elementos en la página actual")
+    private List<T> content;
+
+    @Schema(description = "Tamaño de página solicitado", example = "20")
+    @JsonProperty("page_size")
+    private int pageSize;
+
+    @Schema(description = "Cursor opaco de la página siguiente (null si es la última)",
+            example = "djF8MjAyNS0wMS0xNlQxMjozMDo0NS4xMjN8NDI")
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @Schema(description = "Indica si tiene página siguiente", example = "true")
+    @JsonProperty("has_next")
+    private boolean hasNext;
+
+    // Constructor por defecto
+    public CursorPageResponse() {
+    }
+
+    // Constructor completo
+    public CursorPageResponse(List<T> content, int pageSize, String nextCursor) {
+        this.content = content;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    // Getters y Setters
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageResponse{" +
+               "pageSize=" + pageSize +
+               ", hasNext=" + hasNext +
+               '}';
+    }
+}
@@ -19,7 +19,7 @@ public class FacturaResponse {
     @Schema(description = "ID de la factura", example = "1")
     private Long id;
 
-    @Schema(description = "Número de factura", example = "FACT-20250116123045")
+    @Schema(description = "Número de factura", example = "FACT-20250116123045123-001-0000")
     private String numero;
 
     @Schema(description = "ID del cliente", example = "1")
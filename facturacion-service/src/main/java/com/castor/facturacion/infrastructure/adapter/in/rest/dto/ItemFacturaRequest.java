@@ -29,12 +29,18 @@ public class ItemFacturaRequest {
     @JsonProperty("precio_unitario")
     private BigDecimal precioUnitario;
 
-    @Schema(description = "Porcentaje de impuesto (IVA)", example = "19.0")
+    @Schema(description = "Porcentaje de impuesto (IVA). Si se omite se aplica la tasa de la categoría",
+            example = "19.0")
     @DecimalMin(value = "0.0", message = "El porcentaje de impuesto no puede ser negativo")
     @DecimalMax(value = "100.0", message = "El porcentaje de impuesto no puede exceder 100")
     @JsonProperty("porcentaje_impuesto")
     private BigDecimal porcentajeImpuesto;
 
+    @Schema(description = "Categoría de impuesto (general, reducida, exenta); solo se usa si se omite " +
+                          "porcentaje_impuesto. Por defecto: general", example = "general")
+    @Size(max = 50, message = "La categoría no puede exceder 50 caracteres")
+    private String categoria;
+
     @Schema(description = "Porcentaje de descuento", example = "10.0")
     @DecimalMin(value = "0.0", message = "El porcentaje de descuento no puede ser negativo")
     @DecimalMax(value = "100.0", message = "El porcentaje de descuento no puede exceder 100")
@@ -89,6 +95,14 @@ public class ItemFacturaRequest {
         this.porcentajeImpuesto = porcentajeImpuesto;
     }
 
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+    }
+
     public BigDecimal getPorcentajeDescuento() {
         return porcentajeDescuento;
     }
@@ -0,0 +1,114 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con el resultado de una factura dentro de un lote.
+ *
+ * Solo incluye los datos de identificación de la factura creada; el detalle
+ * completo se consulta con GET /api/v1/facturas/{id}.
+ */
+@Schema(description = "Resultado de la creación de una factura del lote")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoFacturaLoteResponse {
+
+    public static final String ESTADO_CREADA = "CREADA";
+    public static final String ESTADO_RECHAZADA = "RECHAZADA";
+
+    @Schema(description = "Posición de la factura en el lote (0-indexed)", example = "0")
+    private int indice;
+
+    @Schema(description = "Estado de la factura", example = "CREADA", allowableValues = {"CREADA", "RECHAZADA"})
+    private String estado;
+
+    @Schema(description = "ID de la factura creada", example = "1")
+    private Long id;
+
+    @Schema(description = "Número de la factura creada", example = "FACT-20250116123045123-001-0000")
+    private String numero;
+
+    @Schema(description = "Total final de la factura creada", example = "7630000.00")
+    @JsonProperty("total_final")
+    private BigDecimal totalFinal;
+
+    @Schema(description = "Motivo del rechazo", example = "El cliente no existe o no está activo: 1")
+    private String error;
+
+    // Constructor por defecto
+    public ResultadoFacturaLoteResponse() {
+    }
+
+    // Constructor completo
+    public ResultadoFacturaLoteResponse(int indice, String estado, Long id, String numero,
+                                        BigDecimal totalFinal, String error) {
+        this.indice = indice;
+        this.estado = estado;
+        this.id = id;
+        this.numero = numero;
+        this.totalFinal = totalFinal;
+        this.error = error;
+    }
+
+    // Getters y Setters
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    public BigDecimal getTotalFinal() {
+        return totalFinal;
+    }
+
+    public void setTotalFinal(BigDecimal totalFinal) {
+        this.totalFinal = totalFinal;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoFacturaLoteResponse{" +
+               "indice=" + indice +
+               ", estado='" + estado + '\'' +
+               ", numero='" + numero + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.exportacion;
+
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ItemFacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * CSV (RFC 4180) con cabecera, columnas en snake_case como la API.
+ *
+ * Con items se escribe una fila por item, repitiendo los datos de la factura;
+ * una factura sin items se escribe en una fila con las columnas del item vacías.
+ */
+final class EscritorCsv extends EscritorExportacion {
+
+    private static final String COLUMNAS_FACTURA =
+        "id,numero,cliente_id,subtotal_general,total_impuestos,total_descuentos,total_final,fecha_creacion";
+
+    private static final String COLUMNAS_ITEM =
+        ",item_descripcion,item_cantidad,item_precio_unitario,item_porcentaje_impuesto," +
+        "item_porcentaje_descuento,item_subtotal,item_impuesto,item_descuento,item_total";
+
+    private static final String ITEM_VACIO = ",,,,,,,,,";
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final int TAMANO_BUFFER = 16 * 1024;
+
+    private final Writer salida;
+
+    EscritorCsv(OutputStream salida, boolean conItems) {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
+        escribirLinea(conItems ? COLUMNAS_FACTURA + COLUMNAS_ITEM : COLUMNAS_FACTURA);
+    }
+
+    @Override
+    public void escribir(FacturaResponse factura) {
+        String cabecera = cabecera(factura.getId(), factura.getNumero(), factura.getClienteId(),
+            factura.getSubtotalGeneral(), factura.getTotalImpuestos(), factura.getTotalDescuentos(),
+            factura.getTotalFinal(), factura.getFechaCreacion());
+
+        if (factura.getItems() == null || factura.getItems().isEmpty()) {
+            escribirLinea(cabecera + ITEM_VACIO);
+            return;
+        }
+
+        for (ItemFacturaResponse item : factura.getItems()) {
+            escribirLinea(cabecera + ',' +
+                campo(item.getDescripcion()) + ',' +
+                campo(item.getCantidad()) + ',' +
+                campo(item.getPrecioUnitario()) + ',' +
+                campo(item.getPorcentajeImpuesto()) + ',' +
+                campo(item.getPorcentajeDescuento()) + ',' +
+                campo(item.getSubtotal()) + ',' +
+                campo(item.getImpuesto()) + ',' +
+                campo(item.getDescuento()) + ',' +
+                campo(item.getTotal()));
+        }
+    }
+
+    @Override
+    public void escribir(ResumenFacturaResponse resumen) {
+        escribirLinea(cabecera(resumen.getId(), resumen.getNumero(), resumen.getClienteId(),
+            resumen.getSubtotalGeneral(), resumen.getTotalImpuestos(), resumen.getTotalDescuentos(),
+            resumen.getTotalFinal(), resumen.getFechaCreacion()));
+    }
+
+    private static String cabecera(Long id, String numero, Long clienteId,
+                                   BigDecimal subtotalGeneral, BigDecimal totalImpuestos,
+                                   BigDecimal totalDescuentos, BigDecimal totalFinal,
+                                   LocalDateTime fechaCreacion) {
+        return campo(id) + ',' +
+               campo(numero) + ',' +
+               campo(clienteId) + ',' +
+               campo(subtotalGeneral) + ',' +
+               campo(totalImpuestos) + ',' +
+               campo(totalDescuentos) + ',' +
+               campo(totalFinal) + ',' +
+               (fechaCreacion != null ? FORMATO_FECHA.format(fechaCreacion) : "");
+    }
+
+    private static String campo(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+
+    private void escribirLinea(String linea) {
+        try {
+            salida.write(linea);
+            salida.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.flush();
+    }
+}
@@ -0,0 +1,38 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.exportacion;
+
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+
+/**
+ * Escribe una exportación de facturas registro a registro sobre la salida de la respuesta.
+ *
+ * Ningún formato acumula registros: cada uno se escribe apenas llega, y los errores de
+ * escritura (ej: el cliente cerró la conexión) se lanzan como UncheckedIOException para
+ * cortar el recorrido del cursor.
+ *
+ * close() vacía el buffer pero no cierra la salida, que pertenece al contenedor.
+ */
+public abstract class EscritorExportacion implements Closeable {
+
+    /**
+     * @param formato Formato de la exportación
+     * @param salida Salida de la respuesta HTTP
+     * @param objectMapper ObjectMapper de la aplicación (mismo formato JSON que la API)
+     * @param conItems Si se exportarán facturas completas (define la cabecera CSV)
+     */
+    public static EscritorExportacion crear(FormatoExportacion formato, OutputStream salida,
+                                            ObjectMapper objectMapper, boolean conItems) {
+        return switch (formato) {
+            case NDJSON -> new EscritorNdjson(salida, objectMapper);
+            case CSV -> new EscritorCsv(salida, conItems);
+        };
+    }
+
+    public abstract void escribir(FacturaResponse factura);
+
+    public abstract void escribir(ResumenFacturaResponse resumen);
+}
@@ -0,0 +1,54 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.exportacion;
+
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * NDJSON: un objeto JSON por línea, terminado en '\n'.
+ *
+ * Usa el ObjectMapper de la aplicación sin indentación (jackson.serialization.indent-output
+ * partiría cada registro en varias líneas).
+ */
+final class EscritorNdjson extends EscritorExportacion {
+
+    private static final int FIN_DE_LINEA = '\n';
+
+    private final OutputStream salida;
+    private final ObjectWriter writer;
+
+    EscritorNdjson(OutputStream salida, ObjectMapper objectMapper) {
+        this.salida = salida;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Override
+    public void escribir(FacturaResponse factura) {
+        escribirLinea(factura);
+    }
+
+    @Override
+    public void escribir(ResumenFacturaResponse resumen) {
+        escribirLinea(resumen);
+    }
+
+    private void escribirLinea(Object registro) {
+        try {
+            salida.write(writer.writeValueAsBytes(registro));
+            salida.write(FIN_DE_LINEA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.flush();
+    }
+}
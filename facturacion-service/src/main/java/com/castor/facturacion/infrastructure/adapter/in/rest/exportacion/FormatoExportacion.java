@@ -0,0 +1,48 @@
+package com.castor.facturacion.infrastructure.adapter.in.rest.exportacion;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Formatos de la exportación de facturas
+ */
+public enum FormatoExportacion {
+
+    /**
+     * Un objeto JSON por línea, con los mismos campos que la API
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * CSV con cabecera. Con items, una fila por item con los datos de la factura repetidos
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el formato no es soportado
+     */
+    public static FormatoExportacion desde(String valor) {
+        return Arrays.stream(values())
+            .filter(formato -> formato.extension.equalsIgnoreCase(valor))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(
+                "Formato de exportación no soportado: " + valor + ". Valores permitidos: " +
+                Arrays.stream(values()).map(f -> f.extension).collect(Collectors.joining(", "))));
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
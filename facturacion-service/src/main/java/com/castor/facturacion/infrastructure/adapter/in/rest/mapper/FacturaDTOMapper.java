@@ -2,6 +2,9 @@ package com.castor.facturacion.infrastructure.adapter.in.rest.mapper;
 
 import com.castor.facturacion.domain.Factura;
 import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.domain.port.out.GeneradorNumeroFacturaPort;
 import com.castor.facturacion.domain.valueobject.Cantidad;
 import com.castor.facturacion.domain.valueobject.Dinero;
 import com.castor.facturacion.domain.valueobject.Porcentaje;
@@ -9,6 +12,8 @@ import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturaReq
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ItemFacturaRequest;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ItemFacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResultadoFacturaLoteResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -20,10 +25,17 @@ import java.util.stream.Collectors;
  * Responsable de la traducción bidireccional entre:
  * - CrearFacturaRequest -> Domain (Factura, ItemFactura)
  * - Domain (Factura, ItemFactura) -> FacturaResponse
+ * - ResultadoCreacionFactura -> ResultadoFacturaLoteResponse
  */
 @Component
 public class FacturaDTOMapper {
 
+    private final GeneradorNumeroFacturaPort numeros;
+
+    public FacturaDTOMapper(GeneradorNumeroFacturaPort numeros) {
+        this.numeros = numeros;
+    }
+
     /**
      * Convierte un DTO de request a una entidad de dominio Factura
      */
@@ -36,7 +48,7 @@ public class FacturaDTOMapper {
             .map(this::itemToDomain)
             .collect(Collectors.toList());
 
-        return Factura.crear(request.getClienteId(), items);
+        return Factura.crear(numeros.siguiente(), request.getClienteId(), items);
     }
 
     /**
@@ -47,16 +59,26 @@ public class FacturaDTOMapper {
             throw new IllegalArgumentException("El item request no puede ser nulo");
         }
 
+        Porcentaje porcentajeDescuento = itemRequest.getPorcentajeDescuento() != null
+            ? Porcentaje.of(itemRequest.getPorcentajeDescuento())
+            : Porcentaje.cero();
+
+        // Sin porcentaje de impuesto, la tasa la resuelve TaxCalculatorPort por categoría
+        if (itemRequest.getPorcentajeImpuesto() == null) {
+            return ItemFactura.crearPorCategoria(
+                itemRequest.getDescripcion(),
+                Cantidad.of(itemRequest.getCantidad()),
+                Dinero.of(itemRequest.getPrecioUnitario()),
+                itemRequest.getCategoria(),
+                porcentajeDescuento
+            );
+        }
         return ItemFactura.crear(
             itemRequest.getDescripcion(),
             Cantidad.of(itemRequest.getCantidad()),
             Dinero.of(itemRequest.getPrecioUnitario()),
-            itemRequest.getPorcentajeImpuesto() != null
-                ? Porcentaje.of(itemRequest.getPorcentajeImpuesto())
-                : Porcentaje.cero(),
-            itemRequest.getPorcentajeDescuento() != null
-                ? Porcentaje.of(itemRequest.getPorcentajeDescuento())
-                : Porcentaje.cero()
+            Porcentaje.of(itemRequest.getPorcentajeImpuesto()),
+            porcentajeDescuento
         );
     }
 
@@ -73,7 +95,7 @@ public class FacturaDTOMapper {
             .collect(Collectors.toList());
 
         return new FacturaResponse(
-            factura.getId() != null ? factura.getId().getValue() : null,
+            factura.getId() != null ? factura.getId().getValor() : null,
             factura.getNumero() != null ? factura.getNumero().getValor() : null,
             factura.getClienteId(),
             itemsResponse,
@@ -85,6 +107,26 @@ public class FacturaDTOMapper {
         );
     }
 
+    /**
+     * Convierte un ResumenFactura a ResumenFacturaResponse DTO
+     */
+    public ResumenFacturaResponse toResumenResponse(ResumenFactura resumen) {
+        if (resumen == null) {
+            throw new IllegalArgumentException("El resumen no puede ser nulo");
+        }
+
+        return new ResumenFacturaResponse(
+            resumen.getId(),
+            resumen.getNumero(),
+            resumen.getClienteId(),
+            resumen.getSubtotalGeneral(),
+            resumen.getTotalImpuestos(),
+            resumen.getTotalDescuentos(),
+            resumen.getTotalFinal(),
+            resumen.getFechaCreacion()
+        );
+    }
+
     /**
      * Convierte un ItemFactura de dominio a ItemFacturaResponse DTO
      */
@@ -107,6 +149,34 @@ public class FacturaDTOMapper {
         return response;
     }
 
+    /**
+     * Convierte el resultado de una factura del lote a ResultadoFacturaLoteResponse DTO
+     */
+    public ResultadoFacturaLoteResponse toResultadoLoteResponse(ResultadoCreacionFactura resultado) {
+        if (resultado == null) {
+            throw new IllegalArgumentException("El resultado no puede ser nulo");
+        }
+
+        if (!resultado.esExitoso()) {
+            return new ResultadoFacturaLoteResponse(
+                resultado.getIndice(),
+                ResultadoFacturaLoteResponse.ESTADO_RECHAZADA,
+                null, null, null,
+                resultado.getError()
+            );
+        }
+
+        Factura factura = resultado.getFactura();
+        return new ResultadoFacturaLoteResponse(
+            resultado.getIndice(),
+            ResultadoFacturaLoteResponse.ESTADO_CREADA,
+            factura.getId() != null ? factura.getId().getValor() : null,
+            factura.getNumero() != null ? factura.getNumero().getValor() : null,
+            factura.getTotalFinal().getCantidad(),
+            null
+        );
+    }
+
     /**
      * Convierte una lista de Facturas de dominio a lista de FacturaResponse
      */
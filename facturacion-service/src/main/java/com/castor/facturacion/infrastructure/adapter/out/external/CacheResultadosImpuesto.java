@@ -0,0 +1,112 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Resultados de tax-calculator-service por firma de item, para no volver a pedir por HTTP
+ * el cálculo de items idénticos (mismo precio, cantidad y porcentajes).
+ *
+ * La firma son los valores que determinan el resultado, en centavos y centésimas, sin la
+ * descripción (el servicio solo la repite). No es un hash: dos items distintos nunca
+ * comparten resultado.
+ *
+ * Versionado: la firma incluye la versión de reglas vigente. Cambiar de versión vacía el
+ * cache, y lo que guarde una llamada iniciada con la versión anterior ya no se encuentra.
+ *
+ * Métricas cache.* con tag cache=resultadosImpuesto (hit ratio: cache.gets por result)
+ * y facturacion.impuestos.remoto.items con tag resultado=cache|remoto.
+ */
+final class CacheResultadosImpuesto {
+
+    static final String NOMBRE = "resultadosImpuesto";
+
+    /**
+     * Valores de entrada del cálculo de un item, redondeados como los recibe el servicio
+     */
+    record Firma(String version, long precioCentavos, int cantidad, long impuestoCentesimas,
+                 long descuentoCentesimas) {
+    }
+
+    /**
+     * Resultado del servicio para una firma, en centavos
+     */
+    record Resultado(long subtotal, long impuesto, long descuento, long total) {
+    }
+
+    private final Cache<Firma, Resultado> resultados;
+    private final Counter itemsDesdeCache;
+    private final Counter itemsRemotos;
+    private volatile String version;
+
+    CacheResultadosImpuesto(long tamanoMaximo, Duration expiracion, String version, MeterRegistry meterRegistry) {
+        this.version = version;
+        this.resultados = Caffeine.newBuilder()
+            .maximumSize(tamanoMaximo)
+            .expireAfterWrite(expiracion)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultados, NOMBRE);
+
+        this.itemsDesdeCache = registrarItems(meterRegistry, "cache");
+        this.itemsRemotos = registrarItems(meterRegistry, "remoto");
+    }
+
+    private static Counter registrarItems(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("facturacion.impuestos.remoto.items")
+            .description("Items a calcular en tax-calculator-service, resueltos por cache o enviados")
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    String version() {
+        return version;
+    }
+
+    Firma firma(ItemFactura item, String version) {
+        return new Firma(
+            version,
+            item.getPrecioUnitario().getCentavos(),
+            item.getCantidad().getValor(),
+            MensajesCalculoImpuestos.centesimas(item.getPorcentajeImpuesto()),
+            MensajesCalculoImpuestos.centesimas(item.getPorcentajeDescuento())
+        );
+    }
+
+    Resultado obtener(Firma firma) {
+        return resultados.getIfPresent(firma);
+    }
+
+    void guardar(Firma firma, Resultado resultado) {
+        if (firma.version().equals(version)) {
+            resultados.put(firma, resultado);
+        }
+    }
+
+    /**
+     * Cuenta los items de una petición: resueltos sin HTTP (cache o repetidos en la misma
+     * petición) y enviados al servicio
+     */
+    void contar(int desdeCache, int remotos) {
+        itemsDesdeCache.increment(desdeCache);
+        itemsRemotos.increment(remotos);
+    }
+
+    /**
+     * Descarta todos los resultados y pasa a la nueva versión de reglas
+     */
+    void cambiarVersion(String nuevaVersion) {
+        this.version = nuevaVersion;
+        resultados.invalidateAll();
+    }
+
+    long tamano() {
+        return resultados.estimatedSize();
+    }
+}
@@ -0,0 +1,231 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import com.castor.facturacion.domain.ItemFactura;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Agrupa los items a calcular de peticiones concurrentes en lotes (estilo DataLoader) y
+ * resuelve cada lote con una sola llamada a POST /calcular de tax-calculator-service.
+ *
+ * Un lote se envía cuando pasa la ventana desde su primera solicitud (batch-window) o
+ * cuando alcanza batch-max-size items distintos, lo que ocurra primero. Los items con la
+ * misma firma se envían una vez aunque vengan de peticiones distintas. Cada solicitud recibe
+ * su propio CompletableFuture con los resultados en el orden de sus items.
+ *
+ * Aislamiento de errores: si el servicio rechaza un lote de varias solicitudes (4xx), cada
+ * solicitud se reenvía por separado, de modo que un item inválido solo hace fallar a la
+ * petición que lo trajo. Los demás errores (timeout, 5xx, respuesta incompleta) son del
+ * servicio y fallan todas las solicitudes del lote.
+ *
+ * Métricas:
+ * - facturacion.impuestos.lote.tamano: items distintos por lote
+ * - facturacion.impuestos.lote.espera: tiempo de cada solicitud en cola hasta enviarse
+ * - facturacion.impuestos.lote.latencia: duración de la llamada HTTP del lote
+ *
+ * La cola se protege con ReentrantLock y no con synchronized, por los hilos virtuales
+ * (ver ConsultaClientesPorLotes).
+ */
+final class CalculoImpuestosPorLotes implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CalculoImpuestosPorLotes.class);
+
+    private record Solicitud(List<CacheResultadosImpuesto.Firma> firmas, List<ItemFactura> items,
+                             CompletableFuture<List<CacheResultadosImpuesto.Resultado>> futuro, long encolado) {
+    }
+
+    private final Function<List<ItemFactura>, Mono<List<CacheResultadosImpuesto.Resultado>>> servicio;
+    private final Duration ventana;
+    private final int tamanoMaximo;
+    private final ScheduledExecutorService planificador;
+    private final DistributionSummary tamanoLote;
+    private final Timer esperaEnCola;
+    private final Timer latenciaLote;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Solicitud> pendientes = new ArrayList<>();
+    private Set<CacheResultadosImpuesto.Firma> firmasPendientes = new HashSet<>();
+    private ScheduledFuture<?> envioProgramado;
+
+    /**
+     * @param servicio llamada a POST /calcular: resultados en el orden de los items enviados
+     */
+    CalculoImpuestosPorLotes(Function<List<ItemFactura>, Mono<List<CacheResultadosImpuesto.Resultado>>> servicio,
+                             Duration ventana, int tamanoMaximo, MeterRegistry meterRegistry) {
+        this.servicio = servicio;
+        this.ventana = ventana;
+        this.tamanoMaximo = tamanoMaximo;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "impuestos-lotes");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.tamanoLote = DistributionSummary.builder("facturacion.impuestos.lote.tamano")
+            .description("Items distintos por lote enviado a tax-calculator-service")
+            .baseUnit("items")
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue((double) tamanoMaximo)
+            .register(meterRegistry);
+        this.esperaEnCola = Timer.builder("facturacion.impuestos.lote.espera")
+            .description("Tiempo de un cálculo de impuestos en cola hasta que su lote se envía")
+            .register(meterRegistry);
+        this.latenciaLote = Timer.builder("facturacion.impuestos.lote.latencia")
+            .description("Latencia de la llamada HTTP de un lote de cálculo de impuestos")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Encola los items (sin firmas repetidas) en el lote actual.
+     * El futuro falla con la excepción de la llamada HTTP si sus items no se pudieron calcular.
+     */
+    CompletableFuture<List<CacheResultadosImpuesto.Resultado>> calcular(List<CacheResultadosImpuesto.Firma> firmas,
+                                                                       List<ItemFactura> items) {
+        Solicitud solicitud = new Solicitud(firmas, items, new CompletableFuture<>(), System.nanoTime());
+        List<Solicitud> lleno = null;
+
+        lock.lock();
+        try {
+            pendientes.add(solicitud);
+            firmasPendientes.addAll(firmas);
+            if (firmasPendientes.size() >= tamanoMaximo) {
+                lleno = tomarPendientes();
+            } else if (pendientes.size() == 1) {
+                envioProgramado = planificador.schedule(this::enviarPendientes,
+                    ventana.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // El lote lleno lo envía quien lo completó, sin esperar al planificador
+        if (lleno != null) {
+            enviar(lleno);
+        }
+        return solicitud.futuro();
+    }
+
+    /**
+     * Retira el lote actual. Debe llamarse con el lock tomado.
+     */
+    private List<Solicitud> tomarPendientes() {
+        List<Solicitud> lote = pendientes;
+        pendientes = new ArrayList<>();
+        firmasPendientes = new HashSet<>();
+        if (envioProgramado != null) {
+            envioProgramado.cancel(false);
+            envioProgramado = null;
+        }
+        return lote;
+    }
+
+    private void enviarPendientes() {
+        List<Solicitud> lote;
+        lock.lock();
+        try {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lote = tomarPendientes();
+        } finally {
+            lock.unlock();
+        }
+        enviar(lote);
+    }
+
+    private void enviar(List<Solicitud> lote) {
+        long ahora = System.nanoTime();
+        Map<CacheResultadosImpuesto.Firma, ItemFactura> distintos = new LinkedHashMap<>();
+        for (Solicitud solicitud : lote) {
+            esperaEnCola.record(ahora - solicitud.encolado(), TimeUnit.NANOSECONDS);
+            for (int i = 0; i < solicitud.firmas().size(); i++) {
+                distintos.putIfAbsent(solicitud.firmas().get(i), solicitud.items().get(i));
+            }
+        }
+        tamanoLote.record(distintos.size());
+        log.debug("Enviando lote de {} cálculos de impuestos ({} items distintos)", lote.size(), distintos.size());
+
+        List<CacheResultadosImpuesto.Firma> firmas = new ArrayList<>(distintos.keySet());
+        Timer.Sample muestra = Timer.start();
+        servicio.apply(new ArrayList<>(distintos.values()))
+            .subscribe(
+                resultados -> {
+                    muestra.stop(latenciaLote);
+                    completar(lote, firmas, resultados);
+                },
+                error -> {
+                    muestra.stop(latenciaLote);
+                    if (lote.size() > 1 && esRechazo(error)) {
+                        log.warn("Lote de {} cálculos rechazado ({}), se reenvía cada solicitud por separado",
+                            lote.size(), error.getMessage());
+                        lote.forEach(this::enviarSola);
+                        return;
+                    }
+                    log.warn("Error al calcular lote de {} items: {}", distintos.size(), error.getMessage());
+                    lote.forEach(solicitud -> solicitud.futuro().completeExceptionally(error));
+                });
+    }
+
+    /**
+     * Reenvío de una solicitud tras el rechazo de su lote; no pasa por la cola ni las métricas del lote
+     */
+    private void enviarSola(Solicitud solicitud) {
+        servicio.apply(solicitud.items())
+            .subscribe(solicitud.futuro()::complete, solicitud.futuro()::completeExceptionally);
+    }
+
+    /**
+     * 4xx del servicio, aunque llegue envuelto por la llamada remota
+     */
+    private static boolean esRechazo(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof WebClientResponseException respuesta) {
+                return respuesta.getStatusCode().is4xxClientError();
+            }
+        }
+        return false;
+    }
+
+    private static void completar(List<Solicitud> lote, List<CacheResultadosImpuesto.Firma> firmas,
+                                  List<CacheResultadosImpuesto.Resultado> resultados) {
+        Map<CacheResultadosImpuesto.Firma, CacheResultadosImpuesto.Resultado> porFirma = new HashMap<>();
+        for (int i = 0; i < firmas.size(); i++) {
+            porFirma.put(firmas.get(i), resultados.get(i));
+        }
+
+        for (Solicitud solicitud : lote) {
+            solicitud.futuro().complete(solicitud.firmas().stream()
+                .map(porFirma::get)
+                .toList());
+        }
+    }
+
+    /**
+     * Envía lo que quede en cola y detiene el planificador
+     */
+    @Override
+    public void close() {
+        enviarPendientes();
+        planificador.shutdownNow();
+    }
+}
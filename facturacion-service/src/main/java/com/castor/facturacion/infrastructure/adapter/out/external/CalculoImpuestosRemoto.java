@@ -0,0 +1,146 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.valueobject.Dinero;
+import com.castor.facturacion.infrastructure.config.TaxCalculatorProperties;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Llamada a POST /calcular de tax-calculator-service (Python), con Circuit Breaker y Retry.
+ *
+ * Es un bean aparte de TaxCalculatorAdapter para que el cache de resultados quede fuera del
+ * proxy de Resilience4j: solo los items sin resultado en cache llegan aquí, y los aciertos
+ * no cuentan como llamadas del Circuit Breaker ni se reintentan.
+ *
+ * Formato (MensajesCalculoImpuestos): con compact-encoding se envía CBOR con el esquema
+ * compacto en centavos. Si el servicio lo rechaza (4xx) y la misma petición en JSON funciona,
+ * el servicio no conoce el formato y se sigue en JSON hasta reiniciar.
+ */
+@Component
+public class CalculoImpuestosRemoto {
+
+    private static final Logger log = LoggerFactory.getLogger(CalculoImpuestosRemoto.class);
+
+    private final WebClient webClient;
+    private final TaxCalculatorProperties properties;
+    private volatile boolean compacto;
+
+    public CalculoImpuestosRemoto(WebClient.Builder webClientBuilder, TaxCalculatorProperties properties) {
+        this.properties = properties;
+        this.webClient = webClientBuilder
+            .baseUrl(properties.getBaseUrl())
+            .codecs(codecs -> {
+                codecs.customCodecs().register(new Jackson2CborEncoder());
+                codecs.customCodecs().register(new Jackson2CborDecoder());
+            })
+            .build();
+        this.compacto = properties.isCompactEncoding();
+
+        log.info("CalculoImpuestosRemoto inicializado con URL: {} - Formato: {}", properties.getBaseUrl(),
+            compacto ? "cbor" : "json");
+    }
+
+    /**
+     * Envía los items y espera sus resultados, en el mismo orden.
+     * Una respuesta sin el detalle de todos los items se trata como error.
+     */
+    @CircuitBreaker(name = "taxCalculator", fallbackMethod = "calcularFallback")
+    @Retry(name = "taxCalculator")
+    public List<CacheResultadosImpuesto.Resultado> calcular(List<ItemFactura> items) {
+        log.debug("Enviando {} items a tax-calculator-service", items.size());
+        try {
+            return enviar(items).block();
+
+        } catch (Exception e) {
+            log.error("Error al calcular impuestos mediante servicio externo: {}", e.getMessage());
+            throw new IllegalStateException("Error al calcular impuestos", e);
+        }
+    }
+
+    /**
+     * Fallback method cuando el servicio de cálculo de impuestos no está disponible.
+     *
+     * No inventa un resultado: quien calcula o verifica con el servicio necesita saber que no respondió.
+     */
+    private List<CacheResultadosImpuesto.Resultado> calcularFallback(List<ItemFactura> items, Exception ex) {
+        log.warn("Servicio de cálculo de impuestos no disponible para {} items: {}", items.size(), ex.getMessage());
+        throw new IllegalStateException("El servicio de cálculo de impuestos no está disponible", ex);
+    }
+
+    private Mono<List<CacheResultadosImpuesto.Resultado>> enviar(List<ItemFactura> items) {
+        if (!compacto) {
+            return enviarJson(items);
+        }
+        return enviarCompacto(items)
+            .onErrorResume(CalculoImpuestosRemoto::esRechazo, rechazo -> enviarJson(items)
+                .doOnNext(resultados -> formatoCompactoNoSoportado((WebClientResponseException) rechazo)));
+    }
+
+    private Mono<List<CacheResultadosImpuesto.Resultado>> enviarCompacto(List<ItemFactura> items) {
+        return webClient.post()
+            .uri("/calcular")
+            .contentType(MediaType.APPLICATION_CBOR)
+            .accept(MediaType.APPLICATION_CBOR)
+            .bodyValue(MensajesCalculoImpuestos.SolicitudCompacta.de(items))
+            .retrieve()
+            .bodyToMono(MensajesCalculoImpuestos.RespuestaCompacta.class)
+            .timeout(properties.getTimeout())
+            .filter(respuesta -> respuesta.items() != null && respuesta.items().size() == items.size())
+            .switchIfEmpty(Mono.error(() ->
+                new IllegalStateException("Respuesta sin el detalle de los " + items.size() + " items")))
+            .map(respuesta -> respuesta.items().stream()
+                .map(resultado -> new CacheResultadosImpuesto.Resultado(
+                    resultado.subtotal(), resultado.impuesto(), resultado.descuento(), resultado.total()))
+                .toList());
+    }
+
+    private Mono<List<CacheResultadosImpuesto.Resultado>> enviarJson(List<ItemFactura> items) {
+        return webClient.post()
+            .uri("/calcular")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(MensajesCalculoImpuestos.SolicitudJson.de(items))
+            .retrieve()
+            .bodyToMono(MensajesCalculoImpuestos.RespuestaJson.class)
+            .timeout(properties.getTimeout())
+            .filter(respuesta -> respuesta.detalleItems() != null && respuesta.detalleItems().size() == items.size())
+            .switchIfEmpty(Mono.error(() ->
+                new IllegalStateException("Respuesta sin el detalle de los " + items.size() + " items")))
+            .map(respuesta -> respuesta.detalleItems().stream()
+                .map(CalculoImpuestosRemoto::aResultado)
+                .toList());
+    }
+
+    private static boolean esRechazo(Throwable error) {
+        return error instanceof WebClientResponseException respuesta
+            && respuesta.getStatusCode().is4xxClientError();
+    }
+
+    private void formatoCompactoNoSoportado(WebClientResponseException rechazo) {
+        if (compacto) {
+            compacto = false;
+            log.warn("tax-calculator-service rechazó el formato compacto ({}) y aceptó JSON; " +
+                "se usa JSON en adelante", rechazo.getStatusCode());
+        }
+    }
+
+    private static CacheResultadosImpuesto.Resultado aResultado(MensajesCalculoImpuestos.DetalleJson detalle) {
+        return new CacheResultadosImpuesto.Resultado(
+            Dinero.of(detalle.subtotal()).getCentavos(),
+            Dinero.of(detalle.impuesto()).getCentavos(),
+            Dinero.of(detalle.descuento()).getCentavos(),
+            Dinero.of(detalle.total()).getCentavos()
+        );
+    }
+}
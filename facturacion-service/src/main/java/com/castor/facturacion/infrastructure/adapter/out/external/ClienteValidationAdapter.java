@@ -4,14 +4,18 @@ import com.castor.facturacion.domain.port.out.ClienteValidationPort;
 import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Adapter externo para validar clientes mediante llamada REST al clientes-service.
@@ -21,49 +25,81 @@ import java.time.Duration;
  * Características:
  * - Circuit Breaker para tolerancia a fallos
  * - Retry automático para errores transitorios
- * - Cache para reducir llamadas externas
- * - Fallback methods para manejo de errores
+ * - Errores y Circuit Breaker abierto se propagan como excepción: el cache y el fallback
+ *   conservador los aplica ClienteValidationCacheDecorator
+ * - Latencia de cada validación en facturacion.cliente.validacion (estrategia=remota)
+ * - Con cliente-service.batch-enabled, las validaciones concurrentes se agrupan en lotes
+ *   resueltos con una sola llamada a POST /api/v1/clientes/estado (ConsultaClientesPorLotes)
  */
 @Component
-public class ClienteValidationAdapter implements ClienteValidationPort {
+public class ClienteValidationAdapter implements ClienteValidationPort, DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(ClienteValidationAdapter.class);
 
     private final WebClient webClient;
     private final ClienteServiceProperties properties;
+    private final Timer latenciaActivo;
+    private final Timer latenciaExistencia;
+    private final ConsultaClientesPorLotes lotes;
 
     public ClienteValidationAdapter(
         WebClient.Builder webClientBuilder,
-        ClienteServiceProperties properties
+        ClienteServiceProperties properties,
+        MeterRegistry meterRegistry
     ) {
         this.properties = properties;
+        this.latenciaActivo = registrarLatencia(meterRegistry, "esClienteActivo");
+        this.latenciaExistencia = registrarLatencia(meterRegistry, "existeCliente");
         this.webClient = webClientBuilder
             .baseUrl(properties.getBaseUrl())
             .build();
+        this.lotes = properties.isBatchEnabled()
+            ? new ConsultaClientesPorLotes(webClient, properties.getBatchWindow(),
+                properties.getBatchMaxSize(), properties.getTimeout(), meterRegistry)
+            : null;
+
+        log.info("ClienteValidationAdapter inicializado con URL: {} - Lotes: {} (ventana {}, máximo {})",
+            properties.getBaseUrl(), properties.isBatchEnabled(), properties.getBatchWindow(),
+            properties.getBatchMaxSize());
+    }
 
-        log.info("ClienteValidationAdapter inicializado con URL: {}", properties.getBaseUrl());
+    private static Timer registrarLatencia(MeterRegistry meterRegistry, String operacion) {
+        return Timer.builder("facturacion.cliente.validacion")
+            .description("Latencia de la validación de clientes por estrategia")
+            .tag("estrategia", "remota")
+            .tag("operacion", operacion)
+            .register(meterRegistry);
     }
 
     /**
      * Verifica si un cliente existe y está activo.
      *
-     * Implementa Circuit Breaker, Retry y Cache para alta disponibilidad.
+     * Implementa Circuit Breaker y Retry para alta disponibilidad.
      */
     @Override
-    @CircuitBreaker(name = "clienteService", fallbackMethod = "esClienteActivoFallback")
+    @CircuitBreaker(name = "clienteService")
     @Retry(name = "clienteService")
-    @Cacheable(value = "clientesActivos", key = "#clienteId", unless = "#result == false")
     public boolean esClienteActivo(Long clienteId) {
         log.debug("Validando si cliente {} está activo mediante REST", clienteId);
 
+        if (lotes != null && clienteId != null) {
+            return consultarEnLote(clienteId, latenciaActivo) == ConsultaClientesPorLotes.EstadoCliente.ACTIVO;
+        }
+
         try {
             // Llamar al endpoint GET /api/v1/clientes/{id}/activo
-            Boolean resultado = webClient.get()
-                .uri("/api/v1/clientes/{id}/activo", clienteId)
-                .retrieve()
-                .bodyToMono(Boolean.class)
-                .timeout(Duration.ofMillis(properties.getTimeout()))
-                .block();
+            Timer.Sample muestra = Timer.start();
+            Boolean resultado;
+            try {
+                resultado = webClient.get()
+                    .uri("/api/v1/clientes/{id}/activo", clienteId)
+                    .retrieve()
+                    .bodyToMono(Boolean.class)
+                    .timeout(properties.getTimeout())
+                    .block();
+            } finally {
+                muestra.stop(latenciaActivo);
+            }
 
             log.debug("Cliente {} activo: {}", clienteId, resultado);
 
@@ -88,20 +124,28 @@ public class ClienteValidationAdapter implements ClienteValidationPort {
      * Verifica si un cliente existe (sin importar si está activo o no).
      */
     @Override
-    @CircuitBreaker(name = "clienteService", fallbackMethod = "existeClienteFallback")
+    @CircuitBreaker(name = "clienteService")
     @Retry(name = "clienteService")
-    @Cacheable(value = "clientesExistentes", key = "#clienteId")
     public boolean existeCliente(Long clienteId) {
         log.debug("Verificando existencia de cliente {} mediante REST", clienteId);
 
+        if (lotes != null && clienteId != null) {
+            return consultarEnLote(clienteId, latenciaExistencia) != ConsultaClientesPorLotes.EstadoCliente.INEXISTENTE;
+        }
+
         try {
             // Llamar al endpoint HEAD /api/v1/clientes/{id}
-            webClient.head()
-                .uri("/api/v1/clientes/{id}", clienteId)
-                .retrieve()
-                .toBodilessEntity()
-                .timeout(Duration.ofMillis(properties.getTimeout()))
-                .block();
+            Timer.Sample muestra = Timer.start();
+            try {
+                webClient.head()
+                    .uri("/api/v1/clientes/{id}", clienteId)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(properties.getTimeout())
+                    .block();
+            } finally {
+                muestra.stop(latenciaExistencia);
+            }
 
             log.debug("Cliente {} existe", clienteId);
             return true;
@@ -123,27 +167,39 @@ public class ClienteValidationAdapter implements ClienteValidationPort {
     }
 
     /**
-     * Fallback method para esClienteActivo cuando el Circuit Breaker está abierto.
-     *
-     * Estrategia conservadora: retorna false para evitar crear facturas con clientes inválidos.
+     * Espera el estado del cliente resuelto por su lote.
+     * El plazo cubre la ventana del lote más el timeout de la llamada HTTP.
      */
-    private boolean esClienteActivoFallback(Long clienteId, Exception ex) {
-        log.error("Circuit Breaker abierto o error al validar cliente {}. " +
-                 "Usando fallback (retornando false). Error: {}",
-            clienteId, ex.getMessage());
+    private ConsultaClientesPorLotes.EstadoCliente consultarEnLote(Long clienteId, Timer latencia) {
+        long plazo = properties.getBatchWindow().plus(properties.getTimeout()).toMillis();
+        Timer.Sample muestra = Timer.start();
+        try {
+            ConsultaClientesPorLotes.EstadoCliente estado =
+                lotes.consultar(clienteId).get(plazo, TimeUnit.MILLISECONDS);
+            log.debug("Cliente {} en lote: {}", clienteId, estado);
+            return estado;
 
-        // Estrategia conservadora: no permitir facturar si no podemos validar
-        return false;
-    }
+        } catch (ExecutionException e) {
+            log.error("Error al validar cliente {} en lote: {}", clienteId, e.getCause().getMessage());
+            throw new IllegalStateException("Error al comunicarse con el servicio de clientes", e.getCause());
 
-    /**
-     * Fallback method para existeCliente cuando el Circuit Breaker está abierto.
-     */
-    private boolean existeClienteFallback(Long clienteId, Exception ex) {
-        log.error("Circuit Breaker abierto o error al verificar existencia de cliente {}. " +
-                 "Usando fallback (retornando false). Error: {}",
-            clienteId, ex.getMessage());
+        } catch (TimeoutException e) {
+            log.error("Timeout al validar cliente {} en lote tras {} ms", clienteId, plazo);
+            throw new IllegalStateException("Timeout al comunicarse con el servicio de clientes", e);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validación de cliente interrumpida", e);
+
+        } finally {
+            muestra.stop(latencia);
+        }
+    }
 
-        return false;
+    @Override
+    public void destroy() {
+        if (lotes != null) {
+            lotes.close();
+        }
     }
 }
@@ -0,0 +1,209 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa las consultas de estado de clientes de peticiones concurrentes en lotes
+ * (estilo DataLoader) y resuelve cada lote con una llamada a POST /api/v1/clientes/estado,
+ * que en clientes-service es un solo WHERE id IN (...).
+ *
+ * Un lote se envía cuando pasa la ventana desde su primera consulta (batch-window) o
+ * cuando alcanza batch-max-size IDs, lo que ocurra primero. Cada consulta recibe su propio
+ * CompletableFuture, completado con el estado de su cliente o con el error del lote.
+ *
+ * Métricas:
+ * - facturacion.cliente.validacion.lote.tamano: IDs distintos por lote
+ * - facturacion.cliente.validacion.lote.espera: tiempo de cada consulta en cola hasta enviarse
+ * - facturacion.cliente.validacion.lote.latencia: duración de la llamada HTTP del lote
+ *
+ * La cola se protege con ReentrantLock y no con synchronized: con hilos virtuales, esperar
+ * el lock (o el lock interno del planificador) dentro de synchronized fijaría el hilo portador.
+ */
+final class ConsultaClientesPorLotes implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaClientesPorLotes.class);
+
+    /**
+     * Estado de un cliente según clientes-service
+     */
+    enum EstadoCliente {
+        ACTIVO, INACTIVO, INEXISTENTE
+    }
+
+    record SolicitudEstado(Set<Long> ids) {
+    }
+
+    record RespuestaEstado(List<Long> activos, List<Long> inactivos) {
+    }
+
+    private record Pendiente(Long clienteId, CompletableFuture<EstadoCliente> futuro, long encolado) {
+    }
+
+    private final WebClient webClient;
+    private final Duration ventana;
+    private final int tamanoMaximo;
+    private final Duration timeout;
+    private final ScheduledExecutorService planificador;
+    private final DistributionSummary tamanoLote;
+    private final Timer esperaEnCola;
+    private final Timer latenciaLote;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pendiente> pendientes = new ArrayList<>();
+    private ScheduledFuture<?> envioProgramado;
+
+    ConsultaClientesPorLotes(WebClient webClient, Duration ventana, int tamanoMaximo, Duration timeout,
+                             MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.ventana = ventana;
+        this.tamanoMaximo = tamanoMaximo;
+        this.timeout = timeout;
+        this.planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "clientes-lotes");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.tamanoLote = DistributionSummary.builder("facturacion.cliente.validacion.lote.tamano")
+            .description("IDs de cliente distintos por lote enviado a clientes-service")
+            .baseUnit("clientes")
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue((double) tamanoMaximo)
+            .register(meterRegistry);
+        this.esperaEnCola = Timer.builder("facturacion.cliente.validacion.lote.espera")
+            .description("Tiempo de una validación en cola hasta que su lote se envía")
+            .register(meterRegistry);
+        this.latenciaLote = Timer.builder("facturacion.cliente.validacion.lote.latencia")
+            .description("Latencia de la llamada HTTP de un lote de validación de clientes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Encola la consulta del cliente en el lote actual.
+     * El futuro falla con la excepción de la llamada HTTP si el lote no se pudo resolver.
+     */
+    CompletableFuture<EstadoCliente> consultar(Long clienteId) {
+        Pendiente pendiente = new Pendiente(clienteId, new CompletableFuture<>(), System.nanoTime());
+        List<Pendiente> lleno = null;
+
+        lock.lock();
+        try {
+            pendientes.add(pendiente);
+            if (pendientes.size() >= tamanoMaximo) {
+                lleno = tomarPendientes();
+            } else if (pendientes.size() == 1) {
+                envioProgramado = planificador.schedule(this::enviarPendientes,
+                    ventana.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // El lote lleno lo envía quien lo completó, sin esperar al planificador
+        if (lleno != null) {
+            enviar(lleno);
+        }
+        return pendiente.futuro();
+    }
+
+    /**
+     * Retira el lote actual. Debe llamarse con el lock tomado.
+     */
+    private List<Pendiente> tomarPendientes() {
+        List<Pendiente> lote = pendientes;
+        pendientes = new ArrayList<>();
+        if (envioProgramado != null) {
+            envioProgramado.cancel(false);
+            envioProgramado = null;
+        }
+        return lote;
+    }
+
+    private void enviarPendientes() {
+        List<Pendiente> lote;
+        lock.lock();
+        try {
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lote = tomarPendientes();
+        } finally {
+            lock.unlock();
+        }
+        enviar(lote);
+    }
+
+    private void enviar(List<Pendiente> lote) {
+        long ahora = System.nanoTime();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Pendiente pendiente : lote) {
+            esperaEnCola.record(ahora - pendiente.encolado(), TimeUnit.NANOSECONDS);
+            ids.add(pendiente.clienteId());
+        }
+        tamanoLote.record(ids.size());
+        log.debug("Enviando lote de {} validaciones ({} clientes distintos)", lote.size(), ids.size());
+
+        Timer.Sample muestra = Timer.start();
+        webClient.post()
+            .uri("/api/v1/clientes/estado")
+            .bodyValue(new SolicitudEstado(ids))
+            .retrieve()
+            .bodyToMono(RespuestaEstado.class)
+            .timeout(timeout)
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("Respuesta vacía de clientes-service")))
+            .subscribe(
+                respuesta -> {
+                    muestra.stop(latenciaLote);
+                    completar(lote, respuesta);
+                },
+                error -> {
+                    muestra.stop(latenciaLote);
+                    log.warn("Error al validar lote de {} clientes: {}", ids.size(), error.getMessage());
+                    lote.forEach(pendiente -> pendiente.futuro().completeExceptionally(error));
+                });
+    }
+
+    private static void completar(List<Pendiente> lote, RespuestaEstado respuesta) {
+        Set<Long> activos = respuesta.activos() == null ? Set.of() : new HashSet<>(respuesta.activos());
+        Set<Long> inactivos = respuesta.inactivos() == null ? Set.of() : new HashSet<>(respuesta.inactivos());
+
+        for (Pendiente pendiente : lote) {
+            EstadoCliente estado;
+            if (activos.contains(pendiente.clienteId())) {
+                estado = EstadoCliente.ACTIVO;
+            } else if (inactivos.contains(pendiente.clienteId())) {
+                estado = EstadoCliente.INACTIVO;
+            } else {
+                estado = EstadoCliente.INEXISTENTE;
+            }
+            pendiente.futuro().complete(estado);
+        }
+    }
+
+    /**
+     * Envía lo que quede en cola y detiene el planificador
+     */
+    @Override
+    public void close() {
+        enviarPendientes();
+        planificador.shutdownNow();
+    }
+}
@@ -0,0 +1,94 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Esquema de los mensajes de POST /calcular de tax-calculator-service.
+ *
+ * Compacto (application/cbor): cada item viaja como arreglo
+ * [cantidad, precio en centavos, impuesto y descuento en centésimas de punto] y cada
+ * resultado como [subtotal, impuesto, descuento, total] en centavos. Sin descripciones ni
+ * totales generales: el servicio solo los repetía y el adapter no los usa.
+ *
+ * JSON: el contrato original, con descripción y valores decimales; se usa con servicios
+ * que no aceptan el formato compacto.
+ */
+public final class MensajesCalculoImpuestos {
+
+    private MensajesCalculoImpuestos() {
+    }
+
+    public record SolicitudCompacta(List<ItemCompacto> items) {
+
+        public static SolicitudCompacta de(List<ItemFactura> items) {
+            return new SolicitudCompacta(items.stream()
+                .map(item -> new ItemCompacto(
+                    item.getCantidad().getValor(),
+                    item.getPrecioUnitario().getCentavos(),
+                    centesimas(item.getPorcentajeImpuesto()),
+                    centesimas(item.getPorcentajeDescuento())))
+                .toList());
+        }
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"cantidad", "precioCentavos", "impuestoCentesimas", "descuentoCentesimas"})
+    public record ItemCompacto(int cantidad, long precioCentavos, long impuestoCentesimas, long descuentoCentesimas) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record RespuestaCompacta(List<ResultadoCompacto> items) {
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"subtotal", "impuesto", "descuento", "total"})
+    public record ResultadoCompacto(long subtotal, long impuesto, long descuento, long total) {
+    }
+
+    public record SolicitudJson(List<ItemJson> items) {
+
+        public static SolicitudJson de(List<ItemFactura> items) {
+            return new SolicitudJson(items.stream()
+                .map(item -> new ItemJson(
+                    item.getDescripcion(),
+                    item.getCantidad().getValor(),
+                    item.getPrecioUnitario().getCantidad(),
+                    item.getPorcentajeImpuesto().getValor(),
+                    item.getPorcentajeDescuento().getValor()))
+                .toList());
+        }
+    }
+
+    public record ItemJson(
+        String descripcion,
+        int cantidad,
+        @JsonProperty("precio_unitario") BigDecimal precioUnitario,
+        @JsonProperty("porcentaje_impuesto") BigDecimal porcentajeImpuesto,
+        @JsonProperty("porcentaje_descuento") BigDecimal porcentajeDescuento
+    ) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record RespuestaJson(@JsonProperty("detalle_items") List<DetalleJson> detalleItems) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DetalleJson(BigDecimal subtotal, BigDecimal impuesto, BigDecimal descuento, BigDecimal total) {
+    }
+
+    /**
+     * Porcentaje en centésimas, con el mismo redondeo que aplica tax-calculator-service
+     */
+    static long centesimas(Porcentaje porcentaje) {
+        return porcentaje.getValor().setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
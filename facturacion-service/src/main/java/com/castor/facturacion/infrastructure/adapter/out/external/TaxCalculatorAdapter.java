@@ -2,146 +2,196 @@ package com.castor.facturacion.infrastructure.adapter.out.external;
 
 import com.castor.facturacion.domain.ItemFactura;
 import com.castor.facturacion.domain.port.out.TaxCalculatorPort;
+import com.castor.facturacion.domain.valueobject.Dinero;
 import com.castor.facturacion.infrastructure.config.TaxCalculatorProperties;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.math.BigDecimal;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Adapter externo para calcular impuestos mediante llamada REST al tax-calculator-service (Python).
  *
- * Implementa TaxCalculatorPort usando WebClient para comunicación HTTP.
+ * Implementa TaxCalculatorPort contra POST /calcular. Los porcentajes de cada item se envían
+ * tal cual y el servicio devuelve, en el mismo orden, subtotal, impuesto, descuento y total
+ * de cada uno.
+ *
+ * MotorReglasImpuestos, el TaxCalculatorPort de la aplicación, resuelve la tasa de cada item
+ * y delega en este adapter la aritmética al crear facturas (reglas-impuestos.calculo-remoto)
+ * o solo la verificación en segundo plano de su cálculo local (verificacion-remota).
  *
  * Características:
- * - Circuit Breaker para tolerancia a fallos
- * - Retry automático para errores transitorios
- * - Fallback method que usa cálculo por defecto
+ * - Cache de resultados por firma de item (CacheResultadosImpuesto): solo se envían los
+ *   items sin resultado en cache, una vez cada firma, y se devuelven en el orden original
+ * - La llamada HTTP, con Circuit Breaker, Retry, fallback y formato compacto, está en
+ *   CalculoImpuestosRemoto: este método no pasa por el proxy de Resilience4j, así que los
+ *   aciertos de cache no cuentan para el Circuit Breaker ni se repiten en un reintento
+ * - Lotes (batch-enabled): con calculo-remoto, los items sin cache de las facturas que se
+ *   crean a la vez se agrupan en una sola llamada a POST /calcular (CalculoImpuestosPorLotes)
  */
 @Component
-public class TaxCalculatorAdapter implements TaxCalculatorPort {
+public class TaxCalculatorAdapter implements TaxCalculatorPort, DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(TaxCalculatorAdapter.class);
 
-    // Porcentajes por defecto para fallback
-    private static final BigDecimal DEFAULT_TAX_RATE = new BigDecimal("19.00");  // IVA 19%
-    private static final BigDecimal DEFAULT_DISCOUNT_RATE = new BigDecimal("10.00");  // Descuento 10%
-
-    private final WebClient webClient;
+    private final CalculoImpuestosRemoto remoto;
     private final TaxCalculatorProperties properties;
+    private final CacheResultadosImpuesto cache;
+    private final CalculoImpuestosPorLotes lotes;
 
     public TaxCalculatorAdapter(
-        WebClient.Builder webClientBuilder,
-        TaxCalculatorProperties properties
+        CalculoImpuestosRemoto remoto,
+        TaxCalculatorProperties properties,
+        MeterRegistry meterRegistry
     ) {
+        this.remoto = remoto;
         this.properties = properties;
-        this.webClient = webClientBuilder
-            .baseUrl(properties.getBaseUrl())
-            .build();
-
-        log.info("TaxCalculatorAdapter inicializado con URL: {}", properties.getBaseUrl());
+        this.cache = new CacheResultadosImpuesto(properties.getCacheMaxSize(), properties.getCacheExpiration(),
+            properties.getRulesVersion(), meterRegistry);
+        // La llamada bloqueante del lote corre fuera del hilo del planificador de lotes
+        this.lotes = properties.isBatchEnabled()
+            ? new CalculoImpuestosPorLotes(
+                items -> Mono.fromCallable(() -> remoto.calcular(items)).subscribeOn(Schedulers.boundedElastic()),
+                properties.getBatchWindow(), properties.getBatchMaxSize(), meterRegistry)
+            : null;
+
+        log.info("TaxCalculatorAdapter inicializado - Cache de resultados: {} entradas, versión de reglas {} - " +
+                "Lotes: {} (ventana {}, máximo {})", properties.getCacheMaxSize(), properties.getRulesVersion(),
+            properties.isBatchEnabled(), properties.getBatchWindow(), properties.getBatchMaxSize());
     }
 
     /**
      * Calcula impuestos y descuentos para una lista de items.
      *
-     * Delega el cálculo al microservicio Python tax-calculator-service.
-     * En caso de error, usa el método fallback con tasas por defecto.
+     * Delega el cálculo al microservicio Python tax-calculator-service y retorna los items
+     * con los valores que este calculó. Una respuesta sin el detalle de todos los items
+     * se trata como error.
+     *
+     * Los items con resultado en cache (y los repetidos dentro de la misma lista) no se envían.
+     * Con lotes habilitados, los demás viajan junto con los de otras peticiones concurrentes.
      */
     @Override
-    @CircuitBreaker(name = "taxCalculator", fallbackMethod = "calcularImpuestosYDescuentosFallback")
-    @Retry(name = "taxCalculator")
     public List<ItemFactura> calcularImpuestosYDescuentos(List<ItemFactura> items) {
         log.debug("Calculando impuestos y descuentos para {} items mediante servicio externo", items.size());
 
-        try {
-            // Preparar request para el servicio de Python
-            List<Map<String, Object>> itemsRequest = items.stream()
-                .map(this::itemToRequestMap)
-                .collect(Collectors.toList());
-
-            Map<String, Object> request = Map.of(
-                "items", itemsRequest
-            );
-
-            // Llamar al endpoint POST /api/v1/calculate
-            TaxCalculationResponse response = webClient.post()
-                .uri("/api/v1/calculate")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(TaxCalculationResponse.class)
-                .timeout(Duration.ofMillis(properties.getTimeout()))
-                .block();
-
-            if (response == null || response.items == null) {
-                log.warn("Respuesta vacía del servicio de cálculo de impuestos");
-                return calcularImpuestosYDescuentosFallback(items, new Exception("Respuesta vacía"));
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        // Firmas sin resultado en cache, con las posiciones de los items que las comparten
+        String version = cache.version();
+        CacheResultadosImpuesto.Resultado[] resultados = new CacheResultadosImpuesto.Resultado[items.size()];
+        Map<CacheResultadosImpuesto.Firma, List<Integer>> pendientes = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            CacheResultadosImpuesto.Firma firma = cache.firma(items.get(i), version);
+            resultados[i] = cache.obtener(firma);
+            if (resultados[i] == null) {
+                pendientes.computeIfAbsent(firma, f -> new ArrayList<>(1)).add(i);
             }
+        }
+
+        if (!pendientes.isEmpty()) {
+            List<ItemFactura> aEnviar = new ArrayList<>(pendientes.size());
+            pendientes.values().forEach(posiciones -> aEnviar.add(items.get(posiciones.get(0))));
 
-            log.debug("Impuestos y descuentos calculados exitosamente para {} items", items.size());
+            List<CacheResultadosImpuesto.Resultado> remotos = lotes != null
+                ? consultarEnLote(new ArrayList<>(pendientes.keySet()), aEnviar)
+                : remoto.calcular(aEnviar);
+
+            int i = 0;
+            for (Map.Entry<CacheResultadosImpuesto.Firma, List<Integer>> pendiente : pendientes.entrySet()) {
+                CacheResultadosImpuesto.Resultado resultado = remotos.get(i++);
+                cache.guardar(pendiente.getKey(), resultado);
+                pendiente.getValue().forEach(posicion -> resultados[posicion] = resultado);
+            }
+        }
 
-            // Los items ya vienen calculados desde el dominio
-            // Este servicio podría usarse para recalcular con reglas más complejas
-            // Por ahora, retornamos los items originales
-            return items;
+        cache.contar(items.size() - pendientes.size(), pendientes.size());
+        log.debug("Impuestos y descuentos calculados para {} items ({} enviados al servicio)",
+            items.size(), pendientes.size());
 
-        } catch (Exception e) {
-            log.error("Error al calcular impuestos mediante servicio externo: {}", e.getMessage());
-            throw new IllegalStateException("Error al calcular impuestos", e);
+        List<ItemFactura> calculados = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            calculados.add(aItemCalculado(items.get(i), resultados[i]));
         }
+        return calculados;
     }
 
     /**
-     * Fallback method cuando el servicio de cálculo de impuestos no está disponible.
-     *
-     * Usa tasas por defecto configuradas en las propiedades.
+     * Espera los resultados de los items resueltos por su lote.
+     * El plazo cubre la ventana del lote más dos llamadas HTTP: la del lote y, si el servicio
+     * lo rechaza, el reenvío por separado de estos items.
      */
-    private List<ItemFactura> calcularImpuestosYDescuentosFallback(List<ItemFactura> items, Exception ex) {
-        log.warn("Usando fallback para cálculo de impuestos. " +
-                "Aplicando tasas por defecto - IVA: {}%, Descuento: {}%. Error: {}",
-            properties.getDefaultTaxRate(), properties.getDefaultDiscountRate(), ex.getMessage());
-
-        // Los items del dominio ya tienen su lógica de cálculo
-        // El fallback simplemente retorna los items tal cual
-        // ya que la lógica de negocio está en el dominio
-        return items;
+    private List<CacheResultadosImpuesto.Resultado> consultarEnLote(List<CacheResultadosImpuesto.Firma> firmas,
+                                                                    List<ItemFactura> items) {
+        long plazo = properties.getBatchWindow().plus(properties.getTimeout().multipliedBy(2)).toMillis();
+        try {
+            return lotes.calcular(firmas, items).get(plazo, TimeUnit.MILLISECONDS);
+
+        } catch (ExecutionException e) {
+            log.error("Error al calcular impuestos en lote: {}", e.getCause().getMessage());
+            throw new IllegalStateException("Error al calcular impuestos", e.getCause());
+
+        } catch (TimeoutException e) {
+            log.error("Timeout al calcular impuestos en lote tras {} ms", plazo);
+            throw new IllegalStateException("Timeout al calcular impuestos", e);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de impuestos interrumpido", e);
+        }
     }
 
     /**
-     * Convierte un ItemFactura a un Map para el request al servicio externo
+     * Descarta los resultados guardados y pasa a una nueva versión de reglas, por ejemplo
+     * tras cambiar el cálculo de tax-calculator-service
      */
-    private Map<String, Object> itemToRequestMap(ItemFactura item) {
-        return Map.of(
-            "descripcion", item.getDescripcion(),
-            "cantidad", item.getCantidad().getValor(),
-            "precio_unitario", item.getPrecioUnitario().getCantidad(),
-            "categoria", "general"  // Por defecto, podría venir del item
-        );
+    public void cambiarVersionReglas(String version) {
+        log.info("Cache de resultados de impuestos vaciado - Versión de reglas: {} -> {}", cache.version(), version);
+        cache.cambiarVersion(version);
     }
 
     /**
-     * DTO para la respuesta del servicio de cálculo de impuestos
+     * Versión de reglas vigente y entradas estimadas del cache de resultados
      */
-    private static class TaxCalculationResponse {
-        public List<TaxCalculationItem> items;
+    public Map<String, Object> estadoCache() {
+        return Map.of("version", cache.version(), "entradas", cache.tamano());
+    }
+
+    @Override
+    public void destroy() {
+        if (lotes != null) {
+            lotes.close();
+        }
     }
 
     /**
-     * DTO para un item calculado
+     * Item con los valores calculados por el servicio y los datos de entrada del original
      */
-    private static class TaxCalculationItem {
-        public BigDecimal porcentajeImpuesto;
-        public BigDecimal porcentajeDescuento;
-        public BigDecimal impuesto;
-        public BigDecimal descuento;
-        public BigDecimal total;
+    private static ItemFactura aItemCalculado(ItemFactura item, CacheResultadosImpuesto.Resultado resultado) {
+        Currency moneda = item.getPrecioUnitario().getMoneda();
+        return ItemFactura.reconstituir(
+            item.getDescripcion(),
+            item.getCantidad(),
+            item.getPrecioUnitario(),
+            item.getPorcentajeImpuesto(),
+            item.getPorcentajeDescuento(),
+            Dinero.deCentavos(resultado.subtotal(), moneda),
+            Dinero.deCentavos(resultado.impuesto(), moneda),
+            Dinero.deCentavos(resultado.descuento(), moneda),
+            Dinero.deCentavos(resultado.total(), moneda)
+        );
     }
 }
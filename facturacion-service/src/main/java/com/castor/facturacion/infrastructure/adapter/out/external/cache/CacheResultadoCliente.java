@@ -0,0 +1,210 @@
+package com.castor.facturacion.infrastructure.adapter.out.external.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Resultados de una operación de validación de clientes, en dos caches Caffeine:
+ * positivos (true) y negativos (false), cada uno con su expiración y tamaño.
+ *
+ * Un cliente está a lo sumo en uno de los dos: guardar un resultado retira el contrario.
+ * Métricas cache.* con tag cache={nombre} y cache={nombre}Negativo.
+ *
+ * Los positivos tienen además:
+ * - Refresco anticipado: pasado refrescarDespues, obtener() sigue devolviendo el valor
+ *   pero pide recargarlo en segundo plano antes de que venza
+ * - Obsoletos si hay error: vencida la duración, el valor se conserva durante
+ *   obsoletoSiError y solo se usa si clientes-service no responde (servirObsoleto)
+ *
+ * Generaciones: invalidar() y actualizar() avanzan la generación del cliente antes de
+ * modificar el cache. Quien consulta clientes-service lee la generación antes de la llamada
+ * y guarda con guardarSiVigente(): si el cliente se invalidó o actualizó mientras tanto, el
+ * resultado remoto se descarta y no resucita una entrada ya retirada. Las generaciones van
+ * en franjas por hash del ID para acotar la memoria; una colisión solo descarta de más.
+ *
+ * Métricas facturacion.cliente.cache.obsoletos y facturacion.cliente.cache.refrescos
+ * (resultado=actualizado|error|descartado|invalidado), con tag cache={nombre}.
+ */
+final class CacheResultadoCliente {
+
+    private static final int FRANJAS_GENERACION = 1024;
+
+    /**
+     * Resultado vigente de un cliente; refrescar indica que conviene recargarlo ya
+     */
+    record Entrada(boolean valor, boolean refrescar) {
+    }
+
+    private final Cache<Long, Boolean> positivos;
+    private final Cache<Long, Boolean> negativos;
+    private final Policy.FixedExpiration<Long, Boolean> expiracionPositivos;
+    private final Duration duracionPositivos;
+    private final Duration refrescarDespues;
+    private final Set<Long> refrescando = ConcurrentHashMap.newKeySet();
+    private final AtomicLongArray generaciones = new AtomicLongArray(FRANJAS_GENERACION);
+    private final Counter obsoletosServidos;
+    private final MeterRegistry meterRegistry;
+    private final String nombre;
+
+    CacheResultadoCliente(String nombre,
+                          Duration duracionPositivos, long tamanoPositivos,
+                          Duration duracionNegativos, long tamanoNegativos,
+                          Duration refrescarDespues, Duration obsoletoSiError,
+                          Ticker ticker, MeterRegistry meterRegistry) {
+        this.nombre = nombre;
+        this.meterRegistry = meterRegistry;
+        this.duracionPositivos = duracionPositivos;
+        // Sin refresco si no llega antes del vencimiento
+        this.refrescarDespues = refrescarDespues != null && refrescarDespues.compareTo(duracionPositivos) < 0
+            ? refrescarDespues
+            : null;
+
+        this.positivos = Caffeine.newBuilder()
+            .expireAfterWrite(duracionPositivos.plus(obsoletoSiError))
+            .maximumSize(tamanoPositivos)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        this.negativos = Caffeine.newBuilder()
+            .expireAfterWrite(duracionNegativos)
+            .maximumSize(tamanoNegativos)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+        this.expiracionPositivos = positivos.policy().expireAfterWrite().orElseThrow();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, positivos, nombre);
+        CaffeineCacheMetrics.monitor(meterRegistry, negativos, nombre + "Negativo");
+
+        this.obsoletosServidos = Counter.builder("facturacion.cliente.cache.obsoletos")
+            .description("Resultados vencidos servidos porque clientes-service no respondió")
+            .tag("cache", nombre)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Resultado vigente del cliente, o null si no está en cache o ya venció
+     */
+    Entrada obtener(Long clienteId) {
+        if (positivos.getIfPresent(clienteId) != null) {
+            Duration edad = expiracionPositivos.ageOf(clienteId).orElse(Duration.ZERO);
+            if (edad.compareTo(duracionPositivos) >= 0) {
+                // Vencido: solo sirve como respaldo si clientes-service falla
+                return null;
+            }
+            boolean refrescar = refrescarDespues != null && edad.compareTo(refrescarDespues) >= 0;
+            return new Entrada(true, refrescar);
+        }
+        if (negativos.getIfPresent(clienteId) != null) {
+            return new Entrada(false, false);
+        }
+        return null;
+    }
+
+    /**
+     * Indica si hay un resultado positivo vencido pero dentro de la ventana de obsoletos,
+     * y lo contabiliza como servido
+     */
+    boolean servirObsoleto(Long clienteId) {
+        if (positivos.asMap().containsKey(clienteId)) {
+            obsoletosServidos.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Generación actual del cliente; leerla antes de consultar clientes-service
+     */
+    long generacion(Long clienteId) {
+        return generaciones.get(franja(clienteId));
+    }
+
+    /**
+     * Guarda el resultado de una consulta remota si el cliente no se invalidó ni se actualizó
+     * desde que se leyó la generación.
+     *
+     * Se comprueba antes y después de escribir: si una invalidación se cruza con la escritura,
+     * la entrada recién guardada se retira (a lo sumo se pierde un valor, nunca queda uno viejo).
+     *
+     * @return false si el resultado se descartó
+     */
+    boolean guardarSiVigente(Long clienteId, boolean resultado, long generacion) {
+        if (generacion(clienteId) != generacion) {
+            return false;
+        }
+        escribir(clienteId, resultado);
+        if (generacion(clienteId) != generacion) {
+            retirar(clienteId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Guarda un estado conocido sin consulta remota (CDC); descarta las consultas en curso
+     */
+    void guardar(Long clienteId, boolean resultado) {
+        generaciones.incrementAndGet(franja(clienteId));
+        escribir(clienteId, resultado);
+    }
+
+    void invalidar(Long clienteId) {
+        generaciones.incrementAndGet(franja(clienteId));
+        retirar(clienteId);
+    }
+
+    private void escribir(Long clienteId, boolean resultado) {
+        if (resultado) {
+            negativos.invalidate(clienteId);
+            positivos.put(clienteId, Boolean.TRUE);
+        } else {
+            positivos.invalidate(clienteId);
+            negativos.put(clienteId, Boolean.FALSE);
+        }
+    }
+
+    private void retirar(Long clienteId) {
+        positivos.invalidate(clienteId);
+        negativos.invalidate(clienteId);
+    }
+
+    private static int franja(Long clienteId) {
+        return Long.hashCode(clienteId) & (FRANJAS_GENERACION - 1);
+    }
+
+    /**
+     * Marca el refresco del cliente como en curso; false si ya había uno
+     */
+    boolean iniciarRefresco(Long clienteId) {
+        return refrescando.add(clienteId);
+    }
+
+    void terminarRefresco(Long clienteId, String resultado) {
+        refrescando.remove(clienteId);
+        Counter.builder("facturacion.cliente.cache.refrescos")
+            .description("Refrescos anticipados de resultados positivos")
+            .tag("cache", nombre)
+            .tag("resultado", resultado)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    long tamanoPositivos() {
+        return positivos.estimatedSize();
+    }
+
+    long tamanoNegativos() {
+        return negativos.estimatedSize();
+    }
+}
@@ -0,0 +1,248 @@
+package com.castor.facturacion.infrastructure.adapter.out.external.cache;
+
+import com.castor.facturacion.domain.port.out.ClienteValidationPort;
+import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Decorador de ClienteValidationPort con cache de resultados positivos y negativos (Caffeine).
+ *
+ * Los clientes inactivos o inexistentes también se cachean, con una expiración corta
+ * (cliente-service.negative-cache-duration): una integración que reintenta facturas de
+ * un cliente desactivado no vuelve a llamar a clientes-service mientras dure la entrada.
+ *
+ * - Positivos: cliente-service.cache-duration y cache-max-size
+ * - Negativos: cliente-service.negative-cache-duration y negative-cache-max-size
+ * - invalidar(clienteId) retira al cliente de todos los caches (ver CacheClientesEndpoint)
+ * - actualizar(clienteId, activo) guarda el estado recibido por CDC (ver ClientesCdcListener)
+ * - Métricas cache.* con tag cache=clientesActivos, clientesActivosNegativo,
+ *   clientesExistentes y clientesExistentesNegativo
+ *
+ * Los resultados positivos se recargan en segundo plano pasado cliente-service.cache-refresh-after,
+ * mientras se sigue sirviendo el valor cacheado: un cliente validado con frecuencia no paga
+ * la llamada HTTP síncrona cuando vence su entrada.
+ *
+ * Si clientes-service falla o el Circuit Breaker está abierto, se usa el último resultado
+ * positivo del cliente si venció hace menos de cliente-service.stale-if-error-duration
+ * (métrica facturacion.cliente.cache.obsoletos). Sin él la validación retorna false
+ * (estrategia conservadora) y ese resultado no se cachea.
+ *
+ * Los resultados de clientes-service se guardan solo si el cliente no se invalidó ni se
+ * actualizó por CDC durante la llamada (generación por cliente, ver CacheResultadoCliente).
+ *
+ * Los fallos de cache concurrentes para el mismo cliente comparten una sola llamada HTTP
+ * (LlamadasEnCurso): un lote grande de un cliente no emite una llamada por factura.
+ * Métrica facturacion.cliente.validacion.llamadas (resultado=emitida|compartida).
+ */
+@Component
+@Primary
+public class ClienteValidationCacheDecorator implements ClienteValidationPort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteValidationCacheDecorator.class);
+
+    static final String CACHE_ACTIVOS = "clientesActivos";
+    static final String CACHE_EXISTENTES = "clientesExistentes";
+    private static final int REFRESCOS_EN_COLA = 1000;
+
+    private final ClienteValidationPort delegado;
+    private final boolean habilitado;
+    private final CacheResultadoCliente activos;
+    private final CacheResultadoCliente existentes;
+    private final LlamadasEnCurso<Long, Boolean> llamadasActivo;
+    private final LlamadasEnCurso<Long, Boolean> llamadasExistencia;
+    private final ThreadPoolExecutor refrescos;
+
+    @Autowired
+    public ClienteValidationCacheDecorator(
+        @Qualifier("clienteValidationAdapter") ClienteValidationPort delegado,
+        ClienteServiceProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this(delegado, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    ClienteValidationCacheDecorator(ClienteValidationPort delegado, ClienteServiceProperties properties,
+                                    MeterRegistry meterRegistry, Ticker ticker) {
+        this.delegado = delegado;
+        this.habilitado = properties.isEnableCache();
+        this.activos = crearCache(CACHE_ACTIVOS, properties, ticker, meterRegistry);
+        this.existentes = crearCache(CACHE_EXISTENTES, properties, ticker, meterRegistry);
+        this.llamadasActivo = new LlamadasEnCurso<>("esClienteActivo", meterRegistry);
+        this.llamadasExistencia = new LlamadasEnCurso<>("existeCliente", meterRegistry);
+
+        // Pocos hilos y cola acotada: si se llena, el refresco se descarta y la entrada vence normalmente
+        this.refrescos = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(REFRESCOS_EN_COLA), tarea -> {
+                Thread hilo = new Thread(tarea, "clientes-refresco");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+
+        log.info("Cache de validación de clientes configurado - Habilitado: {}, positivos: {} / {} entradas " +
+                "(refresco a los {}, obsoletos hasta {} más si hay error), negativos: {} / {} entradas",
+            habilitado, properties.getCacheDuration(), properties.getCacheMaxSize(),
+            properties.getCacheRefreshAfter(), properties.getStaleIfErrorDuration(),
+            properties.getNegativeCacheDuration(), properties.getNegativeCacheMaxSize());
+    }
+
+    private static CacheResultadoCliente crearCache(String nombre, ClienteServiceProperties properties,
+                                                    Ticker ticker, MeterRegistry meterRegistry) {
+        return new CacheResultadoCliente(nombre,
+            properties.getCacheDuration(), properties.getCacheMaxSize(),
+            properties.getNegativeCacheDuration(), properties.getNegativeCacheMaxSize(),
+            properties.getCacheRefreshAfter(), properties.getStaleIfErrorDuration(),
+            ticker, meterRegistry);
+    }
+
+    @Override
+    public boolean esClienteActivo(Long clienteId) {
+        return consultar(activos, llamadasActivo, clienteId, delegado::esClienteActivo, "validar");
+    }
+
+    @Override
+    public boolean existeCliente(Long clienteId) {
+        return consultar(existentes, llamadasExistencia, clienteId, delegado::existeCliente,
+            "verificar existencia de");
+    }
+
+    /**
+     * Retira al cliente de los caches de todas las operaciones.
+     * La siguiente validación del cliente consulta clientes-service.
+     */
+    public void invalidar(Long clienteId) {
+        activos.invalidar(clienteId);
+        existentes.invalidar(clienteId);
+        log.info("Cliente {} invalidado del cache de validaciones", clienteId);
+    }
+
+    /**
+     * Guarda el estado conocido del cliente en los caches de todas las operaciones,
+     * sin consultar clientes-service
+     */
+    public void actualizar(Long clienteId, boolean activo) {
+        activos.guardar(clienteId, activo);
+        existentes.guardar(clienteId, true);
+        log.debug("Cliente {} actualizado en el cache de validaciones - Activo: {}", clienteId, activo);
+    }
+
+    /**
+     * Entradas estimadas de cada cache, por nombre de métrica
+     */
+    public Map<String, Long> tamanos() {
+        Map<String, Long> tamanos = new LinkedHashMap<>();
+        tamanos.put(CACHE_ACTIVOS, activos.tamanoPositivos());
+        tamanos.put(CACHE_ACTIVOS + "Negativo", activos.tamanoNegativos());
+        tamanos.put(CACHE_EXISTENTES, existentes.tamanoPositivos());
+        tamanos.put(CACHE_EXISTENTES + "Negativo", existentes.tamanoNegativos());
+        return tamanos;
+    }
+
+    private boolean consultar(CacheResultadoCliente cache, LlamadasEnCurso<Long, Boolean> llamadas,
+                              Long clienteId, Predicate<Long> consulta, String operacion) {
+        if (clienteId == null) {
+            return consultarRemoto(consulta, clienteId, operacion);
+        }
+
+        if (habilitado) {
+            CacheResultadoCliente.Entrada entrada = cache.obtener(clienteId);
+            if (entrada != null) {
+                if (entrada.refrescar()) {
+                    refrescar(cache, clienteId, consulta, operacion);
+                }
+                return entrada.valor();
+            }
+        }
+
+        return llamadas.ejecutar(clienteId, () -> {
+            // Otra llamada pudo terminar entre la consulta al cache y la entrada a ejecutar
+            CacheResultadoCliente.Entrada entrada = habilitado ? cache.obtener(clienteId) : null;
+            if (entrada != null) {
+                return entrada.valor();
+            }
+
+            long generacion = cache.generacion(clienteId);
+            boolean resultado;
+            try {
+                resultado = consulta.test(clienteId);
+            } catch (RuntimeException e) {
+                if (habilitado && cache.servirObsoleto(clienteId)) {
+                    log.warn("Error al {} cliente {}. Usando resultado vencido del cache. Error: {}",
+                        operacion, clienteId, e.getMessage());
+                    return true;
+                }
+                return fallback(clienteId, operacion, e);
+            }
+
+            if (habilitado && !cache.guardarSiVigente(clienteId, resultado, generacion)) {
+                log.debug("Cliente {} invalidado durante la consulta, resultado no cacheado", clienteId);
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Recarga el resultado del cliente en segundo plano; como mucho un refresco por cliente.
+     * Si falla, la entrada actual se mantiene hasta vencer. Si el cliente se invalida mientras
+     * tanto, el resultado se descarta.
+     */
+    private void refrescar(CacheResultadoCliente cache, Long clienteId, Predicate<Long> consulta,
+                           String operacion) {
+        if (!cache.iniciarRefresco(clienteId)) {
+            return;
+        }
+        long generacion = cache.generacion(clienteId);
+        try {
+            refrescos.execute(() -> {
+                try {
+                    boolean vigente = cache.guardarSiVigente(clienteId, consulta.test(clienteId), generacion);
+                    cache.terminarRefresco(clienteId, vigente ? "actualizado" : "invalidado");
+                } catch (RuntimeException e) {
+                    log.debug("Error al refrescar la validación ({}) del cliente {}: {}",
+                        operacion, clienteId, e.getMessage());
+                    cache.terminarRefresco(clienteId, "error");
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cache.terminarRefresco(clienteId, "descartado");
+        }
+    }
+
+    private boolean consultarRemoto(Predicate<Long> consulta, Long clienteId, String operacion) {
+        try {
+            return consulta.test(clienteId);
+        } catch (RuntimeException e) {
+            return fallback(clienteId, operacion, e);
+        }
+    }
+
+    /**
+     * Estrategia conservadora: no permitir facturar si no podemos validar
+     */
+    private boolean fallback(Long clienteId, String operacion, RuntimeException e) {
+        log.error("Circuit Breaker abierto o error al {} cliente {}. " +
+                 "Usando fallback (retornando false). Error: {}",
+            operacion, clienteId, e.getMessage());
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        refrescos.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.castor.facturacion.infrastructure.adapter.out.external.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma clave en una sola (single-flight).
+ *
+ * El primer hilo que pide una clave ejecuta la llamada; los que llegan mientras está en
+ * curso esperan su resultado en lugar de emitir la propia. La clave se libera al terminar,
+ * así que la siguiente petición (normalmente resuelta por el cache) no ve resultados viejos.
+ *
+ * Métrica facturacion.cliente.validacion.llamadas con tag resultado=emitida|compartida.
+ */
+final class LlamadasEnCurso<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Counter emitidas;
+    private final Counter compartidas;
+
+    LlamadasEnCurso(String operacion, MeterRegistry meterRegistry) {
+        this.emitidas = registrar(meterRegistry, operacion, "emitida");
+        this.compartidas = registrar(meterRegistry, operacion, "compartida");
+    }
+
+    private static Counter registrar(MeterRegistry meterRegistry, String operacion, String resultado) {
+        return Counter.builder("facturacion.cliente.validacion.llamadas")
+            .description("Llamadas a clientes-service emitidas y compartidas entre peticiones concurrentes")
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la llamada, o espera la que ya está en curso para la misma clave.
+     *
+     * La llamada no debe lanzar excepciones: quienes esperan reciben el mismo resultado.
+     */
+    V ejecutar(K clave, Supplier<V> llamada) {
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            compartidas.increment();
+            return existente.join();
+        }
+
+        try {
+            emitidas.increment();
+            V resultado = llamada.get();
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.castor.facturacion.infrastructure.adapter.out.impuestos;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.port.out.TaxCalculatorPort;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import com.castor.facturacion.infrastructure.adapter.out.external.TaxCalculatorAdapter;
+import com.castor.facturacion.infrastructure.config.ReglasImpuestosProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación en proceso de TaxCalculatorPort: calcula impuesto y descuento de cada item
+ * con las tasas por categoría del archivo de reglas, sin llamar a tax-calculator-service.
+ *
+ * Reglas (las mismas de tax-calculator-service):
+ * - Impuesto: el porcentaje del propio item. Un item sin porcentaje (request sin
+ *   porcentaje_impuesto) usa la tasa de su categoría o, si no trae, la de
+ *   reglas-impuestos.categoria-por-defecto. Una categoría sin tasa es un error del item
+ * - Descuento: el porcentaje del propio item
+ * - Porcentajes a 2 decimales y cada valor redondeado a centavos con HALF_UP; la aritmética
+ *   es la de ItemFactura (Centavos), sin BigDecimal en el camino habitual
+ *
+ * El archivo se recarga sin reiniciar cuando cambia su fecha de modificación (solo archivos
+ * file:). Un archivo inválido no reemplaza la tabla vigente.
+ *
+ * Con calculo-remoto, el motor solo resuelve la tasa de cada item y la aritmética la hace
+ * tax-calculator-service a través de TaxCalculatorAdapter (cache de resultados, Circuit
+ * Breaker, Retry y formato compacto): es el camino de creación de facturas para quien
+ * necesita que el servicio sea la fuente del cálculo. Si el servicio no responde, la
+ * creación falla en lugar de usar el cálculo local. Con calculo-remoto no se verifica.
+ *
+ * Con verificacion-remota, los items se envían en segundo plano a tax-calculator-service
+ * y su resultado se compara con el local; nunca se espera ni se usa. Cada item viaja con su
+ * propio porcentaje y, si no tenía, con la tasa que el motor resolvió por categoría: el
+ * servicio no conoce las categorías y sin tasa no podría calcular el item.
+ *
+ * Métricas:
+ * - facturacion.impuestos.reglas.recargas con tag resultado=aplicada|error
+ * - facturacion.impuestos.reglas.categorias: categorías de la tabla vigente
+ * - facturacion.impuestos.verificacion con tag resultado=coincide|difiere|error|descartada
+ */
+@Component
+@Primary
+public class MotorReglasImpuestos implements TaxCalculatorPort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorReglasImpuestos.class);
+
+    private static final int VERIFICACIONES_EN_COLA = 100;
+
+    private final Resource archivo;
+    private final ObjectMapper objectMapper;
+    private final String categoriaPorDefecto;
+    private final TaxCalculatorPort remoto;
+    private final boolean calculoRemoto;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService planificador;
+    private final ThreadPoolExecutor verificaciones;
+
+    private volatile TablaTasasImpuestos tabla;
+    private volatile long ultimaModificacion;
+
+    @Autowired
+    public MotorReglasImpuestos(ReglasImpuestosProperties properties, ResourceLoader resourceLoader,
+                                ObjectMapper objectMapper, ObjectProvider<TaxCalculatorAdapter> remoto,
+                                MeterRegistry meterRegistry) {
+        this(properties, resourceLoader.getResource(properties.getArchivo()), objectMapper,
+            properties.isCalculoRemoto() || properties.isVerificacionRemota() ? remoto.getObject() : null,
+            meterRegistry);
+    }
+
+    /**
+     * Constructor con el archivo ya resuelto. El remoto calcula si calculo-remoto está activo y,
+     * si no, verifica; null desactiva ambos
+     */
+    MotorReglasImpuestos(ReglasImpuestosProperties properties, Resource archivo, ObjectMapper objectMapper,
+                         TaxCalculatorPort remoto, MeterRegistry meterRegistry) {
+        this.archivo = archivo;
+        this.objectMapper = objectMapper;
+        this.categoriaPorDefecto = properties.getCategoriaPorDefecto();
+        this.remoto = remoto;
+        this.calculoRemoto = remoto != null && properties.isCalculoRemoto();
+        this.meterRegistry = meterRegistry;
+
+        try {
+            cargar();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("No fue posible cargar las tasas de impuestos de " + archivo, e);
+        }
+        Gauge.builder("facturacion.impuestos.reglas.categorias", this, motor -> motor.tabla.impuestos().size())
+            .description("Categorías de la tabla de tasas de impuestos vigente")
+            .register(meterRegistry);
+
+        if (archivo.isFile()) {
+            this.planificador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "impuestos-recarga");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            long intervalo = properties.getIntervaloRecarga().toMillis();
+            planificador.scheduleWithFixedDelay(this::recargarSiCambio, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        } else {
+            this.planificador = null;
+            log.info("Tasas de impuestos en {}: sin recarga automática (no es un archivo del sistema)", archivo);
+        }
+
+        this.verificaciones = remoto == null || calculoRemoto ? null : new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(VERIFICACIONES_EN_COLA), tarea -> {
+                Thread hilo = new Thread(tarea, "impuestos-verificacion");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+
+        log.info("MotorReglasImpuestos inicializado - Tasas: {} (versión {}), categoría por defecto: {}, " +
+                "cálculo remoto: {}, verificación remota: {}", archivo, tabla.version(), categoriaPorDefecto,
+            calculoRemoto, verificaciones != null);
+    }
+
+    @Override
+    public List<ItemFactura> calcularImpuestosYDescuentos(List<ItemFactura> items) {
+        TablaTasasImpuestos vigente = tabla;
+
+        List<ItemFactura> calculados = new ArrayList<>(items.size());
+        for (ItemFactura item : items) {
+            Porcentaje impuesto = item.tieneTasaImpuesto()
+                ? item.getPorcentajeImpuesto()
+                : vigente.impuesto(item.getCategoria() != null ? item.getCategoria() : categoriaPorDefecto);
+            calculados.add(ItemFactura.crear(
+                item.getDescripcion(),
+                item.getCantidad(),
+                item.getPrecioUnitario(),
+                aDosDecimales(impuesto),
+                aDosDecimales(item.getPorcentajeDescuento())
+            ));
+        }
+
+        if (calculoRemoto) {
+            // Cada item con la tasa resuelta: el servicio no conoce las categorías
+            return remoto.calcularImpuestosYDescuentos(calculados);
+        }
+
+        if (verificaciones != null && !calculados.isEmpty()) {
+            verificarEnSegundoPlano(aVerificar(items, calculados), calculados);
+        }
+        return calculados;
+    }
+
+    /**
+     * Versión de la tabla de tasas vigente
+     */
+    public String versionTasas() {
+        return tabla.version();
+    }
+
+    private static Porcentaje aDosDecimales(Porcentaje porcentaje) {
+        if (porcentaje == null || porcentaje.getValor().scale() <= 2) {
+            return porcentaje;
+        }
+        return Porcentaje.of(porcentaje.getValor().setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private void cargar() throws IOException {
+        long modificacion = archivo.isFile() ? archivo.lastModified() : 0L;
+        TablaTasasImpuestos nueva;
+        try (InputStream entrada = archivo.getInputStream()) {
+            nueva = TablaTasasImpuestos.leer(entrada, objectMapper);
+        }
+        // Sin la categoría por defecto ningún item se podría calcular
+        nueva.impuesto(categoriaPorDefecto);
+
+        this.tabla = nueva;
+        this.ultimaModificacion = modificacion;
+    }
+
+    void recargarSiCambio() {
+        try {
+            if (archivo.lastModified() == ultimaModificacion) {
+                return;
+            }
+            cargar();
+            contarRecarga("aplicada");
+            log.info("Tasas de impuestos recargadas - Versión: {}, categorías: {}",
+                tabla.version(), tabla.impuestos().keySet());
+        } catch (IOException | RuntimeException e) {
+            contarRecarga("error");
+            log.error("Archivo de tasas de impuestos inválido, se conserva la versión {}: {}",
+                tabla.version(), e.getMessage());
+        }
+    }
+
+    private void contarRecarga(String resultado) {
+        Counter.builder("facturacion.impuestos.reglas.recargas")
+            .description("Recargas del archivo de tasas de impuestos")
+            .tag("resultado", resultado)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Items que se envían al verificador: el original si trae porcentaje y, si no, el calculado
+     * con la tasa de su categoría
+     */
+    private static List<ItemFactura> aVerificar(List<ItemFactura> items, List<ItemFactura> calculados) {
+        List<ItemFactura> aVerificar = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            aVerificar.add(items.get(i).tieneTasaImpuesto() ? items.get(i) : calculados.get(i));
+        }
+        return aVerificar;
+    }
+
+    private void verificarEnSegundoPlano(List<ItemFactura> originales, List<ItemFactura> calculados) {
+        try {
+            verificaciones.execute(() -> verificar(originales, calculados));
+        } catch (RejectedExecutionException e) {
+            contarVerificacion("descartada");
+        }
+    }
+
+    /**
+     * Calcula los items en tax-calculator-service y compara con los calculados aquí
+     */
+    private void verificar(List<ItemFactura> originales, List<ItemFactura> calculados) {
+        try {
+            List<ItemFactura> remotos = remoto.calcularImpuestosYDescuentos(originales);
+            for (int i = 0; i < calculados.size(); i++) {
+                ItemFactura local = calculados.get(i);
+                ItemFactura remoto = remotos.get(i);
+                if (!local.getImpuesto().equals(remoto.getImpuesto())
+                    || !local.getDescuento().equals(remoto.getDescuento())
+                    || !local.getTotal().equals(remoto.getTotal())) {
+                    contarVerificacion("difiere");
+                    log.warn("Cálculo de impuestos distinto al de tax-calculator-service - Item: {}, " +
+                            "local: impuesto={} descuento={} total={}, remoto: impuesto={} descuento={} total={}",
+                        local.getDescripcion(), local.getImpuesto(), local.getDescuento(), local.getTotal(),
+                        remoto.getImpuesto(), remoto.getDescuento(), remoto.getTotal());
+                    return;
+                }
+            }
+            contarVerificacion("coincide");
+        } catch (RuntimeException e) {
+            contarVerificacion("error");
+            log.debug("No fue posible verificar el cálculo con tax-calculator-service: {}", e.getMessage());
+        }
+    }
+
+    private void contarVerificacion(String resultado) {
+        Counter.builder("facturacion.impuestos.verificacion")
+            .description("Cálculos de impuestos verificados contra tax-calculator-service")
+            .tag("resultado", resultado)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    @Override
+    public void destroy() {
+        if (planificador != null) {
+            planificador.shutdownNow();
+        }
+        if (verificaciones != null) {
+            verificaciones.shutdownNow();
+        }
+    }
+}
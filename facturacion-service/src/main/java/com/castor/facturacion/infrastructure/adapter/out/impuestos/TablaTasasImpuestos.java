@@ -0,0 +1,52 @@
+package com.castor.facturacion.infrastructure.adapter.out.impuestos;
+
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Tasas de impuesto por categoría leídas del archivo de reglas:
+ *
+ * {"version": "2025-01", "categorias": {"general": {"impuesto": 19.00}, ...}}
+ *
+ * Las tasas se redondean a 2 decimales (HALF_UP) al leerlas, igual que tax-calculator-service
+ * redondea los porcentajes que recibe.
+ */
+record TablaTasasImpuestos(String version, Map<String, Porcentaje> impuestos) {
+
+    static TablaTasasImpuestos leer(InputStream entrada, ObjectMapper objectMapper) throws IOException {
+        JsonNode raiz = objectMapper.readTree(entrada);
+        JsonNode categorias = raiz.path("categorias");
+        if (!categorias.isObject() || categorias.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de tasas no define categorías");
+        }
+
+        Map<String, Porcentaje> impuestos = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> campos = categorias.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> categoria = campos.next();
+            JsonNode impuesto = categoria.getValue().path("impuesto");
+            if (!impuesto.isNumber()) {
+                throw new IllegalArgumentException("La categoría " + categoria.getKey() + " no tiene impuesto numérico");
+            }
+            impuestos.put(categoria.getKey(),
+                Porcentaje.of(impuesto.decimalValue().setScale(2, RoundingMode.HALF_UP)));
+        }
+        return new TablaTasasImpuestos(raiz.path("version").asText("sin-version"), Map.copyOf(impuestos));
+    }
+
+    Porcentaje impuesto(String categoria) {
+        Porcentaje impuesto = impuestos.get(categoria);
+        if (impuesto == null) {
+            throw new IllegalArgumentException("Categoría sin tasa de impuesto: " + categoria);
+        }
+        return impuesto;
+    }
+}
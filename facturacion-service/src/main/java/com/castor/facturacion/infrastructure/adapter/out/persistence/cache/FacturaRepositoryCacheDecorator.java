@@ -0,0 +1,225 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.cache;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.domain.port.out.FacturaRepositoryPort;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
+import com.castor.facturacion.domain.valueobject.FacturaId;
+import com.castor.facturacion.infrastructure.config.FacturaCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de FacturaRepositoryPort con cache read-through de facturas por ID (Caffeine).
+ *
+ * Una factura no cambia después de creada, así que buscarPorId se resuelve en memoria
+ * mientras la factura siga en el cache (también buscarNumeroPorId y existe). Las facturas creadas con guardar entran al cache
+ * al confirmarse la transacción: la consulta que el cliente suele hacer justo después de
+ * crearla no llega a Oracle. Los lotes (guardarTodas) no se cachean para no desplazar
+ * las facturas consultadas.
+ *
+ * - Límite por peso: cada factura pesa 1 + su número de items (cache-facturas.peso-maximo)
+ * - Expiración tras cache-facturas.expiracion sin accesos
+ * - eliminar invalida la entrada, y otra vez al terminar la transacción por si una lectura
+ *   concurrente la recargó antes del commit del borrado
+ * - Métricas cache.gets/puts/evictions/size con tag cache=facturas
+ *
+ * Las instancias cacheadas se comparten entre peticiones: ningún caso de uso debe
+ * modificar una factura leída. Los listados y la exportación pasan sin cache.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "cache-facturas", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class FacturaRepositoryCacheDecorator implements FacturaRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(FacturaRepositoryCacheDecorator.class);
+
+    static final String NOMBRE_CACHE = "facturas";
+
+    private final FacturaRepositoryPort delegado;
+    private final Cache<Long, Factura> cache;
+
+    public FacturaRepositoryCacheDecorator(
+        @Qualifier("facturaRepositoryAdapter") FacturaRepositoryPort delegado,
+        FacturaCacheProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegado = delegado;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getPesoMaximo())
+            .weigher((Long id, Factura factura) -> 1 + factura.getItems().size())
+            .expireAfterAccess(properties.getExpiracion())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOMBRE_CACHE);
+
+        log.info("Cache de facturas configurado: {}", properties);
+    }
+
+    @Override
+    public Factura guardar(Factura factura) {
+        Factura guardada = delegado.guardar(factura);
+        cachearTrasCommit(guardada);
+        return guardada;
+    }
+
+    @Override
+    public List<ResultadoCreacionFactura> guardarTodas(List<Factura> facturas) {
+        return delegado.guardarTodas(facturas);
+    }
+
+    @Override
+    public Optional<Factura> buscarPorId(FacturaId id) {
+        if (id == null || id.esNuevo()) {
+            return delegado.buscarPorId(id);
+        }
+        return buscarEnCache(id.getValor());
+    }
+
+    @Override
+    public Optional<Factura> buscarPorId(Long id) {
+        if (id == null || id <= 0) {
+            return delegado.buscarPorId(id);
+        }
+        return buscarEnCache(id);
+    }
+
+    @Override
+    public Page<Factura> listarTodas(Pageable pageable) {
+        return delegado.listarTodas(pageable);
+    }
+
+    @Override
+    public Page<Factura> listarPorCliente(Long clienteId, Pageable pageable) {
+        return delegado.listarPorCliente(clienteId, pageable);
+    }
+
+    @Override
+    public Page<ResumenFactura> listarResumenes(Pageable pageable) {
+        return delegado.listarResumenes(pageable);
+    }
+
+    @Override
+    public Page<ResumenFactura> listarResumenesPorCliente(Long clienteId, Pageable pageable) {
+        return delegado.listarResumenesPorCliente(clienteId, pageable);
+    }
+
+    @Override
+    public PaginaCursor<Factura> listarTodasConCursor(CursorFactura cursor, int tamano) {
+        return delegado.listarTodasConCursor(cursor, tamano);
+    }
+
+    @Override
+    public PaginaCursor<Factura> listarPorClienteConCursor(Long clienteId, CursorFactura cursor, int tamano) {
+        return delegado.listarPorClienteConCursor(clienteId, cursor, tamano);
+    }
+
+    @Override
+    public long exportarResumenes(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor) {
+        return delegado.exportarResumenes(filtro, consumidor);
+    }
+
+    @Override
+    public long exportarConItems(FiltroExportacion filtro, Consumer<Factura> consumidor) {
+        return delegado.exportarConItems(filtro, consumidor);
+    }
+
+    @Override
+    public Optional<String> buscarNumeroPorId(Long id) {
+        Factura cacheada = id != null ? cache.getIfPresent(id) : null;
+        if (cacheada != null) {
+            return Optional.of(cacheada.getNumero().getValor());
+        }
+        return delegado.buscarNumeroPorId(id);
+    }
+
+    @Override
+    public boolean existe(FacturaId id) {
+        if (id != null && !id.esNuevo() && cache.getIfPresent(id.getValor()) != null) {
+            return true;
+        }
+        return delegado.existe(id);
+    }
+
+    @Override
+    public void eliminar(FacturaId id) {
+        delegado.eliminar(id);
+        invalidar(id.getValor());
+    }
+
+    /**
+     * Las facturas inexistentes no se cachean: una factura creada después se encuentra.
+     *
+     * La consulta a Oracle se hace fuera del cache y no con cache.get(id, loader): el loader
+     * corre dentro del compute del mapa, con el monitor de la entrada tomado, y un hilo virtual
+     * bloqueado en JDBC ahí (o esperando ese monitor) fija su hilo portador. A cambio, dos
+     * fallos simultáneos de la misma factura consultan Oracle dos veces; el primero que
+     * termina deja su instancia en el cache y ambos la retornan.
+     */
+    private Optional<Factura> buscarEnCache(Long id) {
+        Factura cacheada = cache.getIfPresent(id);
+        if (cacheada != null) {
+            return Optional.of(cacheada);
+        }
+
+        Optional<Factura> cargada = delegado.buscarPorId(id);
+        if (cargada.isEmpty()) {
+            return cargada;
+        }
+        Factura previa = cache.asMap().putIfAbsent(id, cargada.get());
+        return Optional.of(previa != null ? previa : cargada.get());
+    }
+
+    private void cachearTrasCommit(Factura factura) {
+        if (factura.getId() == null || factura.getId().esNuevo()) {
+            return;
+        }
+
+        Long id = factura.getId().getValor();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(id, factura);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(id, factura);
+            }
+        });
+    }
+
+    private void invalidar(Long id) {
+        cache.invalidate(id);
+        log.debug("Factura {} invalidada del cache", id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
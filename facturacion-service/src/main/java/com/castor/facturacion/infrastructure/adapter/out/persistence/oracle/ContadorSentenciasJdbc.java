@@ -0,0 +1,48 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuenta las sentencias JDBC que Hibernate prepara en el hilo actual.
+ *
+ * Se registra como StatementInspector del EntityManagerFactory (ver DatabaseConfig).
+ * Con batching activo, un INSERT agrupado se prepara una sola vez aunque lleve
+ * varias filas, por lo que el conteo se aproxima a los round trips contra Oracle.
+ *
+ * Uso:
+ * <pre>
+ *   contador.iniciar();
+ *   try { ... } finally { long sentencias = contador.finalizar(); }
+ * </pre>
+ */
+@Component
+public class ContadorSentenciasJdbc implements StatementInspector {
+
+    private final ThreadLocal<long[]> contador = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] actual = contador.get();
+        if (actual != null) {
+            actual[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Comienza a contar las sentencias del hilo actual
+     */
+    public void iniciar() {
+        contador.set(new long[1]);
+    }
+
+    /**
+     * Deja de contar y retorna las sentencias preparadas desde iniciar()
+     */
+    public long finalizar() {
+        long[] actual = contador.get();
+        contador.remove();
+        return actual == null ? 0 : actual[0];
+    }
+}
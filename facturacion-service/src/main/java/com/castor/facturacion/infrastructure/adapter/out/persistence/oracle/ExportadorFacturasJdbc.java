@@ -0,0 +1,171 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.FacturaEntity;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.ItemFacturaEntity;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.mapper.FacturaMapper;
+import com.castor.facturacion.infrastructure.config.ExportacionFacturasProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lectura de facturas para exportación con un cursor JDBC de solo avance.
+ *
+ * No usa el contexto de persistencia: cada fila se convierte y se entrega al consumidor
+ * antes de leer la siguiente, y el driver trae exportacion-facturas.fetch-size filas por
+ * viaje. La memoria usada es la de un fetch, sin importar cuántas facturas se exporten.
+ *
+ * Debe ejecutarse dentro de una transacción para usar la misma conexión que JPA.
+ */
+@Component
+public class ExportadorFacturasJdbc {
+
+    private static final String COLUMNAS_FACTURA =
+        "f.ID, f.NUMERO, f.CLIENTE_ID, f.SUBTOTAL_GENERAL, f.TOTAL_IMPUESTOS, " +
+        "f.TOTAL_DESCUENTOS, f.TOTAL_FINAL, f.FECHA_CREACION";
+
+    private static final String COLUMNAS_ITEM =
+        "i.ID AS ITEM_ID, i.DESCRIPCION, i.CANTIDAD, i.PRECIO_UNITARIO, i.PORCENTAJE_IMPUESTO, " +
+        "i.PORCENTAJE_DESCUENTO, i.SUBTOTAL, i.IMPUESTO, i.DESCUENTO, i.TOTAL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FacturaMapper mapper;
+
+    public ExportadorFacturasJdbc(DataSource dataSource, FacturaMapper mapper,
+                                  ExportacionFacturasProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.mapper = mapper;
+    }
+
+    /**
+     * Recorre el resumen de las facturas del filtro (solo columnas de FACTURAS)
+     */
+    public long exportarResumenes(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor) {
+        List<Object> parametros = new ArrayList<>(3);
+        String sql = "SELECT " + COLUMNAS_FACTURA + " FROM FACTURAS f" +
+                     condiciones(filtro, parametros) +
+                     " ORDER BY f.FECHA_CREACION, f.ID";
+
+        long[] exportadas = new long[1];
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            consumidor.accept(new ResumenFactura(
+                rs.getLong("ID"),
+                rs.getString("NUMERO"),
+                rs.getLong("CLIENTE_ID"),
+                rs.getBigDecimal("SUBTOTAL_GENERAL"),
+                rs.getBigDecimal("TOTAL_IMPUESTOS"),
+                rs.getBigDecimal("TOTAL_DESCUENTOS"),
+                rs.getBigDecimal("TOTAL_FINAL"),
+                rs.getObject("FECHA_CREACION", LocalDateTime.class)
+            ));
+            exportadas[0]++;
+        }, parametros.toArray());
+
+        return exportadas[0];
+    }
+
+    /**
+     * Recorre las facturas del filtro con sus items.
+     *
+     * Una sola consulta con LEFT JOIN ordenada por factura: las filas de una factura llegan
+     * seguidas, así que se agrupan al vuelo y la factura se entrega cuando empieza la siguiente.
+     */
+    public long exportarConItems(FiltroExportacion filtro, Consumer<Factura> consumidor) {
+        List<Object> parametros = new ArrayList<>(3);
+        String sql = "SELECT " + COLUMNAS_FACTURA + ", " + COLUMNAS_ITEM +
+                     " FROM FACTURAS f LEFT JOIN ITEMS_FACTURA i ON i.FACTURA_ID = f.ID" +
+                     condiciones(filtro, parametros) +
+                     " ORDER BY f.FECHA_CREACION, f.ID, i.ID";
+
+        AgrupadorFacturas agrupador = new AgrupadorFacturas(consumidor);
+        jdbcTemplate.query(sql, agrupador, parametros.toArray());
+        agrupador.entregarPendiente();
+
+        return agrupador.exportadas;
+    }
+
+    private static String condiciones(FiltroExportacion filtro, List<Object> parametros) {
+        List<String> condiciones = new ArrayList<>(3);
+        if (filtro.getDesde() != null) {
+            condiciones.add("f.FECHA_CREACION >= ?");
+            parametros.add(filtro.getDesde());
+        }
+        if (filtro.getHasta() != null) {
+            condiciones.add("f.FECHA_CREACION < ?");
+            parametros.add(filtro.getHasta());
+        }
+        if (filtro.getClienteId() != null) {
+            condiciones.add("f.CLIENTE_ID = ?");
+            parametros.add(filtro.getClienteId());
+        }
+        return condiciones.isEmpty() ? "" : " WHERE " + String.join(" AND ", condiciones);
+    }
+
+    /**
+     * Arma cada factura con sus filas consecutivas. Solo retiene la factura en curso.
+     */
+    private final class AgrupadorFacturas implements RowCallbackHandler {
+
+        private final Consumer<Factura> consumidor;
+        private FacturaEntity actual;
+        private long exportadas;
+
+        private AgrupadorFacturas(Consumer<Factura> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long facturaId = rs.getLong("ID");
+            if (actual == null || actual.getId() != facturaId) {
+                entregarPendiente();
+                actual = FacturaEntity.builder()
+                    .id(facturaId)
+                    .numero(rs.getString("NUMERO"))
+                    .clienteId(rs.getLong("CLIENTE_ID"))
+                    .subtotalGeneral(rs.getBigDecimal("SUBTOTAL_GENERAL"))
+                    .totalImpuestos(rs.getBigDecimal("TOTAL_IMPUESTOS"))
+                    .totalDescuentos(rs.getBigDecimal("TOTAL_DESCUENTOS"))
+                    .totalFinal(rs.getBigDecimal("TOTAL_FINAL"))
+                    .fechaCreacion(rs.getObject("FECHA_CREACION", LocalDateTime.class))
+                    .build();
+            }
+
+            // LEFT JOIN: una factura sin items llega con las columnas del item en NULL
+            rs.getLong("ITEM_ID");
+            if (!rs.wasNull()) {
+                actual.addItem(ItemFacturaEntity.builder()
+                    .descripcion(rs.getString("DESCRIPCION"))
+                    .cantidad(rs.getInt("CANTIDAD"))
+                    .precioUnitario(rs.getBigDecimal("PRECIO_UNITARIO"))
+                    .porcentajeImpuesto(rs.getBigDecimal("PORCENTAJE_IMPUESTO"))
+                    .porcentajeDescuento(rs.getBigDecimal("PORCENTAJE_DESCUENTO"))
+                    .subtotal(rs.getBigDecimal("SUBTOTAL"))
+                    .impuesto(rs.getBigDecimal("IMPUESTO"))
+                    .descuento(rs.getBigDecimal("DESCUENTO"))
+                    .total(rs.getBigDecimal("TOTAL"))
+                    .build());
+            }
+        }
+
+        private void entregarPendiente() {
+            if (actual != null) {
+                consumidor.accept(mapper.toDomain(actual));
+                exportadas++;
+                actual = null;
+            }
+        }
+    }
+}
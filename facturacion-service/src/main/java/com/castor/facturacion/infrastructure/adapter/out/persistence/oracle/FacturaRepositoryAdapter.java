@@ -1,24 +1,38 @@
 package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
 
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.domain.port.out.FacturaRepositoryPort;
+import com.castor.facturacion.domain.valueobject.CursorFactura;
 import com.castor.facturacion.domain.valueobject.FacturaId;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.FacturaEntity;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.mapper.FacturaMapper;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.repository.FacturaJpaRepository;
+import com.castor.facturacion.infrastructure.config.LoteFacturasProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.ParameterMode;
-import jakarta.persistence.StoredProcedureQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Adapter de persistencia para Facturas (Implementación del puerto FacturaRepositoryPort).
@@ -28,8 +42,12 @@ import java.util.Optional;
  *
  * Responsabilidades:
  * - Persistencia de facturas en Oracle
- * - Ejecución de procedimientos almacenados PL/SQL
+ * - Validación local del cliente contra CLIENTES_CDC en la transacción del INSERT
+ *   (estrategias LOCAL y AMBAS, ver ValidadorClientesCdcJdbc)
  * - Traducción entre dominio y entidades JPA
+ * - Persistencia de lotes en transacciones por bloques
+ * - Exportación por cursor JDBC (ExportadorFacturasJdbc)
+ * - Métrica de sentencias JDBC por factura guardada (facturacion.persistencia.sentencias)
  */
 @Repository
 @Transactional
@@ -40,29 +58,70 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
     private final FacturaJpaRepository jpaRepository;
     private final FacturaMapper mapper;
     private final EntityManager entityManager;
+    private final ContadorSentenciasJdbc contadorSentencias;
+    private final DistributionSummary sentenciasPorFactura;
+    private final DistributionSummary sentenciasPorFacturaEnLote;
+    private final TransactionTemplate transactionTemplate;
+    private final LoteFacturasProperties loteProperties;
+    private final ExportadorFacturasJdbc exportador;
+    private final ValidadorClientesCdcJdbc validadorClientes;
+    private final EstrategiaValidacionCliente estrategiaValidacion;
 
     public FacturaRepositoryAdapter(
         FacturaJpaRepository jpaRepository,
         FacturaMapper mapper,
-        EntityManager entityManager
+        EntityManager entityManager,
+        ContadorSentenciasJdbc contadorSentencias,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager,
+        LoteFacturasProperties loteProperties,
+        ExportadorFacturasJdbc exportador,
+        ValidadorClientesCdcJdbc validadorClientes,
+        EstrategiaValidacionCliente estrategiaValidacion
     ) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
         this.entityManager = entityManager;
+        this.contadorSentencias = contadorSentencias;
+        this.sentenciasPorFactura = registrarSentencias(meterRegistry, "guardar");
+        this.sentenciasPorFacturaEnLote = registrarSentencias(meterRegistry, "guardarTodas");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.loteProperties = loteProperties;
+        this.exportador = exportador;
+        this.validadorClientes = validadorClientes;
+        this.estrategiaValidacion = estrategiaValidacion;
+    }
+
+    private static DistributionSummary registrarSentencias(MeterRegistry meterRegistry, String operacion) {
+        return DistributionSummary.builder("facturacion.persistencia.sentencias")
+            .description("Sentencias JDBC preparadas por factura guardada")
+            .baseUnit("sentencias")
+            .tag("operacion", operacion)
+            .register(meterRegistry);
     }
 
     @Override
     public Factura guardar(Factura factura) {
         log.debug("Guardando factura para cliente: {}", factura.getClienteId());
 
-        // Validar cliente antes de guardar usando procedimiento PL/SQL
-        validarClienteActivo(factura.getClienteId());
+        FacturaEntity savedEntity;
+        contadorSentencias.iniciar();
+        try {
+            // Consulta por clave primaria en la misma transacción, antes de los INSERTs
+            if (estrategiaValidacion.validaLocal()) {
+                validadorClientes.validarActivo(factura.getClienteId());
+            }
 
-        // Convertir dominio a entidad JPA
-        FacturaEntity entity = mapper.toEntity(factura);
+            // Convertir dominio a entidad JPA
+            FacturaEntity entity = mapper.toEntity(factura);
 
-        // Persistir
-        FacturaEntity savedEntity = jpaRepository.save(entity);
+            // Persistir. Los IDs salen del bloque pooled de la secuencia y el flush envía
+            // la factura y sus ítems como INSERTs agrupados (hibernate.jdbc.batch_size)
+            savedEntity = jpaRepository.save(entity);
+            entityManager.flush();
+        } finally {
+            sentenciasPorFactura.record(contadorSentencias.finalizar());
+        }
 
         log.info("Factura guardada exitosamente con ID: {} y número: {}",
             savedEntity.getId(), savedEntity.getNumero());
@@ -71,6 +130,32 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
         return mapper.toDomain(savedEntity);
     }
 
+    /**
+     * Guarda el lote en bloques de lote-facturas.tamano-bloque facturas.
+     *
+     * Cada bloque es una transacción propia: si la estrategia lo pide, valida los clientes
+     * del bloque con una sola consulta a CLIENTES_CDC, envía los INSERTs en batch y limpia
+     * el contexto de persistencia.
+     * Si el bloque falla, se revierte y sus facturas se reintentan una a una para reportar
+     * solo las que realmente fallan.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ResultadoCreacionFactura> guardarTodas(List<Factura> facturas) {
+        log.debug("Guardando lote de {} facturas en bloques de {}",
+            facturas.size(), loteProperties.getTamanoBloque());
+
+        List<ResultadoCreacionFactura> resultados = new ArrayList<>(facturas.size());
+        int tamanoBloque = loteProperties.getTamanoBloque();
+
+        for (int inicio = 0; inicio < facturas.size(); inicio += tamanoBloque) {
+            int fin = Math.min(inicio + tamanoBloque, facturas.size());
+            resultados.addAll(guardarBloque(facturas.subList(inicio, fin), inicio));
+        }
+
+        return resultados;
+    }
+
     @Override
     public Optional<Factura> buscarPorId(FacturaId id) {
         if (id == null || id.esNuevo()) {
@@ -110,6 +195,7 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
             pageable.getPageNumber(), pageable.getPageSize());
 
         Page<FacturaEntity> entityPage = jpaRepository.findAll(pageable);
+        cargarItems(entityPage.getContent());
 
         List<Factura> facturas = mapper.toDomainList(entityPage.getContent());
 
@@ -125,6 +211,7 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
             clienteId, pageable.getPageNumber(), pageable.getPageSize());
 
         Page<FacturaEntity> entityPage = jpaRepository.findByClienteId(clienteId, pageable);
+        cargarItems(entityPage.getContent());
 
         List<Factura> facturas = mapper.toDomainList(entityPage.getContent());
 
@@ -133,6 +220,82 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
         return new PageImpl<>(facturas, pageable, entityPage.getTotalElements());
     }
 
+    /**
+     * Los resúmenes se leen con una proyección: no pasan por FacturaEntity ni por el
+     * mapper de dominio, y no consultan ITEMS_FACTURA.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ResumenFactura> listarResumenes(Pageable pageable) {
+        log.debug("Listando resumen de facturas - page: {}, size: {}",
+            pageable.getPageNumber(), pageable.getPageSize());
+
+        return jpaRepository.findResumenes(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ResumenFactura> listarResumenesPorCliente(Long clienteId, Pageable pageable) {
+        log.debug("Listando resumen de facturas del cliente {} - page: {}, size: {}",
+            clienteId, pageable.getPageNumber(), pageable.getPageSize());
+
+        return jpaRepository.findResumenesByClienteId(clienteId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Factura> listarTodasConCursor(CursorFactura cursor, int tamano) {
+        log.debug("Listando facturas por cursor - cursor: {}, size: {}", cursor, tamano);
+
+        // Se pide un elemento extra para saber si existe una página siguiente sin COUNT
+        Pageable limite = PageRequest.ofSize(tamano + 1);
+        List<FacturaEntity> entities = cursor == null
+            ? jpaRepository.findPrimeraPagina(limite)
+            : jpaRepository.findPaginaDespuesDe(cursor.getFechaCreacion(), cursor.getId(), limite);
+
+        return aPaginaCursor(entities, tamano);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Factura> listarPorClienteConCursor(Long clienteId, CursorFactura cursor, int tamano) {
+        log.debug("Listando facturas del cliente {} por cursor - cursor: {}, size: {}",
+            clienteId, cursor, tamano);
+
+        Pageable limite = PageRequest.ofSize(tamano + 1);
+        List<FacturaEntity> entities = cursor == null
+            ? jpaRepository.findPrimeraPaginaPorCliente(clienteId, limite)
+            : jpaRepository.findPaginaPorClienteDespuesDe(
+                clienteId, cursor.getFechaCreacion(), cursor.getId(), limite);
+
+        return aPaginaCursor(entities, tamano);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarResumenes(FiltroExportacion filtro, Consumer<ResumenFactura> consumidor) {
+        log.debug("Exportando resumen de facturas: {}", filtro);
+        return exportador.exportarResumenes(filtro, consumidor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarConItems(FiltroExportacion filtro, Consumer<Factura> consumidor) {
+        log.debug("Exportando facturas con items: {}", filtro);
+        return exportador.exportarConItems(filtro, consumidor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> buscarNumeroPorId(Long id) {
+        if (id == null || id <= 0) {
+            return Optional.empty();
+        }
+
+        log.debug("Buscando número de la factura con ID: {}", id);
+        return jpaRepository.findNumeroById(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean existe(FacturaId id) {
@@ -160,66 +323,94 @@ public class FacturaRepositoryAdapter implements FacturaRepositoryPort {
     }
 
     /**
-     * Ejecuta el procedimiento almacenado PL/SQL para validar que el cliente esté activo.
-     *
-     * Procedimiento esperado en Oracle:
-     * CREATE OR REPLACE PROCEDURE validar_cliente_activo(
-     *   p_cliente_id IN NUMBER,
-     *   p_es_activo OUT NUMBER,
-     *   p_mensaje OUT VARCHAR2
-     * ) AS
-     * BEGIN
-     *   SELECT COUNT(*) INTO p_es_activo
-     *   FROM CLIENTES
-     *   WHERE ID = p_cliente_id AND ACTIVO = 1;
+     * Inicializa los items de una página de facturas con una sola consulta.
      *
-     *   IF p_es_activo = 0 THEN
-     *     p_mensaje := 'Cliente no encontrado o inactivo';
-     *   ELSE
-     *     p_mensaje := 'OK';
-     *   END IF;
-     * END;
-     *
-     * @param clienteId ID del cliente a validar
-     * @throws IllegalStateException si el cliente no está activo
+     * La página se obtiene primero sin JOIN (paginación correcta en Oracle) y luego
+     * los items de todas sus facturas se traen juntos: 2 consultas en lugar de 1 + N.
      */
-    private void validarClienteActivo(Long clienteId) {
-        log.debug("Validando cliente activo mediante PL/SQL: {}", clienteId);
+    private void cargarItems(List<FacturaEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
 
-        try {
-            StoredProcedureQuery query = entityManager
-                .createStoredProcedureQuery("validar_cliente_activo")
-                .registerStoredProcedureParameter("p_cliente_id", Long.class, ParameterMode.IN)
-                .registerStoredProcedureParameter("p_es_activo", Integer.class, ParameterMode.OUT)
-                .registerStoredProcedureParameter("p_mensaje", String.class, ParameterMode.OUT);
+        List<Long> ids = entities.stream()
+            .map(FacturaEntity::getId)
+            .toList();
+
+        jpaRepository.findAllWithItemsByIdIn(ids);
+    }
+
+    private PaginaCursor<Factura> aPaginaCursor(List<FacturaEntity> entities, int tamano) {
+        boolean haySiguiente = entities.size() > tamano;
+        List<FacturaEntity> pagina = haySiguiente ? entities.subList(0, tamano) : entities;
+        cargarItems(pagina);
+        List<Factura> facturas = mapper.toDomainList(pagina);
+
+        CursorFactura siguiente = haySiguiente
+            ? CursorFactura.despuesDe(facturas.get(facturas.size() - 1))
+            : null;
 
-            query.setParameter("p_cliente_id", clienteId);
-            query.execute();
+        return new PaginaCursor<>(facturas, siguiente);
+    }
 
-            Integer esActivo = (Integer) query.getOutputParameterValue("p_es_activo");
-            String mensaje = (String) query.getOutputParameterValue("p_mensaje");
+    private List<ResultadoCreacionFactura> guardarBloque(List<Factura> bloque, int desplazamiento) {
+        List<ResultadoCreacionFactura> resultados = new ArrayList<>(bloque.size());
 
-            log.debug("Resultado validación cliente {}: esActivo={}, mensaje={}",
-                clienteId, esActivo, mensaje);
+        try {
+            List<Factura> guardadas = transactionTemplate.execute(status -> persistirBloque(bloque));
+            for (int i = 0; i < guardadas.size(); i++) {
+                resultados.add(ResultadoCreacionFactura.exitoso(desplazamiento + i, guardadas.get(i)));
+            }
+            log.info("Bloque de {} facturas guardado (índices {}-{})",
+                bloque.size(), desplazamiento, desplazamiento + bloque.size() - 1);
+            return resultados;
+
+        } catch (RuntimeException e) {
+            log.warn("Falló el bloque de facturas {}-{}: {}. Reintentando una a una",
+                desplazamiento, desplazamiento + bloque.size() - 1, e.getMessage());
+        }
 
-            if (esActivo == null || esActivo == 0) {
-                log.warn("Validación de cliente falló: {}", mensaje);
-                throw new IllegalStateException("Cliente inválido: " + mensaje);
+        for (int i = 0; i < bloque.size(); i++) {
+            List<Factura> individual = List.of(bloque.get(i));
+            try {
+                Factura guardada = transactionTemplate.execute(status -> persistirBloque(individual)).get(0);
+                resultados.add(ResultadoCreacionFactura.exitoso(desplazamiento + i, guardada));
+            } catch (RuntimeException e) {
+                String motivo = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Factura en índice {} rechazada: {}", desplazamiento + i, motivo);
+                resultados.add(ResultadoCreacionFactura.fallido(desplazamiento + i, motivo));
             }
+        }
 
-            log.debug("Cliente {} validado exitosamente", clienteId);
+        return resultados;
+    }
 
-        } catch (Exception e) {
-            log.error("Error al ejecutar procedimiento de validación de cliente: {}", e.getMessage());
+    /**
+     * Persiste un bloque dentro de la transacción actual
+     */
+    private List<Factura> persistirBloque(List<Factura> bloque) {
+        contadorSentencias.iniciar();
+        try {
+            if (estrategiaValidacion.validaLocal()) {
+                validadorClientes.validarActivos(bloque.stream().map(Factura::getClienteId).toList());
+            }
 
-            // Si el procedimiento no existe, loguear advertencia pero no fallar
-            // (útil para ambientes de desarrollo sin el procedimiento)
-            if (e.getMessage().contains("ORA-06550") || e.getMessage().contains("does not exist")) {
-                log.warn("Procedimiento validar_cliente_activo no encontrado. " +
-                        "Continuando sin validación PL/SQL.");
-            } else {
-                throw new IllegalStateException("Error al validar cliente: " + e.getMessage(), e);
+            List<FacturaEntity> entities = new ArrayList<>(bloque.size());
+            for (Factura factura : bloque) {
+                entities.add(mapper.toEntity(factura));
             }
+
+            List<FacturaEntity> savedEntities = jpaRepository.saveAll(entities);
+            entityManager.flush();
+
+            List<Factura> guardadas = mapper.toDomainList(savedEntities);
+
+            // El contexto de persistencia no debe crecer con cada bloque
+            entityManager.clear();
+
+            return guardadas;
+        } finally {
+            sentenciasPorFacturaEnLote.record((double) contadorSentencias.finalizar() / bloque.size());
         }
     }
 }
@@ -0,0 +1,94 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
+
+import com.castor.facturacion.infrastructure.config.ValidacionClienteProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validación local de clientes contra la réplica CDC de clientes-service (CLIENTES_CDC).
+ *
+ * La tabla la mantiene el sink JDBC de Debezium a partir del tópico castor.public.clientes.
+ * La consulta va por la clave primaria, sin procedimiento almacenado ni llamada HTTP.
+ *
+ * Debe ejecutarse dentro de la transacción del INSERT para usar la misma conexión que JPA:
+ * la validación no agrega un préstamo de conexión propio.
+ *
+ * Registra la latencia en facturacion.cliente.validacion (estrategia=local).
+ */
+@Component
+public class ValidadorClientesCdcJdbc {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sqlActivo;
+    private final String sqlActivosPrefijo;
+    private final Timer latencia;
+
+    public ValidadorClientesCdcJdbc(DataSource dataSource, ValidacionClienteProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.sqlActivo = "SELECT COUNT(*) FROM " + properties.getTablaClientes() +
+                         " WHERE ID = ? AND ACTIVO = 1";
+        this.sqlActivosPrefijo = "SELECT ID FROM " + properties.getTablaClientes() +
+                                 " WHERE ACTIVO = 1 AND ID IN (";
+        this.latencia = Timer.builder("facturacion.cliente.validacion")
+            .description("Latencia de la validación de clientes por estrategia")
+            .tag("estrategia", "local")
+            .tag("operacion", "esClienteActivo")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Verifica que el cliente exista en la réplica y esté activo
+     *
+     * @throws IllegalStateException si el cliente no existe o no está activo
+     */
+    public void validarActivo(Long clienteId) {
+        Timer.Sample muestra = Timer.start();
+        Integer activos;
+        try {
+            activos = jdbcTemplate.queryForObject(sqlActivo, Integer.class, clienteId);
+        } finally {
+            muestra.stop(latencia);
+        }
+
+        if (activos == null || activos == 0) {
+            throw new IllegalStateException("Cliente inválido: " + clienteId + " no existe o no está activo");
+        }
+    }
+
+    /**
+     * Verifica varios clientes con una sola consulta
+     *
+     * @throws IllegalStateException con los IDs que no existen o no están activos
+     */
+    public void validarActivos(Collection<Long> clienteIds) {
+        Set<Long> pendientes = new HashSet<>(clienteIds);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        String marcadores = pendientes.stream().map(id -> "?").collect(Collectors.joining(", "));
+        Timer.Sample muestra = Timer.start();
+        List<Long> activos;
+        try {
+            activos = jdbcTemplate.queryForList(sqlActivosPrefijo + marcadores + ")", Long.class,
+                pendientes.toArray());
+        } finally {
+            muestra.stop(latencia);
+        }
+
+        pendientes.removeAll(activos);
+        if (!pendientes.isEmpty()) {
+            throw new IllegalStateException("Cliente inválido: " + pendientes + " no existe o no está activo");
+        }
+    }
+}
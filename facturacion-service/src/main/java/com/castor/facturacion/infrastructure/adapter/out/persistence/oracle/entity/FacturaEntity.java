@@ -18,16 +18,24 @@ import java.util.List;
  * Usa Lombok para reducir boilerplate code.
  */
 @Entity
-@Table(name = "FACTURAS")
+@Table(name = "FACTURAS", indexes = {
+    // Listados por cursor (keyset) en orden fechaCreacion DESC, id DESC
+    @Index(name = "IDX_FACTURAS_FECHA_ID", columnList = "FECHA_CREACION DESC, ID DESC"),
+    @Index(name = "IDX_FACTURAS_CLIENTE_FECHA_ID", columnList = "CLIENTE_ID, FECHA_CREACION DESC, ID DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class FacturaEntity {
 
+    /**
+     * ID asignado con el optimizador pooled de Hibernate: cada NEXTVAL reserva un bloque
+     * de 50 IDs. FACTURAS_SEQ debe tener INCREMENT BY 50 (ver scripts/oracle/init.sql).
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "factura_seq")
-    @SequenceGenerator(name = "factura_seq", sequenceName = "FACTURAS_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "factura_seq", sequenceName = "FACTURAS_SEQ", allocationSize = 50)
     @Column(name = "ID")
     private Long id;
 
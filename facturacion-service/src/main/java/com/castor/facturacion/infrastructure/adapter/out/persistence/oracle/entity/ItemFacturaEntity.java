@@ -22,9 +22,14 @@ import java.math.BigDecimal;
 @Builder
 public class ItemFacturaEntity {
 
+    /**
+     * ID asignado con el optimizador pooled de Hibernate: cada NEXTVAL reserva un bloque
+     * de 100 IDs, suficiente para una factura completa (máximo 100 ítems).
+     * ITEMS_FACTURA_SEQ debe tener INCREMENT BY 100 (ver scripts/oracle/init.sql).
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_factura_seq")
-    @SequenceGenerator(name = "item_factura_seq", sequenceName = "ITEMS_FACTURA_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "item_factura_seq", sequenceName = "ITEMS_FACTURA_SEQ", allocationSize = 100)
     @Column(name = "ID")
     private Long id;
 
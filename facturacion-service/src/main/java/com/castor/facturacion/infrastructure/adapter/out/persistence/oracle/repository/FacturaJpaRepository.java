@@ -1,5 +1,6 @@
 package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.repository;
 
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.FacturaEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,12 +29,76 @@ public interface FacturaJpaRepository extends JpaRepository<FacturaEntity, Long>
     @Query("SELECT f FROM FacturaEntity f WHERE f.clienteId = :clienteId")
     Page<FacturaEntity> findByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
 
+    /**
+     * Resumen paginado de facturas (proyección por constructor).
+     * Solo selecciona columnas de FACTURAS: no crea entidades gestionadas ni toca ITEMS_FACTURA.
+     */
+    @Query(value = "SELECT new com.castor.facturacion.domain.ResumenFactura(" +
+                   "f.id, f.numero, f.clienteId, f.subtotalGeneral, f.totalImpuestos, " +
+                   "f.totalDescuentos, f.totalFinal, f.fechaCreacion) " +
+                   "FROM FacturaEntity f",
+           countQuery = "SELECT COUNT(f) FROM FacturaEntity f")
+    Page<ResumenFactura> findResumenes(Pageable pageable);
+
+    /**
+     * Resumen paginado de las facturas de un cliente (proyección por constructor)
+     */
+    @Query(value = "SELECT new com.castor.facturacion.domain.ResumenFactura(" +
+                   "f.id, f.numero, f.clienteId, f.subtotalGeneral, f.totalImpuestos, " +
+                   "f.totalDescuentos, f.totalFinal, f.fechaCreacion) " +
+                   "FROM FacturaEntity f WHERE f.clienteId = :clienteId",
+           countQuery = "SELECT COUNT(f) FROM FacturaEntity f WHERE f.clienteId = :clienteId")
+    Page<ResumenFactura> findResumenesByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    /**
+     * Primera página del listado por cursor (keyset).
+     * El Pageable solo aporta el límite: al retornar List no se ejecuta COUNT.
+     */
+    @Query("SELECT f FROM FacturaEntity f ORDER BY f.fechaCreacion DESC, f.id DESC")
+    List<FacturaEntity> findPrimeraPagina(Pageable limite);
+
+    /**
+     * Página siguiente a (fecha, id) en el orden fechaCreacion DESC, id DESC.
+     * La condición fechaCreacion <= :fecha permite un range scan sobre IDX_FACTURAS_FECHA_ID.
+     */
+    @Query("SELECT f FROM FacturaEntity f " +
+           "WHERE f.fechaCreacion <= :fecha AND (f.fechaCreacion < :fecha OR f.id < :id) " +
+           "ORDER BY f.fechaCreacion DESC, f.id DESC")
+    List<FacturaEntity> findPaginaDespuesDe(@Param("fecha") LocalDateTime fecha,
+                                            @Param("id") Long id,
+                                            Pageable limite);
+
+    /**
+     * Primera página del listado por cursor de un cliente
+     */
+    @Query("SELECT f FROM FacturaEntity f WHERE f.clienteId = :clienteId " +
+           "ORDER BY f.fechaCreacion DESC, f.id DESC")
+    List<FacturaEntity> findPrimeraPaginaPorCliente(@Param("clienteId") Long clienteId, Pageable limite);
+
+    /**
+     * Página siguiente a (fecha, id) para un cliente (range scan sobre IDX_FACTURAS_CLIENTE_FECHA_ID)
+     */
+    @Query("SELECT f FROM FacturaEntity f " +
+           "WHERE f.clienteId = :clienteId " +
+           "AND f.fechaCreacion <= :fecha AND (f.fechaCreacion < :fecha OR f.id < :id) " +
+           "ORDER BY f.fechaCreacion DESC, f.id DESC")
+    List<FacturaEntity> findPaginaPorClienteDespuesDe(@Param("clienteId") Long clienteId,
+                                                      @Param("fecha") LocalDateTime fecha,
+                                                      @Param("id") Long id,
+                                                      Pageable limite);
+
     /**
      * Buscar factura por número
      */
     @Query("SELECT f FROM FacturaEntity f WHERE f.numero = :numero")
     Optional<FacturaEntity> findByNumero(@Param("numero") String numero);
 
+    /**
+     * Número de una factura, sin cargar la entidad ni sus items
+     */
+    @Query("SELECT f.numero FROM FacturaEntity f WHERE f.id = :id")
+    Optional<String> findNumeroById(@Param("id") Long id);
+
     /**
      * Verificar si existe una factura para un cliente
      */
@@ -42,4 +110,14 @@ public interface FacturaJpaRepository extends JpaRepository<FacturaEntity, Long>
      */
     @Query("SELECT f FROM FacturaEntity f LEFT JOIN FETCH f.items WHERE f.id = :id")
     Optional<FacturaEntity> findByIdWithItems(@Param("id") Long id);
+
+    /**
+     * Cargar los items de varias facturas en una sola consulta (JOIN FETCH por IDs).
+     *
+     * Se usa después de paginar por ID: las facturas ya cargadas en el contexto de
+     * persistencia quedan con su colección de items inicializada, sin una consulta por
+     * factura y sin paginar en memoria un JOIN FETCH.
+     */
+    @Query("SELECT f FROM FacturaEntity f LEFT JOIN FETCH f.items WHERE f.id IN :ids")
+    List<FacturaEntity> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,39 @@
+package com.castor.facturacion.infrastructure.config;
+
+/**
+ * Caso de uso que atiende el hilo actual, usado como tag de métricas de infraestructura.
+ *
+ * Lo establece WebMvcConfig a partir del método del controller que atiende la petición
+ * (ej: crearFactura, listarFacturas) y lo consume RetencionConexionDataSource.
+ * OrquestacionConfig lo propaga a los hilos de las llamadas concurrentes del caso de uso.
+ */
+public final class CasoDeUsoContexto {
+
+    public static final String SIN_CASO_DE_USO = "ninguno";
+
+    private static final ThreadLocal<String> CASO_DE_USO = new ThreadLocal<>();
+
+    private CasoDeUsoContexto() {
+    }
+
+    public static void establecer(String casoDeUso) {
+        CASO_DE_USO.set(casoDeUso);
+    }
+
+    public static String actual() {
+        String casoDeUso = CASO_DE_USO.get();
+        return casoDeUso != null ? casoDeUso : SIN_CASO_DE_USO;
+    }
+
+    /**
+     * Caso de uso del hilo actual, o null si no hay; lo usa la propagación de contexto
+     * a las subtareas de EjecucionConcurrente (OrquestacionConfig)
+     */
+    static String actualSiHay() {
+        return CASO_DE_USO.get();
+    }
+
+    public static void limpiar() {
+        CASO_DE_USO.remove();
+    }
+}
@@ -1,5 +1,7 @@
 package com.castor.facturacion.infrastructure.config;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -45,11 +47,63 @@ public class ClienteServiceProperties {
     private boolean enableCache = true;
 
     /**
-     * Duración del cache en minutos
+     * Duración del cache de resultados positivos (cliente activo / existente)
      */
     @NotNull
     private Duration cacheDuration = Duration.ofMinutes(5);
 
+    /**
+     * Máximo de entradas del cache de resultados positivos, por operación
+     */
+    @Min(1)
+    private long cacheMaxSize = 1000;
+
+    /**
+     * Edad a partir de la cual un resultado positivo se recarga en segundo plano,
+     * sin dejar de servirse. Debe ser menor que cacheDuration para tener efecto
+     */
+    @NotNull
+    private Duration cacheRefreshAfter = Duration.ofMinutes(4);
+
+    /**
+     * Tiempo tras el vencimiento durante el que un resultado positivo se sigue usando
+     * si clientes-service falla o el Circuit Breaker está abierto. 0 lo deshabilita
+     */
+    @NotNull
+    private Duration staleIfErrorDuration = Duration.ofMinutes(10);
+
+    /**
+     * Duración del cache de resultados negativos (cliente inactivo / inexistente).
+     * Corta: es el tiempo que tarda en verse un cliente recién activado o creado
+     */
+    @NotNull
+    private Duration negativeCacheDuration = Duration.ofSeconds(30);
+
+    /**
+     * Máximo de entradas del cache de resultados negativos, por operación
+     */
+    @Min(1)
+    private long negativeCacheMaxSize = 1000;
+
+    /**
+     * Agrupar las validaciones de varias peticiones en una llamada a POST /api/v1/clientes/estado
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * Tiempo máximo que una validación espera a que se complete su lote
+     */
+    @NotNull
+    private Duration batchWindow = Duration.ofMillis(2);
+
+    /**
+     * IDs por lote: al alcanzarlo el lote se envía sin esperar la ventana.
+     * clientes-service acepta hasta 1000 por petición
+     */
+    @Min(1)
+    @Max(1000)
+    private int batchMaxSize = 100;
+
     // Constructor por defecto
     public ClienteServiceProperties() {
     }
@@ -104,6 +158,70 @@ public class ClienteServiceProperties {
         this.cacheDuration = cacheDuration;
     }
 
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Duration getCacheRefreshAfter() {
+        return cacheRefreshAfter;
+    }
+
+    public void setCacheRefreshAfter(Duration cacheRefreshAfter) {
+        this.cacheRefreshAfter = cacheRefreshAfter;
+    }
+
+    public Duration getStaleIfErrorDuration() {
+        return staleIfErrorDuration;
+    }
+
+    public void setStaleIfErrorDuration(Duration staleIfErrorDuration) {
+        this.staleIfErrorDuration = staleIfErrorDuration;
+    }
+
+    public Duration getNegativeCacheDuration() {
+        return negativeCacheDuration;
+    }
+
+    public void setNegativeCacheDuration(Duration negativeCacheDuration) {
+        this.negativeCacheDuration = negativeCacheDuration;
+    }
+
+    public long getNegativeCacheMaxSize() {
+        return negativeCacheMaxSize;
+    }
+
+    public void setNegativeCacheMaxSize(long negativeCacheMaxSize) {
+        this.negativeCacheMaxSize = negativeCacheMaxSize;
+    }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
     @Override
     public String toString() {
         return "ClienteServiceProperties{" +
@@ -113,6 +231,14 @@ public class ClienteServiceProperties {
                ", maxRetries=" + maxRetries +
                ", enableCache=" + enableCache +
                ", cacheDuration=" + cacheDuration +
+               ", cacheMaxSize=" + cacheMaxSize +
+               ", cacheRefreshAfter=" + cacheRefreshAfter +
+               ", staleIfErrorDuration=" + staleIfErrorDuration +
+               ", negativeCacheDuration=" + negativeCacheDuration +
+               ", negativeCacheMaxSize=" + negativeCacheMaxSize +
+               ", batchEnabled=" + batchEnabled +
+               ", batchWindow=" + batchWindow +
+               ", batchMaxSize=" + batchMaxSize +
                '}';
     }
 }
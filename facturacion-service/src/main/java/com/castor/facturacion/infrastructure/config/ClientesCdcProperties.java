@@ -0,0 +1,71 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuración externalizada del consumidor de eventos CDC de clientes.
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "clientes-cdc")
+@Validated
+public class ClientesCdcProperties {
+
+    /**
+     * Aplicar los cambios de clientes publicados por Debezium a los caches de validación
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tópico con los cambios de la tabla clientes (ExtractNewRecordState, JSON sin schema)
+     */
+    @NotBlank
+    private String topic = "castor.public.clientes";
+
+    /**
+     * Grupo de consumidores. Cada instancia necesita el suyo: todas deben ver todos los cambios
+     */
+    @NotBlank
+    private String groupId = "facturacion-clientes-cache";
+
+    // Constructor por defecto
+    public ClientesCdcProperties() {
+    }
+
+    // Getters y Setters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientesCdcProperties{" +
+               "enabled=" + enabled +
+               ", topic='" + topic + '\'' +
+               ", groupId='" + groupId + '\'' +
+               '}';
+    }
+}
@@ -1,7 +1,9 @@
 package com.castor.facturacion.infrastructure.config;
 
+import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.ContadorSentenciasJdbc;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,8 +23,8 @@ import java.util.Properties;
  * Configuración de base de datos Oracle con HikariCP.
  *
  * Configura:
- * - DataSource con pool de conexiones optimizado
- * - EntityManagerFactory con Hibernate
+ * - DataSource con pool de conexiones optimizado y métrica de retención de conexiones
+ * - EntityManagerFactory con Hibernate (INSERTs agrupados en batch)
  * - TransactionManager para JPA
  */
 @Configuration
@@ -59,11 +61,17 @@ public class DatabaseConfig {
     @Value("${spring.datasource.hikari.max-lifetime:1800000}")
     private long maxLifetime;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
     /**
-     * Configuración del DataSource con HikariCP (pool de conexiones de alto rendimiento)
+     * Configuración del DataSource con HikariCP (pool de conexiones de alto rendimiento).
+     *
+     * El pool se envuelve en RetencionConexionDataSource para medir el tiempo de retención
+     * de cada conexión por caso de uso (facturacion.db.conexion.retencion).
      */
     @Bean
-    public DataSource dataSource() {
+    public DataSource dataSource(MeterRegistry meterRegistry) {
         log.info("Configurando DataSource de Oracle con HikariCP");
 
         HikariConfig config = new HikariConfig();
@@ -93,14 +101,20 @@ public class DatabaseConfig {
         log.info("HikariCP configurado - Pool size: {}, Minimum idle: {}",
             maximumPoolSize, minimumIdle);
 
-        return new HikariDataSource(config);
+        return new RetencionConexionDataSource(new HikariDataSource(config), meterRegistry);
     }
 
     /**
-     * Configuración del EntityManagerFactory con Hibernate
+     * Configuración del EntityManagerFactory con Hibernate.
+     *
+     * El batch_size por defecto (100) coincide con el máximo de ítems por factura, de modo
+     * que todos los ítems de una factura se envían en un solo batch JDBC.
      */
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(
+        DataSource dataSource,
+        ContadorSentenciasJdbc contadorSentencias
+    ) {
         log.info("Configurando EntityManagerFactory con Hibernate");
 
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
@@ -116,7 +130,8 @@ public class DatabaseConfig {
         jpaProperties.put("hibernate.dialect", "org.hibernate.dialect.Oracle12cDialect");
         jpaProperties.put("hibernate.format_sql", "true");
         jpaProperties.put("hibernate.use_sql_comments", "true");
-        jpaProperties.put("hibernate.jdbc.batch_size", "20");
+        jpaProperties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        jpaProperties.put("hibernate.jdbc.batch_versioned_data", "true");
         jpaProperties.put("hibernate.order_inserts", "true");
         jpaProperties.put("hibernate.order_updates", "true");
         jpaProperties.put("hibernate.jdbc.fetch_size", "50");
@@ -124,7 +139,10 @@ public class DatabaseConfig {
 
         emf.setJpaProperties(jpaProperties);
 
-        log.info("EntityManagerFactory configurado con Hibernate y Oracle12cDialect");
+        // Instancia (no nombre de clase) para compartir el contador con FacturaRepositoryAdapter
+        emf.getJpaPropertyMap().put("hibernate.session_factory.statement_inspector", contadorSentencias);
+
+        log.info("EntityManagerFactory configurado con Hibernate y Oracle12cDialect - batch_size: {}", batchSize);
 
         return emf;
     }
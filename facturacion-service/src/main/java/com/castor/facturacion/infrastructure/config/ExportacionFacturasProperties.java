@@ -0,0 +1,45 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuración externalizada para la exportación de facturas.
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "exportacion-facturas")
+@Validated
+public class ExportacionFacturasProperties {
+
+    /**
+     * Filas que el driver JDBC trae por viaje a Oracle al recorrer el cursor de exportación.
+     * Con items, cada item cuenta como una fila.
+     */
+    @Min(10)
+    @Max(10000)
+    private int fetchSize = 1000;
+
+    // Constructor por defecto
+    public ExportacionFacturasProperties() {
+    }
+
+    // Getters y Setters
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportacionFacturasProperties{" +
+               "fetchSize=" + fetchSize +
+               '}';
+    }
+}
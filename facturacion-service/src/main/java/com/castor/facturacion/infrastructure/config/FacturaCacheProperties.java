@@ -0,0 +1,92 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuración externalizada para el cache de facturas por ID, en el servicio
+ * y en los clientes HTTP (Cache-Control de GET /api/v1/facturas/{id}).
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "cache-facturas")
+@Validated
+public class FacturaCacheProperties {
+
+    /**
+     * Habilitar el cache (si es false, el puerto de persistencia se usa sin decorar)
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Peso máximo del cache. Cada factura pesa 1 + su número de items, así el límite
+     * acota tanto las entradas como el total de items retenidos en memoria
+     */
+    @Min(1)
+    private long pesoMaximo = 100_000;
+
+    /**
+     * Tiempo sin accesos tras el cual una factura sale del cache
+     */
+    @NotNull
+    private Duration expiracion = Duration.ofMinutes(30);
+
+    /**
+     * max-age de Cache-Control en la consulta por ID. Una factura no cambia, pero puede
+     * anularse: es el tiempo máximo que un cliente puede seguir viendo una factura anulada
+     */
+    @NotNull
+    private Duration httpMaxAge = Duration.ofMinutes(5);
+
+    // Constructor por defecto
+    public FacturaCacheProperties() {
+    }
+
+    // Getters y Setters
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public long getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public void setPesoMaximo(long pesoMaximo) {
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    public Duration getExpiracion() {
+        return expiracion;
+    }
+
+    public void setExpiracion(Duration expiracion) {
+        this.expiracion = expiracion;
+    }
+
+    public Duration getHttpMaxAge() {
+        return httpMaxAge;
+    }
+
+    public void setHttpMaxAge(Duration httpMaxAge) {
+        this.httpMaxAge = httpMaxAge;
+    }
+
+    @Override
+    public String toString() {
+        return "FacturaCacheProperties{" +
+               "habilitado=" + habilitado +
+               ", pesoMaximo=" + pesoMaximo +
+               ", expiracion=" + expiracion +
+               ", httpMaxAge=" + httpMaxAge +
+               '}';
+    }
+}
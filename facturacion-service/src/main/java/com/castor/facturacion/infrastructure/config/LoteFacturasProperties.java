@@ -0,0 +1,60 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuración externalizada para la creación de facturas en lote.
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "lote-facturas")
+@Validated
+public class LoteFacturasProperties {
+
+    /**
+     * Máximo de facturas aceptadas por petición
+     */
+    @Min(1)
+    @Max(10000)
+    private int maximoFacturas = 5000;
+
+    /**
+     * Facturas persistidas por transacción (cada bloque es una transacción con INSERTs en batch)
+     */
+    @Min(1)
+    @Max(1000)
+    private int tamanoBloque = 100;
+
+    // Constructor por defecto
+    public LoteFacturasProperties() {
+    }
+
+    // Getters y Setters
+
+    public int getMaximoFacturas() {
+        return maximoFacturas;
+    }
+
+    public void setMaximoFacturas(int maximoFacturas) {
+        this.maximoFacturas = maximoFacturas;
+    }
+
+    public int getTamanoBloque() {
+        return tamanoBloque;
+    }
+
+    public void setTamanoBloque(int tamanoBloque) {
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    @Override
+    public String toString() {
+        return "LoteFacturasProperties{" +
+               "maximoFacturas=" + maximoFacturas +
+               ", tamanoBloque=" + tamanoBloque +
+               '}';
+    }
+}
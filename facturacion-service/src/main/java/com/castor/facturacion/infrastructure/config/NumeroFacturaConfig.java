@@ -0,0 +1,57 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.castor.facturacion.domain.valueobject.GeneradorNumeroFactura;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del generador de números de factura.
+ *
+ * Cada réplica necesita un nodo distinto (0-999) para que los números no colisionen:
+ * - Si numero-factura.nodo-id está definido, se usa tal cual.
+ * - Si no, se toma NEXTVAL de la secuencia Oracle NUMERO_FACTURA_NODO_SEQ (CYCLE 1-999),
+ *   de modo que cada arranque obtiene un nodo distinto.
+ * - Si la secuencia no responde, el arranque falla: un nodo inventado no garantiza
+ *   unicidad entre réplicas.
+ */
+@Configuration
+public class NumeroFacturaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(NumeroFacturaConfig.class);
+
+    /**
+     * Generador de números de factura (GeneradorNumeroFacturaPort) de esta réplica
+     */
+    @Bean
+    public GeneradorNumeroFactura generadorNumeroFactura(NumeroFacturaProperties properties,
+                                                         DataSource dataSource) {
+        int nodo = properties.getNodoId() != null
+            ? properties.getNodoId()
+            : asignarNodo(properties.getSecuenciaNodo(), dataSource);
+
+        GeneradorNumeroFactura generador = new GeneradorNumeroFactura(nodo);
+
+        log.info("Generador de números de factura configurado - Nodo: {}", nodo);
+
+        return generador;
+    }
+
+    /**
+     * Obtiene el nodo desde la secuencia Oracle; sin secuencia no hay nodo garantizado y se falla
+     */
+    private int asignarNodo(String secuencia, DataSource dataSource) {
+        try {
+            Long valor = new JdbcTemplate(dataSource)
+                .queryForObject("SELECT " + secuencia + ".NEXTVAL FROM DUAL", Long.class);
+            return (int) (valor % (GeneradorNumeroFactura.NODO_MAXIMO + 1));
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo obtener el nodo de numeración desde la secuencia "
+                + secuencia + "; configure numero-factura.nodo-id o revise la secuencia", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuración externalizada para la generación de números de factura.
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "numero-factura")
+@Validated
+public class NumeroFacturaProperties {
+
+    /**
+     * Identificador de nodo (0-999) de esta réplica.
+     * Si no se define, se asigna al arrancar desde la secuencia Oracle.
+     */
+    @Min(0)
+    @Max(999)
+    private Integer nodoId;
+
+    /**
+     * Secuencia Oracle (CYCLE 1-999) usada para asignar el nodo automáticamente
+     */
+    @NotBlank
+    private String secuenciaNodo = "NUMERO_FACTURA_NODO_SEQ";
+
+    // Constructor por defecto
+    public NumeroFacturaProperties() {
+    }
+
+    // Getters y Setters
+
+    public Integer getNodoId() {
+        return nodoId;
+    }
+
+    public void setNodoId(Integer nodoId) {
+        this.nodoId = nodoId;
+    }
+
+    public String getSecuenciaNodo() {
+        return secuenciaNodo;
+    }
+
+    public void setSecuenciaNodo(String secuenciaNodo) {
+        this.secuenciaNodo = secuenciaNodo;
+    }
+
+    @Override
+    public String toString() {
+        return "NumeroFacturaProperties{" +
+               "nodoId=" + nodoId +
+               ", secuenciaNodo='" + secuenciaNodo + '\'' +
+               '}';
+    }
+}
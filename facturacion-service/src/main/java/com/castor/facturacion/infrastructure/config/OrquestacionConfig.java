@@ -0,0 +1,43 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.castor.facturacion.application.service.EjecucionConcurrente;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuración de la ejecución concurrente de dependencias en los casos de uso.
+ *
+ * Las subtareas corren en hilos virtuales (una por subtarea) y heredan el contexto del
+ * hilo que las lanza: la traza de Micrometer Tracing y el CasoDeUsoContexto que usan las
+ * métricas de retención de conexiones.
+ */
+@Configuration
+public class OrquestacionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(OrquestacionConfig.class);
+
+    static final String CASO_DE_USO = "facturacion.caso-de-uso";
+
+    @Bean(destroyMethod = "close")
+    public EjecucionConcurrente ejecucionConcurrente(OrquestacionProperties properties) {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CASO_DE_USO,
+            CasoDeUsoContexto::actualSiHay, CasoDeUsoContexto::establecer, CasoDeUsoContexto::limpiar);
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+
+        ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("caso-de-uso-", 0).factory()),
+            snapshots::captureAll);
+
+        log.info("Ejecución concurrente de dependencias - Plazo: {}, máximo por caso de uso: {}",
+            properties.getPlazo(), properties.getMaxConcurrencia());
+        return new EjecucionConcurrente(executor, properties.getPlazo(), properties.getMaxConcurrencia());
+    }
+}
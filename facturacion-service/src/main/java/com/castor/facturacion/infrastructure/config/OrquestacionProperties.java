@@ -0,0 +1,61 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuración externalizada para la ejecución concurrente de las dependencias
+ * de un caso de uso (EjecucionConcurrente).
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "orquestacion")
+@Validated
+public class OrquestacionProperties {
+
+    /**
+     * Plazo total para las llamadas concurrentes de un caso de uso
+     */
+    @NotNull
+    private Duration plazo = Duration.ofSeconds(10);
+
+    /**
+     * Subtareas que un mismo caso de uso puede tener en curso a la vez
+     */
+    @Min(1)
+    private int maxConcurrencia = 32;
+
+    // Constructor por defecto
+    public OrquestacionProperties() {
+    }
+
+    // Getters y Setters
+
+    public Duration getPlazo() {
+        return plazo;
+    }
+
+    public void setPlazo(Duration plazo) {
+        this.plazo = plazo;
+    }
+
+    public int getMaxConcurrencia() {
+        return maxConcurrencia;
+    }
+
+    public void setMaxConcurrencia(int maxConcurrencia) {
+        this.maxConcurrencia = maxConcurrencia;
+    }
+
+    @Override
+    public String toString() {
+        return "OrquestacionProperties{" +
+               "plazo=" + plazo +
+               ", maxConcurrencia=" + maxConcurrencia +
+               '}';
+    }
+}
@@ -0,0 +1,104 @@
+package com.castor.facturacion.infrastructure.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuración externalizada para el motor de reglas de impuestos en proceso
+ * (MotorReglasImpuestos).
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "reglas-impuestos")
+@Validated
+public class ReglasImpuestosProperties {
+
+    /**
+     * Archivo JSON con las tasas de impuesto por categoría (file: o classpath:)
+     */
+    @NotBlank
+    private String archivo = "classpath:tasas-impuestos.json";
+
+    /**
+     * Cada cuánto se revisa si el archivo cambió; solo aplica a archivos del sistema de archivos
+     */
+    @NotNull
+    private Duration intervaloRecarga = Duration.ofSeconds(30);
+
+    /**
+     * Categoría cuya tasa se aplica a los items sin porcentaje de impuesto propio ni categoría
+     */
+    @NotBlank
+    private String categoriaPorDefecto = "general";
+
+    /**
+     * Calcula cada item en tax-calculator-service con la tasa resuelta por el motor
+     */
+    private boolean calculoRemoto = false;
+
+    /**
+     * Compara en segundo plano cada cálculo con tax-calculator-service; no aplica con calculo-remoto
+     */
+    private boolean verificacionRemota = false;
+
+    // Constructor por defecto
+    public ReglasImpuestosProperties() {
+    }
+
+    // Getters y Setters
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public void setArchivo(String archivo) {
+        this.archivo = archivo;
+    }
+
+    public Duration getIntervaloRecarga() {
+        return intervaloRecarga;
+    }
+
+    public void setIntervaloRecarga(Duration intervaloRecarga) {
+        this.intervaloRecarga = intervaloRecarga;
+    }
+
+    public String getCategoriaPorDefecto() {
+        return categoriaPorDefecto;
+    }
+
+    public void setCategoriaPorDefecto(String categoriaPorDefecto) {
+        this.categoriaPorDefecto = categoriaPorDefecto;
+    }
+
+    public boolean isCalculoRemoto() {
+        return calculoRemoto;
+    }
+
+    public void setCalculoRemoto(boolean calculoRemoto) {
+        this.calculoRemoto = calculoRemoto;
+    }
+
+    public boolean isVerificacionRemota() {
+        return verificacionRemota;
+    }
+
+    public void setVerificacionRemota(boolean verificacionRemota) {
+        this.verificacionRemota = verificacionRemota;
+    }
+
+    @Override
+    public String toString() {
+        return "ReglasImpuestosProperties{" +
+               "archivo='" + archivo + '\'' +
+               ", intervaloRecarga=" + intervaloRecarga +
+               ", categoriaPorDefecto='" + categoriaPorDefecto + '\'' +
+               ", calculoRemoto=" + calculoRemoto +
+               ", verificacionRemota=" + verificacionRemota +
+               '}';
+    }
+}
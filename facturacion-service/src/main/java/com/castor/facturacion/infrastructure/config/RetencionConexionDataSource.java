@@ -0,0 +1,83 @@
+package com.castor.facturacion.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que mide cuánto tiempo se retiene cada conexión del pool.
+ *
+ * Registra el timer facturacion.db.conexion.retencion (desde getConnection hasta close)
+ * con el tag caso_uso tomado de CasoDeUsoContexto en el momento de obtener la conexión.
+ * Permite verificar que ningún caso de uso retiene conexiones durante llamadas remotas.
+ *
+ * Es Closeable y reenvía close() al pool: Spring infiere el método de destrucción del bean,
+ * de modo que Hikari se cierra al detener el contexto.
+ */
+public class RetencionConexionDataSource extends DelegatingDataSource implements Closeable {
+
+    public static final String METRICA = "facturacion.db.conexion.retencion";
+
+    private final MeterRegistry meterRegistry;
+
+    public RetencionConexionDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(super.getConnection(username, password));
+    }
+
+    /**
+     * Cierra el pool envuelto, si es cerrable
+     */
+    @Override
+    public void close() throws IOException {
+        DataSource pool = getTargetDataSource();
+        if (pool instanceof Closeable cerrable) {
+            cerrable.close();
+        }
+    }
+
+    private Connection medir(Connection conexion) {
+        Timer timer = Timer.builder(METRICA)
+            .description("Tiempo que una conexión JDBC permanece fuera del pool")
+            .tag("caso_uso", CasoDeUsoContexto.actual())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        long inicio = System.nanoTime();
+        boolean[] cerrada = {false};
+
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && !cerrada[0]) {
+                    cerrada[0] = true;
+                    timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    return method.invoke(conexion, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package com.castor.facturacion.infrastructure.config;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -63,6 +65,49 @@ public class TaxCalculatorProperties {
     @NotNull
     private java.math.BigDecimal defaultDiscountRate = new java.math.BigDecimal("10.00");
 
+    /**
+     * Máximo de resultados por firma de item en cache
+     */
+    @Min(1)
+    private long cacheMaxSize = 10_000;
+
+    /**
+     * Tiempo que se conserva un resultado en cache
+     */
+    @NotNull
+    private Duration cacheExpiration = Duration.ofHours(12);
+
+    /**
+     * Versión de las reglas de cálculo; forma parte de la firma de cada resultado en cache
+     */
+    @NotBlank
+    private String rulesVersion = "1";
+
+    /**
+     * Agrupar los items de varias peticiones concurrentes en una llamada a POST /calcular
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * Tiempo máximo que un cálculo espera a que se complete su lote
+     */
+    @NotNull
+    private Duration batchWindow = Duration.ofMillis(2);
+
+    /**
+     * Items distintos por lote: al alcanzarlo el lote se envía sin esperar la ventana.
+     * Una petición con más items que este máximo viaja igual, en un lote propio
+     */
+    @Min(1)
+    @Max(1000)
+    private int batchMaxSize = 100;
+
+    /**
+     * Enviar las peticiones en CBOR con el esquema compacto; si el servicio no lo acepta
+     * se usa JSON
+     */
+    private boolean compactEncoding = false;
+
     // Constructor por defecto
     public TaxCalculatorProperties() {
     }
@@ -133,6 +178,62 @@ public class TaxCalculatorProperties {
         this.defaultDiscountRate = defaultDiscountRate;
     }
 
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Duration getCacheExpiration() {
+        return cacheExpiration;
+    }
+
+    public void setCacheExpiration(Duration cacheExpiration) {
+        this.cacheExpiration = cacheExpiration;
+    }
+
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public void setRulesVersion(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public boolean isCompactEncoding() {
+        return compactEncoding;
+    }
+
+    public void setCompactEncoding(boolean compactEncoding) {
+        this.compactEncoding = compactEncoding;
+    }
+
     @Override
     public String toString() {
         return "TaxCalculatorProperties{" +
@@ -144,6 +245,13 @@ public class TaxCalculatorProperties {
                ", enableLogging=" + enableLogging +
                ", defaultTaxRate=" + defaultTaxRate +
                ", defaultDiscountRate=" + defaultDiscountRate +
+               ", cacheMaxSize=" + cacheMaxSize +
+               ", cacheExpiration=" + cacheExpiration +
+               ", rulesVersion='" + rulesVersion + '\'' +
+               ", batchEnabled=" + batchEnabled +
+               ", batchWindow=" + batchWindow +
+               ", batchMaxSize=" + batchMaxSize +
+               ", compactEncoding=" + compactEncoding +
                '}';
     }
 }
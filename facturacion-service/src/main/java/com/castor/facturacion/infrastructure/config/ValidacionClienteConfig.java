@@ -0,0 +1,25 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la estrategia de validación del cliente al crear facturas.
+ *
+ * La estrategia se publica como bean para que la compartan el caso de uso (validación
+ * remota) y el adaptador de persistencia (validación local en la transacción del INSERT).
+ */
+@Configuration
+public class ValidacionClienteConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidacionClienteConfig.class);
+
+    @Bean
+    public EstrategiaValidacionCliente estrategiaValidacionCliente(ValidacionClienteProperties properties) {
+        log.info("Validación de cliente al crear facturas - Estrategia: {}", properties.getEstrategia());
+        return properties.getEstrategia();
+    }
+}
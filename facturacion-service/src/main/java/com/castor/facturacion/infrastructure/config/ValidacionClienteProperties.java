@@ -0,0 +1,63 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuración externalizada para la validación del cliente al crear facturas.
+ *
+ * Usa @ConfigurationProperties para mapear propiedades desde application.yml
+ */
+@ConfigurationProperties(prefix = "validacion-cliente")
+@Validated
+public class ValidacionClienteProperties {
+
+    /**
+     * REMOTA (clientes-service), LOCAL (tabla CLIENTES_CDC en la transacción del INSERT) o AMBAS
+     */
+    @NotNull
+    private EstrategiaValidacionCliente estrategia = EstrategiaValidacionCliente.REMOTA;
+
+    /**
+     * Tabla Oracle con la réplica de clientes que mantiene el sink de Debezium.
+     * Se concatena en el SQL de ValidadorClientesCdcJdbc: solo se acepta un identificador
+     * Oracle sin comillas, opcionalmente calificado con el esquema (ESQUEMA.TABLA)
+     */
+    @NotNull
+    @Pattern(regexp = "[A-Za-z][A-Za-z0-9_$#]{0,127}(\\.[A-Za-z][A-Za-z0-9_$#]{0,127})?",
+             message = "debe ser un identificador SQL (TABLA o ESQUEMA.TABLA)")
+    private String tablaClientes = "CLIENTES_CDC";
+
+    // Constructor por defecto
+    public ValidacionClienteProperties() {
+    }
+
+    // Getters y Setters
+
+    public EstrategiaValidacionCliente getEstrategia() {
+        return estrategia;
+    }
+
+    public void setEstrategia(EstrategiaValidacionCliente estrategia) {
+        this.estrategia = estrategia;
+    }
+
+    public String getTablaClientes() {
+        return tablaClientes;
+    }
+
+    public void setTablaClientes(String tablaClientes) {
+        this.tablaClientes = tablaClientes;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidacionClienteProperties{" +
+               "estrategia=" + estrategia +
+               ", tablaClientes='" + tablaClientes + '\'' +
+               '}';
+    }
+}
@@ -1,16 +1,21 @@
 package com.castor.facturacion.application.service;
 
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
 import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.domain.port.out.ClienteValidationPort;
 import com.castor.facturacion.domain.port.out.FacturaRepositoryPort;
 import com.castor.facturacion.domain.port.out.TaxCalculatorPort;
 import com.castor.facturacion.domain.valueobject.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -19,9 +24,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,11 +46,18 @@ import static org.mockito.BDDMockito.*;
  * - Tests de anulación de facturas
  * - Tests de circuit breaker y fallback
  * - Tests de cálculo de totales
+ * - Tests de impuestos calculados con TaxCalculatorPort al crear
+ * - Tests de creación en lote con fallos parciales
+ * - Tests de listado por cursor
+ * - Tests de estrategia de validación de cliente
+ * - Tests de ejecución concurrente de dependencias (plazo y cancelación)
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("FacturaService - Tests Unitarios")
 class FacturaServiceTest {
 
+    private static final GeneradorNumeroFactura NUMEROS = new GeneradorNumeroFactura(0);
+
     @Mock
     private FacturaRepositoryPort facturaRepository;
 
@@ -50,7 +67,7 @@ class FacturaServiceTest {
     @Mock
     private TaxCalculatorPort taxCalculator;
 
-    @InjectMocks
+    private EjecucionConcurrente ejecucion;
     private FacturaService facturaService;
 
     private Factura facturaEjemplo;
@@ -58,6 +75,14 @@ class FacturaServiceTest {
 
     @BeforeEach
     void setUp() {
+        ejecucion = new EjecucionConcurrente(Executors.newVirtualThreadPerTaskExecutor(), Duration.ofSeconds(5), 8);
+        facturaService = new FacturaService(facturaRepository, clienteValidation, taxCalculator,
+            EstrategiaValidacionCliente.REMOTA, ejecucion);
+
+        // Por defecto el cálculo de impuestos devuelve los items tal como llegan (ya traen tasa)
+        lenient().when(taxCalculator.calcularImpuestosYDescuentos(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
         // Preparar datos de ejemplo
         ItemFactura item1 = ItemFactura.crear(
             "Producto A",
@@ -76,7 +101,12 @@ class FacturaServiceTest {
         );
 
         itemsEjemplo = List.of(item1, item2);
-        facturaEjemplo = Factura.crear(1L, itemsEjemplo);
+        facturaEjemplo = Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ejecucion.close();
     }
 
     @Test
@@ -122,7 +152,7 @@ class FacturaServiceTest {
         // Given - cliente no existe (retorna false)
         given(clienteValidation.esClienteActivo(999L)).willReturn(false);
 
-        Factura facturaClienteInexistente = Factura.crear(999L, itemsEjemplo);
+        Factura facturaClienteInexistente = Factura.crear(NUMEROS.siguiente(), 999L, itemsEjemplo);
 
         // When & Then
         assertThatThrownBy(() -> facturaService.crearFactura(facturaClienteInexistente))
@@ -136,7 +166,7 @@ class FacturaServiceTest {
     @DisplayName("Test 04: Crear factura inválida debe lanzar excepción")
     void testCrearFactura_FacturaInvalida_LanzaExcepcion() {
         // Given - crear factura sin items (inválida)
-        assertThatThrownBy(() -> Factura.crear(1L, List.of()))
+        assertThatThrownBy(() -> Factura.crear(NUMEROS.siguiente(), 1L, List.of()))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("al menos un ítem");
     }
@@ -237,7 +267,6 @@ class FacturaServiceTest {
             .hasMessageContaining("El cliente no existe");
 
         then(clienteValidation).should().existeCliente(clienteId);
-        then(facturaRepository).should(never()).listarPorCliente(any(), any());
     }
 
     @Test
@@ -301,7 +330,7 @@ class FacturaServiceTest {
             Porcentaje.de(new BigDecimal("10.00"))  // Descuento 10% = 100
         );
 
-        Factura factura = Factura.crear(1L, List.of(item));
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, List.of(item));
         given(clienteValidation.esClienteActivo(1L)).willReturn(true);
         given(facturaRepository.guardar(any(Factura.class))).willReturn(factura);
 
@@ -354,4 +383,399 @@ class FacturaServiceTest {
         assertThat(resultado.getFechaCreacion()).isNotNull();
         assertThat(resultado.getFechaCreacion()).isBefore(LocalDateTime.now().plusSeconds(1));
     }
+
+    @Test
+    @DisplayName("Test 16: Lote valida cada cliente distinto una sola vez")
+    void testCrearFacturasEnLote_ValidaClienteUnaVez() {
+        // Given
+        List<Factura> lote = List.of(
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 2L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo)
+        );
+        given(clienteValidation.esClienteActivo(anyLong())).willReturn(true);
+        given(facturaRepository.guardarTodas(anyList())).willAnswer(invocation -> {
+            List<Factura> facturas = invocation.getArgument(0);
+            return java.util.stream.IntStream.range(0, facturas.size())
+                .mapToObj(i -> ResultadoCreacionFactura.exitoso(i, facturas.get(i)))
+                .toList();
+        });
+
+        // When
+        List<ResultadoCreacionFactura> resultados = facturaService.crearFacturasEnLote(lote);
+
+        // Then
+        assertThat(resultados).hasSize(4).allMatch(ResultadoCreacionFactura::esExitoso);
+        then(clienteValidation).should(times(1)).esClienteActivo(1L);
+        then(clienteValidation).should(times(1)).esClienteActivo(2L);
+        then(facturaRepository).should(times(1)).guardarTodas(anyList());
+        then(facturaRepository).should(never()).guardar(any(Factura.class));
+    }
+
+    @Test
+    @DisplayName("Test 17: Lote con cliente inactivo rechaza solo sus facturas y conserva los índices")
+    void testCrearFacturasEnLote_ClienteInactivo_FalloParcial() {
+        // Given
+        List<Factura> lote = List.of(
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 2L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo)
+        );
+        given(clienteValidation.esClienteActivo(1L)).willReturn(true);
+        given(clienteValidation.esClienteActivo(2L)).willReturn(false);
+        given(facturaRepository.guardarTodas(anyList())).willAnswer(invocation -> {
+            List<Factura> facturas = invocation.getArgument(0);
+            return List.of(
+                ResultadoCreacionFactura.exitoso(0, facturas.get(0)),
+                ResultadoCreacionFactura.fallido(1, "ORA-00001: restricción única violada")
+            );
+        });
+
+        // When
+        List<ResultadoCreacionFactura> resultados = facturaService.crearFacturasEnLote(lote);
+
+        // Then
+        assertThat(resultados).extracting(ResultadoCreacionFactura::getIndice).containsExactly(0, 1, 2);
+        assertThat(resultados.get(0).esExitoso()).isTrue();
+        assertThat(resultados.get(1).esExitoso()).isFalse();
+        assertThat(resultados.get(1).getError()).contains("no está activo");
+        assertThat(resultados.get(2).esExitoso()).isFalse();
+        assertThat(resultados.get(2).getError()).contains("ORA-00001");
+    }
+
+    @Test
+    @DisplayName("Test 18: Listado por cursor valida el cliente solo en la primera página")
+    void testListarFacturasPorClienteConCursor_ValidaSoloPrimeraPagina() {
+        // Given
+        CursorFactura cursor = CursorFactura.of(LocalDateTime.of(2025, 1, 16, 12, 0), 10L);
+        PaginaCursor<Factura> pagina = new PaginaCursor<>(List.of(facturaEjemplo), null);
+        given(clienteValidation.existeCliente(1L)).willReturn(true);
+        given(facturaRepository.listarPorClienteConCursor(eq(1L), any(), eq(10))).willReturn(pagina);
+
+        // When
+        facturaService.listarFacturasPorClienteConCursor(1L, null, 10);
+        PaginaCursor<Factura> siguiente = facturaService.listarFacturasPorClienteConCursor(1L, cursor, 10);
+
+        // Then
+        assertThat(siguiente.getContenido()).hasSize(1);
+        assertThat(siguiente.tieneSiguiente()).isFalse();
+        then(clienteValidation).should(times(1)).existeCliente(1L);
+        then(facturaRepository).should().listarPorClienteConCursor(1L, cursor, 10);
+    }
+
+    @Test
+    @DisplayName("Test 19: Listar resumen por cliente no existente debe descartar la consulta del repositorio")
+    void testListarResumenFacturasPorCliente_ClienteNoExiste_LanzaExcepcion() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        given(clienteValidation.existeCliente(999L)).willReturn(false);
+
+        // When & Then
+        // When & Then - la consulta corre a la vez que la validación, pero su página no se devuelve
+        assertThatThrownBy(() -> facturaService.listarResumenFacturasPorCliente(999L, pageable))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("El cliente no existe");
+    }
+
+    @Test
+    @DisplayName("Test 20: Listar resumen debe delegar en la proyección del repositorio")
+    void testListarResumenFacturas_DelegaEnRepositorio() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        ResumenFactura resumen = new ResumenFactura(1L, "FACT-001", 1L, new BigDecimal("100.00"),
+            new BigDecimal("19.00"), BigDecimal.ZERO, new BigDecimal("119.00"), LocalDateTime.now());
+        given(facturaRepository.listarResumenes(pageable)).willReturn(new PageImpl<>(List.of(resumen), pageable, 1));
+
+        // When
+        Page<ResumenFactura> resultado = facturaService.listarResumenFacturas(pageable);
+
+        // Then
+        assertThat(resultado.getContent()).containsExactly(resumen);
+        then(facturaRepository).should(never()).listarTodas(any());
+    }
+
+    @Test
+    @DisplayName("Test 21: Exportar facturas de un cliente inexistente no debe abrir el cursor")
+    void testExportarFacturas_ClienteNoExiste_LanzaExcepcion() {
+        // Given
+        FiltroExportacion filtro = FiltroExportacion.of(null, null, 999L);
+        given(clienteValidation.existeCliente(999L)).willReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> facturaService.exportarFacturas(filtro, factura -> { }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("El cliente no existe");
+
+        then(facturaRepository).should(never()).exportarConItems(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test 22: Con estrategia LOCAL crear factura no llama a clientes-service")
+    void testCrearFactura_EstrategiaLocal_NoValidaRemoto() {
+        // Given
+        FacturaService servicioLocal = new FacturaService(facturaRepository, clienteValidation, taxCalculator,
+            EstrategiaValidacionCliente.LOCAL, ejecucion);
+        given(facturaRepository.guardar(any(Factura.class))).willReturn(facturaEjemplo);
+
+        // When
+        servicioLocal.crearFactura(facturaEjemplo);
+
+        // Then
+        then(clienteValidation).shouldHaveNoInteractions();
+        then(facturaRepository).should().guardar(facturaEjemplo);
+    }
+
+    @Test
+    @DisplayName("Test 23: Con estrategia LOCAL el lote delega la validación en la persistencia")
+    void testCrearFacturasEnLote_EstrategiaLocal_NoValidaRemoto() {
+        // Given
+        FacturaService servicioLocal = new FacturaService(facturaRepository, clienteValidation, taxCalculator,
+            EstrategiaValidacionCliente.LOCAL, ejecucion);
+        List<Factura> lote = List.of(Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo), Factura.crear(NUMEROS.siguiente(), 2L, itemsEjemplo));
+        given(facturaRepository.guardarTodas(anyList())).willAnswer(invocation -> {
+            List<Factura> facturas = invocation.getArgument(0);
+            return List.of(
+                ResultadoCreacionFactura.exitoso(0, facturas.get(0)),
+                ResultadoCreacionFactura.fallido(1, "Cliente inválido: 2 no existe o no está activo")
+            );
+        });
+
+        // When
+        List<ResultadoCreacionFactura> resultados = servicioLocal.crearFacturasEnLote(lote);
+
+        // Then
+        assertThat(resultados.get(0).esExitoso()).isTrue();
+        assertThat(resultados.get(1).getError()).contains("no está activo");
+        then(clienteValidation).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Test 24: Listar por cliente valida la existencia y consulta la página a la vez")
+    void testListarFacturasPorCliente_DependenciasConcurrentes() {
+        // Given - cada dependencia solo termina si la otra ya empezó
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Factura> facturasPage = new PageImpl<>(List.of(facturaEjemplo), pageable, 1);
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        given(clienteValidation.existeCliente(1L)).willAnswer(invocation -> {
+            iniciadas.countDown();
+            return iniciadas.await(2, TimeUnit.SECONDS);
+        });
+        given(facturaRepository.listarPorCliente(1L, pageable)).willAnswer(invocation -> {
+            iniciadas.countDown();
+            assertThat(iniciadas.await(2, TimeUnit.SECONDS)).isTrue();
+            return facturasPage;
+        });
+
+        // When
+        Page<Factura> resultado = facturaService.listarFacturasPorCliente(1L, pageable);
+
+        // Then
+        assertThat(resultado.getContent()).containsExactly(facturaEjemplo);
+    }
+
+    @Test
+    @DisplayName("Test 25: Si el cliente no existe se responde sin esperar la consulta en curso, sin interrumpirla")
+    void testListarFacturasPorCliente_ClienteNoExiste_CancelaConsulta() throws Exception {
+        // Given - la consulta tarda más que la validación del cliente
+        Pageable pageable = PageRequest.of(0, 10);
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch consultaTerminada = new CountDownLatch(1);
+        AtomicBoolean consultaInterrumpida = new AtomicBoolean();
+        given(facturaRepository.listarPorCliente(999L, pageable)).willAnswer(invocation -> {
+            consultaIniciada.countDown();
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                consultaInterrumpida.set(true);
+            } finally {
+                consultaTerminada.countDown();
+            }
+            return Page.empty(pageable);
+        });
+        given(clienteValidation.existeCliente(999L)).willAnswer(invocation -> {
+            consultaIniciada.await(2, TimeUnit.SECONDS);
+            return false;
+        });
+
+        // When & Then
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> facturaService.listarFacturasPorCliente(999L, pageable))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("El cliente no existe");
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(800));
+
+        // La consulta no se interrumpe (en JDBC cerraría la conexión): termina sola y se descarta
+        assertThat(consultaTerminada.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(consultaInterrumpida).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test 26: Vencido el plazo se cancelan las dependencias y se lanza excepción")
+    void testListarFacturasPorCliente_PlazoAgotado() throws Exception {
+        // Given
+        EjecucionConcurrente ejecucionCorta =
+            new EjecucionConcurrente(Executors.newVirtualThreadPerTaskExecutor(), Duration.ofMillis(100), 8);
+        FacturaService servicio = new FacturaService(facturaRepository, clienteValidation, taxCalculator,
+            EstrategiaValidacionCliente.REMOTA, ejecucionCorta);
+        Pageable pageable = PageRequest.of(0, 10);
+        CountDownLatch terminada = new CountDownLatch(1);
+        AtomicBoolean interrumpida = new AtomicBoolean();
+        given(clienteValidation.existeCliente(1L)).willAnswer(invocation -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                interrumpida.set(true);
+            } finally {
+                terminada.countDown();
+            }
+            return true;
+        });
+
+        // When & Then - se responde al vencer el plazo; la dependencia termina sin interrupción
+        try {
+            assertThatThrownBy(() -> servicio.listarFacturasPorCliente(1L, pageable))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Plazo");
+            assertThat(terminada.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(interrumpida).isFalse();
+        } finally {
+            ejecucionCorta.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 27: Lote valida sus clientes distintos a la vez")
+    void testCrearFacturasEnLote_ValidacionesConcurrentes() {
+        // Given - la validación de cada cliente solo termina si la del otro ya empezó
+        List<Factura> lote = List.of(Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo), Factura.crear(NUMEROS.siguiente(), 2L, itemsEjemplo));
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        given(clienteValidation.esClienteActivo(anyLong())).willAnswer(invocation -> {
+            iniciadas.countDown();
+            return iniciadas.await(2, TimeUnit.SECONDS);
+        });
+        given(facturaRepository.guardarTodas(anyList())).willAnswer(invocation -> {
+            List<Factura> facturas = invocation.getArgument(0);
+            return java.util.stream.IntStream.range(0, facturas.size())
+                .mapToObj(i -> ResultadoCreacionFactura.exitoso(i, facturas.get(i)))
+                .toList();
+        });
+
+        // When
+        List<ResultadoCreacionFactura> resultados = facturaService.crearFacturasEnLote(lote);
+
+        // Then
+        assertThat(resultados).hasSize(2).allMatch(ResultadoCreacionFactura::esExitoso);
+    }
+
+    @Test
+    @DisplayName("Test 28: Crear factura persiste los impuestos calculados por TaxCalculatorPort")
+    void testCrearFactura_AplicaImpuestosDelPuerto() {
+        // Given - item sin porcentaje; el puerto le aplica la tasa de su categoría (5%)
+        ItemFactura sinTasa = ItemFactura.crearPorCategoria("Libro", Cantidad.of(2),
+            Dinero.of(new BigDecimal("100.00")), "reducida", Porcentaje.cero());
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, List.of(sinTasa));
+        given(clienteValidation.esClienteActivo(1L)).willReturn(true);
+        given(taxCalculator.calcularImpuestosYDescuentos(List.of(sinTasa))).willReturn(List.of(
+            ItemFactura.crear("Libro", Cantidad.of(2), Dinero.of(new BigDecimal("100.00")),
+                Porcentaje.of(new BigDecimal("5.00")), Porcentaje.cero())));
+        given(facturaRepository.guardar(any(Factura.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Factura resultado = facturaService.crearFactura(factura);
+
+        // Then
+        assertThat(resultado.getItems()).singleElement()
+            .satisfies(item -> assertThat(item.getPorcentajeImpuesto().getValor()).isEqualByComparingTo("5.00"));
+        assertThat(resultado.getTotalImpuestos().getCantidad()).isEqualByComparingTo("10.00");
+        assertThat(resultado.getTotalFinal().getCantidad()).isEqualByComparingTo("210.00");
+    }
+
+    @Test
+    @DisplayName("Test 29: Lote con una categoría sin tasa rechaza solo esa factura")
+    void testCrearFacturasEnLote_CategoriaSinTasa_FalloParcial() {
+        // Given
+        ItemFactura desconocida = ItemFactura.crearPorCategoria("Servicio", Cantidad.of(1),
+            Dinero.of(new BigDecimal("100.00")), "inexistente", Porcentaje.cero());
+        List<Factura> lote = List.of(
+            Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo),
+            Factura.crear(NUMEROS.siguiente(), 1L, List.of(desconocida))
+        );
+        given(clienteValidation.esClienteActivo(1L)).willReturn(true);
+        given(taxCalculator.calcularImpuestosYDescuentos(List.of(desconocida)))
+            .willThrow(new IllegalArgumentException("Categoría sin tasa de impuesto: inexistente"));
+        given(facturaRepository.guardarTodas(anyList())).willAnswer(invocation -> {
+            List<Factura> facturas = invocation.getArgument(0);
+            return java.util.stream.IntStream.range(0, facturas.size())
+                .mapToObj(i -> ResultadoCreacionFactura.exitoso(i, facturas.get(i)))
+                .toList();
+        });
+
+        // When
+        List<ResultadoCreacionFactura> resultados = facturaService.crearFacturasEnLote(lote);
+
+        // Then
+        assertThat(resultados.get(0).esExitoso()).isTrue();
+        assertThat(resultados.get(1).esExitoso()).isFalse();
+        assertThat(resultados.get(1).getError()).contains("Categoría sin tasa de impuesto");
+    }
+
+    @Test
+    @DisplayName("Test 30: Crear factura valida el cliente y calcula los impuestos a la vez")
+    void testCrearFactura_ValidacionEImpuestosConcurrentes() {
+        // Given - cada dependencia solo termina si la otra ya empezó
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        given(clienteValidation.esClienteActivo(1L)).willAnswer(invocation -> {
+            iniciadas.countDown();
+            return iniciadas.await(2, TimeUnit.SECONDS);
+        });
+        given(taxCalculator.calcularImpuestosYDescuentos(itemsEjemplo)).willAnswer(invocation -> {
+            iniciadas.countDown();
+            assertThat(iniciadas.await(2, TimeUnit.SECONDS)).isTrue();
+            return itemsEjemplo;
+        });
+        given(facturaRepository.guardar(any(Factura.class))).willReturn(facturaEjemplo);
+
+        // When
+        Factura resultado = facturaService.crearFactura(facturaEjemplo);
+
+        // Then
+        assertThat(resultado).isEqualTo(facturaEjemplo);
+    }
+
+    @Test
+    @DisplayName("Test 31: Si el cliente no está activo se responde sin esperar el cálculo de impuestos")
+    void testCrearFactura_ClienteInactivo_DescartaImpuestos() throws Exception {
+        // Given - el cálculo tarda más que la validación del cliente
+        CountDownLatch calculoIniciado = new CountDownLatch(1);
+        CountDownLatch calculoTerminado = new CountDownLatch(1);
+        AtomicBoolean calculoInterrumpido = new AtomicBoolean();
+        given(taxCalculator.calcularImpuestosYDescuentos(itemsEjemplo)).willAnswer(invocation -> {
+            calculoIniciado.countDown();
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                calculoInterrumpido.set(true);
+            } finally {
+                calculoTerminado.countDown();
+            }
+            return itemsEjemplo;
+        });
+        given(clienteValidation.esClienteActivo(1L)).willAnswer(invocation -> {
+            calculoIniciado.await(2, TimeUnit.SECONDS);
+            return false;
+        });
+
+        // When & Then
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> facturaService.crearFactura(facturaEjemplo))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no está activo");
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(800));
+
+        // El cálculo termina sin interrupción, su resultado se descarta y no se persiste nada
+        assertThat(calculoTerminado.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(calculoInterrumpido).isFalse();
+        then(facturaRepository).shouldHaveNoInteractions();
+    }
 }
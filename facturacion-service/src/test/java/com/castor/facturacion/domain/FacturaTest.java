@@ -0,0 +1,149 @@
+package com.castor.facturacion.domain;
+
+import com.castor.facturacion.domain.valueobject.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios del agregado Factura.
+ *
+ * Cobertura:
+ * - Totales incrementales de agregarItem vs recálculo completo
+ * - Estado de totales al reconstituir desde persistencia
+ * - Moneda de los totales
+ * - Impuestos aplicados a ítems sin porcentaje propio
+ */
+@DisplayName("Factura - Tests del Agregado")
+class FacturaTest {
+
+    private static final GeneradorNumeroFactura NUMEROS = new GeneradorNumeroFactura(0);
+
+    private static ItemFactura item(int i) {
+        return ItemFactura.crear(
+            "Producto " + i,
+            Cantidad.of(1 + i % 5),
+            Dinero.of(new BigDecimal("10.05").multiply(BigDecimal.valueOf(i + 1))),
+            Porcentaje.of(new BigDecimal("19.00")),
+            Porcentaje.of(new BigDecimal("7.5"))
+        );
+    }
+
+    @Test
+    @DisplayName("Test 01: Totales incrementales coinciden con el cálculo completo")
+    void testAgregarItem_TotalesIncrementales_CoincidenConCalculoCompleto() {
+        // Given
+        List<ItemFactura> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(item(i));
+        }
+
+        // When
+        Factura incremental = Factura.crear(NUMEROS.siguiente(), 1L, items.subList(0, 1));
+        for (int i = 1; i < items.size(); i++) {
+            incremental.agregarItem(items.get(i));
+        }
+        Factura completa = Factura.crear(NUMEROS.siguiente(), 1L, items);
+
+        // Then
+        assertThat(incremental.tieneTotalesActualizados()).isTrue();
+        assertThat(incremental.getSubtotalGeneral()).isEqualTo(completa.getSubtotalGeneral());
+        assertThat(incremental.getTotalImpuestos()).isEqualTo(completa.getTotalImpuestos());
+        assertThat(incremental.getTotalDescuentos()).isEqualTo(completa.getTotalDescuentos());
+        assertThat(incremental.getTotalFinal()).isEqualTo(completa.getTotalFinal());
+    }
+
+    @Test
+    @DisplayName("Test 02: Agregar más de 100 ítems debe lanzar excepción")
+    void testAgregarItem_ExcedeLimite_LanzaExcepcion() {
+        List<ItemFactura> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(item(i));
+        }
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, items);
+
+        assertThatThrownBy(() -> factura.agregarItem(item(100)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("100");
+    }
+
+    @Test
+    @DisplayName("Test 03: Reconstituir sin totales marca la factura para recálculo")
+    void testReconstituir_SinTotales_RequiereRecalculo() {
+        // Given
+        Factura factura = Factura.reconstituir(
+            FacturaId.of(1L), NumeroFactura.of("FACT-1"), 1L, List.of(item(0)),
+            null, null, null, null, LocalDateTime.now()
+        );
+        assertThat(factura.tieneTotalesActualizados()).isFalse();
+
+        // When
+        factura.agregarItem(item(1));
+
+        // Then
+        assertThat(factura.tieneTotalesActualizados()).isTrue();
+        assertThat(factura.getSubtotalGeneral())
+            .isEqualTo(item(0).getSubtotal().sumar(item(1).getSubtotal()));
+    }
+
+    @Test
+    @DisplayName("Test 04: Los totales conservan la moneda de los ítems")
+    void testTotales_ConservanMonedaDeLosItems() {
+        // Given
+        Currency usd = Currency.getInstance("USD");
+        ItemFactura enDolares = ItemFactura.crear("Licencia", Cantidad.of(2),
+            Dinero.of(new BigDecimal("15.00"), usd), Porcentaje.of(new BigDecimal("19.00")), Porcentaje.cero());
+
+        // When
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, List.of(enDolares));
+        factura.agregarItem(enDolares);
+
+        // Then
+        assertThat(factura.getSubtotalGeneral()).isEqualTo(Dinero.of(new BigDecimal("60.00"), usd));
+        assertThat(factura.getTotalImpuestos().getMoneda()).isEqualTo(usd);
+        assertThat(factura.getTotalDescuentos().getMoneda()).isEqualTo(usd);
+        assertThat(factura.getTotalFinal()).isEqualTo(Dinero.of(new BigDecimal("71.40"), usd));
+    }
+
+    @Test
+    @DisplayName("Test 05: Ítems con monedas distintas deben lanzar excepción")
+    void testItemsConMonedasDistintas_LanzaExcepcion() {
+        // Given
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, List.of(item(0)));
+        ItemFactura enDolares = ItemFactura.crear("Licencia", Cantidad.of(1),
+            Dinero.of(new BigDecimal("15.00"), Currency.getInstance("USD")), Porcentaje.cero(), Porcentaje.cero());
+
+        // When / Then
+        assertThatThrownBy(() -> factura.agregarItem(enDolares))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("diferentes monedas");
+        assertThatThrownBy(() -> Factura.crear(NUMEROS.siguiente(), 1L, List.of(item(0), enDolares)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Test 06: Un ítem por categoría no lleva impuesto hasta aplicar los calculados")
+    void testAplicarImpuestos_ItemPorCategoria() {
+        // Given
+        ItemFactura porCategoria = ItemFactura.crearPorCategoria("Libro", Cantidad.of(1),
+            Dinero.of(new BigDecimal("100.00")), "reducida", Porcentaje.cero());
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, List.of(porCategoria));
+        assertThat(factura.getTotalImpuestos().esCero()).isTrue();
+
+        // When / Then - sin tasa resuelta no se puede aplicar
+        assertThatThrownBy(() -> factura.aplicarImpuestos(List.of(porCategoria)))
+            .isInstanceOf(IllegalStateException.class);
+
+        factura.aplicarImpuestos(List.of(ItemFactura.crear("Libro", Cantidad.of(1),
+            Dinero.of(new BigDecimal("100.00")), Porcentaje.of(new BigDecimal("5.00")), Porcentaje.cero())));
+        assertThat(factura.getTotalImpuestos().getCantidad()).isEqualByComparingTo("5.00");
+        assertThat(factura.getTotalFinal().getCantidad()).isEqualByComparingTo("105.00");
+    }
+}
@@ -0,0 +1,49 @@
+package com.castor.facturacion.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para CursorFactura.
+ *
+ * Cobertura:
+ * - Ida y vuelta del token opaco sin pérdida de precisión
+ * - Rechazo de tokens inválidos
+ */
+@DisplayName("CursorFactura - Tests Unitarios")
+class CursorFacturaTest {
+
+    @Test
+    @DisplayName("Test 01: El token conserva fecha (con microsegundos) e ID")
+    void testToken_IdaYVuelta() {
+        CursorFactura cursor = CursorFactura.of(LocalDateTime.of(2025, 1, 16, 12, 30, 45, 123_456_000), 42L);
+
+        String token = cursor.aToken();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(CursorFactura.desdeToken(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Test 02: Token manipulado o con formato inválido debe lanzar excepción")
+    void testDesdeToken_Invalido_LanzaExcepcion() {
+        String otraVersion = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("v9|2025-01-16T12:30:45|42".getBytes(StandardCharsets.UTF_8));
+        String idInvalido = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("v1|2025-01-16T12:30:45|abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorFactura.desdeToken("no-es-base64!"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Cursor inválido");
+        assertThatThrownBy(() -> CursorFactura.desdeToken(otraVersion))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorFactura.desdeToken(idInvalido))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
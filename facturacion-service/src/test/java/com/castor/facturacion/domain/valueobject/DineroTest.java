@@ -0,0 +1,189 @@
+package com.castor.facturacion.domain.valueobject;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.ItemFactura;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests basados en propiedades para Dinero en punto fijo (centavos en long).
+ *
+ * Cada repetición genera datos aleatorios (semilla fija por repetición para
+ * reproducibilidad) y compara contra la implementación de referencia con
+ * BigDecimal y setScale(2, HALF_UP) que usaba Dinero originalmente.
+ */
+@DisplayName("Dinero - Tests de propiedades (punto fijo vs BigDecimal)")
+class DineroTest {
+
+    private static final GeneradorNumeroFactura NUMEROS = new GeneradorNumeroFactura(0);
+
+    private static final int REPETICIONES = 200;
+    private static final BigDecimal CIEN = new BigDecimal("100");
+
+    // ========== Implementación de referencia (Dinero basado en BigDecimal) ==========
+
+    private static BigDecimal ref(BigDecimal cantidad) {
+        return cantidad.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal refPorcentaje(BigDecimal cantidad, BigDecimal porcentaje) {
+        return ref(cantidad.multiply(porcentaje).divide(CIEN, 2, RoundingMode.HALF_UP));
+    }
+
+    // ========== Generadores ==========
+
+    private static BigDecimal cantidadAleatoria(Random random) {
+        // Hasta 9 enteros y entre 0 y 4 decimales (incluye valores que requieren redondeo)
+        long unscaled = (long) (random.nextDouble() * 1_000_000_000_000L);
+        return BigDecimal.valueOf(unscaled, random.nextInt(5));
+    }
+
+    private static BigDecimal porcentajeAleatorio(Random random) {
+        // Entre 0 y 100 con 0 a 3 decimales (3 decimales fuerza la ruta no exacta)
+        int escala = random.nextInt(4);
+        long max = 100L * (long) Math.pow(10, escala);
+        return BigDecimal.valueOf((long) (random.nextDouble() * (max + 1)), escala).min(CIEN);
+    }
+
+    private static ItemFactura itemAleatorio(Random random) {
+        return ItemFactura.crear(
+            "Item " + random.nextInt(1000),
+            Cantidad.of(1 + random.nextInt(10_000)),
+            Dinero.of(cantidadAleatoria(random).movePointLeft(2)),
+            Porcentaje.of(porcentajeAleatorio(random)),
+            Porcentaje.of(porcentajeAleatorio(random))
+        );
+    }
+
+    // ========== Propiedades ==========
+
+    @RepeatedTest(REPETICIONES)
+    @DisplayName("Propiedad: Dinero.of redondea HALF_UP a 2 decimales igual que BigDecimal")
+    void propiedadCreacion(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        BigDecimal cantidad = cantidadAleatoria(random);
+
+        assertThat(Dinero.of(cantidad).getCantidad()).isEqualTo(ref(cantidad));
+    }
+
+    @RepeatedTest(REPETICIONES)
+    @DisplayName("Propiedad: sumar, restar y multiplicar coinciden con BigDecimal")
+    void propiedadAritmetica(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        BigDecimal a = cantidadAleatoria(random);
+        BigDecimal b = cantidadAleatoria(random);
+        int factor = random.nextInt(10_000);
+
+        assertThat(Dinero.of(a).sumar(Dinero.of(b)).getCantidad())
+            .isEqualTo(ref(ref(a).add(ref(b))));
+        assertThat(Dinero.of(a).multiplicar(factor).getCantidad())
+            .isEqualTo(ref(ref(a).multiply(BigDecimal.valueOf(factor))));
+        assertThat(Dinero.of(a).multiplicar(BigDecimal.valueOf(factor)).getCantidad())
+            .isEqualTo(ref(ref(a).multiply(BigDecimal.valueOf(factor))));
+
+        BigDecimal mayor = ref(a).max(ref(b));
+        BigDecimal menor = ref(a).min(ref(b));
+        assertThat(Dinero.of(mayor).restar(Dinero.of(menor)).getCantidad())
+            .isEqualTo(ref(mayor.subtract(menor)));
+    }
+
+    @RepeatedTest(REPETICIONES)
+    @DisplayName("Propiedad: aplicarPorcentaje coincide con BigDecimal HALF_UP")
+    void propiedadPorcentaje(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        BigDecimal cantidad = cantidadAleatoria(random);
+        BigDecimal porcentaje = porcentajeAleatorio(random);
+
+        assertThat(Dinero.of(cantidad).aplicarPorcentaje(Porcentaje.of(porcentaje)).getCantidad())
+            .isEqualTo(refPorcentaje(ref(cantidad), porcentaje));
+    }
+
+    @RepeatedTest(REPETICIONES)
+    @DisplayName("Propiedad: totales de ItemFactura y Factura coinciden con BigDecimal")
+    void propiedadTotalesFactura(RepetitionInfo info) {
+        Random random = new Random(info.getCurrentRepetition());
+        int numeroItems = 1 + random.nextInt(100);
+        List<ItemFactura> items = new ArrayList<>(numeroItems);
+        for (int i = 0; i < numeroItems; i++) {
+            items.add(itemAleatorio(random));
+        }
+
+        BigDecimal subtotalGeneral = BigDecimal.ZERO.setScale(2);
+        BigDecimal totalImpuestos = BigDecimal.ZERO.setScale(2);
+        BigDecimal totalDescuentos = BigDecimal.ZERO.setScale(2);
+
+        for (ItemFactura item : items) {
+            BigDecimal subtotal = ref(item.getPrecioUnitario().getCantidad()
+                .multiply(new BigDecimal(item.getCantidad().getValor())));
+            BigDecimal impuesto = refPorcentaje(subtotal, item.getPorcentajeImpuesto().getValor());
+            BigDecimal descuento = refPorcentaje(subtotal, item.getPorcentajeDescuento().getValor());
+
+            assertThat(item.getSubtotal().getCantidad()).isEqualTo(subtotal);
+            assertThat(item.getImpuesto().getCantidad()).isEqualTo(impuesto);
+            assertThat(item.getDescuento().getCantidad()).isEqualTo(descuento);
+            assertThat(item.getTotal().getCantidad())
+                .isEqualTo(ref(subtotal.add(impuesto).subtract(descuento)));
+
+            subtotalGeneral = ref(subtotalGeneral.add(subtotal));
+            totalImpuestos = ref(totalImpuestos.add(impuesto));
+            totalDescuentos = ref(totalDescuentos.add(descuento));
+        }
+
+        Factura factura = Factura.crear(NUMEROS.siguiente(), 1L, items);
+
+        assertThat(factura.getSubtotalGeneral().getCantidad()).isEqualTo(subtotalGeneral);
+        assertThat(factura.getTotalImpuestos().getCantidad()).isEqualTo(totalImpuestos);
+        assertThat(factura.getTotalDescuentos().getCantidad()).isEqualTo(totalDescuentos);
+        assertThat(factura.getTotalFinal().getCantidad())
+            .isEqualTo(ref(subtotalGeneral.add(totalImpuestos).subtract(totalDescuentos)));
+    }
+
+    // ========== Casos puntuales ==========
+
+    @Test
+    @DisplayName("Test 01: Redondeo HALF_UP en el punto medio del porcentaje")
+    void testPorcentaje_PuntoMedio_RedondeaHaciaArriba() {
+        // 0.50 * 1% = 0.005 -> 0.01
+        Dinero resultado = Dinero.of(new BigDecimal("0.50"))
+            .aplicarPorcentaje(Porcentaje.of(new BigDecimal("1")));
+
+        assertThat(resultado.getCantidad()).isEqualTo(new BigDecimal("0.01"));
+    }
+
+    @Test
+    @DisplayName("Test 02: Restar con resultado negativo debe lanzar excepción")
+    void testRestar_ResultadoNegativo_LanzaExcepcion() {
+        assertThatThrownBy(() -> Dinero.of(BigDecimal.ONE).restar(Dinero.of(BigDecimal.TEN)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no puede ser negativo");
+    }
+
+    @Test
+    @DisplayName("Test 03: Cantidad fuera del rango de long debe lanzar excepción")
+    void testOf_FueraDeRango_LanzaExcepcion() {
+        assertThatThrownBy(() -> Dinero.of(new BigDecimal("1e30")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("excede el rango");
+    }
+
+    @Test
+    @DisplayName("Test 04: equals y hashCode se basan en centavos y moneda")
+    void testEqualsYHashCode() {
+        Dinero a = Dinero.of(new BigDecimal("10.5"));
+        Dinero b = Dinero.deCentavos(1050);
+
+        assertThat(a).isEqualTo(b);
+        assertThat(a.hashCode()).isEqualTo(b.hashCode());
+        assertThat(a.getCantidad()).isEqualTo(new BigDecimal("10.50"));
+    }
+}
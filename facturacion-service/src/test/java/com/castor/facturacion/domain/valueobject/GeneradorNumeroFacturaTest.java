@@ -0,0 +1,154 @@
+package com.castor.facturacion.domain.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para GeneradorNumeroFactura.
+ *
+ * Cobertura:
+ * - Formato y prefijo compatibles con NumeroFactura.of
+ * - Unicidad entre hilos y entre nodos
+ * - Orden por fecha de creación, incluso si el reloj retrocede
+ */
+@DisplayName("GeneradorNumeroFactura - Tests Unitarios")
+class GeneradorNumeroFacturaTest {
+
+    /**
+     * Reloj controlable para simular el mismo milisegundo o un retroceso del reloj
+     */
+    private static final class RelojManual extends Clock {
+        private volatile long millis;
+
+        RelojManual(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+
+    @Test
+    @DisplayName("Test 01: El número tiene formato FACT-yyyyMMddHHmmssSSS-NNN-SSSS")
+    void testSiguiente_Formato() {
+        RelojManual reloj = new RelojManual(Instant.parse("2025-01-16T12:30:45.123Z").toEpochMilli());
+        GeneradorNumeroFactura generador = new GeneradorNumeroFactura(7, reloj);
+
+        assertThat(generador.siguiente().getValor()).isEqualTo("FACT-20250116123045123-007-0000");
+        assertThat(generador.siguiente().getValor()).isEqualTo("FACT-20250116123045123-007-0001");
+    }
+
+    @Test
+    @DisplayName("Test 02: Números únicos y crecientes por hilo bajo concurrencia")
+    void testSiguiente_Concurrente_SinColisiones() throws Exception {
+        GeneradorNumeroFactura generador = new GeneradorNumeroFactura(1);
+        int hilos = 8;
+        int porHilo = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        try {
+            List<Future<List<String>>> futuros = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                futuros.add(executor.submit(() -> {
+                    inicio.await();
+                    List<String> numeros = new ArrayList<>(porHilo);
+                    for (int i = 0; i < porHilo; i++) {
+                        numeros.add(generador.siguiente().getValor());
+                    }
+                    return numeros;
+                }));
+            }
+            inicio.countDown();
+
+            Set<String> todos = new HashSet<>();
+            for (Future<List<String>> futuro : futuros) {
+                List<String> numeros = futuro.get(30, TimeUnit.SECONDS);
+                assertThat(numeros).isSorted();
+                todos.addAll(numeros);
+            }
+
+            assertThat(todos).hasSize(hilos * porHilo);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 03: Si el reloj retrocede, los números siguen siendo crecientes")
+    void testSiguiente_RelojRetrocede_SigueCreciente() {
+        RelojManual reloj = new RelojManual(1_700_000_000_000L);
+        GeneradorNumeroFactura generador = new GeneradorNumeroFactura(3, reloj);
+
+        String antes = generador.siguiente().getValor();
+        reloj.millis -= 5_000;
+        String despues = generador.siguiente().getValor();
+
+        assertThat(despues).isGreaterThan(antes);
+    }
+
+    @Test
+    @DisplayName("Test 04: Más de 10.000 números en el mismo milisegundo no colisionan")
+    void testSiguiente_SecuenciaAgotada_AvanzaMilisegundo() {
+        GeneradorNumeroFactura generador = new GeneradorNumeroFactura(3, new RelojManual(1_700_000_000_000L));
+
+        Set<String> numeros = new HashSet<>();
+        String anterior = "";
+        for (int i = 0; i < 25_000; i++) {
+            String numero = generador.siguiente().getValor();
+            assertThat(numero).isGreaterThan(anterior);
+            numeros.add(numero);
+            anterior = numero;
+        }
+
+        assertThat(numeros).hasSize(25_000);
+    }
+
+    @Test
+    @DisplayName("Test 05: Nodos distintos en el mismo instante generan números distintos")
+    void testSiguiente_NodosDistintos_SinColisiones() {
+        RelojManual reloj = new RelojManual(1_700_000_000_000L);
+
+        NumeroFactura nodoA = new GeneradorNumeroFactura(1, reloj).siguiente();
+        NumeroFactura nodoB = new GeneradorNumeroFactura(2, reloj).siguiente();
+
+        assertThat(nodoA).isNotEqualTo(nodoB);
+    }
+
+    @Test
+    @DisplayName("Test 06: Nodo fuera de rango debe lanzar excepción")
+    void testConstructor_NodoFueraDeRango_LanzaExcepcion() {
+        assertThatThrownBy(() -> new GeneradorNumeroFactura(1000))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("999");
+    }
+}
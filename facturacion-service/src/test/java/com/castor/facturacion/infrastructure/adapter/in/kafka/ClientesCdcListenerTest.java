@@ -0,0 +1,104 @@
+package com.castor.facturacion.infrastructure.adapter.in.kafka;
+
+import com.castor.facturacion.infrastructure.adapter.out.external.cache.ClienteValidationCacheDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Tests de integración para ClientesCdcListener con un broker Kafka embebido.
+ *
+ * Cobertura:
+ * - Alta / modificación de cliente: actualiza el cache con su estado
+ * - Borrado (__deleted=true y tombstone): invalida al cliente
+ * - Evento inválido: se descarta sin detener el consumidor
+ */
+@SpringBootTest(
+    classes = ClientesCdcListenerTest.Config.class,
+    properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "clientes-cdc.enabled=true",
+        "clientes-cdc.topic=" + ClientesCdcListenerTest.TOPICO,
+        "clientes-cdc.group-id=facturacion-clientes-cache-test"
+    }
+)
+@EmbeddedKafka(partitions = 1, topics = ClientesCdcListenerTest.TOPICO)
+@DisplayName("ClientesCdcListener - Tests con Kafka embebido")
+class ClientesCdcListenerTest {
+
+    static final String TOPICO = "castor.public.clientes";
+    private static final long ESPERA_MS = 10_000;
+
+    @TestConfiguration
+    @ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import(ClientesCdcListener.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private ClienteValidationCacheDecorator cache;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Test 01: Un cliente desactivado se actualiza en el cache como inactivo")
+    void testClienteDesactivado_ActualizaCache() {
+        // When
+        kafkaTemplate.send(TOPICO, "{\"id\":10}",
+            "{\"id\":10,\"nombre\":\"Acme\",\"activo\":false,\"__deleted\":\"false\"}");
+
+        // Then
+        then(cache).should(timeout(ESPERA_MS)).actualizar(10L, false);
+    }
+
+    @Test
+    @DisplayName("Test 02: Un cliente borrado se invalida por el evento y por el tombstone")
+    void testClienteBorrado_InvalidaCache() {
+        // When
+        kafkaTemplate.send(TOPICO, "{\"id\":20}",
+            "{\"id\":20,\"nombre\":\"Acme\",\"activo\":true,\"__deleted\":\"true\"}");
+        kafkaTemplate.send(TOPICO, "{\"id\":20}", null);
+
+        // Then
+        then(cache).should(timeout(ESPERA_MS).times(2)).invalidar(20L);
+        then(cache).should(never()).actualizar(eq(20L), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Test 03: Un evento inválido se descarta y los siguientes se siguen aplicando")
+    void testEventoInvalido_SeDescarta() {
+        // When
+        kafkaTemplate.send(TOPICO, "{\"id\":30}", "no es json");
+        kafkaTemplate.send(TOPICO, "{\"id\":31}", "{\"id\":31,\"activo\":true,\"__deleted\":\"false\"}");
+
+        // Then
+        then(cache).should(timeout(ESPERA_MS)).actualizar(31L, true);
+        assertThat(meterRegistry.get("facturacion.clientes.cdc.eventos").tag("tipo", "invalido")
+            .counter().count()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -1,16 +1,25 @@
 package com.castor.facturacion.infrastructure.adapter.in.rest;
 
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
 import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
+import com.castor.facturacion.domain.ResumenFactura;
 import com.castor.facturacion.domain.port.in.FacturaUseCase;
 import com.castor.facturacion.domain.valueobject.*;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturaRequest;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.CrearFacturasLoteRequest;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse;
 import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ItemFacturaRequest;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ItemFacturaResponse;
+import com.castor.facturacion.infrastructure.adapter.in.rest.dto.ResumenFacturaResponse;
 import com.castor.facturacion.infrastructure.adapter.in.rest.mapper.FacturaDTOMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -21,9 +30,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,11 +53,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Tests de consultas (200 OK, 404 Not Found)
  * - Tests de paginación defensiva
  * - Tests de formato JSON (snake_case)
+ * - Tests de creación en lote con fallos parciales
+ * - Tests de listado por cursor
+ * - Tests de exportación en streaming (NDJSON y CSV)
+ * - Tests de consulta condicional (ETag, 304 Not Modified)
  */
 @WebMvcTest(FacturaController.class)
 @DisplayName("FacturaController - Tests de API REST")
 class FacturaControllerTest {
 
+    private static final GeneradorNumeroFactura NUMEROS = new GeneradorNumeroFactura(0);
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -74,7 +92,7 @@ class FacturaControllerTest {
         );
 
         itemsEjemplo = List.of(item1);
-        facturaEjemplo = Factura.crear(1L, itemsEjemplo);
+        facturaEjemplo = Factura.crear(NUMEROS.siguiente(), 1L, itemsEjemplo);
 
         // Preparar request de ejemplo
         ItemFacturaRequest itemRequest = new ItemFacturaRequest();
@@ -372,4 +390,282 @@ class FacturaControllerTest {
         // El JSON debe contener "cliente_id" en lugar de "clienteId"
         assert jsonRequest.contains("cliente_id");
     }
+
+    @Test
+    @DisplayName("Test 16: Lote con una factura inválida debe crear las demás y reportar el rechazo")
+    void testCrearFacturasEnLote_FalloParcial_200Ok() throws Exception {
+        // Given
+        CrearFacturaRequest invalida = new CrearFacturaRequest(null, requestEjemplo.getItems());
+        CrearFacturasLoteRequest lote = new CrearFacturasLoteRequest(List.of(invalida, requestEjemplo));
+
+        given(mapper.toDomain(any(CrearFacturaRequest.class))).willReturn(facturaEjemplo);
+        given(facturaUseCase.crearFacturasEnLote(anyList()))
+            .willReturn(List.of(ResultadoCreacionFactura.exitoso(0, facturaEjemplo)));
+        given(mapper.toResultadoLoteResponse(any(ResultadoCreacionFactura.class)))
+            .willAnswer(invocation -> new FacturaDTOMapper(NUMEROS).toResultadoLoteResponse(invocation.getArgument(0)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/facturas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lote)))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.creadas").value(1))
+            .andExpect(jsonPath("$.rechazadas").value(1))
+            .andExpect(jsonPath("$.resultados[0].indice").value(0))
+            .andExpect(jsonPath("$.resultados[0].estado").value("RECHAZADA"))
+            .andExpect(jsonPath("$.resultados[0].error", containsString("clienteId")))
+            .andExpect(jsonPath("$.resultados[1].indice").value(1))
+            .andExpect(jsonPath("$.resultados[1].estado").value("CREADA"));
+
+        then(facturaUseCase).should().crearFacturasEnLote(argThat(facturas -> facturas.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Test 17: Lote vacío debe retornar 400 Bad Request")
+    void testCrearFacturasEnLote_Vacio_400BadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/facturas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CrearFacturasLoteRequest(List.of()))))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+
+        then(facturaUseCase).should(never()).crearFacturasEnLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Test 18: Listado por cursor debe retornar next_cursor y pasar el cursor recibido")
+    void testListarFacturasConCursor_200Ok() throws Exception {
+        // Given
+        CursorFactura recibido = CursorFactura.of(LocalDateTime.of(2025, 1, 16, 12, 0), 50L);
+        CursorFactura siguiente = CursorFactura.of(LocalDateTime.of(2025, 1, 15, 9, 30), 40L);
+        given(facturaUseCase.listarFacturasConCursor(recibido, 100))
+            .willReturn(new PaginaCursor<>(List.of(facturaEjemplo), siguiente));
+        given(mapper.toResponseList(anyList()))
+            .willReturn(List.of(new com.castor.facturacion.infrastructure.adapter.in.rest.dto.FacturaResponse()));
+
+        // When & Then - size se ajusta al máximo (100)
+        mockMvc.perform(get("/api/v1/facturas/cursor")
+                .param("cursor", recibido.aToken())
+                .param("size", "500"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.page_size").value(100))
+            .andExpect(jsonPath("$.has_next").value(true))
+            .andExpect(jsonPath("$.next_cursor").value(siguiente.aToken()))
+            .andExpect(jsonPath("$.total_elements").doesNotExist());
+
+        then(facturaUseCase).should(never()).listarFacturas(any());
+    }
+
+    @Test
+    @DisplayName("Test 19: Listado por cursor con cursor inválido debe retornar 400 Bad Request")
+    void testListarFacturasConCursor_CursorInvalido_400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/facturas/cliente/1/cursor")
+                .param("cursor", "cursor-manipulado"))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+
+        then(facturaUseCase).should(never()).listarFacturasPorClienteConCursor(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test 20: Listar resumen por cliente debe retornar cabeceras sin items")
+    void testListarResumenFacturasPorCliente_200Ok() throws Exception {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 16, 12, 30, 45);
+        ResumenFactura resumen = new ResumenFactura(1L, "FACT-20250116123045123-001-0000", 1L,
+            new BigDecimal("100.00"), new BigDecimal("19.00"), BigDecimal.ZERO, new BigDecimal("119.00"), fecha);
+        Page<ResumenFactura> resumenPage = new PageImpl<>(List.of(resumen), PageRequest.of(0, 10), 1);
+
+        given(facturaUseCase.listarResumenFacturasPorCliente(eq(1L), any())).willReturn(resumenPage);
+        given(mapper.toResumenResponse(resumen)).willReturn(new ResumenFacturaResponse(
+            1L, "FACT-20250116123045123-001-0000", 1L,
+            new BigDecimal("100.00"), new BigDecimal("19.00"), BigDecimal.ZERO, new BigDecimal("119.00"), fecha));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/facturas/cliente/1/resumen"))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.content[0].numero").value("FACT-20250116123045123-001-0000"))
+            .andExpect(jsonPath("$.content[0].total_final").value(119.00))
+            .andExpect(jsonPath("$.content[0].items").doesNotExist())
+            .andExpect(jsonPath("$.total_elements").value(1));
+
+        then(facturaUseCase).should(never()).listarFacturasPorCliente(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Test 21: Exportar resumen en NDJSON debe escribir un objeto JSON por línea")
+    void testExportarFacturas_Ndjson() throws Exception {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 16, 12, 30, 45);
+        given(facturaUseCase.exportarResumenFacturas(any(), any())).willAnswer(invocation -> {
+            Consumer<ResumenFactura> consumidor = invocation.getArgument(1);
+            consumidor.accept(new ResumenFactura(1L, "FACT-001", 1L, new BigDecimal("100.00"),
+                new BigDecimal("19.00"), BigDecimal.ZERO, new BigDecimal("119.00"), fecha));
+            consumidor.accept(new ResumenFactura(2L, "FACT-002", 1L, new BigDecimal("200.00"),
+                new BigDecimal("38.00"), BigDecimal.ZERO, new BigDecimal("238.00"), fecha));
+            return 2L;
+        });
+        given(mapper.toResumenResponse(any())).willAnswer(invocation -> {
+            ResumenFactura resumen = invocation.getArgument(0);
+            return new ResumenFacturaResponse(resumen.getId(), resumen.getNumero(), resumen.getClienteId(),
+                resumen.getSubtotalGeneral(), resumen.getTotalImpuestos(), resumen.getTotalDescuentos(),
+                resumen.getTotalFinal(), resumen.getFechaCreacion());
+        });
+
+        // When
+        String cuerpo = mockMvc.perform(get("/api/v1/facturas/exportacion")
+                .param("desde", "2025-01-01")
+                .param("hasta", "2025-01-31")
+                .param("clienteId", "1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition", containsString("facturas.ndjson")))
+            .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lineas = cuerpo.split("\n");
+        assertThat(cuerpo).endsWith("\n");
+        assertThat(lineas).hasSize(2);
+        assertThat(objectMapper.readTree(lineas[0]).get("numero").asText()).isEqualTo("FACT-001");
+        assertThat(objectMapper.readTree(lineas[1]).get("total_final").decimalValue()).isEqualByComparingTo("238.00");
+
+        ArgumentCaptor<FiltroExportacion> filtro = ArgumentCaptor.forClass(FiltroExportacion.class);
+        then(facturaUseCase).should().exportarResumenFacturas(filtro.capture(), any());
+        assertThat(filtro.getValue().getDesde()).isEqualTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertThat(filtro.getValue().getHasta()).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+        assertThat(filtro.getValue().getClienteId()).isEqualTo(1L);
+        then(facturaUseCase).should(never()).exportarFacturas(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test 22: Exportar con items en CSV debe escribir una fila por item")
+    void testExportarFacturas_CsvConItems() throws Exception {
+        // Given
+        ItemFacturaResponse itemA = new ItemFacturaResponse();
+        itemA.setDescripcion("Producto A, talla M");
+        itemA.setCantidad(2);
+        itemA.setTotal(new BigDecimal("238.00"));
+        ItemFacturaResponse itemB = new ItemFacturaResponse();
+        itemB.setDescripcion("Producto B");
+        itemB.setCantidad(1);
+        itemB.setTotal(new BigDecimal("119.00"));
+        FacturaResponse response = new FacturaResponse(1L, "FACT-001", 1L, List.of(itemA, itemB),
+            new BigDecimal("300.00"), new BigDecimal("57.00"), BigDecimal.ZERO, new BigDecimal("357.00"),
+            LocalDateTime.of(2025, 1, 16, 12, 30, 45));
+
+        given(facturaUseCase.exportarFacturas(any(), any())).willAnswer(invocation -> {
+            Consumer<Factura> consumidor = invocation.getArgument(1);
+            consumidor.accept(facturaEjemplo);
+            return 1L;
+        });
+        given(mapper.toResponse(facturaEjemplo)).willReturn(response);
+
+        // When
+        String cuerpo = mockMvc.perform(get("/api/v1/facturas/exportacion")
+                .param("formato", "csv")
+                .param("incluirItems", "true"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lineas = cuerpo.split("\r\n");
+        assertThat(lineas).hasSize(3);
+        assertThat(lineas[0]).startsWith("id,numero,cliente_id,").contains(",item_descripcion,");
+        assertThat(lineas[1]).startsWith("1,FACT-001,1,300.00,57.00,0,357.00,2025-01-16T12:30:45,\"Producto A, talla M\",2,");
+        assertThat(lineas[1]).endsWith(",238.00");
+        assertThat(lineas[2]).contains(",Producto B,1,");
+    }
+
+    @Test
+    @DisplayName("Test 23: Exportar con formato no soportado debe retornar 400 Bad Request")
+    void testExportarFacturas_FormatoInvalido_400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/facturas/exportacion")
+                .param("formato", "xlsx"))
+            .andDo(print())
+            .andExpect(status().isBadRequest());
+
+        then(facturaUseCase).should(never()).exportarResumenFacturas(any(), any());
+        then(facturaUseCase).should(never()).exportarFacturas(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test 24: Obtener factura debe retornar ETag y Cache-Control privado")
+    void testObtenerFactura_RetornaEtagYCacheControl() throws Exception {
+        // Given
+        String numero = facturaEjemplo.getNumero().getValor();
+        given(facturaUseCase.obtenerFacturaPorId(1L)).willReturn(Optional.of(facturaEjemplo));
+        given(mapper.toResponse(facturaEjemplo)).willReturn(new FacturaResponse());
+
+        // When & Then - sin If-None-Match no se consulta el número por separado
+        mockMvc.perform(get("/api/v1/facturas/{id}", 1L))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1-" + numero + "\""))
+            .andExpect(header().string("Cache-Control", "max-age=300, private, immutable"));
+
+        then(facturaUseCase).should(never()).obtenerNumeroFactura(any());
+    }
+
+    @Test
+    @DisplayName("Test 25: If-None-Match vigente debe retornar 304 sin cargar ni serializar la factura")
+    void testObtenerFactura_EtagVigente_304NotModified() throws Exception {
+        // Given
+        given(facturaUseCase.obtenerNumeroFactura(1L)).willReturn(Optional.of("FACT-0001"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/facturas/{id}", 1L)
+                .header("If-None-Match", "\"otro\", W/\"1-FACT-0001\""))
+            .andDo(print())
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"1-FACT-0001\""))
+            .andExpect(header().exists("Cache-Control"))
+            .andExpect(content().string(""));
+
+        then(facturaUseCase).should(never()).obtenerFacturaPorId(anyLong());
+        then(mapper).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Test 26: If-None-Match de otra versión debe retornar la factura completa")
+    void testObtenerFactura_EtagDistinto_200Ok() throws Exception {
+        // Given
+        given(facturaUseCase.obtenerNumeroFactura(1L)).willReturn(Optional.of(facturaEjemplo.getNumero().getValor()));
+        given(facturaUseCase.obtenerFacturaPorId(1L)).willReturn(Optional.of(facturaEjemplo));
+        given(mapper.toResponse(facturaEjemplo)).willReturn(new FacturaResponse());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/facturas/{id}", 1L)
+                .header("If-None-Match", "\"1-FACT-ANTERIOR\""))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"));
+
+        then(mapper).should().toResponse(facturaEjemplo);
+    }
+
+    @Test
+    @DisplayName("Test 27: Exportar para un cliente inexistente debe responder el error sin cabeceras de descarga")
+    void testExportarFacturas_ClienteInexistente_ErrorSinAttachment() throws Exception {
+        // Given
+        given(facturaUseCase.exportarFacturas(any(), any()))
+            .willThrow(new IllegalArgumentException("El cliente no existe: 99"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/facturas/exportacion")
+                .param("formato", "csv")
+                .param("incluirItems", "true")
+                .param("clienteId", "99"))
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(header().doesNotExist("Content-Disposition"))
+            .andExpect(jsonPath("$.message").value("El cliente no existe: 99"));
+    }
 }
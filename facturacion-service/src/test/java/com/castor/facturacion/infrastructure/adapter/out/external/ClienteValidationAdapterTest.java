@@ -3,12 +3,17 @@ package com.castor.facturacion.infrastructure.adapter.out.external;
 import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.*;
@@ -22,6 +27,7 @@ import static org.assertj.core.api.Assertions.*;
  * - Tests de manejo de errores (404, 500, timeout)
  * - Tests de circuit breaker y fallback
  * - Tests de retry
+ * - Tests de validación por lotes (POST /api/v1/clientes/estado)
  */
 @DisplayName("ClienteValidationAdapter - Tests con WireMock")
 class ClienteValidationAdapterTest {
@@ -42,11 +48,11 @@ class ClienteValidationAdapterTest {
         // Configurar properties
         properties = new ClienteServiceProperties();
         properties.setBaseUrl("http://localhost:" + wireMockServer.port());
-        properties.setTimeout(5000);
+        properties.setTimeout(Duration.ofSeconds(5));
 
         // Crear adapter con WebClient
         WebClient.Builder webClientBuilder = WebClient.builder();
-        clienteValidationAdapter = new ClienteValidationAdapter(webClientBuilder, properties);
+        clienteValidationAdapter = new ClienteValidationAdapter(webClientBuilder, properties, new SimpleMeterRegistry());
     }
 
     @AfterEach
@@ -147,9 +153,9 @@ class ClienteValidationAdapterTest {
         Long clienteId = 1L;
 
         // Configurar propiedades con timeout muy corto
-        properties.setTimeout(100); // 100ms
+        properties.setTimeout(Duration.ofMillis(100));
         WebClient.Builder webClientBuilder = WebClient.builder();
-        ClienteValidationAdapter adapterConTimeout = new ClienteValidationAdapter(webClientBuilder, properties);
+        ClienteValidationAdapter adapterConTimeout = new ClienteValidationAdapter(webClientBuilder, properties, new SimpleMeterRegistry());
 
         stubFor(get(urlEqualTo("/api/v1/clientes/" + clienteId + "/activo"))
             .willReturn(aResponse()
@@ -357,4 +363,62 @@ class ClienteValidationAdapterTest {
 
         verify(getRequestedFor(urlEqualTo("/api/v1/clientes/" + clienteId + "/activo")));
     }
+
+    @Test
+    @DisplayName("Test 16: Validaciones concurrentes se resuelven con una sola llamada por lotes")
+    void testLotes_ValidacionesConcurrentes_UnaLlamada() throws Exception {
+        // Given - ventana amplia: el lote se envía al llegar a 3 IDs
+        properties.setBatchEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(500));
+        properties.setBatchMaxSize(3);
+        ClienteValidationAdapter conLotes =
+            new ClienteValidationAdapter(WebClient.builder(), properties, new SimpleMeterRegistry());
+
+        stubFor(post(urlEqualTo("/api/v1/clientes/estado"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"activos\":[1],\"inactivos\":[2]}")));
+
+        try {
+            // When
+            CompletableFuture<Boolean> activo = CompletableFuture.supplyAsync(() -> conLotes.esClienteActivo(1L));
+            CompletableFuture<Boolean> inactivoExiste = CompletableFuture.supplyAsync(() -> conLotes.existeCliente(2L));
+            CompletableFuture<Boolean> inexistente = CompletableFuture.supplyAsync(() -> conLotes.esClienteActivo(3L));
+
+            // Then
+            assertThat(activo.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(inactivoExiste.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(inexistente.get(5, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            conLotes.destroy();
+        }
+
+        verify(1, postRequestedFor(urlEqualTo("/api/v1/clientes/estado")));
+        verify(0, getRequestedFor(urlMatching("/api/v1/clientes/.*/activo")));
+    }
+
+    @Test
+    @DisplayName("Test 17: Error en la llamada por lotes debe lanzar excepción a cada validación")
+    void testLotes_ErrorServicio_LanzaExcepcion() {
+        // Given
+        properties.setBatchEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(5));
+        ClienteValidationAdapter conLotes =
+            new ClienteValidationAdapter(WebClient.builder(), properties, new SimpleMeterRegistry());
+
+        stubFor(post(urlEqualTo("/api/v1/clientes/estado"))
+            .willReturn(aResponse()
+                .withStatus(500)
+                .withBody("Internal Server Error")));
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> conLotes.esClienteActivo(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("servicio de clientes");
+        } finally {
+            conLotes.destroy();
+        }
+    }
 }
@@ -5,16 +5,25 @@ import com.castor.facturacion.domain.valueobject.Cantidad;
 import com.castor.facturacion.domain.valueobject.Dinero;
 import com.castor.facturacion.domain.valueobject.Porcentaje;
 import com.castor.facturacion.infrastructure.config.TaxCalculatorProperties;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
@@ -29,13 +38,33 @@ import static org.assertj.core.api.Assertions.*;
  * - Tests de circuit breaker y fallback
  * - Tests de retry
  * - Tests de integración con servicio Python
+ * - Tests del cache de resultados por firma de item
+ * - Tests de aciertos de cache fuera de la llamada con Circuit Breaker y Retry
+ * - Tests de lotes entre peticiones concurrentes
+ * - Tests del formato compacto (CBOR) y el regreso a JSON
  */
 @DisplayName("TaxCalculatorAdapter - Tests con WireMock")
 class TaxCalculatorAdapterTest {
 
+    // Respuesta de POST /calcular para un item de 100.00 con IVA 19% y descuento 10%
+    private static final String DETALLE_UN_ITEM = """
+        {
+            "subtotal_general": 100.00,
+            "total_impuestos": 19.00,
+            "total_descuentos": 10.00,
+            "total_final": 109.00,
+            "detalle_items": [
+                {"descripcion": "Producto Test", "subtotal": 100.00, "impuesto": 19.00, "descuento": 10.00, "total": 109.00}
+            ],
+            "timestamp": "2025-01-15T10:30:00"
+        }
+        """;
+
     private WireMockServer wireMockServer;
     private TaxCalculatorAdapter taxCalculatorAdapter;
     private TaxCalculatorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService hilos;
 
     @BeforeEach
     void setUp() {
@@ -49,17 +78,23 @@ class TaxCalculatorAdapterTest {
         // Configurar properties
         properties = new TaxCalculatorProperties();
         properties.setBaseUrl("http://localhost:" + wireMockServer.port());
-        properties.setTimeout(5000);
+        properties.setTimeout(Duration.ofSeconds(5));
         properties.setDefaultTaxRate(new BigDecimal("19.00"));
         properties.setDefaultDiscountRate(new BigDecimal("10.00"));
 
         // Crear adapter con WebClient
         WebClient.Builder webClientBuilder = WebClient.builder();
-        taxCalculatorAdapter = new TaxCalculatorAdapter(webClientBuilder, properties);
+        meterRegistry = new SimpleMeterRegistry();
+        taxCalculatorAdapter = new TaxCalculatorAdapter(new CalculoImpuestosRemoto(webClientBuilder, properties),
+            properties, meterRegistry);
+
+        // Peticiones concurrentes de los tests de lotes
+        hilos = Executors.newCachedThreadPool();
     }
 
     @AfterEach
     void tearDown() {
+        hilos.shutdownNow();
         if (wireMockServer != null) {
             wireMockServer.stop();
         }
@@ -81,10 +116,10 @@ class TaxCalculatorAdapterTest {
 
         String responseJson = """
             {
-                "items": [
+                "detalle_items": [
                     {
-                        "porcentajeImpuesto": 19.00,
-                        "porcentajeDescuento": 5.00,
+                        "descripcion": "Producto",
+                        "subtotal": 200.00,
                         "impuesto": 38.00,
                         "descuento": 10.00,
                         "total": 228.00
@@ -93,7 +128,7 @@ class TaxCalculatorAdapterTest {
             }
             """;
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
@@ -105,8 +140,12 @@ class TaxCalculatorAdapterTest {
         // Then
         assertThat(resultado).isNotNull();
         assertThat(resultado).hasSize(1);
+        assertThat(resultado.get(0).getSubtotal().getCantidad()).isEqualByComparingTo("200.00");
+        assertThat(resultado.get(0).getImpuesto().getCantidad()).isEqualByComparingTo("38.00");
+        assertThat(resultado.get(0).getDescuento().getCantidad()).isEqualByComparingTo("10.00");
+        assertThat(resultado.get(0).getTotal().getCantidad()).isEqualByComparingTo("228.00");
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate"))
+        verify(postRequestedFor(urlEqualTo("/calcular"))
             .withHeader("Content-Type", matching("application/json.*")));
     }
 
@@ -124,7 +163,7 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(500)
                 .withBody("{\"error\": \"Internal Server Error\"}")));
@@ -134,16 +173,17 @@ class TaxCalculatorAdapterTest {
             .isInstanceOf(IllegalStateException.class)
             .hasMessageContaining("Error al calcular impuestos");
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
     @DisplayName("Test 03: Timeout debe lanzar excepción")
     void testCalcularImpuestos_Timeout_LanzaExcepcion() {
         // Given
-        properties.setTimeout(100); // Timeout muy corto
+        properties.setTimeout(Duration.ofMillis(100)); // Timeout muy corto
         WebClient.Builder webClientBuilder = WebClient.builder();
-        TaxCalculatorAdapter adapterConTimeout = new TaxCalculatorAdapter(webClientBuilder, properties);
+        TaxCalculatorAdapter adapterConTimeout = new TaxCalculatorAdapter(
+            new CalculoImpuestosRemoto(webClientBuilder, properties), properties, new SimpleMeterRegistry());
 
         ItemFactura item = ItemFactura.crear(
             "Producto Test",
@@ -155,7 +195,7 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withFixedDelay(5000) // Delay de 5 segundos
@@ -167,8 +207,8 @@ class TaxCalculatorAdapterTest {
     }
 
     @Test
-    @DisplayName("Test 04: Respuesta vacía debe usar fallback")
-    void testCalcularImpuestos_RespuestaVacia_UsaFallback() {
+    @DisplayName("Test 04: Respuesta sin detalle de items debe lanzar excepción")
+    void testCalcularImpuestos_RespuestaVacia_LanzaExcepcion() {
         // Given
         ItemFactura item = ItemFactura.crear(
             "Producto Test",
@@ -180,20 +220,18 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
-                .withBody("{}"))); // Respuesta vacía (sin items)
+                .withBody("{}"))); // Respuesta vacía (sin detalle_items)
 
-        // When
-        List<ItemFactura> resultado = taxCalculatorAdapter.calcularImpuestosYDescuentos(items);
-
-        // Then - debe usar fallback y retornar los items originales
-        assertThat(resultado).isNotNull();
-        assertThat(resultado).hasSize(1);
+        // When & Then - no se retornan los items sin calcular
+        assertThatThrownBy(() -> taxCalculatorAdapter.calcularImpuestosYDescuentos(items))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Error al calcular impuestos");
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -220,17 +258,17 @@ class TaxCalculatorAdapterTest {
 
         String responseJson = """
             {
-                "items": [
+                "detalle_items": [
                     {
-                        "porcentajeImpuesto": 19.00,
-                        "porcentajeDescuento": 5.00,
+                        "descripcion": "Producto",
+                        "subtotal": 200.00,
                         "impuesto": 38.00,
                         "descuento": 10.00,
                         "total": 228.00
                     },
                     {
-                        "porcentajeImpuesto": 19.00,
-                        "porcentajeDescuento": 0.00,
+                        "descripcion": "Producto",
+                        "subtotal": 50.00,
                         "impuesto": 9.50,
                         "descuento": 0.00,
                         "total": 59.50
@@ -239,7 +277,7 @@ class TaxCalculatorAdapterTest {
             }
             """;
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
@@ -252,7 +290,7 @@ class TaxCalculatorAdapterTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado).hasSize(2);
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -271,10 +309,10 @@ class TaxCalculatorAdapterTest {
 
         String responseJson = """
             {
-                "items": [
+                "detalle_items": [
                     {
-                        "porcentajeImpuesto": 19.00,
-                        "porcentajeDescuento": 10.00,
+                        "descripcion": "Producto",
+                        "subtotal": 1000.00,
                         "impuesto": 190.00,
                         "descuento": 100.00,
                         "total": 1090.00
@@ -283,7 +321,7 @@ class TaxCalculatorAdapterTest {
             }
             """;
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
@@ -293,10 +331,12 @@ class TaxCalculatorAdapterTest {
         taxCalculatorAdapter.calcularImpuestosYDescuentos(items);
 
         // Then - verificar que el request contiene los datos correctos
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate"))
+        verify(postRequestedFor(urlEqualTo("/calcular"))
             .withRequestBody(matchingJsonPath("$.items[0].descripcion", equalTo("Producto Test")))
             .withRequestBody(matchingJsonPath("$.items[0].cantidad", equalTo("5")))
-            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("200.00"))));
+            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("200.00")))
+            .withRequestBody(matchingJsonPath("$.items[0].porcentaje_impuesto", equalTo("19.00")))
+            .withRequestBody(matchingJsonPath("$.items[0].porcentaje_descuento", equalTo("10.00"))));
     }
 
     @Test
@@ -334,7 +374,7 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
@@ -346,30 +386,18 @@ class TaxCalculatorAdapterTest {
     }
 
     @Test
-    @DisplayName("Test 09: Lista vacía de items debe retornar lista vacía")
+    @DisplayName("Test 09: Lista vacía de items debe retornar lista vacía sin llamar al servicio")
     void testListaVaciaItems_RetornaListaVacia() {
-        // Given
+        // Given - el servicio exige al menos un item
         List<ItemFactura> items = List.of();
 
-        String responseJson = """
-            {
-                "items": []
-            }
-            """;
-
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
-            .willReturn(aResponse()
-                .withStatus(200)
-                .withHeader("Content-Type", "application/json")
-                .withBody(responseJson)));
-
         // When
         List<ItemFactura> resultado = taxCalculatorAdapter.calcularImpuestosYDescuentos(items);
 
         // Then
         assertThat(resultado).isEmpty();
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(0, postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -388,10 +416,10 @@ class TaxCalculatorAdapterTest {
 
         String responseJson = """
             {
-                "items": [
+                "detalle_items": [
                     {
-                        "porcentajeImpuesto": 19.00,
-                        "porcentajeDescuento": 10.00,
+                        "descripcion": "Producto",
+                        "subtotal": 100.00,
                         "impuesto": 19.00,
                         "descuento": 10.00,
                         "total": 109.00
@@ -400,7 +428,7 @@ class TaxCalculatorAdapterTest {
             }
             """;
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
@@ -414,7 +442,7 @@ class TaxCalculatorAdapterTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado).hasSize(1);
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -431,17 +459,17 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", "application/json")
-                .withBody("{\"items\": []}")));
+                .withBody(DETALLE_UN_ITEM)));
 
         // When
         taxCalculatorAdapter.calcularImpuestosYDescuentos(items);
 
         // Then - verificar que llamó a la URL correcta
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -458,7 +486,7 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(400)
                 .withBody("{\"error\": \"Invalid request\"}")));
@@ -468,7 +496,7 @@ class TaxCalculatorAdapterTest {
             .isInstanceOf(IllegalStateException.class)
             .hasMessageContaining("Error al calcular impuestos");
 
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate")));
+        verify(postRequestedFor(urlEqualTo("/calcular")));
     }
 
     @Test
@@ -485,16 +513,388 @@ class TaxCalculatorAdapterTest {
 
         List<ItemFactura> items = List.of(item);
 
-        stubFor(post(urlEqualTo("/api/v1/calculate"))
+        stubFor(post(urlEqualTo("/calcular"))
             .willReturn(aResponse()
                 .withStatus(200)
-                .withBody("{\"items\": []}")));
+                .withHeader("Content-Type", "application/json")
+                .withBody(DETALLE_UN_ITEM)));
 
         // When
         taxCalculatorAdapter.calcularImpuestosYDescuentos(items);
 
         // Then
-        verify(postRequestedFor(urlEqualTo("/api/v1/calculate"))
+        verify(postRequestedFor(urlEqualTo("/calcular"))
             .withHeader("Content-Type", matching("application/json.*")));
     }
+
+    @Test
+    @DisplayName("Test 14: Un item ya calculado se resuelve desde cache sin llamar al servicio")
+    void testItemRepetido_SeResuelveDesdeCache() {
+        // Given
+        stubFor(post(urlEqualTo("/calcular"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(DETALLE_UN_ITEM)));
+
+        // When - la descripción no forma parte de la firma
+        taxCalculatorAdapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+        List<ItemFactura> resultado =
+            taxCalculatorAdapter.calcularImpuestosYDescuentos(List.of(itemDe100("Otro producto")));
+
+        // Then
+        assertThat(resultado.get(0).getDescripcion()).isEqualTo("Otro producto");
+        assertThat(resultado.get(0).getTotal().getCantidad()).isEqualByComparingTo("109.00");
+        verify(1, postRequestedFor(urlEqualTo("/calcular")));
+        assertThat(itemsRemotos("cache")).isEqualTo(1.0);
+        assertThat(itemsRemotos("remoto")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Test 15: Solo se envían las firmas sin cache, una vez cada una, y se respeta el orden")
+    void testSoloFaltantes_SeEnvianYSeRespetaOrden() {
+        // Given - el item de 100.00 ya está en cache
+        stubFor(post(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items.length()", equalTo("1")))
+            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("100.00")))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(DETALLE_UN_ITEM)));
+        taxCalculatorAdapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+
+        stubFor(post(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("50.00")))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("""
+                    {"detalle_items": [
+                        {"subtotal": 50.00, "impuesto": 9.50, "descuento": 5.00, "total": 54.50}
+                    ]}
+                    """)));
+        ItemFactura itemDe50 = ItemFactura.crear("Producto B", Cantidad.of(1), Dinero.of(new BigDecimal("50.00")),
+            Porcentaje.of(new BigDecimal("19.00")), Porcentaje.of(new BigDecimal("10.00")));
+
+        // When - dos veces el item de 50.00 alrededor del que está en cache
+        List<ItemFactura> resultado = taxCalculatorAdapter.calcularImpuestosYDescuentos(
+            List.of(itemDe50, itemDe100("Producto A"), itemDe50));
+
+        // Then
+        assertThat(resultado).extracting(item -> item.getTotal().getCantidad())
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("54.50"), new BigDecimal("109.00"), new BigDecimal("54.50"));
+        verify(1, postRequestedFor(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items.length()", equalTo("1")))
+            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("50.00"))));
+        assertThat(itemsRemotos("cache")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Test 16: Cambiar la versión de reglas descarta los resultados en cache")
+    void testCambiarVersionReglas_VaciaCache() {
+        // Given
+        stubFor(post(urlEqualTo("/calcular"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(DETALLE_UN_ITEM)));
+        taxCalculatorAdapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+
+        // When
+        taxCalculatorAdapter.cambiarVersionReglas("2");
+        taxCalculatorAdapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+
+        // Then
+        verify(2, postRequestedFor(urlEqualTo("/calcular")));
+        assertThat(taxCalculatorAdapter.estadoCache()).containsEntry("version", "2");
+    }
+
+    @Test
+    @DisplayName("Test 17: Peticiones concurrentes viajan en un solo POST y cada una recibe sus items en orden")
+    void testLotes_UnSoloPostYOrdenPorPeticion() throws Exception {
+        // Given - la segunda petición llega dentro de la ventana de la primera
+        stubFor(post(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items.length()", equalTo("3")))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("""
+                    {"detalle_items": [
+                        {"subtotal": 50.00, "impuesto": 9.50, "descuento": 5.00, "total": 54.50},
+                        {"subtotal": 100.00, "impuesto": 19.00, "descuento": 10.00, "total": 109.00},
+                        {"subtotal": 30.00, "impuesto": 5.70, "descuento": 3.00, "total": 32.70}
+                    ]}
+                    """)));
+        TaxCalculatorAdapter adapter = adapterConLotes(Duration.ofSeconds(1));
+
+        // When
+        CompletableFuture<List<ItemFactura>> primera;
+        CompletableFuture<List<ItemFactura>> segunda;
+        try {
+            primera = CompletableFuture.supplyAsync(() -> adapter.calcularImpuestosYDescuentos(
+                List.of(item("A", "50.00"), item("B", "100.00"))), hilos);
+            Thread.sleep(100);
+            segunda = CompletableFuture.supplyAsync(() -> adapter.calcularImpuestosYDescuentos(
+                List.of(item("C", "100.00"), item("D", "30.00"))), hilos);
+            primera.get(5, TimeUnit.SECONDS);
+            segunda.get(5, TimeUnit.SECONDS);
+        } finally {
+            adapter.destroy();
+        }
+
+        // Then - el item de 100.00 que comparten se envía una vez
+        assertThat(primera.get()).extracting(item -> item.getTotal().getCantidad())
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("54.50"), new BigDecimal("109.00"));
+        assertThat(segunda.get()).extracting(ItemFactura::getDescripcion).containsExactly("C", "D");
+        assertThat(segunda.get()).extracting(item -> item.getTotal().getCantidad())
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("109.00"), new BigDecimal("32.70"));
+        verify(1, postRequestedFor(urlEqualTo("/calcular")));
+        assertThat(meterRegistry.get("facturacion.impuestos.lote.tamano").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("facturacion.impuestos.lote.tamano").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("facturacion.impuestos.lote.espera").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test 18: Un lote rechazado se reenvía por petición y el error solo afecta a la que lo causó")
+    void testLotes_RechazoAisladoPorPeticion() throws Exception {
+        // Given - el servicio rechaza cualquier petición que incluya el item de 100.00
+        stubFor(post(urlEqualTo("/calcular"))
+            .willReturn(aResponse().withStatus(422)));
+        stubFor(post(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items.length()", equalTo("1")))
+            .withRequestBody(matchingJsonPath("$.items[0].precio_unitario", equalTo("50.00")))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("""
+                    {"detalle_items": [
+                        {"subtotal": 50.00, "impuesto": 9.50, "descuento": 5.00, "total": 54.50}
+                    ]}
+                    """)));
+        TaxCalculatorAdapter adapter = adapterConLotes(Duration.ofMillis(500));
+
+        // When
+        CompletableFuture<List<ItemFactura>> valida;
+        CompletableFuture<List<ItemFactura>> rechazada;
+        try {
+            valida = CompletableFuture.supplyAsync(() ->
+                adapter.calcularImpuestosYDescuentos(List.of(item("A", "50.00"))), hilos);
+            rechazada = CompletableFuture.supplyAsync(() ->
+                adapter.calcularImpuestosYDescuentos(List.of(item("B", "100.00"))), hilos);
+
+            // Then
+            assertThat(valida.get(5, TimeUnit.SECONDS).get(0).getTotal().getCantidad())
+                .isEqualByComparingTo("54.50");
+            assertThatThrownBy(() -> rechazada.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            adapter.destroy();
+        }
+        verify(3, postRequestedFor(urlEqualTo("/calcular")));
+    }
+
+    @Test
+    @DisplayName("Test 19: Un error del servicio falla todas las peticiones del lote")
+    void testLotes_ErrorDelServicio_FallaTodas() {
+        // Given
+        stubFor(post(urlEqualTo("/calcular"))
+            .willReturn(aResponse().withStatus(500)));
+        TaxCalculatorAdapter adapter = adapterConLotes(Duration.ofMillis(500));
+
+        // When
+        CompletableFuture<List<ItemFactura>> primera;
+        CompletableFuture<List<ItemFactura>> segunda;
+        try {
+            primera = CompletableFuture.supplyAsync(() ->
+                adapter.calcularImpuestosYDescuentos(List.of(item("A", "50.00"))), hilos);
+            segunda = CompletableFuture.supplyAsync(() ->
+                adapter.calcularImpuestosYDescuentos(List.of(item("B", "100.00"))), hilos);
+
+            // Then
+            assertThatThrownBy(() -> primera.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> segunda.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            adapter.destroy();
+        }
+        verify(1, postRequestedFor(urlEqualTo("/calcular")));
+    }
+
+    @Test
+    @DisplayName("Test 20: El formato compacto envía CBOR en centavos, sin descripciones")
+    void testFormatoCompacto_EnviaCbor() throws Exception {
+        // Given
+        CBORMapper cbor = new CBORMapper();
+        byte[] solicitud = cbor.writeValueAsBytes(new MensajesCalculoImpuestos.SolicitudCompacta(
+            List.of(new MensajesCalculoImpuestos.ItemCompacto(1, 10_000, 1_900, 1_000))));
+        stubFor(post(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/cbor"))
+            .withRequestBody(binaryEqualTo(solicitud))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/cbor")
+                .withBody(cbor.writeValueAsBytes(new MensajesCalculoImpuestos.RespuestaCompacta(
+                    List.of(new MensajesCalculoImpuestos.ResultadoCompacto(10_000, 1_900, 1_000, 10_900)))))));
+        properties.setCompactEncoding(true);
+        TaxCalculatorAdapter adapter = crearAdapter();
+
+        // When
+        List<ItemFactura> resultado = adapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+
+        // Then
+        assertThat(resultado.get(0).getDescripcion()).isEqualTo("Producto Test");
+        assertThat(resultado.get(0).getImpuesto().getCantidad()).isEqualByComparingTo("19.00");
+        assertThat(resultado.get(0).getTotal().getCantidad()).isEqualByComparingTo("109.00");
+        verify(1, postRequestedFor(urlEqualTo("/calcular")));
+    }
+
+    @Test
+    @DisplayName("Test 21: Si el servicio no acepta el formato compacto se usa JSON en adelante")
+    void testFormatoCompacto_NoSoportado_RegresaAJson() {
+        // Given - un servicio que solo entiende JSON
+        stubFor(post(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/cbor"))
+            .willReturn(aResponse().withStatus(422)));
+        stubFor(post(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/json"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(DETALLE_UN_ITEM)));
+        properties.setCompactEncoding(true);
+        TaxCalculatorAdapter adapter = crearAdapter();
+
+        // When - items distintos para que el segundo no salga del cache
+        List<ItemFactura> primero = adapter.calcularImpuestosYDescuentos(List.of(item("A", "100.00")));
+        adapter.calcularImpuestosYDescuentos(List.of(item("B", "50.00")));
+
+        // Then
+        assertThat(primero.get(0).getTotal().getCantidad()).isEqualByComparingTo("109.00");
+        verify(1, postRequestedFor(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/cbor")));
+        verify(2, postRequestedFor(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/json")));
+    }
+
+    @Test
+    @DisplayName("Test 22: Un item rechazado también en JSON no desactiva el formato compacto")
+    void testFormatoCompacto_RechazoEnAmbos_SeConservaCbor() {
+        // Given
+        stubFor(post(urlEqualTo("/calcular"))
+            .willReturn(aResponse().withStatus(422)));
+        properties.setCompactEncoding(true);
+        TaxCalculatorAdapter adapter = crearAdapter();
+
+        // When
+        assertThatThrownBy(() -> adapter.calcularImpuestosYDescuentos(List.of(item("A", "100.00"))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> adapter.calcularImpuestosYDescuentos(List.of(item("A", "100.00"))))
+            .isInstanceOf(IllegalStateException.class);
+
+        // Then - cada llamada intentó primero CBOR
+        verify(2, postRequestedFor(urlEqualTo("/calcular"))
+            .withHeader("Content-Type", containing("application/cbor")));
+    }
+
+    @Test
+    @DisplayName("Test 23: Los aciertos de cache no llegan a la llamada con Circuit Breaker y Retry")
+    void testAciertosDeCache_NoPasanPorLlamadaRemota() {
+        // Given - la llamada remota (la que lleva @CircuitBreaker y @Retry) solo responde una vez
+        CalculoImpuestosRemoto remoto = Mockito.mock(CalculoImpuestosRemoto.class);
+        Mockito.when(remoto.calcular(ArgumentMatchers.anyList()))
+            .thenReturn(List.of(new CacheResultadosImpuesto.Resultado(10000, 1900, 1000, 10900)))
+            .thenThrow(new IllegalStateException("El servicio de cálculo de impuestos no está disponible"));
+        TaxCalculatorAdapter adapter = new TaxCalculatorAdapter(remoto, properties, meterRegistry);
+        adapter.calcularImpuestosYDescuentos(List.of(itemDe100("Producto Test")));
+
+        // When - el mismo item con el servicio ya caído
+        List<ItemFactura> resultado = adapter.calcularImpuestosYDescuentos(List.of(itemDe100("Otra vez")));
+
+        // Then
+        assertThat(resultado.get(0).getTotal().getCantidad()).isEqualByComparingTo("109.00");
+        Mockito.verify(remoto, Mockito.times(1)).calcular(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @DisplayName("Test 24: El tamaño máximo del lote cuenta items distintos entre peticiones")
+    void testLotes_TamanoMaximoPorItemsDistintos() throws Exception {
+        // Given - máximo 3: las dos primeras peticiones suman 2 items distintos y esperan a la tercera
+        stubFor(post(urlEqualTo("/calcular"))
+            .withRequestBody(matchingJsonPath("$.items.length()", equalTo("3")))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("""
+                    {"detalle_items": [
+                        {"subtotal": 50.00, "impuesto": 9.50, "descuento": 5.00, "total": 54.50},
+                        {"subtotal": 100.00, "impuesto": 19.00, "descuento": 10.00, "total": 109.00},
+                        {"subtotal": 30.00, "impuesto": 5.70, "descuento": 3.00, "total": 32.70}
+                    ]}
+                    """)));
+        TaxCalculatorAdapter adapter = adapterConLotes(Duration.ofSeconds(2), 3);
+
+        // When
+        CompletableFuture<List<ItemFactura>> primera;
+        CompletableFuture<List<ItemFactura>> segunda;
+        CompletableFuture<List<ItemFactura>> tercera;
+        long inicio = System.nanoTime();
+        try {
+            primera = CompletableFuture.supplyAsync(() -> adapter.calcularImpuestosYDescuentos(
+                List.of(item("A", "50.00"), item("B", "100.00"))), hilos);
+            Thread.sleep(100);
+            segunda = CompletableFuture.supplyAsync(() -> adapter.calcularImpuestosYDescuentos(
+                List.of(item("C", "100.00"))), hilos);
+            Thread.sleep(100);
+            tercera = CompletableFuture.supplyAsync(() -> adapter.calcularImpuestosYDescuentos(
+                List.of(item("D", "30.00"))), hilos);
+            CompletableFuture.allOf(primera, segunda, tercera).get(5, TimeUnit.SECONDS);
+        } finally {
+            adapter.destroy();
+        }
+
+        // Then - un solo POST, enviado al completarse el lote y no al vencer la ventana
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(2));
+        assertThat(segunda.get().get(0).getTotal().getCantidad()).isEqualByComparingTo("109.00");
+        assertThat(tercera.get().get(0).getTotal().getCantidad()).isEqualByComparingTo("32.70");
+        verify(1, postRequestedFor(urlEqualTo("/calcular")));
+        assertThat(meterRegistry.get("facturacion.impuestos.lote.tamano").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    private TaxCalculatorAdapter adapterConLotes(Duration ventana) {
+        return adapterConLotes(ventana, 100);
+    }
+
+    private TaxCalculatorAdapter adapterConLotes(Duration ventana, int tamanoMaximo) {
+        properties.setBatchEnabled(true);
+        properties.setBatchWindow(ventana);
+        properties.setBatchMaxSize(tamanoMaximo);
+        return crearAdapter();
+    }
+
+    /**
+     * Adapter con las properties actuales; sin Spring, la llamada remota va sin Resilience4j
+     */
+    private TaxCalculatorAdapter crearAdapter() {
+        return new TaxCalculatorAdapter(new CalculoImpuestosRemoto(WebClient.builder(), properties), properties,
+            meterRegistry);
+    }
+
+    private static ItemFactura item(String descripcion, String precio) {
+        return ItemFactura.crear(descripcion, Cantidad.of(1), Dinero.of(new BigDecimal(precio)),
+            Porcentaje.of(new BigDecimal("19.00")), Porcentaje.of(new BigDecimal("10.00")));
+    }
+
+    private static ItemFactura itemDe100(String descripcion) {
+        return ItemFactura.crear(descripcion, Cantidad.of(1), Dinero.of(new BigDecimal("100.00")),
+            Porcentaje.of(new BigDecimal("19.00")), Porcentaje.of(new BigDecimal("10.00")));
+    }
+
+    private double itemsRemotos(String resultado) {
+        return meterRegistry.get("facturacion.impuestos.remoto.items").tag("resultado", resultado)
+            .counter().count();
+    }
 }
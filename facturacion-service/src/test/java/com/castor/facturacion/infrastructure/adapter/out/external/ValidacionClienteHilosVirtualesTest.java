@@ -0,0 +1,165 @@
+package com.castor.facturacion.infrastructure.adapter.out.external;
+
+import com.castor.facturacion.domain.port.out.ClienteValidationPort;
+import com.castor.facturacion.infrastructure.adapter.out.external.cache.ClienteValidationCacheDecorator;
+import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
+import com.castor.facturacion.support.DetectorPinning;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifica que las rutas bloqueantes de validación de clientes no fijan el hilo portador
+ * cuando se ejecutan en hilos virtuales (spring.threads.virtual.enabled=true).
+ *
+ * Cobertura:
+ * - Llamada HTTP por cliente con WebClient.block()
+ * - Validación por lotes (cola con lock y espera del CompletableFuture)
+ * - Cache con llamadas concurrentes agrupadas (single-flight)
+ * - Control: synchronized con una espera dentro sí se detecta
+ */
+@DisplayName("Validación de clientes en hilos virtuales - Tests de pinning")
+class ValidacionClienteHilosVirtualesTest {
+
+    private static final int HILOS = 50;
+
+    private WireMockServer wireMockServer;
+    private ClienteServiceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        properties = new ClienteServiceProperties();
+        properties.setBaseUrl("http://localhost:" + wireMockServer.port());
+        properties.setTimeout(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 01: La llamada HTTP por cliente no fija el hilo portador")
+    void testLlamadaPorCliente_SinPinning() throws Exception {
+        // Given
+        stubFor(get(urlMatching("/api/v1/clientes/.*/activo"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("true")
+                .withFixedDelay(20)));
+        ClienteValidationAdapter adapter =
+            new ClienteValidationAdapter(WebClient.builder(), properties, new SimpleMeterRegistry());
+        AtomicLong ids = new AtomicLong();
+
+        // When
+        List<String> fijados = DetectorPinning.ejecutar(HILOS,
+            () -> assertThat(adapter.esClienteActivo(ids.incrementAndGet())).isTrue());
+
+        // Then
+        assertThat(fijados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 02: La validación por lotes no fija el hilo portador")
+    void testValidacionPorLotes_SinPinning() throws Exception {
+        // Given
+        stubFor(post(urlEqualTo("/api/v1/clientes/estado"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"activos\":[],\"inactivos\":[]}")
+                .withFixedDelay(20)));
+        properties.setBatchEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(2));
+        properties.setBatchMaxSize(10);
+        ClienteValidationAdapter adapter =
+            new ClienteValidationAdapter(WebClient.builder(), properties, new SimpleMeterRegistry());
+        AtomicLong ids = new AtomicLong();
+
+        // When
+        List<String> fijados;
+        try {
+            fijados = DetectorPinning.ejecutar(HILOS,
+                () -> assertThat(adapter.existeCliente(ids.incrementAndGet())).isFalse());
+        } finally {
+            adapter.destroy();
+        }
+
+        // Then
+        assertThat(fijados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 03: Las llamadas concurrentes agrupadas del cache no fijan el hilo portador")
+    void testCacheSingleFlight_SinPinning() throws Exception {
+        // Given - todas las validaciones son del mismo cliente y esperan la misma llamada
+        ClienteValidationPort lento = new ClienteValidationPort() {
+            @Override
+            public boolean esClienteActivo(Long clienteId) {
+                dormir();
+                return true;
+            }
+
+            @Override
+            public boolean existeCliente(Long clienteId) {
+                dormir();
+                return true;
+            }
+        };
+        ClienteValidationCacheDecorator decorador =
+            new ClienteValidationCacheDecorator(lento, properties, new SimpleMeterRegistry());
+
+        // When
+        List<String> fijados = DetectorPinning.ejecutar(HILOS,
+            () -> assertThat(decorador.esClienteActivo(7L)).isTrue());
+
+        // Then
+        assertThat(fijados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 04: Control - una espera dentro de synchronized sí se detecta")
+    void testSynchronizedConEspera_SeDetecta() throws Exception {
+        // Given
+        Object monitor = new Object();
+
+        // When
+        List<String> fijados = DetectorPinning.ejecutar(2, () -> {
+            synchronized (monitor) {
+                Thread.sleep(20);
+            }
+        });
+
+        // Then
+        assertThat(fijados).isNotEmpty();
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
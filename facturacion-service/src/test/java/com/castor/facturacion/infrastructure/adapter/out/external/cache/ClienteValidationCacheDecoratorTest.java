@@ -0,0 +1,317 @@
+package com.castor.facturacion.infrastructure.adapter.out.external.cache;
+
+import com.castor.facturacion.domain.port.out.ClienteValidationPort;
+import com.castor.facturacion.infrastructure.config.ClienteServiceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Tests unitarios para ClienteValidationCacheDecorator.
+ *
+ * Cobertura:
+ * - Cache de resultados positivos y negativos
+ * - Errores de clientes-service: fallback false sin cachear
+ * - Invalidación de un cliente bajo demanda
+ * - Cache deshabilitado
+ * - Llamadas concurrentes para el mismo cliente agrupadas en una (single-flight)
+ * - Refresco anticipado y resultados vencidos servidos ante errores
+ * - Invalidaciones y actualizaciones CDC cruzadas con una consulta en curso
+ */
+@DisplayName("ClienteValidationCacheDecorator - Tests Unitarios")
+class ClienteValidationCacheDecoratorTest {
+
+    private final ClienteValidationPort delegado = mock(ClienteValidationPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ClienteServiceProperties properties;
+    private ClienteValidationCacheDecorator decorador;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ClienteServiceProperties();
+        decorador = new ClienteValidationCacheDecorator(delegado, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test 01: Un cliente inactivo se cachea y los reintentos no llaman a clientes-service")
+    void testEsClienteActivo_ResultadoNegativoCacheado() {
+        // Given
+        given(delegado.esClienteActivo(5L)).willReturn(false);
+
+        // When
+        boolean primero = decorador.esClienteActivo(5L);
+        boolean segundo = decorador.esClienteActivo(5L);
+        boolean tercero = decorador.esClienteActivo(5L);
+
+        // Then
+        assertThat(primero).isFalse();
+        assertThat(segundo).isFalse();
+        assertThat(tercero).isFalse();
+        then(delegado).should(times(1)).esClienteActivo(5L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "clientesActivosNegativo").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test 02: Un cliente activo se cachea por operación")
+    void testResultadoPositivoCacheadoPorOperacion() {
+        // Given
+        given(delegado.esClienteActivo(1L)).willReturn(true);
+        given(delegado.existeCliente(1L)).willReturn(true);
+
+        // When
+        decorador.esClienteActivo(1L);
+        decorador.esClienteActivo(1L);
+        decorador.existeCliente(1L);
+        decorador.existeCliente(1L);
+
+        // Then
+        then(delegado).should(times(1)).esClienteActivo(1L);
+        then(delegado).should(times(1)).existeCliente(1L);
+        assertThat(decorador.tamanos())
+            .containsEntry("clientesActivos", 1L)
+            .containsEntry("clientesExistentes", 1L)
+            .containsEntry("clientesActivosNegativo", 0L);
+    }
+
+    @Test
+    @DisplayName("Test 03: Un error de clientes-service retorna false y no se cachea")
+    void testEsClienteActivo_Error_RetornaFalseSinCachear() {
+        // Given
+        given(delegado.esClienteActivo(1L))
+            .willThrow(new IllegalStateException("Error al comunicarse con el servicio de clientes"))
+            .willReturn(true);
+
+        // When
+        boolean conError = decorador.esClienteActivo(1L);
+        boolean recuperado = decorador.esClienteActivo(1L);
+
+        // Then
+        assertThat(conError).isFalse();
+        assertThat(recuperado).isTrue();
+        then(delegado).should(times(2)).esClienteActivo(1L);
+    }
+
+    @Test
+    @DisplayName("Test 04: Invalidar un cliente obliga a consultarlo de nuevo")
+    void testInvalidar_ConsultaDeNuevo() {
+        // Given
+        given(delegado.esClienteActivo(5L)).willReturn(false, true);
+        given(delegado.existeCliente(5L)).willReturn(true);
+        decorador.esClienteActivo(5L);
+        decorador.existeCliente(5L);
+
+        // When
+        decorador.invalidar(5L);
+        boolean reactivado = decorador.esClienteActivo(5L);
+        decorador.existeCliente(5L);
+
+        // Then
+        assertThat(reactivado).isTrue();
+        then(delegado).should(times(2)).esClienteActivo(5L);
+        then(delegado).should(times(2)).existeCliente(5L);
+    }
+
+    @Test
+    @DisplayName("Test 05: Con el cache deshabilitado cada validación llama a clientes-service")
+    void testCacheDeshabilitado_SiempreDelega() {
+        // Given
+        properties.setEnableCache(false);
+        ClienteValidationCacheDecorator sinCache =
+            new ClienteValidationCacheDecorator(delegado, properties, new SimpleMeterRegistry());
+        given(delegado.esClienteActivo(1L)).willReturn(true);
+
+        // When
+        sinCache.esClienteActivo(1L);
+        sinCache.esClienteActivo(1L);
+
+        // Then
+        then(delegado).should(times(2)).esClienteActivo(1L);
+    }
+
+    @Test
+    @DisplayName("Test 06: Fallos de cache concurrentes del mismo cliente comparten una llamada")
+    void testLlamadasConcurrentes_CompartenUnaLlamada() throws Exception {
+        // Given - la primera llamada no termina hasta que todos los hilos están esperando
+        int hilos = 8;
+        CountDownLatch liberar = new CountDownLatch(1);
+        given(delegado.existeCliente(3L)).willAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+
+        // When
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(executor.submit(() -> decorador.existeCliente(3L)));
+            }
+            while (compartidas("existeCliente") < hilos - 1) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+
+            // Then
+            for (Future<Boolean> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        then(delegado).should(times(1)).existeCliente(3L);
+        assertThat(meterRegistry.get("facturacion.cliente.validacion.llamadas")
+            .tag("operacion", "existeCliente").tag("resultado", "emitida").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test 07: Un resultado positivo próximo a vencer se sirve y se refresca en segundo plano")
+    void testRefrescoAnticipado_SirveYRecarga() {
+        // Given - refresco a los 4 minutos de un cache de 5
+        AtomicLong ahora = new AtomicLong();
+        ClienteValidationCacheDecorator conReloj =
+            new ClienteValidationCacheDecorator(delegado, properties, meterRegistry, ahora::get);
+        given(delegado.esClienteActivo(1L)).willReturn(true, false);
+        conReloj.esClienteActivo(1L);
+
+        // When
+        ahora.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+        boolean servido = conReloj.esClienteActivo(1L);
+
+        // Then - se sirve el valor cacheado y el refresco guarda el nuevo resultado
+        assertThat(servido).isTrue();
+        esperar(() -> refrescos("actualizado") == 1);
+        assertThat(conReloj.esClienteActivo(1L)).isFalse();
+        then(delegado).should(times(2)).esClienteActivo(1L);
+    }
+
+    @Test
+    @DisplayName("Test 08: Con clientes-service caído se usa el resultado vencido dentro de la ventana de obsoletos")
+    void testObsoletoSiError_DentroDeVentana() {
+        // Given - positivos de 5 minutos, usables 10 minutos más si hay error
+        AtomicLong ahora = new AtomicLong();
+        ClienteValidationCacheDecorator conReloj =
+            new ClienteValidationCacheDecorator(delegado, properties, meterRegistry, ahora::get);
+        given(delegado.esClienteActivo(1L))
+            .willReturn(true)
+            .willThrow(new IllegalStateException("Circuit Breaker abierto"));
+        conReloj.esClienteActivo(1L);
+
+        // When
+        ahora.addAndGet(Duration.ofMinutes(6).toNanos());
+        boolean dentroDeVentana = conReloj.esClienteActivo(1L);
+        ahora.addAndGet(Duration.ofMinutes(10).toNanos());
+        boolean fueraDeVentana = conReloj.esClienteActivo(1L);
+
+        // Then
+        assertThat(dentroDeVentana).isTrue();
+        assertThat(fueraDeVentana).isFalse();
+        assertThat(meterRegistry.get("facturacion.cliente.cache.obsoletos")
+            .tag("cache", "clientesActivos").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test 09: Un refresco en curso no resucita a un cliente invalidado durante la llamada")
+    void testRefresco_CruzadoConInvalidacion_NoGuarda() throws Exception {
+        // Given - el refresco queda bloqueado dentro de la llamada a clientes-service
+        AtomicLong ahora = new AtomicLong();
+        ClienteValidationCacheDecorator conReloj =
+            new ClienteValidationCacheDecorator(delegado, properties, meterRegistry, ahora::get);
+        CountDownLatch enLlamada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        given(delegado.esClienteActivo(1L))
+            .willReturn(true)
+            .willAnswer(invocation -> {
+                enLlamada.countDown();
+                liberar.await(5, TimeUnit.SECONDS);
+                return true;
+            })
+            .willReturn(false);
+        conReloj.esClienteActivo(1L);
+        ahora.addAndGet(Duration.ofMinutes(4).plusSeconds(1).toNanos());
+        conReloj.esClienteActivo(1L);
+        assertThat(enLlamada.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When - se invalida mientras el refresco espera la respuesta
+        conReloj.invalidar(1L);
+        liberar.countDown();
+        esperar(() -> refrescos("invalidado") == 1);
+
+        // Then - el resultado del refresco se descarta y la siguiente validación consulta de nuevo
+        assertThat(conReloj.tamanos()).containsEntry("clientesActivos", 0L);
+        assertThat(conReloj.esClienteActivo(1L)).isFalse();
+        assertThat(refrescos("actualizado")).isZero();
+        then(delegado).should(times(3)).esClienteActivo(1L);
+    }
+
+    @Test
+    @DisplayName("Test 10: Una consulta en curso no pisa el estado recibido por CDC durante la llamada")
+    void testConsultaEnCurso_CruzadaConActualizacionCdc_NoGuarda() throws Exception {
+        // Given - la consulta remota queda bloqueada con el estado anterior (activo)
+        CountDownLatch enLlamada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        given(delegado.esClienteActivo(7L)).willAnswer(invocation -> {
+            enLlamada.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Boolean> enCurso = executor.submit(() -> decorador.esClienteActivo(7L));
+            assertThat(enLlamada.await(2, TimeUnit.SECONDS)).isTrue();
+
+            // When - llega la desactivación por CDC antes de la respuesta
+            decorador.actualizar(7L, false);
+            liberar.countDown();
+
+            // Then - quien consultó recibe la respuesta remota, pero el cache conserva el estado CDC
+            assertThat(enCurso.get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(decorador.esClienteActivo(7L)).isFalse();
+        assertThat(decorador.tamanos())
+            .containsEntry("clientesActivos", 0L)
+            .containsEntry("clientesActivosNegativo", 1L);
+        then(delegado).should(times(1)).esClienteActivo(7L);
+    }
+
+    private double compartidas(String operacion) {
+        return meterRegistry.get("facturacion.cliente.validacion.llamadas")
+            .tag("operacion", operacion).tag("resultado", "compartida").counter().count();
+    }
+
+    private double refrescos(String resultado) {
+        Counter contador = meterRegistry.find("facturacion.cliente.cache.refrescos")
+            .tag("cache", "clientesActivos").tag("resultado", resultado).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private static void esperar(BooleanSupplier condicion) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condición no cumplida a tiempo").isLessThan(limite);
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.castor.facturacion.infrastructure.adapter.out.impuestos;
+
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.port.out.TaxCalculatorPort;
+import com.castor.facturacion.domain.valueobject.Cantidad;
+import com.castor.facturacion.domain.valueobject.Dinero;
+import com.castor.facturacion.domain.valueobject.Porcentaje;
+import com.castor.facturacion.infrastructure.config.ReglasImpuestosProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para MotorReglasImpuestos con un archivo de tasas temporal.
+ *
+ * Cobertura:
+ * - Cálculo con la tasa del item y el redondeo de tax-calculator-service
+ * - Tasa de su categoría (o la por defecto) para items sin porcentaje de impuesto
+ * - Recarga en caliente del archivo y conservación de la tabla ante un archivo inválido
+ * - Verificación remota en segundo plano (coincide / difiere) con la tasa resuelta de cada item
+ * - Cálculo remoto: la aritmética la hace el servicio con la tasa resuelta por el motor
+ */
+@DisplayName("MotorReglasImpuestos - Tests Unitarios")
+class MotorReglasImpuestosTest {
+
+    @TempDir
+    Path directorio;
+
+    private Path archivo;
+    private ReglasImpuestosProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private MotorReglasImpuestos motor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archivo = directorio.resolve("tasas-impuestos.json");
+        escribirTasas("v1", "19.00");
+
+        properties = new ReglasImpuestosProperties();
+        properties.setIntervaloRecarga(Duration.ofMillis(20));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (motor != null) {
+            motor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 01: Calcula con el impuesto y el descuento del item, con redondeo HALF_UP")
+    void testCalcular_TasaDelItemYRedondeo() {
+        // Given - tabla general 19%, pero el item trae 16%:
+        // 3 x 10.05 = 30.15; IVA 16% = 4.824 -> 4.82; descuento 5% = 1.5075 -> 1.51
+        motor = crearMotor(null);
+        ItemFactura item = item("10.05", 3, "16.00", "5.00");
+
+        // When
+        ItemFactura calculado = motor.calcularImpuestosYDescuentos(List.of(item)).get(0);
+
+        // Then
+        assertThat(calculado.getPorcentajeImpuesto().getValor()).isEqualByComparingTo("16.00");
+        assertThat(calculado.getSubtotal().getCantidad()).isEqualByComparingTo("30.15");
+        assertThat(calculado.getImpuesto().getCantidad()).isEqualByComparingTo("4.82");
+        assertThat(calculado.getDescuento().getCantidad()).isEqualByComparingTo("1.51");
+        assertThat(calculado.getTotal().getCantidad()).isEqualByComparingTo("33.46");
+        assertThat(motor.versionTasas()).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Test 02: El porcentaje de descuento se redondea a 2 decimales antes de aplicarlo")
+    void testCalcular_DescuentoRedondeadoADosDecimales() {
+        // Given - 2.555% se aplica como 2.56%: 1000.00 -> 25.60 (y no 25.55)
+        motor = crearMotor(null);
+        ItemFactura item = item("1000.00", 1, "0.00", "2.555");
+
+        // When
+        ItemFactura calculado = motor.calcularImpuestosYDescuentos(List.of(item)).get(0);
+
+        // Then
+        assertThat(calculado.getDescuento().getCantidad()).isEqualByComparingTo("25.60");
+    }
+
+    @Test
+    @DisplayName("Test 03: Un cambio en el archivo se aplica sin reiniciar")
+    void testRecarga_AplicaNuevasTasas() throws IOException {
+        // Given
+        motor = crearMotor(null);
+
+        // When
+        escribirTasas("v2", "16.00");
+
+        // Then
+        esperar(() -> "v2".equals(motor.versionTasas()));
+        ItemFactura calculado = motor.calcularImpuestosYDescuentos(List.of(itemSinImpuesto("100.00"))).get(0);
+        assertThat(calculado.getImpuesto().getCantidad()).isEqualByComparingTo("16.00");
+        assertThat(recargas("aplicada")).isGreaterThanOrEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Test 04: Un archivo inválido no reemplaza las tasas vigentes")
+    void testRecarga_ArchivoInvalido_ConservaTabla() throws IOException {
+        // Given
+        motor = crearMotor(null);
+
+        // When
+        Files.writeString(archivo, "{\"categorias\": {\"reducida\": {\"impuesto\": 5.00}}}");
+        Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+
+        // Then - sin la categoría por defecto la tabla nueva se rechaza
+        esperar(() -> recargas("error") >= 1);
+        assertThat(motor.versionTasas()).isEqualTo("v1");
+        ItemFactura calculado = motor.calcularImpuestosYDescuentos(List.of(itemSinImpuesto("100.00"))).get(0);
+        assertThat(calculado.getImpuesto().getCantidad()).isEqualByComparingTo("19.00");
+    }
+
+    @Test
+    @DisplayName("Test 05: Sin tasas válidas al iniciar el motor no arranca")
+    void testInicio_ArchivoInvalido_LanzaExcepcion() throws IOException {
+        // Given
+        Files.writeString(archivo, "{\"categorias\": {}}");
+
+        // When & Then
+        assertThatThrownBy(() -> crearMotor(null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("No fue posible cargar las tasas de impuestos");
+    }
+
+    @Test
+    @DisplayName("Test 06: La verificación remota contabiliza si el resultado coincide o difiere")
+    void testVerificacionRemota_CoincideYDifiere() {
+        // Given - el verificador recalcula igual para un item y con otro IVA para el resto
+        motor = crearMotor(items -> items.stream()
+            .map(i -> i.getPrecioUnitario().getCantidad().compareTo(new BigDecimal("100.00")) == 0
+                ? i
+                : ItemFactura.crear(i.getDescripcion(), i.getCantidad(), i.getPrecioUnitario(),
+                    Porcentaje.of(new BigDecimal("16.00")), i.getPorcentajeDescuento()))
+            .toList());
+
+        // When
+        motor.calcularImpuestosYDescuentos(List.of(item("100.00", 1, "0.00", "0.00")));
+        motor.calcularImpuestosYDescuentos(List.of(item("50.00", 2, "0.00", "0.00")));
+
+        // Then
+        esperar(() -> verificaciones("coincide") == 1.0 && verificaciones("difiere") == 1.0);
+    }
+
+    @Test
+    @DisplayName("Test 07: Un item sin porcentaje de impuesto usa la tasa de la categoría por defecto")
+    void testCalcular_SinPorcentaje_UsaCategoriaPorDefecto() {
+        // Given - 0% es una tasa propia (exento), null es que el item no trae tasa
+        motor = crearMotor(null);
+
+        // When
+        List<ItemFactura> calculados = motor.calcularImpuestosYDescuentos(
+            List.of(itemSinImpuesto("100.00"), item("100.00", 1, "0.00", "0.00")));
+
+        // Then
+        assertThat(calculados.get(0).getImpuesto().getCantidad()).isEqualByComparingTo("19.00");
+        assertThat(calculados.get(1).getImpuesto().getCantidad()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Test 08: La verificación remota recibe la tasa resuelta de los items sin porcentaje")
+    void testVerificacionRemota_ItemSinPorcentaje_EnviaTasaResuelta() {
+        // Given - el servicio recalcula con el porcentaje recibido, como tax-calculator-service
+        AtomicReference<List<ItemFactura>> recibidos = new AtomicReference<>();
+        motor = crearMotor(items -> {
+            recibidos.set(items);
+            return items.stream()
+                .map(i -> ItemFactura.crear(i.getDescripcion(), i.getCantidad(), i.getPrecioUnitario(),
+                    i.getPorcentajeImpuesto(), i.getPorcentajeDescuento()))
+                .toList();
+        });
+        ItemFactura conTasa = item("50.00", 1, "16.00", "0.00");
+
+        // When
+        motor.calcularImpuestosYDescuentos(List.of(itemSinImpuesto("100.00"), conTasa));
+
+        // Then - sin tasa el servicio no podría calcular el item y la verificación sería un error
+        esperar(() -> verificaciones("coincide") == 1.0);
+        assertThat(recibidos.get().get(0).getPorcentajeImpuesto().getValor()).isEqualByComparingTo("19.00");
+        assertThat(recibidos.get().get(1)).isSameAs(conTasa);
+        assertThat(verificaciones("error")).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 09: Un item sin porcentaje usa la tasa de su categoría; una categoría sin tasa falla")
+    void testCalcular_SinPorcentaje_UsaTasaDeSuCategoria() {
+        // Given
+        motor = crearMotor(null);
+        ItemFactura exento = ItemFactura.crearPorCategoria("Producto", Cantidad.of(1),
+            Dinero.of(new BigDecimal("100.00")), "exenta", Porcentaje.cero());
+        ItemFactura desconocido = ItemFactura.crearPorCategoria("Producto", Cantidad.of(1),
+            Dinero.of(new BigDecimal("100.00")), "inexistente", Porcentaje.cero());
+
+        // When
+        ItemFactura calculado = motor.calcularImpuestosYDescuentos(List.of(exento)).get(0);
+
+        // Then
+        assertThat(calculado.getPorcentajeImpuesto().getValor()).isEqualByComparingTo("0.00");
+        assertThat(calculado.getTotal().getCantidad()).isEqualByComparingTo("100.00");
+        assertThatThrownBy(() -> motor.calcularImpuestosYDescuentos(List.of(desconocido)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("inexistente");
+    }
+
+    @Test
+    @DisplayName("Test 10: Con cálculo remoto se devuelve el resultado del servicio, sin verificar")
+    void testCalculoRemoto_DevuelveResultadoDelServicio() {
+        // Given - el servicio calcula con la tasa recibida; su resultado distinto confirma que se usa
+        properties.setCalculoRemoto(true);
+        AtomicReference<List<ItemFactura>> recibidos = new AtomicReference<>();
+        List<ItemFactura> delServicio = List.of(item("100.00", 1, "16.00", "0.00"));
+        motor = crearMotor(items -> {
+            recibidos.set(items);
+            return delServicio;
+        });
+
+        // When
+        List<ItemFactura> calculados = motor.calcularImpuestosYDescuentos(List.of(itemSinImpuesto("100.00")));
+
+        // Then - el item viaja con la tasa de la categoría por defecto y no hay verificación
+        assertThat(calculados).isSameAs(delServicio);
+        assertThat(recibidos.get().get(0).getPorcentajeImpuesto().getValor()).isEqualByComparingTo("19.00");
+        assertThat(verificaciones("coincide") + verificaciones("difiere") + verificaciones("error")).isZero();
+    }
+
+    private MotorReglasImpuestos crearMotor(TaxCalculatorPort verificador) {
+        return new MotorReglasImpuestos(properties, new FileSystemResource(archivo), new ObjectMapper(),
+            verificador, meterRegistry);
+    }
+
+    private void escribirTasas(String version, String general) throws IOException {
+        Files.writeString(archivo, """
+            {"version": "%s", "categorias": {"general": {"impuesto": %s}, "exenta": {"impuesto": 0.00}}}
+            """.formatted(version, general));
+        // Fecha posterior a la anterior aunque el sistema de archivos tenga resolución de segundos
+        Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis()
+            + (version.equals("v1") ? 0 : 1000)));
+    }
+
+    private static ItemFactura item(String precio, int cantidad, String impuesto, String descuento) {
+        return ItemFactura.crear("Producto", Cantidad.of(cantidad), Dinero.of(new BigDecimal(precio)),
+            Porcentaje.of(new BigDecimal(impuesto)), Porcentaje.of(new BigDecimal(descuento)));
+    }
+
+    /**
+     * Item sin porcentaje de impuesto ni categoría, como el de un request sin porcentaje_impuesto
+     */
+    private static ItemFactura itemSinImpuesto(String precio) {
+        return ItemFactura.crearPorCategoria("Producto", Cantidad.of(1), Dinero.of(new BigDecimal(precio)),
+            null, Porcentaje.cero());
+    }
+
+    private double recargas(String resultado) {
+        Counter contador = meterRegistry.find("facturacion.impuestos.reglas.recargas")
+            .tag("resultado", resultado).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private double verificaciones(String resultado) {
+        Counter contador = meterRegistry.find("facturacion.impuestos.verificacion")
+            .tag("resultado", resultado).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private static void esperar(BooleanSupplier condicion) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condición no cumplida a tiempo").isLessThan(limite);
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.cache;
+
+import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.ItemFactura;
+import com.castor.facturacion.domain.port.out.FacturaRepositoryPort;
+import com.castor.facturacion.domain.valueobject.*;
+import com.castor.facturacion.infrastructure.config.FacturaCacheProperties;
+import com.castor.facturacion.support.DetectorPinning;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Tests unitarios para FacturaRepositoryCacheDecorator.
+ *
+ * Cobertura:
+ * - Lectura read-through con métricas de aciertos y fallos
+ * - Factura recién guardada servida desde el cache
+ * - Invalidación al eliminar, también al terminar la transacción
+ * - Número de factura (validación de ETag) servido desde el cache
+ * - Fallos de cache concurrentes en hilos virtuales sin fijar el hilo portador
+ */
+@DisplayName("FacturaRepositoryCacheDecorator - Tests Unitarios")
+class FacturaRepositoryCacheDecoratorTest {
+
+    private final FacturaRepositoryPort delegado = mock(FacturaRepositoryPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FacturaRepositoryCacheDecorator decorador;
+    private Factura factura;
+
+    @BeforeEach
+    void setUp() {
+        decorador = new FacturaRepositoryCacheDecorator(delegado, new FacturaCacheProperties(), meterRegistry);
+
+        ItemFactura item = ItemFactura.crear("Producto A", Cantidad.of(2),
+            Dinero.of(new BigDecimal("100.00")), Porcentaje.of(new BigDecimal("19.00")), Porcentaje.cero());
+        factura = Factura.reconstituir(FacturaId.of(7L), NumeroFactura.of("FACT-CACHE-0007"), 1L, List.of(item),
+            Dinero.of(new BigDecimal("200.00")), Dinero.of(new BigDecimal("38.00")),
+            Dinero.of(BigDecimal.ZERO), Dinero.of(new BigDecimal("238.00")), LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Test 01: La segunda lectura se sirve del cache y se registra como acierto")
+    void testBuscarPorId_SegundaLecturaDesdeCache() {
+        // Given
+        given(delegado.buscarPorId(7L)).willReturn(Optional.of(factura));
+        given(delegado.buscarPorId(8L)).willReturn(Optional.empty());
+
+        // When
+        Optional<Factura> primera = decorador.buscarPorId(7L);
+        Optional<Factura> segunda = decorador.buscarPorId(FacturaId.of(7L));
+        decorador.buscarPorId(8L);
+        decorador.buscarPorId(8L);
+
+        // Then - las facturas inexistentes no se cachean
+        assertThat(primera).containsSame(factura);
+        assertThat(segunda).containsSame(factura);
+        then(delegado).should(times(1)).buscarPorId(7L);
+        then(delegado).should(times(2)).buscarPorId(8L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "facturas").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "facturas").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test 02: Una factura recién guardada se lee sin consultar Oracle")
+    void testGuardar_FacturaQuedaEnCache() {
+        // Given
+        given(delegado.guardar(any())).willReturn(factura);
+
+        // When
+        decorador.guardar(factura);
+        Optional<Factura> leida = decorador.buscarPorId(7L);
+
+        // Then
+        assertThat(leida).containsSame(factura);
+        assertThat(decorador.existe(FacturaId.of(7L))).isTrue();
+        then(delegado).should(never()).buscarPorId(anyLong());
+        then(delegado).should(never()).existe(any());
+    }
+
+    @Test
+    @DisplayName("Test 03: Eliminar invalida la factura, también si se recargó antes del commit")
+    void testEliminar_InvalidaAlTerminarTransaccion() {
+        // Given
+        given(delegado.buscarPorId(7L)).willReturn(Optional.of(factura));
+        decorador.buscarPorId(7L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When - una lectura concurrente recarga la factura antes del commit del borrado
+        decorador.eliminar(FacturaId.of(7L));
+        decorador.buscarPorId(7L);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        given(delegado.buscarPorId(7L)).willReturn(Optional.empty());
+
+        // Then
+        assertThat(decorador.buscarPorId(7L)).isEmpty();
+        then(delegado).should().eliminar(FacturaId.of(7L));
+        then(delegado).should(times(3)).buscarPorId(7L);
+    }
+
+    @Test
+    @DisplayName("Test 04: El número de una factura cacheada se obtiene sin consultar Oracle")
+    void testBuscarNumeroPorId_DesdeCache() {
+        // Given
+        given(delegado.buscarPorId(7L)).willReturn(Optional.of(factura));
+        given(delegado.buscarNumeroPorId(8L)).willReturn(Optional.of("FACT-CACHE-0008"));
+        decorador.buscarPorId(7L);
+
+        // When
+        Optional<String> cacheado = decorador.buscarNumeroPorId(7L);
+        Optional<String> noCacheado = decorador.buscarNumeroPorId(8L);
+
+        // Then
+        assertThat(cacheado).contains("FACT-CACHE-0007");
+        assertThat(noCacheado).contains("FACT-CACHE-0008");
+        then(delegado).should(never()).buscarNumeroPorId(7L);
+    }
+
+    @Test
+    @DisplayName("Test 05: Fallos de cache simultáneos de la misma factura no fijan el hilo portador")
+    void testBuscarPorId_FallosConcurrentes_SinPinning() throws Exception {
+        // Given - la consulta a Oracle se bloquea, como JDBC
+        given(delegado.buscarPorId(7L)).willAnswer(invocation -> {
+            Thread.sleep(20);
+            return Optional.of(factura);
+        });
+
+        // When
+        List<String> fijados = DetectorPinning.ejecutar(20,
+            () -> assertThat(decorador.buscarPorId(7L)).containsSame(factura));
+
+        // Then - la carga corre fuera del compute del cache
+        assertThat(fijados).isEmpty();
+        assertThat(decorador.buscarPorId(7L)).containsSame(factura);
+    }
+}
@@ -0,0 +1,58 @@
+package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para ContadorSentenciasJdbc.
+ *
+ * Cobertura:
+ * - Conteo de sentencias entre iniciar() y finalizar()
+ * - Aislamiento del conteo por hilo
+ */
+@DisplayName("ContadorSentenciasJdbc - Tests Unitarios")
+class ContadorSentenciasJdbcTest {
+
+    private final ContadorSentenciasJdbc contador = new ContadorSentenciasJdbc();
+
+    @Test
+    @DisplayName("Test 01: Cuenta las sentencias inspeccionadas y retorna el SQL sin cambios")
+    void testInspect_CuentaSentencias() {
+        contador.iniciar();
+
+        String sql = contador.inspect("insert into FACTURAS (ID) values (?)");
+        contador.inspect("insert into ITEMS_FACTURA (ID) values (?)");
+
+        assertThat(sql).isEqualTo("insert into FACTURAS (ID) values (?)");
+        assertThat(contador.finalizar()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test 02: Sin iniciar no cuenta y finalizar reinicia el conteo")
+    void testFinalizar_SinIniciar_RetornaCero() {
+        contador.inspect("select 1 from dual");
+        assertThat(contador.finalizar()).isZero();
+
+        contador.iniciar();
+        contador.inspect("select 1 from dual");
+        contador.finalizar();
+        contador.inspect("select 1 from dual");
+
+        assertThat(contador.finalizar()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 03: Las sentencias de otros hilos no se cuentan")
+    void testInspect_OtroHilo_NoSeCuenta() {
+        contador.iniciar();
+
+        CompletableFuture.runAsync(() -> contador.inspect("select 1 from dual")).join();
+        contador.inspect("select 1 from dual");
+
+        assertThat(contador.finalizar()).isEqualTo(1);
+    }
+}
@@ -1,31 +1,65 @@
 package com.castor.facturacion.infrastructure.adapter.out.persistence.oracle;
 
+import com.castor.facturacion.application.service.EjecucionConcurrente;
+import com.castor.facturacion.domain.EstrategiaValidacionCliente;
 import com.castor.facturacion.domain.Factura;
+import com.castor.facturacion.domain.FiltroExportacion;
+import com.castor.facturacion.domain.PaginaCursor;
+import com.castor.facturacion.domain.ResumenFactura;
+import com.castor.facturacion.domain.ResultadoCreacionFactura;
 import com.castor.facturacion.domain.ItemFactura;
 import com.castor.facturacion.domain.valueobject.*;
+import com.castor.facturacion.infrastructure.adapter.out.persistence.cache.FacturaRepositoryCacheDecorator;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.FacturaEntity;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.entity.ItemFacturaEntity;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.mapper.FacturaMapper;
 import com.castor.facturacion.infrastructure.adapter.out.persistence.oracle.repository.FacturaJpaRepository;
+import com.castor.facturacion.infrastructure.config.FacturaCacheProperties;
+import com.castor.facturacion.infrastructure.config.LoteFacturasProperties;
+import com.castor.facturacion.infrastructure.config.ValidacionClienteProperties;
+import com.castor.facturacion.support.DetectorPinning;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.OracleContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -37,12 +71,22 @@ import static org.assertj.core.api.Assertions.*;
  * - Tests de persistencia real con JPA
  * - Tests de procedimientos almacenados (si están disponibles)
  * - Tests de consultas personalizadas
+ * - Tests de paginación por cursor (keyset)
+ * - Tests de número de sentencias por página (sin N+1 al cargar items)
+ * - Tests del listado de resumen (proyección sin items)
+ * - Tests de exportación por cursor JDBC (filtros y agrupación de items)
+ * - Tests de pinning de hilos virtuales en las consultas JDBC
+ * - Tests de INSERTs agrupados en batch al guardar una factura
+ * - Tests de la validación local de clientes contra CLIENTES_CDC (estrategias LOCAL y AMBAS)
+ * - Tests de la cancelación de subtareas concurrentes sin romper la conexión JDBC en curso
  *
  * Nota: Estos tests requieren Docker instalado y corriendo.
  */
 @DataJpaTest
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FacturaRepositoryAdapter.class, FacturaMapper.class, ContadorSentenciasJdbc.class,
+         ExportadorFacturasJdbc.class, ValidadorClientesCdcJdbc.class})
 @DisplayName("FacturaRepositoryAdapter - Tests de Integración con Oracle TestContainers")
 class FacturaRepositoryAdapterTest {
 
@@ -55,6 +99,7 @@ class FacturaRepositoryAdapterTest {
         .withDatabaseName("testdb")
         .withUsername("testuser")
         .withPassword("testpass")
+        .withInitScript("db/clientes-cdc.sql")
         .withReuse(false);
 
     /**
@@ -72,11 +117,67 @@ class FacturaRepositoryAdapterTest {
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
         registry.add("spring.jpa.show-sql", () -> "true");
         registry.add("spring.jpa.properties.hibernate.format_sql", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.jdbc.batch_size", () -> "100");
+        registry.add("spring.jpa.properties.hibernate.order_inserts", () -> "true");
+    }
+
+    /**
+     * MeterRegistry para las métricas del adapter (el slice JPA no incluye actuator).
+     * El adapter inyectado valida clientes de forma REMOTA; las estrategias LOCAL y AMBAS
+     * se prueban con adapterConEstrategia contra CLIENTES_CDC (db/clientes-cdc.sql)
+     */
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ValidacionClienteProperties validacionClienteProperties() {
+            return new ValidacionClienteProperties();
+        }
+
+        @Bean
+        EstrategiaValidacionCliente estrategiaValidacionCliente() {
+            return EstrategiaValidacionCliente.REMOTA;
+        }
     }
 
     @Autowired
     private FacturaJpaRepository facturaJpaRepository;
 
+    @Autowired
+    private FacturaRepositoryAdapter facturaRepositoryAdapter;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ValidadorClientesCdcJdbc validadorClientes;
+
+    @Autowired
+    private FacturaMapper facturaMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContadorSentenciasJdbc contadorSentencias;
+
+    @Autowired
+    private ExportadorFacturasJdbc exportador;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LoteFacturasProperties loteProperties;
+
+    @Autowired
+    private DataSource dataSource;
+
     private FacturaEntity facturaEntityEjemplo;
 
     @BeforeEach
@@ -401,4 +502,384 @@ class FacturaRepositoryAdapterTest {
         assertThat(savedFactura.getFechaCreacion()).isNotNull();
         assertThat(savedFactura.getFechaCreacion()).isBefore(LocalDateTime.now().plusSeconds(1));
     }
+
+    @Test
+    @DisplayName("Test 13: Paginación por cursor recorre todas las facturas sin repetir ni omitir")
+    void testPaginacionPorCursor() {
+        // Given - 25 facturas, varias con la misma fecha para probar el desempate por ID
+        LocalDateTime base = LocalDateTime.of(2025, 1, 16, 12, 0);
+        for (int i = 1; i <= 25; i++) {
+            facturaJpaRepository.save(FacturaEntity.builder()
+                .numero("FAC-CUR-" + String.format("%03d", i))
+                .clienteId(1L)
+                .subtotalGeneral(new BigDecimal("100.00"))
+                .totalImpuestos(new BigDecimal("19.00"))
+                .totalDescuentos(new BigDecimal("0.00"))
+                .totalFinal(new BigDecimal("119.00"))
+                .fechaCreacion(base.plusMinutes(i / 3))
+                .build());
+        }
+
+        // When - recorrer en páginas de 10 usando la última factura de cada página como cursor
+        Pageable limite = PageRequest.ofSize(10);
+        List<FacturaEntity> recorridas = new java.util.ArrayList<>();
+        List<FacturaEntity> pagina = facturaJpaRepository.findPrimeraPaginaPorCliente(1L, limite);
+        while (!pagina.isEmpty()) {
+            recorridas.addAll(pagina);
+            FacturaEntity ultima = pagina.get(pagina.size() - 1);
+            pagina = facturaJpaRepository.findPaginaPorClienteDespuesDe(
+                1L, ultima.getFechaCreacion(), ultima.getId(), limite);
+        }
+
+        // Then
+        assertThat(recorridas).hasSize(25);
+        assertThat(recorridas).extracting(FacturaEntity::getId).doesNotHaveDuplicates();
+        assertThat(recorridas).isSortedAccordingTo(
+            java.util.Comparator.comparing(FacturaEntity::getFechaCreacion)
+                .thenComparing(FacturaEntity::getId)
+                .reversed());
+    }
+
+    @Test
+    @DisplayName("Test 14: Listar una página con items usa 3 sentencias (página, count, items) sin N+1")
+    void testListarTodas_SinNMasUno() {
+        // Given
+        persistirFacturasConItems(15, 3);
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        Page<Factura> pagina = facturaRepositoryAdapter.listarTodas(
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "fechaCreacion")));
+
+        // Then
+        assertThat(pagina.getContent()).hasSize(10);
+        assertThat(pagina.getTotalElements()).isEqualTo(15);
+        assertThat(pagina.getContent()).allSatisfy(factura -> assertThat(factura.getItems()).hasSize(3));
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test 15: Listar por cursor con items usa 2 sentencias (página, items) sin N+1")
+    void testListarTodasConCursor_SinNMasUno() {
+        // Given
+        persistirFacturasConItems(15, 3);
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        PaginaCursor<Factura> pagina = facturaRepositoryAdapter.listarTodasConCursor(null, 10);
+
+        // Then
+        assertThat(pagina.getContenido()).hasSize(10);
+        assertThat(pagina.tieneSiguiente()).isTrue();
+        assertThat(pagina.getContenido()).allSatisfy(factura -> assertThat(factura.getItems()).hasSize(3));
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test 16: Listar resumen lee solo FACTURAS: 2 sentencias, sin entidades ni items")
+    void testListarResumenes_SoloCabecera() {
+        // Given
+        persistirFacturasConItems(15, 3);
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        Page<ResumenFactura> pagina = facturaRepositoryAdapter.listarResumenesPorCliente(
+            1L, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "fechaCreacion")));
+
+        // Then
+        assertThat(pagina.getContent()).hasSize(10);
+        assertThat(pagina.getTotalElements()).isEqualTo(15);
+        assertThat(pagina.getContent().get(0).getNumero()).isEqualTo("FACT-N1-001");
+        assertThat(pagina.getContent()).allSatisfy(resumen ->
+            assertThat(resumen.getTotalFinal()).isEqualByComparingTo("119.00"));
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+        assertThat(estadisticas.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 17: Exportar con items agrupa las filas por factura y respeta el rango de fechas")
+    void testExportarConItems_AgrupaYFiltraPorFecha() {
+        // Given - dos facturas en enero (una sin items) y una en febrero
+        testEntityManager.persist(facturaConItems("FACT-EXP-001", 1L, LocalDateTime.of(2025, 1, 10, 9, 0), 2));
+        testEntityManager.persist(facturaConItems("FACT-EXP-002", 2L, LocalDateTime.of(2025, 1, 31, 23, 59), 0));
+        testEntityManager.persist(facturaConItems("FACT-EXP-003", 1L, LocalDateTime.of(2025, 2, 1, 0, 0), 1));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // When
+        List<Factura> exportadas = new ArrayList<>();
+        long total = facturaRepositoryAdapter.exportarConItems(
+            FiltroExportacion.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null), exportadas::add);
+
+        // Then
+        assertThat(total).isEqualTo(2);
+        assertThat(exportadas).extracting(factura -> factura.getNumero().getValor())
+            .containsExactly("FACT-EXP-001", "FACT-EXP-002");
+        assertThat(exportadas.get(0).getItems()).extracting(item -> item.getCantidad().getValor())
+            .containsExactly(1, 2);
+        assertThat(exportadas.get(1).getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 18: Exportar resumen por cliente usa una sola consulta sin cargar entidades")
+    void testExportarResumenes_PorCliente() {
+        // Given
+        testEntityManager.persist(facturaConItems("FACT-EXP-001", 1L, LocalDateTime.of(2025, 1, 10, 9, 0), 2));
+        testEntityManager.persist(facturaConItems("FACT-EXP-002", 2L, LocalDateTime.of(2025, 1, 31, 23, 59), 0));
+        testEntityManager.persist(facturaConItems("FACT-EXP-003", 1L, LocalDateTime.of(2025, 2, 1, 0, 0), 1));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        List<ResumenFactura> exportadas = new ArrayList<>();
+        long total = facturaRepositoryAdapter.exportarResumenes(FiltroExportacion.of(null, null, 1L), exportadas::add);
+
+        // Then
+        assertThat(total).isEqualTo(2);
+        assertThat(exportadas).extracting(ResumenFactura::getNumero)
+            .containsExactly("FACT-EXP-001", "FACT-EXP-003");
+        assertThat(exportadas.get(1).getFechaCreacion()).isEqualTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test 19: Buscar número por ID lee una columna, sin entidades ni items")
+    void testBuscarNumeroPorId_SinCargarFactura() {
+        // Given
+        FacturaEntity persistida = testEntityManager.persistFlushFind(
+            facturaConItems("FACT-ETAG-001", 1L, LocalDateTime.of(2025, 3, 1, 10, 0), 3));
+        testEntityManager.clear();
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        Optional<String> numero = facturaRepositoryAdapter.buscarNumeroPorId(persistida.getId());
+        Optional<String> inexistente = facturaRepositoryAdapter.buscarNumeroPorId(999_999L);
+
+        // Then
+        assertThat(numero).contains("FACT-ETAG-001");
+        assertThat(inexistente).isEmpty();
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Test 20: Las consultas JDBC en hilos virtuales no fijan el hilo portador")
+    void testConsultasEnHilosVirtuales_SinPinning() throws Exception {
+        // Given - lectura por ID a través del cache de facturas: los fallos llegan a Oracle
+        FacturaRepositoryCacheDecorator conCache = new FacturaRepositoryCacheDecorator(
+            facturaRepositoryAdapter, new FacturaCacheProperties(), new SimpleMeterRegistry());
+
+        // When - más hilos que conexiones: también se espera en el pool de Hikari
+        List<String> fijados = DetectorPinning.ejecutar(20, () -> {
+            facturaRepositoryAdapter.listarResumenes(PageRequest.of(0, 10));
+            facturaRepositoryAdapter.buscarNumeroPorId(999_999L);
+            conCache.buscarPorId(999_999L);
+        });
+
+        // Then
+        assertThat(fijados).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test 21: Guardar una factura de 100 items agrupa los INSERTs en batch")
+    void testGuardarFacturaCienItems_InsertsEnBatch() {
+        // Given
+        List<ItemFactura> items = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            items.add(ItemFactura.crear("Producto " + i, Cantidad.of(i), Dinero.of(new BigDecimal("10.00")),
+                Porcentaje.of(new BigDecimal("19.00")), Porcentaje.of(new BigDecimal("0.00"))));
+        }
+        Factura factura = Factura.crear(NumeroFactura.of("FACT-BATCH-001"), 1L, items);
+        Statistics estadisticas = estadisticasHibernate();
+
+        // When
+        facturaRepositoryAdapter.guardar(factura);
+
+        // Then - 101 filas con un INSERT de factura, un batch de items y las lecturas de las
+        // secuencias pooled; sin batching serían al menos 101 sentencias preparadas
+        assertThat(estadisticas.getEntityInsertCount()).isEqualTo(101);
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Test 22: Validar cliente en CLIENTES_CDC acepta activos y rechaza inactivos e inexistentes")
+    void testValidarActivo_ContraReplicaCdc() {
+        // When / Then - 1 activo, 2 inactivo, 99 no replicado
+        assertThatCode(() -> validadorClientes.validarActivo(1L)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validadorClientes.validarActivo(2L))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("2 no existe o no está activo");
+        assertThatThrownBy(() -> validadorClientes.validarActivo(99L))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("99 no existe o no está activo");
+    }
+
+    @Test
+    @DisplayName("Test 23: Validar varios clientes usa una lista IN y reporta solo los inválidos")
+    void testValidarActivos_ListaIn() {
+        // When / Then - IDs repetidos se consultan una vez
+        assertThatCode(() -> validadorClientes.validarActivos(List.of(1L, 3L, 1L))).doesNotThrowAnyException();
+        assertThatCode(() -> validadorClientes.validarActivos(List.of())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> validadorClientes.validarActivos(List.of(1L, 2L, 3L, 99L)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("2")
+            .hasMessageContaining("99")
+            .hasMessageNotContaining("3");
+    }
+
+    @Test
+    @DisplayName("Test 24: Con estrategia LOCAL, guardar para un cliente inactivo no inserta la factura")
+    void testGuardar_EstrategiaLocal_ClienteInactivo() {
+        // Given
+        FacturaRepositoryAdapter adapter = adapterConEstrategia(EstrategiaValidacionCliente.LOCAL);
+        Factura activa = facturaDominio("FACT-CDC-001", 1L);
+        Factura inactiva = facturaDominio("FACT-CDC-002", 2L);
+
+        // When
+        Factura guardada = adapter.guardar(activa);
+
+        // Then
+        assertThat(guardada.getId()).isNotNull();
+        assertThatThrownBy(() -> adapter.guardar(inactiva))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Cliente inválido: 2");
+        assertThat(facturaJpaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Test 25: Con estrategia AMBAS, guardar en lote rechaza solo las facturas de clientes inválidos")
+    void testGuardarTodas_EstrategiaAmbas_AislaClientesInvalidos() {
+        // Given - cada bloque es una transacción propia, como en producción
+        FacturaRepositoryAdapter adapter = adapterConEstrategia(EstrategiaValidacionCliente.AMBAS);
+        List<Factura> facturas = List.of(
+            facturaDominio("FACT-CDC-101", 1L),
+            facturaDominio("FACT-CDC-102", 2L),
+            facturaDominio("FACT-CDC-103", 3L),
+            facturaDominio("FACT-CDC-104", 99L));
+
+        // When
+        List<ResultadoCreacionFactura> resultados = adapter.guardarTodas(facturas);
+
+        // Then - la lista IN falla el bloque y la reinserción una a una aísla los inválidos
+        assertThat(resultados).extracting(ResultadoCreacionFactura::getIndice).containsExactly(0, 1, 2, 3);
+        assertThat(resultados).extracting(ResultadoCreacionFactura::esExitoso)
+            .containsExactly(true, false, true, false);
+        assertThat(resultados.get(1).getError()).contains("Cliente inválido: [2]");
+        assertThat(resultados.get(3).getError()).contains("Cliente inválido: [99]");
+        assertThat(facturaJpaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Test 26: Cancelar un alcance no invalida la conexión de una consulta en curso")
+    void testCancelarAlcance_ConsultaEnCurso_ConexionSigueValida() throws Exception {
+        // Given - una consulta a Oracle en curso y otra subtarea que falla mientras tanto
+        CountDownLatch consultaTerminada = new CountDownLatch(1);
+        try (EjecucionConcurrente ejecucion = new EjecucionConcurrente(
+                 Executors.newVirtualThreadPerTaskExecutor(), Duration.ofSeconds(5), 2);
+             Connection conexion = dataSource.getConnection()) {
+
+            // When
+            assertThatThrownBy(() -> {
+                try (EjecucionConcurrente.Alcance alcance = ejecucion.abrir()) {
+                    alcance.lanzar(() -> {
+                        try (Statement sentencia = conexion.createStatement()) {
+                            sentencia.execute("BEGIN DBMS_SESSION.SLEEP(1); END;");
+                        } finally {
+                            consultaTerminada.countDown();
+                        }
+                        return null;
+                    });
+                    alcance.lanzar(() -> {
+                        Thread.sleep(100);
+                        throw new IllegalArgumentException("El cliente no existe: 99");
+                    });
+                    alcance.esperar();
+                }
+            }).isInstanceOf(IllegalArgumentException.class);
+
+            // Then - sin interrupción la consulta termina y la conexión se puede seguir usando
+            assertThat(consultaTerminada.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(conexion.isValid(2)).isTrue();
+            try (Statement sentencia = conexion.createStatement();
+                 ResultSet resultado = sentencia.executeQuery("SELECT 1 FROM DUAL")) {
+                assertThat(resultado.next()).isTrue();
+            }
+        }
+    }
+
+    /**
+     * Adapter con otra estrategia de validación sobre los mismos beans del slice.
+     * No pasa por el proxy transaccional: usa la transacción del test o la de cada bloque.
+     */
+    private FacturaRepositoryAdapter adapterConEstrategia(EstrategiaValidacionCliente estrategia) {
+        return new FacturaRepositoryAdapter(
+            facturaJpaRepository,
+            facturaMapper,
+            entityManager,
+            contadorSentencias,
+            new SimpleMeterRegistry(),
+            transactionManager,
+            loteProperties,
+            exportador,
+            validadorClientes,
+            estrategia);
+    }
+
+    private Factura facturaDominio(String numero, Long clienteId) {
+        List<ItemFactura> items = List.of(ItemFactura.crear("Producto", Cantidad.of(1), Dinero.of(new BigDecimal("10.00")),
+            Porcentaje.of(new BigDecimal("19.00")), Porcentaje.of(new BigDecimal("0.00"))));
+        return Factura.crear(NumeroFactura.of(numero), clienteId, items);
+    }
+
+    /**
+     * Persiste facturas con items y limpia el contexto para que los listados lean de Oracle
+     */
+    private void persistirFacturasConItems(int facturas, int itemsPorFactura) {
+        for (int i = 1; i <= facturas; i++) {
+            testEntityManager.persist(facturaConItems(
+                "FACT-N1-" + String.format("%03d", i), 1L, LocalDateTime.now().minusMinutes(i), itemsPorFactura));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private FacturaEntity facturaConItems(String numero, Long clienteId, LocalDateTime fecha, int items) {
+        FacturaEntity factura = FacturaEntity.builder()
+            .numero(numero)
+            .clienteId(clienteId)
+            .subtotalGeneral(new BigDecimal("100.00"))
+            .totalImpuestos(new BigDecimal("19.00"))
+            .totalDescuentos(new BigDecimal("0.00"))
+            .totalFinal(new BigDecimal("119.00"))
+            .fechaCreacion(fecha)
+            .build();
+        for (int j = 1; j <= items; j++) {
+            factura.addItem(ItemFacturaEntity.builder()
+                .descripcion("Producto " + j)
+                .cantidad(j)
+                .precioUnitario(new BigDecimal("100.00"))
+                .porcentajeImpuesto(new BigDecimal("19.00"))
+                .porcentajeDescuento(new BigDecimal("0.00"))
+                .subtotal(new BigDecimal("100.00"))
+                .impuesto(new BigDecimal("19.00"))
+                .descuento(new BigDecimal("0.00"))
+                .total(new BigDecimal("119.00"))
+                .build());
+        }
+        return factura;
+    }
+
+    private Statistics estadisticasHibernate() {
+        Statistics estadisticas = testEntityManager.getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        estadisticas.clear();
+        return estadisticas;
+    }
 }
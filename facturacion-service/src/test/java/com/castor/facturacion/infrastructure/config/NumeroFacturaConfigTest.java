@@ -0,0 +1,54 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.castor.facturacion.domain.valueobject.GeneradorNumeroFactura;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Tests unitarios para NumeroFacturaConfig.
+ *
+ * Cobertura:
+ * - Nodo configurado explícitamente
+ * - Fallo del arranque si la secuencia de nodos no responde
+ */
+@DisplayName("NumeroFacturaConfig - Tests Unitarios")
+class NumeroFacturaConfigTest {
+
+    private final NumeroFacturaConfig config = new NumeroFacturaConfig();
+
+    @Test
+    @DisplayName("Test 01: Con nodo-id configurado no se consulta la secuencia")
+    void testNodoConfigurado_NoConsultaSecuencia() {
+        // Given
+        NumeroFacturaProperties properties = new NumeroFacturaProperties();
+        properties.setNodoId(7);
+        DataSource dataSource = mock(DataSource.class);
+
+        // When
+        GeneradorNumeroFactura generador = config.generadorNumeroFactura(properties, dataSource);
+
+        // Then
+        assertThat(generador.getNodo()).isEqualTo(7);
+        then(dataSource).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Test 02: Sin nodo-id y sin secuencia disponible el arranque falla")
+    void testSecuenciaNoDisponible_FallaElArranque() throws Exception {
+        // Given
+        NumeroFacturaProperties properties = new NumeroFacturaProperties();
+        DataSource dataSource = mock(DataSource.class);
+        given(dataSource.getConnection()).willThrow(new SQLException("ORA-02289: sequence does not exist"));
+
+        // When / Then
+        assertThatThrownBy(() -> config.generadorNumeroFactura(properties, dataSource))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("NUMERO_FACTURA_NODO_SEQ");
+    }
+}
@@ -0,0 +1,96 @@
+package com.castor.facturacion.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Tests unitarios para RetencionConexionDataSource.
+ *
+ * Cobertura:
+ * - Registro del tiempo de retención al cerrar la conexión
+ * - Tag del caso de uso vigente al obtener la conexión
+ * - Delegación de llamadas a la conexión real
+ * - Cierre del pool envuelto al destruir el bean
+ */
+@DisplayName("RetencionConexionDataSource - Tests Unitarios")
+class RetencionConexionDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        CasoDeUsoContexto.limpiar();
+    }
+
+    @Test
+    @DisplayName("Test 01: Al cerrar la conexión se registra su retención con el caso de uso")
+    void testClose_RegistraRetencionPorCasoDeUso() throws Exception {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        Connection conexionReal = mock(Connection.class);
+        given(pool.getConnection()).willReturn(conexionReal);
+        RetencionConexionDataSource dataSource = new RetencionConexionDataSource(pool, meterRegistry);
+
+        // When
+        CasoDeUsoContexto.establecer("crearFactura");
+        Connection conexion = dataSource.getConnection();
+        CasoDeUsoContexto.limpiar();
+        conexion.close();
+        conexion.close();
+
+        // Then
+        Timer timer = meterRegistry.find(RetencionConexionDataSource.METRICA)
+            .tag("caso_uso", "crearFactura")
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        then(conexionReal).should(times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Test 02: Conexiones fuera de una petición usan el caso de uso 'ninguno'")
+    void testGetConnection_SinCasoDeUso_TagNinguno() throws Exception {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        Connection conexionReal = mock(Connection.class);
+        given(pool.getConnection()).willReturn(conexionReal);
+        given(conexionReal.getAutoCommit()).willReturn(true);
+        RetencionConexionDataSource dataSource = new RetencionConexionDataSource(pool, meterRegistry);
+
+        // When
+        Connection conexion = dataSource.getConnection();
+        boolean autoCommit = conexion.getAutoCommit();
+        conexion.close();
+
+        // Then
+        assertThat(autoCommit).isTrue();
+        assertThat(meterRegistry.find(RetencionConexionDataSource.METRICA)
+            .tag("caso_uso", CasoDeUsoContexto.SIN_CASO_DE_USO)
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test 03: close() cierra el pool de Hikari envuelto")
+    void testClose_CierraElPool() throws Exception {
+        // Given
+        HikariDataSource pool = mock(HikariDataSource.class);
+        RetencionConexionDataSource dataSource = new RetencionConexionDataSource(pool, meterRegistry);
+
+        // When
+        dataSource.close();
+
+        // Then
+        then(pool).should().close();
+    }
+}
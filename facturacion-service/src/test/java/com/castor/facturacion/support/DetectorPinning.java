@@ -0,0 +1,78 @@
+package com.castor.facturacion.support;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta tareas en hilos virtuales y devuelve los eventos JFR jdk.VirtualThreadPinned
+ * que generaron: un hilo virtual que se bloquea dentro de synchronized (o en código nativo)
+ * fija su hilo portador y reduce el paralelismo real del modo de hilos virtuales.
+ *
+ * Uso en tests: assertThat(DetectorPinning.ejecutar(50, tarea)).isEmpty()
+ */
+public final class DetectorPinning {
+
+    private static final Duration ESPERA = Duration.ofSeconds(30);
+
+    private DetectorPinning() {
+    }
+
+    /**
+     * Ejecuta la tarea en tantos hilos virtuales como se indique, a la vez, y
+     * retorna la pila de cada bloqueo con el hilo portador fijado.
+     * Las excepciones de la tarea se propagan.
+     */
+    public static List<String> ejecutar(int hilos, ThrowingRunnable tarea) throws Exception {
+        List<String> fijados = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", evento -> fijados.add(describir(evento)));
+            stream.startAsync();
+
+            List<Future<?>> resultados = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < hilos; i++) {
+                    resultados.add(executor.submit(() -> {
+                        tarea.run();
+                        return null;
+                    }));
+                }
+                for (Future<?> resultado : resultados) {
+                    resultado.get(ESPERA.toSeconds(), TimeUnit.SECONDS);
+                }
+            }
+
+            // Entrega los eventos pendientes antes de cerrar
+            stream.stop();
+        }
+        return fijados;
+    }
+
+    private static String describir(RecordedEvent evento) {
+        StringBuilder pila = new StringBuilder("Hilo portador fijado ")
+            .append(evento.getDuration().toMillis()).append(" ms");
+        if (evento.getStackTrace() != null) {
+            for (RecordedFrame frame : evento.getStackTrace().getFrames()) {
+                pila.append("\n\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName());
+            }
+        }
+        return pila.toString();
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
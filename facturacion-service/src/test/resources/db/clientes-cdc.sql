@@ -0,0 +1,13 @@
+-- Réplica CDC de clientes para los tests de ValidadorClientesCdcJdbc (mismas columnas de
+-- validación que k8s/oracle/oracle-init-script-configmap.yaml). La crea el container al
+-- arrancar: Hibernate no la gestiona porque no es una entidad JPA.
+CREATE TABLE CLIENTES_CDC (
+    ID NUMBER PRIMARY KEY,
+    NOMBRE VARCHAR2(200),
+    NIT VARCHAR2(50),
+    ACTIVO NUMBER(1)
+);
+
+INSERT INTO CLIENTES_CDC (ID, NOMBRE, NIT, ACTIVO) VALUES (1, 'Cliente activo', '900000001', 1);
+INSERT INTO CLIENTES_CDC (ID, NOMBRE, NIT, ACTIVO) VALUES (2, 'Cliente inactivo', '900000002', 0);
+INSERT INTO CLIENTES_CDC (ID, NOMBRE, NIT, ACTIVO) VALUES (3, 'Otro cliente activo', '900000003', 1);
@@ -36,6 +36,27 @@ EXCEPTION
 END;
 /
 
+BEGIN
+    EXECUTE IMMEDIATE 'DROP SEQUENCE numero_factura_nodo_seq';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP SEQUENCE facturas_seq';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'DROP SEQUENCE items_factura_seq';
+EXCEPTION
+    WHEN OTHERS THEN NULL;
+END;
+/
+
 -- Crear secuencias
 CREATE SEQUENCE seq_facturas
     START WITH 1
@@ -49,6 +70,33 @@ CREATE SEQUENCE seq_items_factura
     NOCACHE
     NOCYCLE;
 
+-- Secuencia para asignar el nodo (1-999) de cada réplica de facturacion-service
+-- usado en el número de factura FACT-yyyyMMddHHmmssSSS-NNN-SSSS
+CREATE SEQUENCE numero_factura_nodo_seq
+    START WITH 1
+    INCREMENT BY 1
+    MINVALUE 1
+    MAXVALUE 999
+    NOCACHE
+    CYCLE;
+
+-- Secuencias de IDs usadas por JPA (FacturaEntity / ItemFacturaEntity).
+-- Hibernate usa el optimizador pooled: cada NEXTVAL reserva un bloque de IDs,
+-- por lo que INCREMENT BY debe coincidir con allocationSize en las entidades.
+-- En bases existentes: ALTER SEQUENCE facturas_seq INCREMENT BY 50;
+--                      ALTER SEQUENCE items_factura_seq INCREMENT BY 100;
+CREATE SEQUENCE facturas_seq
+    START WITH 1
+    INCREMENT BY 50
+    CACHE 20
+    NOCYCLE;
+
+CREATE SEQUENCE items_factura_seq
+    START WITH 1
+    INCREMENT BY 100
+    CACHE 20
+    NOCYCLE;
+
 -- Crear tabla de facturas
 CREATE TABLE facturas (
     id NUMBER PRIMARY KEY,
@@ -90,9 +138,10 @@ CREATE TABLE items_factura (
 );
 
 -- Crear índices
-CREATE INDEX idx_facturas_cliente ON facturas(cliente_id);
+-- Índices compuestos con id para los listados por cursor (keyset): fecha DESC, id DESC
+CREATE INDEX idx_facturas_cliente ON facturas(cliente_id, fecha_emision DESC, id DESC);
 CREATE INDEX idx_facturas_numero ON facturas(numero_factura);
-CREATE INDEX idx_facturas_fecha ON facturas(fecha_emision DESC);
+CREATE INDEX idx_facturas_fecha ON facturas(fecha_emision DESC, id DESC);
 CREATE INDEX idx_facturas_estado ON facturas(estado);
 CREATE INDEX idx_items_factura ON items_factura(factura_id);
 
@@ -227,7 +276,7 @@ ORDER BY f.fecha_emision DESC, i.id;
 -- Comentarios para documentación
 COMMENT ON TABLE facturas IS 'Tabla que almacena las facturas emitidas a los clientes';
 COMMENT ON TABLE items_factura IS 'Detalle de los items/productos de cada factura';
-COMMENT ON COLUMN facturas.numero_factura IS 'Número único de la factura (formato: FACT-YYYYMMDDHHMMSS)';
+COMMENT ON COLUMN facturas.numero_factura IS 'Número único de la factura (formato: FACT-yyyyMMddHHmmssSSS-NNN-SSSS)';
 COMMENT ON COLUMN facturas.estado IS 'Estado de la factura: EMITIDA, PAGADA, ANULADA, VENCIDA';
 
 -- Mostrar resumen
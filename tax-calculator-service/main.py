@@ -3,12 +3,18 @@ Tax Calculator Service - FastAPI
 Microservicio para cálculo de impuestos y descuentos
 """
 
-from fastapi import FastAPI, HTTPException, status
+from fastapi import Depends, FastAPI, HTTPException, Request, status
+from fastapi.exceptions import RequestValidationError
 from fastapi.middleware.cors import CORSMiddleware
 from fastapi.middleware.gzip import GZipMiddleware
-from pydantic import BaseModel, Field, validator
-from typing import List, Optional
+from fastapi.responses import JSONResponse, Response
+from fastapi.routing import APIRoute
+from starlette.datastructures import Headers
+from starlette.routing import Match
+from pydantic import BaseModel, Field, ValidationError, validator
+from typing import Annotated, List, Optional, Tuple
 from decimal import Decimal, ROUND_HALF_UP
+import cbor2
 import logging
 from datetime import datetime
 from config import settings, log_configuration
@@ -158,6 +164,25 @@ class CalculationResponse(BaseModel):
         }
 
 
+# Formato compacto (Content-Type application/cbor): valores en centavos y centésimas,
+# sin descripciones ni totales generales
+
+CBOR = "application/cbor"
+
+Positivo = Annotated[int, Field(gt=0)]
+Centesimas = Annotated[int, Field(ge=0, le=10000)]
+
+
+class CompactCalculationRequest(BaseModel):
+    """Request compacto: cada item es [cantidad, precio_centavos, impuesto_centesimas, descuento_centesimas]"""
+    items: List[Tuple[Positivo, Positivo, Centesimas, Centesimas]] = Field(..., min_length=1)
+
+
+class CompactCalculationResponse(BaseModel):
+    """Response compacto: cada resultado es [subtotal, impuesto, descuento, total] en centavos"""
+    items: List[Tuple[int, int, int, int]]
+
+
 class HealthResponse(BaseModel):
     """Response del health check"""
     status: str
@@ -166,6 +191,95 @@ class HealthResponse(BaseModel):
     timestamp: datetime
 
 
+# ============= Cálculo =============
+
+def calcular_item(
+    cantidad: int,
+    precio_unitario: Decimal,
+    porcentaje_impuesto: Decimal,
+    porcentaje_descuento: Decimal
+) -> Tuple[Decimal, Decimal, Decimal, Decimal]:
+    """Subtotal, impuesto, descuento y total de un item, redondeados a 2 decimales"""
+    # Cálculo del subtotal del item
+    subtotal_item = (
+        Decimal(str(cantidad)) * precio_unitario
+    ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
+
+    # Cálculo de impuesto
+    impuesto_item = (
+        subtotal_item * (porcentaje_impuesto / Decimal("100"))
+    ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
+
+    # Cálculo de descuento
+    descuento_item = (
+        subtotal_item * (porcentaje_descuento / Decimal("100"))
+    ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
+
+    # Total del item
+    total_item = (
+        subtotal_item + impuesto_item - descuento_item
+    ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
+
+    return subtotal_item, impuesto_item, descuento_item, total_item
+
+
+def a_centavos(valor: Decimal) -> int:
+    return int(valor.scaleb(2))
+
+
+def desde_centesimas(valor: int) -> Decimal:
+    return Decimal(valor).scaleb(-2)
+
+
+# ============= Formato compacto =============
+
+def es_cbor(media_type: str) -> bool:
+    return media_type.split(";")[0].strip().lower() == CBOR
+
+
+def acepta_cbor(accept: str) -> bool:
+    """Sin Accept, o con */* o application/cbor, se responde en CBOR"""
+    tipos = [tipo.split(";")[0].strip().lower() for tipo in accept.split(",") if tipo.strip()]
+    return not tipos or CBOR in tipos or "*/*" in tipos or "application/*" in tipos
+
+
+class RutaCbor(APIRoute):
+    """
+    Ruta que solo atiende peticiones con Content-Type application/cbor; las demás siguen
+    a la siguiente ruta con el mismo path (el contrato JSON)
+    """
+
+    def matches(self, scope):
+        match, child_scope = super().matches(scope)
+        if match != Match.NONE and not es_cbor(Headers(scope=scope).get("content-type", "")):
+            return Match.NONE, {}
+        return match, child_scope
+
+
+async def leer_cbor(request: Request) -> CompactCalculationRequest:
+    """
+    Decodifica el cuerpo CBOR y lo valida con CompactCalculationRequest. Los errores se
+    lanzan como RequestValidationError, así que responden el mismo 422 que un JSON inválido.
+    """
+    cuerpo = await request.body()
+    try:
+        datos = cbor2.loads(cuerpo)
+    except cbor2.CBORDecodeError as e:
+        raise RequestValidationError(
+            [{"type": "cbor_invalid", "loc": ("body",), "msg": "CBOR decode error", "input": {},
+              "ctx": {"error": str(e)}}],
+            body=cuerpo
+        ) from e
+
+    try:
+        return CompactCalculationRequest.model_validate(datos)
+    except ValidationError as e:
+        raise RequestValidationError(
+            [{**error, "loc": ("body", *error["loc"])} for error in e.errors(include_url=False)],
+            body=datos
+        ) from e
+
+
 # ============= Endpoints =============
 
 @app.get(
@@ -187,13 +301,63 @@ async def health_check():
     )
 
 
+async def calcular_compacto(
+    request: Request,
+    datos: CompactCalculationRequest = Depends(leer_cbor)
+):
+    """
+    POST /calcular con Content-Type application/cbor: mismo cálculo que el endpoint JSON con
+    el esquema compacto. Responde {"items": [[subtotal, impuesto, descuento, total], ...]} en
+    centavos y en el orden recibido; en CBOR, o en JSON si el Accept no admite CBOR.
+    """
+    logger.info(f"Calculando impuestos para {len(datos.items)} items (cbor)")
+    resultados = []
+    for cantidad, precio_centavos, impuesto_centesimas, descuento_centesimas in datos.items:
+        valores = calcular_item(
+            cantidad,
+            desde_centesimas(precio_centavos),
+            desde_centesimas(impuesto_centesimas),
+            desde_centesimas(descuento_centesimas)
+        )
+        resultados.append([a_centavos(valor) for valor in valores])
+
+    respuesta = CompactCalculationResponse(items=resultados).model_dump()
+    if acepta_cbor(request.headers.get("accept", "")):
+        return Response(content=cbor2.dumps(respuesta), media_type=CBOR)
+    return JSONResponse(content=respuesta)
+
+
+# Va antes que la ruta JSON para atender primero el Content-Type CBOR; se documenta como
+# contenido alternativo de la ruta JSON
+app.router.add_api_route(
+    "/calcular",
+    calcular_compacto,
+    methods=["POST"],
+    include_in_schema=False,
+    route_class_override=RutaCbor
+)
+
+
 @app.post(
     "/calcular",
     response_model=CalculationResponse,
     status_code=status.HTTP_200_OK,
     tags=["Calculations"],
     summary="Calcular Impuestos y Descuentos",
-    description="Calcula impuestos y descuentos para una lista de items de factura"
+    description=(
+        "Calcula impuestos y descuentos para una lista de items de factura. "
+        "Con Content-Type application/cbor acepta y responde el formato compacto en centavos."
+    ),
+    openapi_extra={
+        "requestBody": {
+            "content": {CBOR: {"schema": CompactCalculationRequest.model_json_schema()}}
+        },
+        "responses": {
+            "200": {
+                "content": {CBOR: {"schema": CompactCalculationResponse.model_json_schema()}}
+            }
+        }
+    }
 )
 async def calcular_impuestos(request: CalculationRequest):
     """
@@ -211,25 +375,12 @@ async def calcular_impuestos(request: CalculationRequest):
         detalle_items = []
 
         for idx, item in enumerate(request.items):
-            # Cálculo del subtotal del item
-            subtotal_item = (
-                Decimal(str(item.cantidad)) * item.precio_unitario
-            ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
-
-            # Cálculo de impuesto
-            impuesto_item = (
-                subtotal_item * (item.porcentaje_impuesto / Decimal("100"))
-            ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
-
-            # Cálculo de descuento
-            descuento_item = (
-                subtotal_item * (item.porcentaje_descuento / Decimal("100"))
-            ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
-
-            # Total del item
-            total_item = (
-                subtotal_item + impuesto_item - descuento_item
-            ).quantize(Decimal('0.01'), rounding=ROUND_HALF_UP)
+            subtotal_item, impuesto_item, descuento_item, total_item = calcular_item(
+                item.cantidad,
+                item.precio_unitario,
+                item.porcentaje_impuesto,
+                item.porcentaje_descuento
+            )
 
             # Acumular totales
             subtotal_general += subtotal_item
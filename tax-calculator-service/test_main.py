@@ -3,6 +3,7 @@ Tests para Tax Calculator Service
 Usa pytest y httpx para tests asíncronos
 """
 
+import cbor2
 import pytest
 from fastapi.testclient import TestClient
 from decimal import Decimal
@@ -248,6 +249,93 @@ class TestEdgeCases:
         assert "." in str(data["total_final"])
 
 
+class TestFormatoCompacto:
+    """Tests del formato compacto (CBOR) de /calcular"""
+
+    @staticmethod
+    def post_cbor(datos):
+        return client.post(
+            "/calcular",
+            content=cbor2.dumps(datos),
+            headers={"Content-Type": "application/cbor", "Accept": "application/cbor"}
+        )
+
+    def test_calculo_compacto_en_centavos(self):
+        """Debe responder CBOR con [subtotal, impuesto, descuento, total] en centavos"""
+        # 2 x 100.00 con IVA 19% y descuento 10%
+        response = self.post_cbor({"items": [[2, 10000, 1900, 1000]]})
+
+        assert response.status_code == 200
+        assert response.headers["content-type"] == "application/cbor"
+        assert cbor2.loads(response.content) == {"items": [[20000, 3800, 2000, 21800]]}
+
+    def test_mismo_resultado_que_json(self):
+        """Debe calcular lo mismo que el endpoint JSON, en el mismo orden"""
+        response_json = client.post("/calcular", json={
+            "items": [
+                {"descripcion": "A", "cantidad": 3, "precio_unitario": 33.33,
+                 "porcentaje_impuesto": 19, "porcentaje_descuento": 2.5},
+                {"descripcion": "B", "cantidad": 1, "precio_unitario": 0.05,
+                 "porcentaje_impuesto": 5, "porcentaje_descuento": 0}
+            ]
+        })
+        response_cbor = self.post_cbor({"items": [[3, 3333, 1900, 250], [1, 5, 500, 0]]})
+
+        esperado = [
+            [int(Decimal(str(detalle[campo])) * 100)
+             for campo in ("subtotal", "impuesto", "descuento", "total")]
+            for detalle in response_json.json()["detalle_items"]
+        ]
+        assert cbor2.loads(response_cbor.content)["items"] == esperado
+
+    def test_item_invalido_falla(self):
+        """Debe fallar con 422 si un item no cumple el esquema, con el loc dentro de body"""
+        response = self.post_cbor({"items": [[0, 10000, 1900, 1000]]})
+
+        assert response.status_code == 422
+        assert response.json()["detail"][0]["loc"] == ["body", "items", 0, 0]
+
+    def test_cuerpo_no_cbor_falla_como_json_invalido(self):
+        """Un cuerpo que no es CBOR debe responder el mismo 422 que un JSON inválido"""
+        response_json = client.post(
+            "/calcular",
+            content=b"{no es json",
+            headers={"Content-Type": "application/json"}
+        )
+        # Mapa de un elemento truncado: cbor2 no lo puede decodificar
+        response_cbor = client.post(
+            "/calcular",
+            content=b"\xa1",
+            headers={"Content-Type": "application/cbor"}
+        )
+
+        assert response_json.status_code == 422
+        assert response_cbor.status_code == response_json.status_code
+        error_json = response_json.json()["detail"][0]
+        error_cbor = response_cbor.json()["detail"][0]
+        assert error_cbor.keys() == error_json.keys()
+        assert error_cbor["loc"][0] == error_json["loc"][0] == "body"
+
+    def test_accept_json_responde_json(self):
+        """Con Accept application/json debe responder el esquema compacto en JSON"""
+        response = client.post(
+            "/calcular",
+            content=cbor2.dumps({"items": [[2, 10000, 1900, 1000]]}),
+            headers={"Content-Type": "application/cbor", "Accept": "application/json"}
+        )
+
+        assert response.status_code == 200
+        assert response.headers["content-type"] == "application/json"
+        assert response.json() == {"items": [[20000, 3800, 2000, 21800]]}
+
+    def test_openapi_documenta_ambos_formatos(self):
+        """/calcular debe seguir documentado, con JSON y CBOR como cuerpos alternativos"""
+        operacion = client.get("/openapi.json").json()["paths"]["/calcular"]["post"]
+
+        assert set(operacion["requestBody"]["content"]) == {"application/json", "application/cbor"}
+        assert "application/cbor" in operacion["responses"]["200"]["content"]
+
+
 class TestRootEndpoint:
     """Tests para el endpoint raíz"""
 